@@ -576,6 +576,17 @@ public final class Buffer
   // </IInputStream>
   // </IBuffer>
 
+  // <IDuplicableInputStream>
+  @Override
+  public Buffer duplicate(
+    )
+  {
+    Buffer duplicate = new Buffer(data, byteOrder);
+    duplicate.length = length;
+    return duplicate;
+  }
+  // </IDuplicableInputStream>
+
   // <IOutputStream>
   @Override
   public void write(
@@ -0,0 +1,504 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.pdfclown.tokens.Encoding;
+import org.pdfclown.util.ConvertUtils;
+
+/**
+  File channel stream.
+  <p>Data are accessed through either a page-aligned read-ahead window or (optionally) a memory
+  mapping of the whole file, so that byte-level reads (like those issued by the tokenizer) don't
+  cause a system call each. Backward relative moves are cheap as the window keeps at least one page
+  of already-read data behind the pointer.</p>
+  <p>As all the channel reads are positional, {@link #duplicate() duplicates} can safely be used by
+  concurrent threads.</p>
+  <p>Once closed, any read throws {@link IllegalStateException}.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+public final class FileChannelInputStream
+  implements IDuplicableInputStream
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Default read-ahead window size.
+  */
+  public static final int DefaultWindowSize = 1 << 16;
+
+  /**
+    Window alignment unit (typical file-system page size).
+  */
+  private static final int PageSize = 1 << 12;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private FileChannel channel;
+  private final long length;
+  /**
+    Whether the channel is owned by another stream (see {@link #duplicate()}).
+  */
+  private final boolean shared;
+
+  private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+  /**
+    Pointer position within the file.
+  */
+  private long position;
+
+  /**
+    Whole-file memory mapping (mapped mode only).
+  */
+  private MappedByteBuffer mappedData;
+
+  /**
+    Read-ahead window (windowed mode only).
+  */
+  private byte[] window;
+  /**
+    File position of the first byte in the window.
+  */
+  private long windowOffset;
+  /**
+    Number of bytes actually loaded in the window.
+  */
+  private int windowLength;
+  // </fields>
+
+  // <constructors>
+  /**
+    Creates a new windowed stream.
+
+    @param channel File channel to read.
+  */
+  public FileChannelInputStream(
+    FileChannel channel
+    )
+  {this(channel, false);}
+
+  /**
+    Creates a new stream.
+
+    @param channel File channel to read.
+    @param mapped Whether the file has to be memory-mapped; in case its size exceeds the mapping
+      limit, this option is ignored and the stream falls back to windowed mode.
+  */
+  public FileChannelInputStream(
+    FileChannel channel,
+    boolean mapped
+    )
+  {this(channel, mapped, DefaultWindowSize);}
+
+  /**
+    Creates a new windowed stream.
+
+    @param channel File channel to read.
+    @param windowSize Read-ahead window size (rounded up to the page size).
+  */
+  public FileChannelInputStream(
+    FileChannel channel,
+    int windowSize
+    )
+  {this(channel, false, windowSize);}
+
+  private FileChannelInputStream(
+    FileChannel channel,
+    boolean mapped,
+    int windowSize
+    )
+  {
+    this.channel = channel;
+    this.shared = false;
+    try
+    {
+      length = channel.size();
+      if(mapped && length <= Integer.MAX_VALUE)
+      {mappedData = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);}
+      else
+      {
+        // NOTE: The window must cover the look-behind page besides the read-ahead pages.
+        window = new byte[Math.max(alignUp(windowSize), PageSize << 1)];
+      }
+    }
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+  }
+
+  private FileChannelInputStream(
+    FileChannelInputStream base
+    )
+  {
+    this.channel = base.channel;
+    this.length = base.length;
+    this.shared = true;
+    this.mappedData = base.mappedData;
+    if(base.window != null)
+    {window = new byte[base.window.length];}
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets whether this stream is memory-mapped.
+  */
+  public boolean isMapped(
+    )
+  {return mappedData != null;}
+
+  // <IDuplicableInputStream>
+  @Override
+  public FileChannelInputStream duplicate(
+    )
+  {return new FileChannelInputStream(this);}
+  // </IDuplicableInputStream>
+
+  // <IInputStream>
+  @Override
+  public ByteOrder getByteOrder(
+    )
+  {return byteOrder;}
+
+  @Override
+  public long getPosition(
+    )
+  {return position;}
+
+  @Override
+  public int hashCode(
+    )
+  {return channel.hashCode();}
+
+  @Override
+  public void read(
+    byte[] data
+    ) throws EOFException
+  {read(data, 0, data.length);}
+
+  @Override
+  public void read(
+    byte[] data,
+    int offset,
+    int length
+    ) throws EOFException
+  {
+    ensureOpen();
+    if(position + length > this.length)
+      throw new EOFException();
+
+    if(mappedData != null)
+    {
+      ByteBuffer source = mappedData.duplicate();
+      source.position((int)position);
+      source.get(data, offset, length);
+    }
+    else if(length > window.length)
+    {
+      // Bulk read (bypasses the window).
+      try
+      {
+        ByteBuffer target = ByteBuffer.wrap(data, offset, length);
+        long readPosition = position;
+        while(target.hasRemaining())
+        {
+          int readLength = channel.read(target, readPosition);
+          if(readLength < 0)
+            throw new EOFException();
+
+          readPosition += readLength;
+        }
+      }
+      catch(EOFException e)
+      {throw e;}
+      catch(IOException e)
+      {throw new RuntimeException(e);}
+    }
+    else
+    {
+      while(length > 0)
+      {
+        int windowIndex = ensureWindow();
+        int chunkLength = Math.min(length, windowLength - windowIndex);
+        System.arraycopy(window, windowIndex, data, offset, chunkLength);
+        offset += chunkLength;
+        length -= chunkLength;
+        position += chunkLength;
+      }
+      return;
+    }
+    position += length;
+  }
+
+  @Override
+  public byte readByte(
+    ) throws EOFException
+  {return (byte)readUnsignedByte();}
+
+  @Override
+  public int readInt(
+    ) throws EOFException
+  {return readInt(4);}
+
+  @Override
+  public int readInt(
+    int length
+    ) throws EOFException
+  {
+    byte[] data = new byte[length];
+    read(data);
+    return ConvertUtils.byteArrayToNumber(data, 0, length, byteOrder);
+  }
+
+  @Override
+  public String readLine(
+    ) throws EOFException
+  {
+    if(position >= length)
+      return null;
+
+    StringBuilder buffer = new StringBuilder();
+    while(position < length)
+    {
+      int c = readUnsignedByte();
+      if(c == '\n')
+        break;
+      else if(c == '\r')
+      {
+        if(position < length && readUnsignedByte() != '\n')
+        {position--;}
+        break;
+      }
+
+      buffer.append((char)c);
+    }
+    return buffer.toString();
+  }
+
+  @Override
+  public short readShort(
+    ) throws EOFException
+  {return (short)readUnsignedShort();}
+
+  @Override
+  public String readString(
+    int length
+    ) throws EOFException
+  {
+    byte[] data = new byte[length];
+    read(data);
+    return Encoding.Pdf.decode(data, 0, length);
+  }
+
+  @Override
+  public int readUnsignedByte(
+    ) throws EOFException
+  {
+    if(mappedData != null)
+    {
+      if(position >= length)
+        throw new EOFException();
+
+      return mappedData.get((int)position++) & 0xFF;
+    }
+    else
+    {
+      long windowIndex = position - windowOffset;
+      if(windowIndex < 0 || windowIndex >= windowLength)
+      {windowIndex = ensureWindow();}
+
+      position++;
+      return window[(int)windowIndex] & 0xFF;
+    }
+  }
+
+  @Override
+  public int readUnsignedShort(
+    ) throws EOFException
+  {
+    int b1 = readUnsignedByte(), b2 = readUnsignedByte();
+    if(byteOrder == ByteOrder.LITTLE_ENDIAN)
+      return b1 | b2 << 8;
+    else // ByteOrder.BIG_ENDIAN
+      return b1 << 8 | b2;
+  }
+
+  @Override
+  public void seek(
+    long position
+    )
+  {
+    if(position < 0)
+      throw new IllegalArgumentException("Negative seek position: " + position);
+
+    this.position = position;
+  }
+
+  @Override
+  public void setByteOrder(
+    ByteOrder value
+    )
+  {byteOrder = value;}
+
+  @Override
+  public void skip(
+    long offset
+    )
+  {seek(position + offset);}
+
+  // <IDataWrapper>
+  @Override
+  public byte[] toByteArray(
+    )
+  {
+    byte[] data = new byte[(int)length];
+    long oldPosition = position;
+    try
+    {
+      position = 0;
+      read(data);
+    }
+    catch(EOFException e)
+    {throw new RuntimeException(e);}
+    finally
+    {position = oldPosition;}
+    return data;
+  }
+  // </IDataWrapper>
+
+  // <IStream>
+  @Override
+  public long getLength(
+    )
+  {return length;}
+
+  // <Closeable>
+  @Override
+  public void close(
+    ) throws IOException
+  {
+    if(channel != null)
+    {
+      if(!shared)
+      {channel.close();}
+      channel = null;
+      mappedData = null;
+      window = null;
+      windowLength = 0;
+    }
+  }
+  // </Closeable>
+  // </IStream>
+  // </IInputStream>
+  // </public>
+
+  // <protected>
+  @Override
+  protected void finalize(
+    ) throws Throwable
+  {
+    try
+    {close();}
+    finally
+    {super.finalize();}
+  }
+  // </protected>
+
+  // <private>
+  private static long alignDown(
+    long value
+    )
+  {return value & ~(long)(PageSize - 1);}
+
+  private static int alignUp(
+    int value
+    )
+  {return (value + PageSize - 1) & ~(PageSize - 1);}
+
+  private void ensureOpen(
+    )
+  {
+    if(channel == null)
+      throw new IllegalStateException("Stream closed.");
+  }
+
+  /**
+    Ensures the window covers the current position.
+
+    @return Current position index within the window.
+  */
+  private int ensureWindow(
+    ) throws EOFException
+  {
+    long windowIndex = position - windowOffset;
+    if(windowIndex >= 0 && windowIndex < windowLength)
+      return (int)windowIndex;
+
+    ensureOpen();
+    if(position >= length)
+      throw new EOFException();
+
+    /*
+      NOTE: The window is aligned to the page preceding the current one, so that the tokenizer's
+      backtracking (typically one byte behind) never triggers a reload.
+    */
+    windowOffset = alignDown(Math.max(0, position - PageSize));
+    windowLength = 0;
+    try
+    {
+      ByteBuffer target = ByteBuffer.wrap(window);
+      long readPosition = windowOffset;
+      while(target.hasRemaining() && readPosition < length)
+      {
+        int readLength = channel.read(target, readPosition);
+        if(readLength < 0)
+          break;
+
+        readPosition += readLength;
+      }
+      windowLength = target.position();
+    }
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+    return (int)(position - windowOffset);
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
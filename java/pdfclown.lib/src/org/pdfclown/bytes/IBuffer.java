@@ -35,7 +35,7 @@ import org.pdfclown.objects.PdfDictionary;
   @version 0.1.2.1, 05/22/15
 */
 public interface IBuffer
-  extends IInputStream,
+  extends IDuplicableInputStream,
     IOutputStream
 {
   /**
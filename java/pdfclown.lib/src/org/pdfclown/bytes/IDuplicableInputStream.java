@@ -0,0 +1,48 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.bytes;
+
+/**
+  Input stream whose data can be shared by multiple independent cursors.
+  <p>This capability enables concurrent access to the same data source, as each thread can work on
+  its own duplicate without interfering with the pointer of the others.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+public interface IDuplicableInputStream
+  extends IInputStream
+{
+  /**
+    Creates a new stream sharing the data of this one.
+    <p>The duplicate has its own pointer (initially at the start of the data) and byte order; it
+    doesn't own the underlying data source, so closing it doesn't affect this stream. Conversely,
+    it MUST NOT be used after this stream has been closed or modified.</p>
+  */
+  IInputStream duplicate(
+    );
+}
@@ -41,11 +41,20 @@ public final class OutputStream
   implements IOutputStream
 {
   // <class>
+  // <static>
+  // <fields>
+  /**
+    Size of the chunks through which input streams are copied.
+  */
+  private static final int CopyChunkSize = 1 << 16;
+  // </fields>
+  // </static>
+
   // <dynamic>
   // <fields>
   private java.io.OutputStream stream;
 
-  private int length;
+  private long length;
   // </fields>
 
   // <constructors>
@@ -116,14 +125,23 @@ public final class OutputStream
   {
     try
     {
-      // TODO:IMPL bufferize!!!
-      byte[] baseData = new byte[(int)data.getLength()];
+      long dataLength = data.getLength();
       // Force the source pointer to the BOF (as we must copy the entire content)!
       data.seek(0);
-      // Read source content!
-      data.read(baseData);
-      // Write target content!
-      write(baseData);
+      /*
+        NOTE: Content is copied chunk by chunk, as the source may exceed the capacity of a single
+        array (files larger than 2 GB).
+      */
+      byte[] chunk = new byte[(int)Math.min(dataLength, CopyChunkSize)];
+      for(long remaining = dataLength; remaining > 0;)
+      {
+        int chunkLength = (int)Math.min(remaining, chunk.length);
+        // Read source content!
+        data.read(chunk, 0, chunkLength);
+        // Write target content!
+        write(chunk, 0, chunkLength);
+        remaining -= chunkLength;
+      }
     }
     catch(EOFException e)
     {throw new RuntimeException(e);}
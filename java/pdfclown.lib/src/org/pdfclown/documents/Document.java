@@ -38,6 +38,7 @@ import java.util.Date;
 import org.pdfclown.PDF;
 import org.pdfclown.Version;
 import org.pdfclown.VersionEnum;
+import org.pdfclown.documents.contents.ContentsCache;
 import org.pdfclown.documents.contents.Resources;
 import org.pdfclown.documents.contents.layers.LayerDefinition;
 import org.pdfclown.documents.interaction.forms.Form;
@@ -66,7 +67,7 @@ import org.pdfclown.util.NotImplementedException;
   PDF document [PDF:1.6:3.6.1].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 05/02/15
+  @version 0.2.0, 10/17/26
 */
 @PDF(VersionEnum.PDF10)
 public final class Document
@@ -96,8 +97,19 @@ public final class Document
   // <fields>
   /**
     <span style="color:red">For internal use only.</span>
+    <p>This cache is safe for concurrent access.</p>
   */
-  public java.util.Hashtable<PdfReference,Object> cache = new java.util.Hashtable<PdfReference,Object>();
+  public java.util.concurrent.ConcurrentMap<PdfReference,Object> cache = new java.util.concurrent.ConcurrentHashMap<PdfReference,Object>();
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Parsed contents cache (see {@link org.pdfclown.documents.contents.Contents Contents}).</p>
+  */
+  public final ContentsCache contentsCache = new ContentsCache();
+
+  /**
+    Page position index (see {@link Pages}).
+  */
+  volatile Pages.Index pageIndex;
 
   private DocumentConfiguration configuration = new DocumentConfiguration(this);
   // </fields>
@@ -473,7 +485,10 @@ public final class Document
   public void setPages(
     Pages value
     )
-  {getBaseDataObject().put(PdfName.Pages, PdfObjectWrapper.getBaseObject(value));}
+  {
+    getBaseDataObject().put(PdfName.Pages, PdfObjectWrapper.getBaseObject(value));
+    pageIndex = null;
+  }
 
   /**
     @see #getPageSize()
@@ -43,7 +43,7 @@ import org.pdfclown.util.io.IOUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.2.1
-  @version 0.1.2.1, 04/08/15
+  @version 0.2.0, 10/17/26
 */
 public final class DocumentConfiguration
 {
@@ -51,6 +51,7 @@ public final class DocumentConfiguration
   // <fields>
   private CompatibilityModeEnum compatibilityMode = CompatibilityModeEnum.Loose;
   private EncodingFallbackEnum encodingFallback = EncodingFallbackEnum.Substitution;
+  private boolean fontSubsettingEnabled = true;
   private java.io.File stampPath;
 
   private final Document document;
@@ -193,6 +194,18 @@ public final class DocumentConfiguration
     )
   {return stampPath;}
   
+  /**
+    Gets whether the font programs embedded from font files are restricted to the glyphs actually
+    used by the document.
+    <p>Subsetting is applied on serialization, so the same font may be used up to the last moment
+    before saving.</p>
+
+    @since 0.2.0
+  */
+  public boolean isFontSubsettingEnabled(
+    )
+  {return fontSubsettingEnabled;}
+
   /**
     @see #getCompatibilityMode()
   */
@@ -209,6 +222,14 @@ public final class DocumentConfiguration
     )
   {encodingFallback = value;}
 
+  /**
+    @see #isFontSubsettingEnabled()
+  */
+  public void setFontSubsettingEnabled(
+    boolean value
+    )
+  {fontSubsettingEnabled = value;}
+
   /**
     @see #getStampPath()
   */
@@ -368,6 +368,11 @@ public final class Page
   public int getIndex(
     )
   {
+    // Indexed lookup.
+    int index = getDocument().getPages().findIndex(this);
+    if(index != -1)
+      return index;
+
     /*
       NOTE: We'll scan sequentially each page-tree level above this page object
       collecting page counts. At each level we'll scan the kids array from the
@@ -377,7 +382,7 @@ public final class Page
     PdfReference parentReference = (PdfReference)getBaseDataObject().get(PdfName.Parent);
     PdfDictionary parent = (PdfDictionary)parentReference.getDataObject();
     PdfArray kids = (PdfArray)parent.resolve(PdfName.Kids);
-    int index = 0;
+    index = 0;
     for(
       int i = 0;
       true;
@@ -28,17 +28,21 @@ package org.pdfclown.documents;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Stack;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
+import org.pdfclown.files.File;
 import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfObject;
@@ -48,9 +52,13 @@ import org.pdfclown.util.NotImplementedException;
 
 /**
   Document pages collection [PDF:1.6:3.6.2].
+  <p>Positional access is backed by an index which flattens the page tree; the index is shared by
+  all the collections of the same document, and it's patched by the structural operations of this
+  class (low-level changes to the page tree are detected through the {@link
+  File#getTreeModificationCount() tree modification count} of the file).</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2, 12/28/12
+  @version 0.2.0, 10/17/26
 */
 @PDF(VersionEnum.PDF10)
 public final class Pages
@@ -63,6 +71,120 @@ public final class Pages
     be necessary to keep track of the modified tree nodes for incremental update.
   */
   // <class>
+  // <classes>
+  /**
+    Page position index.
+  */
+  static final class Index
+  {
+    /**
+      File containing the page tree.
+    */
+    private final File file;
+    /**
+      Page tree root which this index refers to.
+    */
+    private final PdfDirectObject root;
+    /**
+      Page references, in page order.
+    */
+    private final List<PdfReference> pageReferences;
+    /**
+      Page positions by page object (lazily rebuilt).
+    */
+    private Map<PdfIndirectObject,Integer> pageIndexes;
+    /**
+      Tree modification count of the file matching this index.
+    */
+    private int treeModificationCount;
+
+    Index(
+      Pages pages
+      )
+    {
+      file = pages.getFile();
+      // NOTE: Any change happening while walking the page tree makes this index stale.
+      treeModificationCount = file.getTreeModificationCount();
+      root = pages.getBaseObject();
+      pageReferences = new ArrayList<PdfReference>(pages.size());
+      for(Page page : pages)
+      {pageReferences.add((PdfReference)page.getBaseObject());}
+    }
+
+    synchronized PdfReference get(
+      int index
+      )
+    {return pageReferences.get(index);}
+
+    /**
+      Gets the position of the specified page object.
+
+      @return <code>-1</code>, if the page object isn't indexed.
+    */
+    synchronized int indexOf(
+      PdfDirectObject pageObject
+      )
+    {
+      if(!(pageObject instanceof PdfReference))
+        return -1;
+
+      if(pageIndexes == null)
+      {
+        pageIndexes = new IdentityHashMap<PdfIndirectObject,Integer>(pageReferences.size());
+        for(int index = 0, length = pageReferences.size(); index < length; index++)
+        {pageIndexes.put(pageReferences.get(index).getIndirectObject(), index);}
+      }
+      Integer index = pageIndexes.get(((PdfReference)pageObject).getIndirectObject());
+      return index != null ? index : -1;
+    }
+
+    synchronized void insert(
+      int index,
+      Collection<? extends Page> pages
+      )
+    {
+      boolean append = (index == pageReferences.size());
+      for(Page page : pages)
+      {
+        PdfReference pageReference = (PdfReference)page.getBaseObject();
+        if(append && pageIndexes != null)
+        {pageIndexes.put(pageReference.getIndirectObject(), index);}
+        pageReferences.add(index++, pageReference);
+      }
+      if(!append)
+      {pageIndexes = null;} // Shifted positions.
+      treeModificationCount = file.getTreeModificationCount();
+    }
+
+    /**
+      Gets whether this index matches the page tree of the specified collection.
+    */
+    synchronized boolean isValid(
+      Pages pages
+      )
+    {
+      return root == pages.getBaseObject()
+        && treeModificationCount == file.getTreeModificationCount()
+        && pageReferences.size() == pages.size();
+    }
+
+    synchronized void remove(
+      int index
+      )
+    {
+      PdfReference pageReference = pageReferences.remove(index);
+      if(index == pageReferences.size())
+      {
+        if(pageIndexes != null)
+        {pageIndexes.remove(pageReference.getIndirectObject());}
+      }
+      else
+      {pageIndexes = null;} // Shifted positions.
+      treeModificationCount = file.getTreeModificationCount();
+    }
+  }
+  // </classes>
+
   // <dynamic>
   // <constructors>
   Pages(
@@ -123,55 +245,13 @@ public final class Pages
     )
   {
     /*
-      NOTE: As stated in [PDF:1.6:3.6.2], to retrieve pages is a matter of diving
-      inside a B-tree. To keep it as efficient as possible, this implementation
-      does NOT adopt recursion to deepen its search, opting for an iterative strategy
-      instead.
+      NOTE: As stated in [PDF:1.6:3.6.2], to retrieve pages is a matter of diving inside a B-tree:
+      in order to avoid walking the tree on each call, the page index is used instead.
     */
-    int pageOffset = 0;
-    PdfDictionary parent = getBaseDataObject();
-    PdfArray kids = (PdfArray)parent.resolve(PdfName.Kids);
-    for(
-      int i = 0;
-      i < kids.size();
-      i++
-      )
-    {
-      PdfReference kidReference = (PdfReference)kids.get(i);
-      PdfDictionary kid = (PdfDictionary)kidReference.getDataObject();
-      // Is current kid a page object?
-      if(kid.get(PdfName.Type).equals(PdfName.Page)) // Page object.
-      {
-        // Did we reach the searched position?
-        if(pageOffset == index) // Vertical scan (we finished).
-        {
-          // We got it!
-          return Page.wrap(kidReference);
-        }
-        else // Horizontal scan (go past).
-        {
-          // Cumulate current page object count!
-          pageOffset++;
-        }
-      }
-      else // Page tree node.
-      {
-        // Does the current subtree contain the searched page?
-        if(((PdfInteger)kid.get(PdfName.Count)).getRawValue() + pageOffset > index) // Vertical scan (deepen the search).
-        {
-          // Go down one level!
-          parent = kid;
-          kids = (PdfArray)parent.resolve(PdfName.Kids);
-          i = -1;
-        }
-        else // Horizontal scan (go past).
-        {
-          // Cumulate current subtree count!
-          pageOffset += ((PdfInteger)kid.get(PdfName.Count)).getRawValue();
-        }
-      }
-    }
-    return null;
+    if(index < 0 || index >= size())
+      return null;
+
+    return Page.wrap(getIndex().get(index));
   }
 
   @Override
@@ -294,6 +374,10 @@ public final class Pages
     )
   {
     Page pageObj = (Page)page;
+    // Keep track of the page position (for index patching)!
+    Index index = getValidIndex();
+    int pageIndex = (index != null ? index.indexOf(pageObj.getBaseObject()) : -1);
+
     PdfDictionary pageData = pageObj.getBaseDataObject();
     // Get the parent tree node!
     PdfDirectObject parent = pageData.get(PdfName.Parent);
@@ -320,6 +404,12 @@ public final class Pages
       parentData = (PdfDictionary)PdfObject.resolve(parent);
     } while(parent != null);
 
+    // Update the page index!
+    if(pageIndex != -1)
+    {index.remove(pageIndex);}
+    else
+    {getDocument().pageIndex = null;}
+
     return true;
   }
 
@@ -473,6 +563,18 @@ public final class Pages
   // </List>
   // </public>
 
+  // <internal>
+  /**
+    Gets the position of the specified page through the page index.
+
+    @return <code>-1</code>, if the page isn't indexed.
+  */
+  int findIndex(
+    Page page
+    )
+  {return getIndex().indexOf(page.getBaseObject());}
+  // </internal>
+
   // <private>
   /**
     Add a collection of pages at the specified position.
@@ -514,6 +616,9 @@ public final class Pages
       offset = kidsData.indexOf(pivotPage.getBaseObject());
     }
 
+    Index pageIndex = getValidIndex();
+    int pageOffset = (index == -1 ? size() : index);
+
     // Adding the pages...
     for(Page page : pages)
     {
@@ -548,8 +653,43 @@ public final class Pages
       parentData = (PdfDictionary)PdfObject.resolve(parent);
     } while(parent != null);
 
+    // Update the page index!
+    if(pageIndex != null)
+    {pageIndex.insert(pageOffset, pages);}
+
     return true;
   }
+
+  /**
+    Gets the page index, (re)building it in case it's missing or stale.
+  */
+  private Index getIndex(
+    )
+  {
+    Index index = getValidIndex();
+    if(index == null)
+    {
+      Document document = getDocument();
+      // NOTE: The index is built once, even if concurrently requested.
+      synchronized(document)
+      {
+        index = getValidIndex();
+        if(index == null)
+        {document.pageIndex = index = new Index(this);}
+      }
+    }
+    return index;
+  }
+
+  /**
+    Gets the current page index, if valid.
+  */
+  private Index getValidIndex(
+    )
+  {
+    Index index = getDocument().pageIndex;
+    return index != null && index.isValid(this) ? index : null;
+  }
   // </private>
   // </interface>
   // </dynamic>
@@ -0,0 +1,196 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.documents.contents;
+
+import java.awt.geom.AffineTransform;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.pdfclown.documents.contents.ContentScanner.GraphicsState;
+import org.pdfclown.documents.contents.objects.BeginInlineImage;
+import org.pdfclown.documents.contents.objects.EndText;
+import org.pdfclown.documents.contents.objects.InlineImage;
+import org.pdfclown.documents.contents.objects.Operation;
+import org.pdfclown.documents.contents.objects.RestoreGraphicsState;
+import org.pdfclown.documents.contents.objects.SaveGraphicsState;
+import org.pdfclown.documents.contents.tokens.ContentParser;
+import org.pdfclown.documents.contents.xObjects.FormXObject;
+
+/**
+  Content stream event parser [PDF:1.6:3.7.1].
+  <p>Contrary to {@link ContentScanner}, which walks the object tree of {@link Contents
+  contents}, it streams the content operations directly from the decoded content stream, notifying
+  them to a {@link IHandler handler} along with the current graphics state: no object tree is
+  built, so memory usage doesn't depend on the content stream size. This is suitable for
+  read-only jobs (such as text extraction, blank-page detection and image inventory).</p>
+  <p>The graphics state is tracked applying each operation after its notification; graphics state
+  operators ({@link SaveGraphicsState q}/{@link RestoreGraphicsState Q}) are resolved through a
+  state stack instead of object nesting. External forms are not entered automatically: handlers
+  may parse them through {@link #ContentEventParser(FormXObject, GraphicsState)}.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+public final class ContentEventParser
+{
+  // <class>
+  // <interfaces>
+  /**
+    Content event handler.
+  */
+  public interface IHandler
+  {
+    /**
+      Notifies an inline image.
+
+      @param inlineImage Inline image.
+      @param state Current graphics state.
+      @return Whether parsing has to go on.
+    */
+    boolean onInlineImage(
+      InlineImage inlineImage,
+      GraphicsState state
+      );
+
+    /**
+      Notifies an operation (operator along with its operands).
+      <p>The graphics state is the one in effect before the operation is applied: for example,
+      text-showing operations can be scanned against it (see {@link
+      org.pdfclown.documents.contents.objects.ShowText#scan(GraphicsState,
+      org.pdfclown.documents.contents.objects.ShowText.IScanner) ShowText.scan(...)}) to get the
+      text characters and their boxes.</p>
+
+      @param operation Operation.
+      @param state Current graphics state.
+      @return Whether parsing has to go on.
+    */
+    boolean onOperation(
+      Operation operation,
+      GraphicsState state
+      );
+  }
+  // </interfaces>
+
+  // <dynamic>
+  // <fields>
+  private final ContentScanner scanner;
+  // </fields>
+
+  // <constructors>
+  /**
+    Instantiates a top-level content event parser.
+
+    @param contentContext Content context containing the content stream to parse.
+  */
+  public ContentEventParser(
+    IContentContext contentContext
+    )
+  {scanner = new ContentScanner(contentContext);}
+
+  /**
+    Instantiates a content event parser for {@link FormXObject external form}.
+
+    @param formXObject External form.
+    @param parentState Graphics state of the parent content stream at the form painting.
+  */
+  public ContentEventParser(
+    FormXObject formXObject,
+    GraphicsState parentState
+    )
+  {scanner = new ContentScanner(formXObject, parentState.getScanner());}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the content context associated to the content stream.
+  */
+  public IContentContext getContentContext(
+    )
+  {return scanner.getContentContext();}
+
+  /**
+    Parses the content stream, notifying its contents to the given handler.
+
+    @param handler Content event handler.
+    @return Whether the content stream was parsed to its end (that is, the handler didn't stop it).
+  */
+  public boolean parse(
+    IHandler handler
+    )
+  {
+    /*
+      NOTE: The scanner is used as graphics state context only (its contents are left unloaded).
+    */
+    scanner.moveStart();
+    GraphicsState state = scanner.getState();
+    Deque<GraphicsState> savedStates = new ArrayDeque<GraphicsState>();
+
+    @SuppressWarnings("resource")
+    ContentParser parser = new ContentParser(new Contents.ContentStream(scanner.getContents().getBaseDataObject()));
+    while(parser.moveNext())
+    {
+      Operation operation = parser.parseOperation();
+      if(operation == null) // Trailing operands without operator.
+        break;
+
+      if(operation instanceof BeginInlineImage) // Inline image.
+      {
+        if(!handler.onInlineImage(parser.parseInlineImage(), state))
+          return false;
+        continue;
+      }
+
+      if(!handler.onOperation(operation, state))
+        return false;
+
+      // Applying the operation to the graphics state...
+      if(operation instanceof SaveGraphicsState)
+      {savedStates.push(state.clone());}
+      else if(operation instanceof RestoreGraphicsState)
+      {
+        // NOTE: Unbalanced restore operators are ignored.
+        if(!savedStates.isEmpty())
+        {savedStates.pop().copyTo(state);}
+      }
+      else if(operation instanceof EndText)
+      {
+        // NOTE: Text object matrices are discarded at the end of text objects.
+        state.setTlm(new AffineTransform());
+        state.setTm(new AffineTransform());
+      }
+      else
+      {operation.scan(state);}
+    }
+    return true;
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
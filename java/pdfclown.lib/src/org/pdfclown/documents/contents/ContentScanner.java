@@ -68,7 +68,7 @@ import org.pdfclown.util.math.geom.Dimension;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.4
-  @version 0.2.0, 04/30/15
+  @version 0.2.0, 10/17/26
 */
 public final class ContentScanner
 {
@@ -837,7 +837,7 @@ public final class ContentScanner
     implements ITextString
   {
     private TextStyle style;
-    private final List<TextChar> textChars;
+    private final TextRun textChars;
 
     TextStringWrapper(
       ContentScanner scanner
@@ -845,7 +845,7 @@ public final class ContentScanner
     {
       super((ShowText)scanner.getCurrent());
 
-      textChars = new ArrayList<TextChar>();
+      textChars = new TextRun();
       {
         GraphicsState state = scanner.getState();
         style = new TextStyle(
@@ -861,7 +861,7 @@ public final class ContentScanner
           );
         getBaseDataObject().scan(
           state,
-          new ShowText.IScanner()
+          new ShowText.ICoordinateScanner()
           {
             @Override
             public void scanChar(
@@ -870,16 +870,26 @@ public final class ContentScanner
               double alpha
               )
             {
-              textChars.add(
-                new TextChar(
-                  textChar,
-                  textCharBox,
-                  alpha,
-                  style,
-                  false
-                  )
+              scanChar(
+                textChar,
+                textCharBox.getX(),
+                textCharBox.getY(),
+                textCharBox.getWidth(),
+                textCharBox.getHeight(),
+                alpha
                 );
             }
+
+            @Override
+            public void scanChar(
+              char textChar,
+              double x,
+              double y,
+              double width,
+              double height,
+              double alpha
+              )
+            {textChars.add(textChar, x, y, width, height, alpha, style, false);}
           }
           );
       }
@@ -887,7 +897,7 @@ public final class ContentScanner
 
     @Override
     public double getAlpha() {
-        return textChars.isEmpty() ? 0 : textChars.get(0).getAlpha();
+        return textChars.isEmpty() ? 0 : textChars.getAlpha(0);
     }
 
     @Override
@@ -898,21 +908,23 @@ public final class ContentScanner
       {
         AffineTransform rot = null;
         Rectangle2D tempBox = null;
-        for(TextChar textChar : textChars)
+        Point2D corner = new Point2D.Double();
+        Rectangle2D charBox = new Rectangle2D.Double();
+        for(int index = 0, count = textChars.size(); index < count; index++)
         {
-          Rectangle2D thisBox = textChar.getBox();
           if (rot == null) {
-              rot = AffineTransform.getRotateInstance(textChar.getAlpha(), thisBox.getX(), thisBox.getY());
-              tempBox = (Rectangle2D)thisBox.clone();
+              rot = AffineTransform.getRotateInstance(textChars.getAlpha(index), textChars.getX(index), textChars.getY(index));
+              tempBox = textChars.getBox(index);
           } else {
-              Point2D corner = new Point2D.Double(thisBox.getX(), thisBox.getY());
+              corner.setLocation(textChars.getX(index), textChars.getY(index));
               rot.transform(corner, corner);
-              tempBox.add(new Rectangle2D.Double(corner.getX(), corner.getY(), thisBox.getWidth(), thisBox.getHeight()));
+              charBox.setRect(corner.getX(), corner.getY(), textChars.getWidth(index), textChars.getHeight(index));
+              tempBox.add(charBox);
           }
         }
         if (tempBox != null) {
             try {
-                Point2D corner = new Point2D.Double(tempBox.getX(), tempBox.getY());
+                corner.setLocation(tempBox.getX(), tempBox.getY());
                 rot.invert();
                 rot.transform(corner, corner);
                 box = new Rectangle2D.Double(corner.getX(), corner.getY(), tempBox.getWidth(), tempBox.getHeight());
@@ -934,15 +946,10 @@ public final class ContentScanner
     @Override
     public String getText(
       )
-    {
-      StringBuilder textBuilder = new StringBuilder();
-      for(TextChar textChar : textChars)
-      {textBuilder.append(textChar);}
-      return textBuilder.toString();
-    }
+    {return textChars.getText();}
 
     @Override
-    public List<TextChar> getTextChars(
+    public TextRun getTextChars(
       )
     {return textChars;}
     
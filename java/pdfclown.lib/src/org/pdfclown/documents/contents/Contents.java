@@ -50,14 +50,16 @@ import org.pdfclown.util.NotImplementedException;
 
 /**
   Content stream [PDF:1.6:3.7.1].
-  <p>During its loading, this content stream is parsed and its instructions
+  <p>On first access, this content stream is parsed and its instructions
   are exposed as a list; in case of modifications, it's user responsability
   to call the {@link #flush()} method in order to serialize back the instructions
   into this content stream.</p>
+  <p>Parsed contents are cached per document (see {@link #wrap(PdfDirectObject, IContentContext)}),
+  so unflushed modifications are visible to subsequent wrappings of the same content stream.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.4
-  @version 0.1.2.1, 05/22/15
+  @version 0.2.0, 10/17/26
 */
 @PDF(VersionEnum.PDF10)
 public final class Contents
@@ -69,7 +71,7 @@ public final class Contents
   /**
     Content stream wrapper.
   */
-  private static class ContentStream
+  static class ContentStream
     implements IInputStream
   {
     private final PdfDataObject baseDataObject;
@@ -261,6 +263,16 @@ public final class Contents
           throw new EOFException();
     }
 
+    /**
+      Gets a private cursor over the body of the specified stream.
+      <p>The same stream may be parsed by concurrent threads (for example, a form XObject shared by
+      multiple pages), so its body pointer cannot be used directly.</p>
+    */
+    private static IInputStream getBody(
+      PdfStream stream
+      )
+    {return stream.getBody().duplicate();}
+
     private boolean moveNextStream(
       )
     {
@@ -279,7 +291,7 @@ public final class Contents
             : basePosition + stream.getLength());
 
           stream = (streamIndex < 1
-            ? ((PdfStream)baseDataObject).getBody()
+            ? getBody((PdfStream)baseDataObject)
             : null);
         }
       }
@@ -295,7 +307,7 @@ public final class Contents
             : basePosition + stream.getLength());
 
           stream = (streamIndex < streams.size()
-            ? ((PdfStream)streams.resolve(streamIndex)).getBody()
+            ? getBody((PdfStream)streams.resolve(streamIndex))
             : null);
         }
       }
@@ -325,14 +337,14 @@ public final class Contents
       // Is the content stream just a single stream?
       if(baseDataObject instanceof PdfStream) // Single stream.
       {
-        stream = ((PdfStream)baseDataObject).getBody();
+        stream = getBody((PdfStream)baseDataObject);
         basePosition = 0;
       }
       else // Array of streams.
       {
         PdfArray streams = (PdfArray)baseDataObject;
 
-        stream = ((PdfStream)((PdfReference)streams.get(streamIndex)).getDataObject()).getBody();
+        stream = getBody((PdfStream)((PdfReference)streams.get(streamIndex)).getDataObject());
         basePosition -= stream.getLength();
       }
 
@@ -344,11 +356,32 @@ public final class Contents
   // <static>
   // <interface>
   // <public>
+  /**
+    Wraps the given content stream.
+    <p>Parsed contents are shared across wrappings of the same content stream within the same
+    content context (see {@link ContentsCache}), until the content stream body changes.</p>
+
+    @param baseObject Content stream (either single or array).
+    @param contentContext Content context.
+  */
   public static Contents wrap(
     PdfDirectObject baseObject,
     IContentContext contentContext
     )
-  {return baseObject != null ? new Contents(baseObject, contentContext) : null;}
+  {
+    if(baseObject == null)
+      return null;
+
+    // Already-parsed contents?
+    Document document = baseObject.getFile() != null ? baseObject.getFile().getDocument() : null;
+    if(document != null)
+    {
+      Contents contents = document.contentsCache.get(baseObject.resolve(), contentContext);
+      if(contents != null)
+        return contents;
+    }
+    return new Contents(baseObject, contentContext);
+  }
   // </public>
   // </interface>
   // </static>
@@ -369,7 +402,6 @@ public final class Contents
     super(baseObject);
 
     this.contentContext = contentContext;
-    load();
   }
   // </constructors>
 
@@ -387,6 +419,12 @@ public final class Contents
   public void flush(
     )
   {
+    /*
+      NOTE: As contents are parsed lazily, they MUST be loaded before their source streams are
+      cleared.
+    */
+    List<ContentObject> items = getItems();
+
     PdfStream stream;
     PdfDataObject baseDataObject = getBaseDataObject();
     // Are contents just a single stream object?
@@ -441,93 +479,93 @@ public final class Contents
     int index,
     ContentObject content
     )
-  {items.add(index,content);}
+  {getItems().add(index,content);}
 
   @Override
   public boolean addAll(
     int index,
     Collection<? extends ContentObject> contents
     )
-  {return items.addAll(index,contents);}
+  {return getItems().addAll(index,contents);}
 
   @Override
   public ContentObject get(
     int index
     )
-  {return items.get(index);}
+  {return getItems().get(index);}
 
   @Override
   public int indexOf(
     Object content
     )
-  {return items.indexOf(content);}
+  {return getItems().indexOf(content);}
 
   @Override
   public int lastIndexOf(
     Object content
     )
-  {return items.lastIndexOf(content);}
+  {return getItems().lastIndexOf(content);}
 
   @Override
   public ListIterator<ContentObject> listIterator(
     )
-  {return items.listIterator();}
+  {return getItems().listIterator();}
 
   @Override
   public ListIterator<ContentObject> listIterator(
     int index
     )
-  {return items.listIterator(index);}
+  {return getItems().listIterator(index);}
 
   @Override
   public ContentObject remove(
     int index
     )
-  {return items.remove(index);}
+  {return getItems().remove(index);}
 
   @Override
   public ContentObject set(
     int index,
     ContentObject content
     )
-  {return items.set(index,content);}
+  {return getItems().set(index,content);}
 
   @Override
   public List<ContentObject> subList(
     int fromIndex,
     int toIndex
     )
-  {return items.subList(fromIndex,toIndex);}
+  {return getItems().subList(fromIndex,toIndex);}
 
   // <Collection>
   @Override
   public boolean add(
     ContentObject content
     )
-  {return items.add(content);}
+  {return getItems().add(content);}
 
   @Override
   public boolean addAll(
     Collection<? extends ContentObject> contents
     )
-  {return items.addAll(contents);}
+  {return getItems().addAll(contents);}
 
   @Override
   public void clear(
     )
-  {items.clear();}
+  {getItems().clear();}
 
   @Override
   public boolean contains(
     Object content
     )
-  {return items.contains(content);}
+  {return getItems().contains(content);}
 
   @Override
   public boolean containsAll(
     Collection<?> contents
     )
-  {return items.containsAll(contents);}
+  {return getItems().containsAll(contents);}
 
   @Override
   public boolean equals(
@@ -543,59 +581,75 @@ public final class Contents
   @Override
   public boolean isEmpty(
     )
-  {return items.isEmpty();}
+  {return getItems().isEmpty();}
 
   @Override
   public boolean remove(
     Object content
     )
-  {return items.remove(content);}
+  {return getItems().remove(content);}
 
   @Override
   public boolean removeAll(
     Collection<?> contents
     )
-  {return items.removeAll(contents);}
+  {return getItems().removeAll(contents);}
 
   @Override
   public boolean retainAll(
     Collection<?> contents
     )
-  {return items.retainAll(contents);}
+  {return getItems().retainAll(contents);}
 
   @Override
   public int size(
     )
-  {return items.size();}
+  {return getItems().size();}
 
   @Override
   public Object[] toArray(
     )
-  {return items.toArray();}
+  {return getItems().toArray();}
 
   @Override
   public <T> T[] toArray(
     T[] contents
     )
-  {return items.toArray(contents);}
+  {return getItems().toArray(contents);}
 
   // <Iterable>
   @Override
   public Iterator<ContentObject> iterator(
     )
-  {return items.iterator();}
+  {return getItems().iterator();}
   // </Iterable>
   // </Collection>
   // </List>
   // </public>
 
   // <private>
+  /**
+    Gets the content objects, parsing the content stream on first access.
+  */
+  private List<ContentObject> getItems(
+    )
+  {
+    if(items == null)
+    {load();}
+    return items;
+  }
+
   private void load(
     )
   {
     @SuppressWarnings("resource")
     ContentParser parser = new ContentParser(new ContentStream(getBaseDataObject()));
     items = parser.parseContentObjects();
+
+    // Share the parsed contents!
+    Document document = getDocument();
+    if(document != null)
+    {document.contentsCache.put(this);}
   }
   // </private>
   // </interface>
@@ -0,0 +1,314 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.documents.contents;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.pdfclown.bytes.IBuffer;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfObjectWrapper;
+import org.pdfclown.objects.PdfStream;
+
+/**
+  Parsed contents cache.
+  <p><span style="color:red">For internal use only.</span></p>
+  <p>It keeps the recently-parsed {@link Contents contents} of a document, so that content streams
+  shared by multiple scans (such as a form used as letterhead on each page) are parsed once. Entries
+  are keyed by content stream and content context, softly referenced and evicted on a
+  least-recently-used basis; as soon as the body of a cached content stream is changed, its entry
+  is invalidated (see {@link IBuffer.IListener}).</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+public final class ContentsCache
+{
+  // <class>
+  // <classes>
+  /**
+    Cache entry.
+  */
+  private final class Entry
+    implements IBuffer.IListener
+  {
+    final IBuffer[] buffers;
+    final SoftReference<Contents> contentsReference;
+    final Key key;
+    /**
+      Content streams (in case of content stream array).
+    */
+    final PdfDirectObject[] streamObjects;
+
+    Entry(
+      Key key,
+      Contents contents,
+      PdfDirectObject[] streamObjects,
+      IBuffer[] buffers
+      )
+    {
+      this.key = key;
+      this.contentsReference = new SoftReference<Contents>(contents);
+      this.streamObjects = streamObjects;
+      this.buffers = buffers;
+      for(IBuffer buffer : buffers)
+      {buffer.addListener(this);}
+    }
+
+    @Override
+    public void onChange(
+      IBuffer buffer
+      )
+    {
+      synchronized(entries)
+      {
+        if(entries.get(key) == this)
+        {entries.remove(key);}
+      }
+      /*
+        NOTE: The notifying buffer is iterating its listeners, so this entry can't detach from it;
+        as it's no more cached, it will just ignore further notifications.
+      */
+      release(buffer);
+    }
+
+    /**
+      Gets whether the content stream array still matches the cached one.
+    */
+    boolean matches(
+      PdfDataObject contentsObject
+      )
+    {
+      if(streamObjects == null)
+        return true;
+
+      PdfArray streams = (PdfArray)contentsObject;
+      if(streams.size() != streamObjects.length)
+        return false;
+
+      for(int index = 0; index < streamObjects.length; index++)
+      {
+        if(!streamObjects[index].equals(streams.get(index)))
+          return false;
+      }
+      return true;
+    }
+
+    void release(
+      )
+    {release(null);}
+
+    void release(
+      IBuffer excludedBuffer
+      )
+    {
+      for(IBuffer buffer : buffers)
+      {
+        if(buffer != excludedBuffer)
+        {buffer.removeListener(this);}
+      }
+    }
+  }
+
+  /**
+    Cache key (identity of the content stream and of its content context).
+  */
+  private static final class Key
+  {
+    final Object contentsObject;
+    final Object contextObject;
+
+    Key(
+      PdfDataObject contentsObject,
+      IContentContext contentContext
+      )
+    {
+      this.contentsObject = contentsObject;
+      /*
+        NOTE: Content contexts are wrappers (instantiated on demand), so their base data object is
+        considered.
+      */
+      this.contextObject = (contentContext instanceof PdfObjectWrapper<?>
+        ? ((PdfObjectWrapper<?>)contentContext).getBaseDataObject()
+        : contentContext);
+    }
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {
+      if(!(object instanceof Key))
+        return false;
+
+      Key key = (Key)object;
+      return key.contentsObject == contentsObject
+        && key.contextObject == contextObject;
+    }
+
+    @Override
+    public int hashCode(
+      )
+    {return System.identityHashCode(contentsObject) * 31 + System.identityHashCode(contextObject);}
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final int MaxCount = 64;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final Map<Key,Entry> entries = new LinkedHashMap<Key,Entry>(16, .75f, true)
+  {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(
+      Map.Entry<Key,Entry> eldest
+      )
+    {
+      if(size() <= MaxCount)
+        return false;
+
+      eldest.getValue().release();
+      return true;
+    }
+  };
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Removes all the entries.
+  */
+  public void clear(
+    )
+  {
+    synchronized(entries)
+    {
+      for(Entry entry : entries.values())
+      {entry.release();}
+      entries.clear();
+    }
+  }
+  // </public>
+
+  // <internal>
+  /**
+    Gets the parsed contents corresponding to the given content stream.
+
+    @param contentsObject Content stream (either single or array).
+    @param contentContext Content context.
+    @return <code>null</code>, if missing.
+  */
+  Contents get(
+    PdfDataObject contentsObject,
+    IContentContext contentContext
+    )
+  {
+    Key key = new Key(contentsObject, contentContext);
+    synchronized(entries)
+    {
+      Entry entry = entries.get(key);
+      if(entry == null)
+        return null;
+
+      Contents contents = entry.contentsReference.get();
+      if(contents == null // Softly-referenced contents reclaimed.
+        || !entry.matches(contentsObject)) // Content stream array changed.
+      {
+        entries.remove(key);
+        entry.release();
+        return null;
+      }
+      return contents;
+    }
+  }
+
+  /**
+    Puts the given parsed contents into this cache.
+    <p>Contents whose content stream bodies have already been changed are ignored, as they
+    couldn't be tracked for further changes.</p>
+  */
+  void put(
+    Contents contents
+    )
+  {
+    PdfDataObject contentsObject = contents.getBaseDataObject();
+    PdfDirectObject[] streamObjects;
+    IBuffer[] buffers;
+    if(contentsObject instanceof PdfStream) // Single stream.
+    {
+      streamObjects = null;
+      buffers = new IBuffer[]{((PdfStream)contentsObject).getBody()};
+    }
+    else if(contentsObject instanceof PdfArray) // Array of streams.
+    {
+      PdfArray streams = (PdfArray)contentsObject;
+      int count = streams.size();
+      streamObjects = new PdfDirectObject[count];
+      buffers = new IBuffer[count];
+      for(int index = 0; index < count; index++)
+      {
+        streamObjects[index] = streams.get(index);
+        PdfDataObject stream = streams.resolve(index);
+        if(!(stream instanceof PdfStream))
+          return;
+
+        buffers[index] = ((PdfStream)stream).getBody();
+      }
+    }
+    else
+      return;
+
+    for(IBuffer buffer : buffers)
+    {
+      // NOTE: Dirty buffers don't notify further changes.
+      if(buffer.isDirty())
+        return;
+    }
+
+    Key key = new Key(contentsObject, contents.getContentContext());
+    synchronized(entries)
+    {
+      Entry oldEntry = entries.put(key, new Entry(key, contents, streamObjects, buffers));
+      if(oldEntry != null)
+      {oldEntry.release();}
+    }
+  }
+  // </internal>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -35,7 +35,7 @@ import java.util.List;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.1.0
+  @version 0.2.0, 10/17/26
 */
 public interface ITextString
 {
@@ -53,6 +53,8 @@ public interface ITextString
 
   /**
     Gets the information of each text string character.
+    <p>Text strings extracted from content streams return a {@link TextRun}, whose column
+    accessors spare the materialization of {@link TextChar} objects.</p>
   */
   public List<TextChar> getTextChars(
     );
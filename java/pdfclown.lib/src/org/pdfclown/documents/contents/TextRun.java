@@ -0,0 +1,472 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.documents.contents;
+
+import java.awt.geom.Rectangle2D;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+  Text run.
+  <p>It's a columnar list of {@link TextChar text characters}: character values, box coordinates,
+  angles and styles are stored in parallel primitive arrays (styles are referenced by index), so
+  that scanning large amounts of text doesn't allocate an object graph per character. Text
+  character objects are materialized on demand only (that is, on {@link #get(int) access}), whilst
+  column accessors (such as {@link #getValue(int)} and {@link #getX(int)}) read the stored
+  values directly.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+public final class TextRun
+  extends AbstractList<TextChar>
+  implements RandomAccess
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int DefaultCapacity = 16;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private double[] alphas;
+  private double[] heights;
+  private int size;
+  private int[] styleIndexes;
+  private TextStyle[] styles = new TextStyle[4];
+  private int stylesCount;
+  private char[] values;
+  private boolean[] virtuals;
+  private double[] widths;
+  private double[] xs;
+  private double[] ys;
+  // </fields>
+
+  // <constructors>
+  public TextRun(
+    )
+  {this(DefaultCapacity);}
+
+  public TextRun(
+    int capacity
+    )
+  {
+    capacity = Math.max(capacity, 1);
+    alphas = new double[capacity];
+    heights = new double[capacity];
+    styleIndexes = new int[capacity];
+    values = new char[capacity];
+    virtuals = new boolean[capacity];
+    widths = new double[capacity];
+    xs = new double[capacity];
+    ys = new double[capacity];
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Appends a text character.
+
+    @param value Character value.
+    @param x Horizontal coordinate of the character box.
+    @param y Vertical coordinate of the character box.
+    @param width Width of the character box.
+    @param height Height of the character box.
+    @param alpha Character angle.
+    @param style Character style.
+    @param virtual Whether the character has been synthesized.
+  */
+  public void add(
+    char value,
+    double x,
+    double y,
+    double width,
+    double height,
+    double alpha,
+    TextStyle style,
+    boolean virtual
+    )
+  {
+    ensureCapacity(size + 1);
+    set(size++, value, x, y, width, height, alpha, style, virtual);
+    modCount++;
+  }
+
+  @Override
+  public void add(
+    int index,
+    TextChar textChar
+    )
+  {
+    if(index < 0 || index > size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+    ensureCapacity(size + 1);
+    if(index < size)
+    {move(index, index + 1, size - index);}
+    size++;
+    Rectangle2D box = textChar.getBox();
+    set(
+      index,
+      textChar.getValue(),
+      box.getX(),
+      box.getY(),
+      box.getWidth(),
+      box.getHeight(),
+      textChar.getAlpha(),
+      textChar.getStyle(),
+      textChar.isVirtual()
+      );
+    modCount++;
+  }
+
+  /**
+    Appends a text character copied from the given text run.
+
+    @param run Source text run.
+    @param index Position of the text character within the source text run.
+  */
+  public void add(
+    TextRun run,
+    int index
+    )
+  {
+    run.checkIndex(index);
+    add(
+      run.values[index],
+      run.xs[index],
+      run.ys[index],
+      run.widths[index],
+      run.heights[index],
+      run.alphas[index],
+      run.styles[run.styleIndexes[index]],
+      run.virtuals[index]
+      );
+  }
+
+  @Override
+  public void clear(
+    )
+  {
+    size = 0;
+    Arrays.fill(styles, 0, stylesCount, null);
+    stylesCount = 0;
+    modCount++;
+  }
+
+  /**
+    Gets the text character at the given position.
+    <p>NOTE: Text characters are materialized on each call, so identity doesn't hold across
+    calls.</p>
+  */
+  @Override
+  public TextChar get(
+    int index
+    )
+  {
+    checkIndex(index);
+    return new TextChar(
+      values[index],
+      getBox(index),
+      alphas[index],
+      styles[styleIndexes[index]],
+      virtuals[index]
+      );
+  }
+
+  /**
+    Gets the angle of the text character at the given position.
+  */
+  public double getAlpha(
+    int index
+    )
+  {
+    checkIndex(index);
+    return alphas[index];
+  }
+
+  /**
+    Gets the bounds of the whole run.
+
+    @return <code>null</code>, if the run is empty.
+  */
+  public Rectangle2D getBox(
+    )
+  {
+    if(size == 0)
+      return null;
+
+    Rectangle2D box = new Rectangle2D.Double(xs[0], ys[0], widths[0], heights[0]);
+    Rectangle2D charBox = new Rectangle2D.Double();
+    for(int index = 1; index < size; index++)
+    {
+      charBox.setRect(xs[index], ys[index], widths[index], heights[index]);
+      box.add(charBox);
+    }
+    return box;
+  }
+
+  /**
+    Gets the box of the text character at the given position.
+  */
+  public Rectangle2D getBox(
+    int index
+    )
+  {
+    checkIndex(index);
+    return new Rectangle2D.Double(xs[index], ys[index], widths[index], heights[index]);
+  }
+
+  /**
+    Gets the box height of the text character at the given position.
+  */
+  public double getHeight(
+    int index
+    )
+  {
+    checkIndex(index);
+    return heights[index];
+  }
+
+  /**
+    Gets the box right coordinate of the text character at the given position.
+  */
+  public double getMaxX(
+    int index
+    )
+  {
+    checkIndex(index);
+    return xs[index] + widths[index];
+  }
+
+  /**
+    Gets the style of the text character at the given position.
+  */
+  public TextStyle getStyle(
+    int index
+    )
+  {
+    checkIndex(index);
+    return styles[styleIndexes[index]];
+  }
+
+  /**
+    Gets the text of the whole run.
+  */
+  public String getText(
+    )
+  {return new String(values, 0, size);}
+
+  /**
+    Gets the value of the text character at the given position.
+  */
+  public char getValue(
+    int index
+    )
+  {
+    checkIndex(index);
+    return values[index];
+  }
+
+  /**
+    Gets the box width of the text character at the given position.
+  */
+  public double getWidth(
+    int index
+    )
+  {
+    checkIndex(index);
+    return widths[index];
+  }
+
+  /**
+    Gets the box left coordinate of the text character at the given position.
+  */
+  public double getX(
+    int index
+    )
+  {
+    checkIndex(index);
+    return xs[index];
+  }
+
+  /**
+    Gets the box top coordinate of the text character at the given position.
+  */
+  public double getY(
+    int index
+    )
+  {
+    checkIndex(index);
+    return ys[index];
+  }
+
+  /**
+    Gets whether the text character at the given position has been synthesized.
+  */
+  public boolean isVirtual(
+    int index
+    )
+  {
+    checkIndex(index);
+    return virtuals[index];
+  }
+
+  @Override
+  public TextChar remove(
+    int index
+    )
+  {
+    TextChar textChar = get(index);
+    if(index < size - 1)
+    {move(index + 1, index, size - index - 1);}
+    size--;
+    modCount++;
+    return textChar;
+  }
+
+  @Override
+  public TextChar set(
+    int index,
+    TextChar textChar
+    )
+  {
+    TextChar oldTextChar = get(index);
+    Rectangle2D box = textChar.getBox();
+    set(
+      index,
+      textChar.getValue(),
+      box.getX(),
+      box.getY(),
+      box.getWidth(),
+      box.getHeight(),
+      textChar.getAlpha(),
+      textChar.getStyle(),
+      textChar.isVirtual()
+      );
+    return oldTextChar;
+  }
+
+  @Override
+  public int size(
+    )
+  {return size;}
+
+  @Override
+  public String toString(
+    )
+  {return getText();}
+  // </public>
+
+  // <private>
+  private void checkIndex(
+    int index
+    )
+  {
+    if(index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  private void ensureCapacity(
+    int capacity
+    )
+  {
+    if(capacity <= values.length)
+      return;
+
+    capacity = Math.max(capacity, values.length * 2);
+    alphas = Arrays.copyOf(alphas, capacity);
+    heights = Arrays.copyOf(heights, capacity);
+    styleIndexes = Arrays.copyOf(styleIndexes, capacity);
+    values = Arrays.copyOf(values, capacity);
+    virtuals = Arrays.copyOf(virtuals, capacity);
+    widths = Arrays.copyOf(widths, capacity);
+    xs = Arrays.copyOf(xs, capacity);
+    ys = Arrays.copyOf(ys, capacity);
+  }
+
+  private int getStyleIndex(
+    TextStyle style
+    )
+  {
+    // NOTE: Characters come in sequences sharing the same style, so the latest style is checked only.
+    if(stylesCount > 0 && styles[stylesCount - 1] == style)
+      return stylesCount - 1;
+
+    if(stylesCount == styles.length)
+    {styles = Arrays.copyOf(styles, stylesCount * 2);}
+    styles[stylesCount] = style;
+    return stylesCount++;
+  }
+
+  private void move(
+    int sourceIndex,
+    int targetIndex,
+    int length
+    )
+  {
+    System.arraycopy(alphas, sourceIndex, alphas, targetIndex, length);
+    System.arraycopy(heights, sourceIndex, heights, targetIndex, length);
+    System.arraycopy(styleIndexes, sourceIndex, styleIndexes, targetIndex, length);
+    System.arraycopy(values, sourceIndex, values, targetIndex, length);
+    System.arraycopy(virtuals, sourceIndex, virtuals, targetIndex, length);
+    System.arraycopy(widths, sourceIndex, widths, targetIndex, length);
+    System.arraycopy(xs, sourceIndex, xs, targetIndex, length);
+    System.arraycopy(ys, sourceIndex, ys, targetIndex, length);
+  }
+
+  private void set(
+    int index,
+    char value,
+    double x,
+    double y,
+    double width,
+    double height,
+    double alpha,
+    TextStyle style,
+    boolean virtual
+    )
+  {
+    alphas[index] = alpha;
+    heights[index] = height;
+    styleIndexes[index] = getStyleIndex(style);
+    values[index] = value;
+    virtuals[index] = virtual;
+    widths[index] = width;
+    xs[index] = x;
+    ys[index] = y;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
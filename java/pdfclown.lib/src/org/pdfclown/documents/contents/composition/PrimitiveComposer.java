@@ -1627,7 +1627,7 @@ public final class PrimitiveComposer
         // Insert the resource within the collection!
         int resourceIndex = resourceItems.size();
         do
-        {name = new PdfName(String.valueOf(++resourceIndex));}
+        {name = PdfName.get(String.valueOf(++resourceIndex));}
         while(resourceItems.containsKey(name));
         resourceItems.put(name,value);
       }
@@ -27,6 +27,7 @@ package org.pdfclown.documents.contents.fonts;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -37,7 +38,7 @@ import java.util.regex.Pattern;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.1.2.1, 05/05/15
+  @version 0.2.0, 10/17/26
 */
 final class AfmParser
 {
@@ -80,6 +81,11 @@ final class AfmParser
   public Map<Integer,Integer> glyphWidths;
 
   public BufferedReader fontData;//TODO: convert to IInputStream
+
+  /**
+    Glyph indexes by glyph name.
+  */
+  private Map<String,Integer> glyphNameIndexes;
   // </fields>
 
   // <constructors>
@@ -181,6 +187,7 @@ final class AfmParser
     ) throws IOException
   {
     glyphIndexes = new Hashtable<Integer, Integer>();
+    glyphNameIndexes = new HashMap<String,Integer>();
     glyphWidths = new Hashtable<Integer,Integer>();
 
     String line;
@@ -214,6 +221,7 @@ final class AfmParser
           : GlyphMapping.nameToCode(charName)
         );
       glyphIndexes.put(code,charCode);
+      glyphNameIndexes.put(charName,charCode);
       glyphWidths.put(charCode,width);
     }
   }
@@ -247,9 +255,13 @@ final class AfmParser
         continue;
       }
 
-      int code1 = GlyphMapping.nameToCode(lineMatcher.group(1));
-      int code2 = GlyphMapping.nameToCode(lineMatcher.group(2));
-      int pair = code1 << 16 + code2;
+      // NOTE: Kerning pairs are keyed by glyph indexes, consistently with the other font formats.
+      Integer glyphIndex1 = glyphNameIndexes.get(lineMatcher.group(1));
+      Integer glyphIndex2 = glyphNameIndexes.get(lineMatcher.group(2));
+      if(glyphIndex1 == null || glyphIndex2 == null)
+        continue;
+
+      int pair = (glyphIndex1 << 16) | glyphIndex2;
       int value = (int)Float.parseFloat(lineMatcher.group(3));
 
       glyphKernings.put(pair,value);
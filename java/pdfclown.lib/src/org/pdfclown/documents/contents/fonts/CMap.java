@@ -28,6 +28,8 @@ package org.pdfclown.documents.contents.fonts;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.pdfclown.bytes.Buffer;
@@ -43,12 +45,22 @@ import org.pdfclown.util.io.IOUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.1.2.1, 04/08/15
+  @version 0.2.0, 10/17/26
 */
 final class CMap
 {
   // <static>
+  // <fields>
+  /**
+    Predefined character maps (compiled) by name.
+    <p>NOTE: Predefined character maps are immutable, so they are parsed once and shared across
+    fonts and documents; missing names are cached too (<code>null</code> value).</p>
+  */
+  private static final Map<String,Map<ByteArray,Integer>> predefinedCMaps = new HashMap<String,Map<ByteArray,Integer>>();
+  // </fields>
+
   // <interface>
+  // <public>
   /**
     Gets the character map extracted from the given data.
 
@@ -91,7 +103,10 @@ final class CMap
   public static Map<ByteArray,Integer> get(
     PdfStream stream
     )
-  {return get(stream.getBody());}
+  {
+    // NOTE: The stream may be shared by concurrently-loading fonts, so a private cursor is used.
+    return get(stream.getBody().duplicate());
+  }
 
   /**
     Gets the character map corresponding to the given name.
@@ -108,11 +123,53 @@ final class CMap
     Gets the character map corresponding to the given name.
 
     @param name Predefined character map name.
-    @return <code>null</code>, in case no name matching occurs.
+    @return Immutable character map; <code>null</code>, in case no name matching occurs.
   */
   public static Map<ByteArray,Integer> get(
     String name
     )
+  {
+    synchronized(predefinedCMaps)
+    {
+      if(predefinedCMaps.containsKey(name))
+        return predefinedCMaps.get(name);
+    }
+
+    /*
+      NOTE: Parsing is done outside the lock, as predefined character maps may in turn load other
+      ones (usecmap operator); in case of concurrent loads, the first one wins.
+    */
+    Map<ByteArray,Integer> cmap = load(name);
+    synchronized(predefinedCMaps)
+    {
+      if(predefinedCMaps.containsKey(name))
+        return predefinedCMaps.get(name);
+
+      predefinedCMaps.put(name, cmap);
+    }
+    return cmap;
+  }
+
+  /**
+    Gets the character map corresponding to the given name, along with its inverse lookup.
+
+    @param name Predefined character map name.
+    @return <code>null</code>, in case no name matching occurs or the character map couldn't be
+      compiled.
+  */
+  public static PredefinedCMap getPredefined(
+    String name
+    )
+  {
+    Map<ByteArray,Integer> cmap = get(name);
+    return cmap instanceof PredefinedCMap ? (PredefinedCMap)cmap : null;
+  }
+  // </public>
+
+  // <private>
+  private static Map<ByteArray,Integer> load(
+    String name
+    )
   {
     Map<ByteArray,Integer> cmap;
     InputStream cmapResourceStream = null;
@@ -132,8 +189,11 @@ final class CMap
       IOUtils.closeQuietly(cmapStream);
       IOUtils.closeQuietly(cmapResourceStream);
     }
-    return cmap;
+
+    Map<ByteArray,Integer> compiledCMap = PredefinedCMap.compile(cmap);
+    return compiledCMap != null ? compiledCMap : Collections.unmodifiableMap(cmap);
   }
+  // </private>
   // </interface>
   // </static>
 
@@ -192,7 +192,13 @@ final class CMapParser
               }
             }
             else if(operator.equals(UseCMapOperator))
-            {codes = CMap.get((String)operands.get(0));}
+            {
+              // NOTE: Predefined character maps are shared, so they are copied before extension.
+              codes = new Hashtable<ByteArray,Integer>();
+              Map<ByteArray,Integer> baseCodes = CMap.get((String)operands.get(0));
+              if(baseCodes != null)
+              {codes.putAll(baseCodes);}
+            }
             else if(operator.equals(DefOperator) && !operands.isEmpty())
             {
               if(CMapName.equals(operands.get(0)))
@@ -0,0 +1,187 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.pdfclown.util.BiMap;
+import org.pdfclown.util.ByteArray;
+
+/**
+  Character code lookup table.
+  <p>This is a compact counterpart of the code map of a {@link Font font} (unicodes by character
+  code), meant for text decoding and encoding: character codes are decoded walking a byte trie
+  (whose nodes are 256-entry slices of a flat array, so 1- and 2-byte codes resolve through 1 or
+  2 direct lookups), whilst unicodes are encoded through 256-entry pages over the 16-bit range.
+  Once built, it's immutable.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+final class CodeTable
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int NodeSize = 256;
+
+  private static final int PageBits = 8;
+  private static final int PageMask = (1 << PageBits) - 1;
+  private static final int PageCount = 1 << (16 - PageBits);
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Character codes by (16-bit) unicode.
+  */
+  private final byte[][][] codePages = new byte[PageCount][][];
+  /**
+    Trie nodes.
+    <p>Each node is a {@link #NodeSize}-entry slice, indexed by the code byte value; entries are
+    encoded as follows:</p>
+    <ul>
+      <li>{@code 0}: no code;</li>
+      <li>positive value: offset of the child node (partial code);</li>
+      <li>negative value: bitwise complement of the unicode (complete code).</li>
+    </ul>
+  */
+  private int[] nodes;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param codes Unicodes by character code.
+  */
+  public CodeTable(
+    BiMap<ByteArray,Integer> codes
+    )
+  {
+    nodes = new int[NodeSize];
+    int nodesLength = NodeSize;
+    for(Map.Entry<ByteArray,Integer> codeEntry : codes.entrySet())
+    {
+      byte[] code = codeEntry.getKey().data;
+      int value = codeEntry.getValue();
+      if(code.length == 0 || value < 0)
+        continue;
+
+      // Decoding trie.
+      int nodeOffset = 0;
+      for(int index = 0, lastIndex = code.length - 1; index <= lastIndex; index++)
+      {
+        int entryIndex = nodeOffset + (code[index] & 0xFF);
+        int entry = nodes[entryIndex];
+        if(entry < 0) // Shorter code shadowing this one.
+          break;
+        else if(index == lastIndex)
+        {
+          /*
+            NOTE: In case of overlapping codes, the shortest match wins (see decode(...)), so
+            complete codes replace partial ones.
+          */
+          nodes[entryIndex] = ~value;
+        }
+        else
+        {
+          if(entry == 0)
+          {
+            if(nodesLength + NodeSize > nodes.length)
+            {nodes = Arrays.copyOf(nodes, nodes.length * 2);}
+            nodes[entryIndex] = entry = nodesLength;
+            nodesLength += NodeSize;
+          }
+          nodeOffset = entry;
+        }
+      }
+
+      // Encoding pages.
+      if(value <= 0xFFFF)
+      {
+        byte[][] codePage = codePages[value >> PageBits];
+        if(codePage == null)
+        {codePage = codePages[value >> PageBits] = new byte[1 << PageBits][];}
+        if(codePage[value & PageMask] == null)
+        {codePage[value & PageMask] = codes.getKey(value).data;}
+      }
+    }
+    if(nodes.length > nodesLength)
+    {nodes = Arrays.copyOf(nodes, nodesLength);}
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Decodes the character code starting at the given position.
+
+    @param data Encoded data.
+    @param index Position of the character code within the data.
+    @return Matching code packed with its length ({@code length << 32 | unicode}); {@code 0}, if no
+      code matches.
+  */
+  public long decode(
+    byte[] data,
+    int index
+    )
+  {
+    int nodeOffset = 0;
+    for(int length = data.length, codeIndex = index; codeIndex < length; codeIndex++)
+    {
+      int entry = nodes[nodeOffset + (data[codeIndex] & 0xFF)];
+      if(entry < 0) // Complete code.
+        return ((long)(codeIndex - index + 1) << 32) | ~entry;
+      else if(entry == 0) // Missing code.
+        return 0;
+
+      nodeOffset = entry;
+    }
+    return 0;
+  }
+
+  /**
+    Gets the character code associated to the given unicode.
+
+    @return {@code null}, if missing.
+  */
+  public byte[] encode(
+    int code
+    )
+  {
+    if(code < 0 || code > 0xFFFF)
+      return null;
+
+    byte[][] codePage = codePages[code >> PageBits];
+    return codePage != null ? codePage[code & PageMask] : null;
+  }
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -26,12 +26,18 @@
 package org.pdfclown.documents.contents.fonts;
 
 import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
@@ -64,13 +70,169 @@ import org.pdfclown.util.IFunction;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.2.0, 05/25/15
+  @version 0.2.0, 10/17/26
 */
 @PDF(VersionEnum.PDF12)
 public abstract class CompositeFont
   extends Font
 {
   // <class>
+  // <classes>
+  /**
+    Encoding of a font program.
+    <p>As it doesn't depend on the document context, it's shared across the fonts created from the
+    same (cached) font program (see {@link OpenFontParser#get(IInputStream)}): it MUST NOT be
+    modified.</p>
+  */
+  private static final class EncodingData
+  {
+    static final String CMapName = "Custom";
+
+    private static final Map<OpenFontParser,EncodingData> cache = new WeakHashMap<OpenFontParser,EncodingData>();
+
+    /**
+      Gets the encoding of the specified font program.
+    */
+    static EncodingData get(
+      OpenFontParser parser
+      )
+    {
+      synchronized(cache)
+      {
+        EncodingData encoding = cache.get(parser);
+        if(encoding == null)
+        {cache.put(parser, encoding = new EncodingData(parser));}
+        return encoding;
+      }
+    }
+
+    /**
+      Custom CMap data ({@code null} in case of identity encoding).
+    */
+    final byte[] cmapData;
+    /**
+      Unicodes by character code.
+    */
+    final BiMap<ByteArray,Integer> codes;
+    /**
+      Unicode of the .notdef glyph ({@code null} if undefined).
+    */
+    final Integer defaultCode;
+    /**
+      Glyph indexes by unicode.
+    */
+    final Map<Integer,Integer> glyphIndexes;
+    /**
+      Character code lookup table.
+    */
+    final CodeTable codeTable;
+    /**
+      Glyph metrics lookup tables.
+    */
+    final GlyphMetrics glyphMetrics;
+    /**
+      Glyph indexes (ascending order).
+    */
+    final List<Integer> sortedGlyphIndexes;
+    /**
+      ToUnicode CMap data.
+    */
+    final byte[] toUnicodeData;
+
+    private EncodingData(
+      OpenFontParser parser
+      )
+    {
+      /*
+        NOTE: Composite fonts map text shown by content stream strings through a 2-level encoding 
+        scheme:
+          character code -> CID (character index) -> GID (glyph index)
+        This works for rendering purposes, but if we want our text data to be intrinsically meaningful,
+        we need a further mapping towards some standard character identification scheme (Unicode):
+          Unicode <- character code -> CID -> GID
+        Such mapping may be provided by a known CID collection or (in case of custom encodings like
+        Identity-H) by an explicit ToUnicode CMap.
+        CID -> GID mapping is typically identity, that is CIDS correspond to GIDS, so we don't bother
+        about that. Our base encoding is Identity-H, that is character codes correspond to CIDs; 
+        however, sometimes a font maps multiple Unicode codepoints to the same GID (for example, the 
+        hyphen glyph may be associated to the hyphen (\u2010) and minus (\u002D) symbols), breaking 
+        the possibility to recover their original Unicode values once represented as character codes 
+        in content stream strings. In this case, we are forced to remap the exceeding codes and 
+        generate an explicit CMap (TODO: I tried to emit a differential CMap using the usecmap 
+        operator in order to import Identity-H as base encoding, but it failed in several engines
+        (including Acrobat, Ghostscript, Poppler, whilst it surprisingly worked with pdf.js), so we
+        have temporarily to stick with full CMaps).
+      */
+
+      final Map<Integer,Integer> glyphIndexes = new Hashtable<Integer,Integer>(parser.glyphIndexes);
+      Set<Integer> glyphIndexValues = new HashSet<Integer>(glyphIndexes.values());
+      codes = new BiMap<ByteArray,Integer>(glyphIndexes.size());
+      Integer defaultCode = null;
+      int lastRemappedCharCodeValue = 0;
+      for(Iterator<Map.Entry<Integer,Integer>> glyphIndexIterator = glyphIndexes.entrySet().iterator(); glyphIndexIterator.hasNext();)
+      {
+        Map.Entry<Integer,Integer> glyphIndexEntry = glyphIndexIterator.next();
+        int glyphIndex = glyphIndexEntry.getValue();
+        ByteArray charCode = new ByteArray(new byte[]
+          {
+            (byte)((glyphIndex >> 8) & 0xFF),
+            (byte)(glyphIndex & 0xFF)
+          });
+
+        // Checking for multiple Unicode codepoints which map to the same glyph index...
+        /*
+          NOTE: In case the same glyph index maps to multiple Unicode codepoints, we are forced to 
+          alter the identity encoding creating distinct cmap entries for the exceeding codepoints.
+        */
+        if(codes.containsKey(charCode))
+        {
+          if(glyphIndex == 0) // .notdef glyph already mapped.
+          {
+            glyphIndexIterator.remove();
+            continue;
+          }
+          
+          // Assigning the new character code...
+          /*
+            NOTE: As our base encoding is identity, we have to look for a value that doesn't
+            collide with existing glyph indices.
+          */
+          while(glyphIndexValues.contains(++lastRemappedCharCodeValue));
+          charCode.data[0] = (byte)((lastRemappedCharCodeValue >> 8) & 0xFF);
+          charCode.data[1] = (byte)(lastRemappedCharCodeValue & 0xFF);
+        }
+        else if(glyphIndex == 0) // .notdef glyph.
+        {defaultCode = glyphIndexEntry.getKey();}
+        
+        codes.put(charCode, glyphIndexEntry.getKey());
+      }
+      this.defaultCode = defaultCode;
+      codeTable = new CodeTable(codes);
+      this.glyphIndexes = Collections.unmodifiableMap(glyphIndexes);
+      glyphMetrics = new GlyphMetrics(glyphIndexes, parser.glyphWidths, parser.glyphKernings);
+      sortedGlyphIndexes = Collections.unmodifiableList(new ArrayList<Integer>(new TreeSet<Integer>(glyphIndexes.values())));
+
+      SortedMap<ByteArray,Integer> sortedCodes = new TreeMap<ByteArray,Integer>(codes);
+      if(lastRemappedCharCodeValue > 0) // Custom encoding.
+      {
+        cmapData = CMapBuilder.build(
+          EntryTypeEnum.CID,
+          CMapName,
+          sortedCodes,
+          new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
+          {
+            public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
+            {return glyphIndexes.get(codeEntry.getValue());}
+          }
+          ).toByteArray();
+      }
+      else
+      {cmapData = null;}
+      toUnicodeData = createToUnicode(sortedCodes).toByteArray();
+    }
+  }
+  // </classes>
+
   // <static>
   // <interface>
   // <public>
@@ -78,8 +240,20 @@ public abstract class CompositeFont
     Document context,
     IInputStream fontData
     )
+  {return get(context, OpenFontParser.get(fontData));}
+  // </public>
+
+  // <internal>
+  /**
+    Creates the representation of the specified font program.
+
+    @param parser Parsed font program (shared: it MUST NOT be modified).
+  */
+  static CompositeFont get(
+    Document context,
+    OpenFontParser parser
+    )
   {
-    OpenFontParser parser = new OpenFontParser(fontData);
     switch(parser.outlineFormat)
     {
       case PostScript:
@@ -89,12 +263,63 @@ public abstract class CompositeFont
     }
     throw new UnsupportedOperationException("Unknown composite font format.");
   }
-  // </public>
+  // </internal>
+
+  // <private>
+  /**
+    Gets the subset tag identifying the specified glyph set [PDF:1.6:5.5.3].
+  */
+  private static String getSubsetTag(
+    Iterable<Integer> glyphIndexes
+    )
+  {
+    long hash = 0;
+    for(Integer glyphIndex : glyphIndexes)
+    {hash = hash * 31 + glyphIndex;}
+    hash &= Long.MAX_VALUE;
+
+    char[] tag = new char[6];
+    for(int index = 0; index < tag.length; index++)
+    {
+      tag[index] = (char)('A' + hash % 26);
+      hash /= 26;
+    }
+    return new String(tag);
+  }
+
+  /**
+    Creates the character-code-to-Unicode mapping.
+  */
+  private static IBuffer createToUnicode(
+    SortedMap<ByteArray,Integer> codes
+    )
+  {
+    return CMapBuilder.build(
+      EntryTypeEnum.BaseFont,
+      null,
+      codes,
+      new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
+      {
+        public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
+        {return codeEntry.getValue();}
+      }
+      );
+  }
+  // </private>
   // </interface>
   // </static>
 
   // <dynamic>
   // <fields>
+  /**
+    Font program parser ({@code null} in case the font has been loaded from an existing PDF font
+    structure).
+  */
+  private OpenFontParser parser;
+  /**
+    Whether the embedded font program is currently subset.
+  */
+  private boolean subset;
   // </fields>
 
   // <constructors>
@@ -116,6 +341,81 @@ public abstract class CompositeFont
 
   // <interface>
   // <public>
+  /**
+    {@inheritDoc}
+    <p>In case the font has been created from a font program, its embedding is restricted to the
+    glyphs used so far (see {@link org.pdfclown.documents.DocumentConfiguration#isFontSubsettingEnabled()
+    font subsetting}): the TrueType font program is subset, its PostScript name is tagged
+    accordingly and both the glyph widths and the ToUnicode CMap are trimmed.</p>
+  */
+  @Override
+  public void onSave(
+    )
+  {
+    if(parser == null)
+      return;
+
+    boolean subsetting = getDocument().getConfiguration().isFontSubsettingEnabled();
+    if(!(subsetting || subset))
+      return;
+
+    // 1. Used glyphs.
+    SortedMap<Integer,Integer> usedGlyphIndexes = new TreeMap<Integer,Integer>(); // Glyph indexes by unicode.
+    if(subsetting)
+    {
+      for(Integer usedCode : usedCodes)
+      {
+        Integer glyphIndex = glyphIndexes.get(usedCode);
+        if(glyphIndex != null)
+        {usedGlyphIndexes.put(usedCode, glyphIndex);}
+      }
+    }
+    else
+    {usedGlyphIndexes.putAll(glyphIndexes);}
+
+    // 2. Font program.
+    byte[] fontData = parser.fontData.toByteArray();
+    String fontName = parser.fontName;
+    subset = false;
+    if(subsetting
+      && parser.outlineFormat == OpenFontParser.OutlineFormatEnum.TrueType)
+    {
+      byte[] subsetFontData = OpenFontSubsetter.subset(fontData, usedGlyphIndexes);
+      if(subsetFontData != null)
+      {
+        fontData = subsetFontData;
+        fontName = getSubsetTag(usedGlyphIndexes.values()) + "+" + fontName;
+        subset = true;
+      }
+    }
+    PdfDictionary cidFontDictionary = getCIDFontDictionary();
+    PdfDictionary fontDescriptor = (PdfDictionary)cidFontDictionary.resolve(PdfName.FontDescriptor);
+    {
+      IBuffer fontFileBody = ((PdfStream)fontDescriptor.resolve(PdfName.FontFile2)).getBody();
+      fontFileBody.clear();
+      fontFileBody.write(fontData);
+    }
+    PdfName fontNameObject = PdfName.get(fontName);
+    getBaseDataObject().put(PdfName.BaseFont, fontNameObject);
+    cidFontDictionary.put(PdfName.BaseFont, fontNameObject);
+    fontDescriptor.put(PdfName.FontName, fontNameObject);
+
+    // 3. Glyph widths.
+    cidFontDictionary.put(PdfName.W, createWidths(new TreeSet<Integer>(usedGlyphIndexes.values())));
+
+    // 4. ToUnicode.
+    {
+      SortedMap<ByteArray,Integer> usedCodeMap = new TreeMap<ByteArray,Integer>();
+      for(Map.Entry<ByteArray,Integer> codeEntry : codes.entrySet())
+      {
+        if(usedGlyphIndexes.containsKey(codeEntry.getValue()))
+        {usedCodeMap.put(codeEntry.getKey(), codeEntry.getValue());}
+      }
+      IBuffer toUnicodeBody = ((PdfStream)getBaseDataObject().resolve(PdfName.ToUnicode)).getBody();
+      toUnicodeBody.clear();
+      toUnicodeBody.write(createToUnicode(usedCodeMap));
+    }
+  }
   // </public>
 
   // <protected>
@@ -154,15 +454,15 @@ public abstract class CompositeFont
           (Unicode value to CID) corresponding to the font's one (character code to CID);
           CIDs are the bridge from character codes to Unicode values.
         */
-        BiMap<ByteArray,Integer> ucs2CMap;
+        PredefinedCMap ucs2CMap;
         {
           PdfDictionary cidSystemInfo = (PdfDictionary)getCIDFontDictionary().resolve(PdfName.CIDSystemInfo);
           String registry = ((PdfTextString)cidSystemInfo.get(PdfName.Registry)).getValue();
           String ordering = ((PdfTextString)cidSystemInfo.get(PdfName.Ordering)).getValue();
           String ucs2CMapName = registry + "-" + ordering + "-" + "UCS2";
-          ucs2CMap = new BiMap<ByteArray,Integer>(CMap.get(ucs2CMapName));
+          ucs2CMap = CMap.getPredefined(ucs2CMapName);
         }
-        if(!ucs2CMap.isEmpty())
+        if(ucs2CMap != null && !ucs2CMap.isEmpty())
         {
           for(Map.Entry<ByteArray,Integer> cmapEntry : cmap.entrySet())
           {codes.put(cmapEntry.getKey(),ConvertUtils.byteArrayToInt(ucs2CMap.getKey(cmapEntry.getValue()).data));}
@@ -199,6 +499,13 @@ public abstract class CompositeFont
   protected void onLoad(
     )
   {
+    /*
+      NOTE: Fonts created from font programs have already got their encoding and metrics (see
+      load(OpenFontParser)).
+    */
+    if(parser != null)
+      return;
+
     loadEncoding();
 
     // Glyph widths.
@@ -243,6 +550,34 @@ public abstract class CompositeFont
   // </protected>
 
   // <private>
+  /**
+    Creates the glyph widths array.
+
+    @param glyphIndexes Glyph indexes (ascending order).
+  */
+  private PdfArray createWidths(
+    Iterable<Integer> glyphIndexes
+    )
+  {
+    PdfArray widthsObject = new PdfArray();
+    int lastGlyphIndex = -10;
+    PdfArray lastGlyphWidthRangeObject = null;
+    for(Integer glyphIndex : glyphIndexes)
+    {
+      Integer width = glyphWidths.get(glyphIndex);
+      if(width == null)
+      {width = 0;}
+      if(glyphIndex - lastGlyphIndex != 1)
+      {
+        widthsObject.add(PdfInteger.get(glyphIndex));
+        widthsObject.add(lastGlyphWidthRangeObject = new PdfArray());
+      }
+      lastGlyphWidthRangeObject.add(PdfInteger.get(width));
+      lastGlyphIndex = glyphIndex;
+    }
+    return widthsObject;
+  }
+
   /**
     Loads the font data.
   */
@@ -250,14 +585,22 @@ public abstract class CompositeFont
     OpenFontParser parser
     )
   {
-    glyphIndexes = parser.glyphIndexes;
+    this.parser = parser;
+    EncodingData encoding = EncodingData.get(parser);
+    codes = encoding.codes;
+    symbolic = false;
+    glyphIndexes = encoding.glyphIndexes;
     glyphKernings = parser.glyphKernings;
     glyphWidths = parser.glyphWidths;
+    codeTable = encoding.codeTable;
+    glyphMetrics = encoding.glyphMetrics;
+    if(encoding.defaultCode != null)
+    {setDefaultCode(encoding.defaultCode);}
 
     PdfDictionary baseDataObject = getBaseDataObject();
 
     // BaseFont.
-    baseDataObject.put(PdfName.BaseFont,new PdfName(parser.fontName));
+    baseDataObject.put(PdfName.BaseFont,PdfName.get(parser.fontName));
 
     // Subtype.
     baseDataObject.put(PdfName.Subtype, PdfName.Type0);
@@ -276,7 +619,7 @@ public abstract class CompositeFont
       cidFontDictionary.put(PdfName.Subtype, PdfName.CIDFontType2);
 
       // BaseFont.
-      cidFontDictionary.put(PdfName.BaseFont, new PdfName(parser.fontName));
+      cidFontDictionary.put(PdfName.BaseFont, PdfName.get(parser.fontName));
 
       // CIDSystemInfo.
       cidFontDictionary.put(
@@ -304,7 +647,7 @@ public abstract class CompositeFont
         );
 
       // Encoding.
-      load_createEncoding(baseDataObject,cidFontDictionary);
+      load_createEncoding(baseDataObject,cidFontDictionary,encoding);
     }
     baseDataObject.put(
       PdfName.DescendantFonts,
@@ -319,161 +662,55 @@ public abstract class CompositeFont
   */
   private void load_createEncoding(
     PdfDictionary font,
-    PdfDictionary cidFont
+    PdfDictionary cidFont,
+    EncodingData encoding
     )
   {
-    /*
-      NOTE: Composite fonts map text shown by content stream strings through a 2-level encoding 
-      scheme:
-        character code -> CID (character index) -> GID (glyph index)
-      This works for rendering purposes, but if we want our text data to be intrinsically meaningful,
-      we need a further mapping towards some standard character identification scheme (Unicode):
-        Unicode <- character code -> CID -> GID
-      Such mapping may be provided by a known CID collection or (in case of custom encodings like
-      Identity-H) by an explicit ToUnicode CMap.
-      CID -> GID mapping is typically identity, that is CIDS correspond to GIDS, so we don't bother
-      about that. Our base encoding is Identity-H, that is character codes correspond to CIDs; 
-      however, sometimes a font maps multiple Unicode codepoints to the same GID (for example, the 
-      hyphen glyph may be associated to the hyphen (\u2010) and minus (\u002D) symbols), breaking 
-      the possibility to recover their original Unicode values once represented as character codes 
-      in content stream strings. In this case, we are forced to remap the exceeding codes and 
-      generate an explicit CMap (TODO: I tried to emit a differential CMap using the usecmap 
-      operator in order to import Identity-H as base encoding, but it failed in several engines
-      (including Acrobat, Ghostscript, Poppler, whilst it surprisingly worked with pdf.js), so we
-      have temporarily to stick with full CMaps).
-    */
-    
     // Encoding [PDF:1.7:5.6.1,5.6.4].
     PdfDirectObject encodingObject = PdfName.IdentityH;
-    SortedMap<ByteArray,Integer> sortedCodes;
+    if(encoding.cmapData != null) // Custom encoding.
     {
-      codes = new BiMap<ByteArray,Integer>(glyphIndexes.size());
-      int lastRemappedCharCodeValue = 0;
-      for(Iterator<Map.Entry<Integer,Integer>> glyphIndexIterator = glyphIndexes.entrySet().iterator(); glyphIndexIterator.hasNext();)
-      {
-        Map.Entry<Integer,Integer> glyphIndexEntry = glyphIndexIterator.next();
-        int glyphIndex = glyphIndexEntry.getValue();
-        ByteArray charCode = new ByteArray(new byte[]
-          {
-            (byte)((glyphIndex >> 8) & 0xFF),
-            (byte)(glyphIndex & 0xFF)
-          });
-
-        // Checking for multiple Unicode codepoints which map to the same glyph index...
-        /*
-          NOTE: In case the same glyph index maps to multiple Unicode codepoints, we are forced to 
-          alter the identity encoding creating distinct cmap entries for the exceeding codepoints.
-        */
-        if(codes.containsKey(charCode))
-        {
-          if(glyphIndex == 0) // .notdef glyph already mapped.
-          {
-            glyphIndexIterator.remove();
-            continue;
-          }
-          
-          // Assigning the new character code...
-          /*
-            NOTE: As our base encoding is identity, we have to look for a value that doesn't
-            collide with existing glyph indices.
-          */
-          while(glyphIndexes.containsValue(++lastRemappedCharCodeValue));
-          charCode.data[0] = (byte)((lastRemappedCharCodeValue >> 8) & 0xFF);
-          charCode.data[1] = (byte)(lastRemappedCharCodeValue & 0xFF);
-        }
-        else if(glyphIndex == 0) // .notdef glyph.
-        {setDefaultCode(glyphIndexEntry.getKey());}
-        
-        codes.put(charCode, glyphIndexEntry.getKey());
-      }
-      sortedCodes = new TreeMap<ByteArray,Integer>(codes);
-      if(lastRemappedCharCodeValue > 0) // Custom encoding.
-      {
-        String cmapName = "Custom";
-        IBuffer cmapBuffer = CMapBuilder.build(
-          EntryTypeEnum.CID,
-          cmapName,
-          sortedCodes,
-          new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
-          {
-            public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
-            {return glyphIndexes.get(codeEntry.getValue());}
-          }
-          );
-        encodingObject = getFile().register(
-          new PdfStream(
-            new PdfDictionary(
-              new PdfName[]
-              {
-                PdfName.Type,
-                PdfName.CMapName,
-                PdfName.CIDSystemInfo
-              },
-              new PdfDirectObject[]
-              {
-                PdfName.CMap,
-                new PdfName(cmapName),
-                new PdfDictionary(
-                  new PdfName[]
-                  {
-                    PdfName.Registry,
-                    PdfName.Ordering,
-                    PdfName.Supplement
-                  },
-                  new PdfDirectObject[]
-                  {
-                    PdfTextString.get("Adobe"),
-                    PdfTextString.get("Identity"),
-                    PdfInteger.get(0)
-                  }
-                  )
-              }
-              ),
-            cmapBuffer
-            )
-          );
-      }
+      encodingObject = getFile().register(
+        new PdfStream(
+          new PdfDictionary(
+            new PdfName[]
+            {
+              PdfName.Type,
+              PdfName.CMapName,
+              PdfName.CIDSystemInfo
+            },
+            new PdfDirectObject[]
+            {
+              PdfName.CMap,
+              PdfName.get(EncodingData.CMapName),
+              new PdfDictionary(
+                new PdfName[]
+                {
+                  PdfName.Registry,
+                  PdfName.Ordering,
+                  PdfName.Supplement
+                },
+                new PdfDirectObject[]
+                {
+                  PdfTextString.get("Adobe"),
+                  PdfTextString.get("Identity"),
+                  PdfInteger.get(0)
+                }
+                )
+            }
+            ),
+          new Buffer(encoding.cmapData.clone())
+          )
+        );
     }
     font.put(PdfName.Encoding, encodingObject); // Character-code-to-CID mapping.
     cidFont.put(PdfName.CIDToGIDMap, PdfName.Identity); // CID-to-glyph-index mapping.
 
     // ToUnicode [PDF:1.6:5.9.2].
-    PdfDirectObject toUnicodeObject = null;
-    {
-      IBuffer toUnicodeBuffer = CMapBuilder.build(
-        EntryTypeEnum.BaseFont,
-        null,
-        sortedCodes,
-        new IFunction<Map.Entry<ByteArray,Integer>,Integer>()
-        {
-          public Integer apply(Map.Entry<ByteArray,Integer> codeEntry)
-          {return codeEntry.getValue();}
-        }
-        );
-      toUnicodeObject = getFile().register(new PdfStream(toUnicodeBuffer));
-    }
-    font.put(PdfName.ToUnicode, toUnicodeObject); // Character-code-to-Unicode mapping.
+    font.put(PdfName.ToUnicode, getFile().register(new PdfStream(new Buffer(encoding.toUnicodeData.clone())))); // Character-code-to-Unicode mapping.
   
     // Glyph widths.
-    PdfArray widthsObject = new PdfArray();
-    {
-      int lastGlyphIndex = -10;
-      PdfArray lastGlyphWidthRangeObject = null;
-      for(Integer glyphIndex : new TreeSet<Integer>(glyphIndexes.values()))
-      {
-        Integer width = glyphWidths.get(glyphIndex);
-        if(width == null)
-        {width = 0;}
-        if(glyphIndex - lastGlyphIndex != 1)
-        {
-          widthsObject.add(PdfInteger.get(glyphIndex));
-          widthsObject.add(lastGlyphWidthRangeObject = new PdfArray());
-        }
-        lastGlyphWidthRangeObject.add(PdfInteger.get(width));
-        lastGlyphIndex = glyphIndex;
-      }
-    }
-    cidFont.put(PdfName.W, widthsObject); // Glyph widths.
+    cidFont.put(PdfName.W, createWidths(encoding.sortedGlyphIndexes)); // Glyph widths.
   }
 
   /**
@@ -27,17 +27,15 @@
 package org.pdfclown.documents.contents.fonts;
 
 import java.io.ByteArrayOutputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashSet;
-import java.util.Hashtable;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
-import org.pdfclown.bytes.FileInputStream;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.documents.Document;
 import org.pdfclown.objects.PdfArray;
@@ -60,7 +58,7 @@ import org.pdfclown.util.NotImplementedException;
   Abstract font [PDF:1.6:5.4].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 05/25/15
+  @version 0.2.0, 10/17/26
 */
 @PDF(VersionEnum.PDF10)
 public abstract class Font
@@ -169,28 +167,24 @@ public abstract class Font
     Document context,
     String path
     )
-  {
-    try
-    {
-      return get(
-        context,
-        new FileInputStream(
-          new java.io.RandomAccessFile(path,"r")
-          )
-        );
-    }
-    catch(FileNotFoundException e)
-    {throw new RuntimeException(e);}
-  }
+  {return get(context,new java.io.File(path));}
 
   /**
    * Creates the representation of a font.
+   * <p>Font programs are parsed once per JVM, as they are shared across documents through a common
+   * cache keyed by file identity.</p>
    */
   public static Font get(
     Document context,
     java.io.File file
     )
-  {return get(context,file.getPath());}
+  {
+    OpenFontParser parser = OpenFontParser.get(file);
+    if(parser != null)
+      return CompositeFont.get(context,parser);
+    else
+      throw new NotImplementedException();
+  }
 
   /**
    * Creates the representation of a font.
@@ -228,17 +222,38 @@ public abstract class Font
       return null;
 
     PdfReference reference = (PdfReference)baseObject;
+    // Has the font been already instantiated?
+    /*
+      NOTE: Font structures are reified as complex objects, both IO- and CPU-intensive to load.
+      So, it's convenient to retrieve them from a common cache whenever possible.
+    */
+    Map<PdfReference,Object> cache = reference.getIndirectObject().getFile().getDocument().cache;
+    Font font = (Font)cache.get(reference);
+    if(font == null)
     {
-      // Has the font been already instantiated?
       /*
-        NOTE: Font structures are reified as complex objects, both IO- and CPU-intensive to load.
-        So, it's convenient to retrieve them from a common cache whenever possible.
+        NOTE: Instantiation is synchronized on the font's indirect object, so that concurrent threads
+        share the same font (which registers itself into the cache -- see initialize()).
       */
-      Hashtable<PdfReference,Object> cache = reference.getIndirectObject().getFile().getDocument().cache;
-      if(cache.containsKey(reference))
-        return (Font)cache.get(reference);
+      synchronized(reference.getIndirectObject())
+      {
+        font = (Font)cache.get(reference);
+        if(font == null)
+        {font = create(reference);}
+      }
     }
+    return font;
+  }
+  // </public>
 
+  // <private>
+  /**
+    Instantiates the font object associated to the reference.
+  */
+  private static Font create(
+    PdfReference reference
+    )
+  {
     PdfDictionary fontDictionary = (PdfDictionary)reference.getDataObject();
     PdfName fontType = (PdfName)fontDictionary.get(PdfName.Subtype);
     if(fontType == null)
@@ -278,7 +293,7 @@ public abstract class Font
     else // Unknown.
       throw new UnsupportedOperationException("Unknown font type: " + fontType + " (reference: " + reference + ")");
   }
-  // </public>
+  // </private>
   // </interface>
   // </static>
 
@@ -319,6 +334,16 @@ public abstract class Font
   */
   protected Set<Integer> usedCodes;
 
+  /**
+    Compact lookup table of {@link #codes} (lazily built).
+  */
+  volatile CodeTable codeTable;
+  /**
+    Dense lookup tables of {@link #glyphIndexes}, {@link #glyphWidths} and {@link #glyphKernings}
+    (lazily built).
+  */
+  volatile GlyphMetrics glyphMetrics;
+
   /**
     Average glyph width.
   */
@@ -364,8 +389,12 @@ public abstract class Font
   {
     super(baseObject);
 
-    initialize();
+    /*
+      NOTE: The font has to be fully loaded before being put into the common cache (see
+      initialize()), as concurrent threads may retrieve it from there.
+    */
     load();
+    initialize();
   }
   // </constructors>
 
@@ -381,52 +410,37 @@ public abstract class Font
     byte[] code
     ) throws DecodeException
   {
+    CodeTable codeTable = getCodeTable();
     StringBuilder textBuilder = new StringBuilder();
+    for(int index = 0, codeLength = code.length; index < codeLength;)
     {
-      byte[][] codeBuffers = new byte[charCodeMaxLength+1][];
-      for(
-        int codeBufferIndex = 0;
-        codeBufferIndex <= charCodeMaxLength;
-        codeBufferIndex++
-        )
-      {codeBuffers[codeBufferIndex] = new byte[codeBufferIndex];}
-      int index = 0;
-      int codeLength = code.length;
-      int codeBufferSize = 1;
-      while(index < codeLength)
+      int textChar;
+      long match = codeTable.decode(code, index);
+      if(match != 0)
+      {
+        textChar = (int)match;
+        index += (int)(match >>> 32);
+      }
+      else // Missing character.
       {
-        byte[] codeBuffer = codeBuffers[codeBufferSize];
-        System.arraycopy(code, index, codeBuffer, 0, codeBufferSize);
-        Integer textChar = codes.get(new ByteArray(codeBuffer));
-        if(textChar == null)
+        switch(getDocument().getConfiguration().getEncodingFallback())
         {
-          if(codeBufferSize < charCodeMaxLength
-            && codeBufferSize < codeLength - index)
-          {
-            codeBufferSize++;
-            continue;
-          }
-          else // Missing character.
-          {
-            switch(getDocument().getConfiguration().getEncodingFallback())
-            {
-              case Exclusion:
-                break;
-              case Substitution:
-                textChar = defaultCode;
-                break;
-              case Exception:
-                throw new DecodeException(code, index);
-              default:
-                throw new NotImplementedException();
-            }
-          }
+          case Exclusion:
+            textChar = -1;
+            break;
+          case Substitution:
+            textChar = defaultCode;
+            break;
+          case Exception:
+            throw new DecodeException(code, index);
+          default:
+            throw new NotImplementedException();
         }
-        if(textChar != null)
-        {textBuilder.append((char)(int)textChar);}
-        index += codeBufferSize;
-        codeBufferSize = 1;
+        // NOTE: Missing codes are skipped as long as the longest code (see load()).
+        index += Math.max(1, Math.min(charCodeMaxLength, codeLength - index));
       }
+      if(textChar >= 0)
+      {textBuilder.append((char)textChar);}
     }
     return textBuilder.toString();
   }
@@ -441,6 +455,7 @@ public abstract class Font
     String text
     ) throws EncodeException
   {
+    CodeTable codeTable = getCodeTable();
     ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
     try
     {
@@ -450,15 +465,15 @@ public abstract class Font
         if(textCode < 32) // NOTE: Control characters are ignored [FIX:7].
           continue;
         
-        ByteArray code = codes.getKey(textCode);
-        if(code == null) // Missing glyph.
+        byte[] charCode = codeTable.encode(textCode);
+        if(charCode == null) // Missing glyph.
         {
           switch(getDocument().getConfiguration().getEncodingFallback())
           {
             case Exclusion:
               continue;
             case Substitution:
-              code = codes.getKey(defaultCode);
+              charCode = codeTable.encode(textCode = defaultCode);
               break;
             case Exception:
               throw new EncodeException(text, index);
@@ -467,7 +482,6 @@ public abstract class Font
           }
         }
         
-        byte[] charCode = code.data;
         encodedStream.write(charCode);
         usedCodes.add(textCode);
       }
@@ -653,19 +667,19 @@ public abstract class Font
     if(glyphKernings == null)
       return 0;
 
-    Integer textChar1Index = glyphIndexes.get((int)textChar1);
-    if(textChar1Index == null)
+    GlyphMetrics glyphMetrics = getGlyphMetrics();
+    int textChar1Index = glyphMetrics.getGlyphIndex(textChar1);
+    if(textChar1Index == GlyphMetrics.Undefined)
       return 0;
 
-    Integer textChar2Index = glyphIndexes.get((int)textChar2);
-    if(textChar2Index == null)
+    int textChar2Index = glyphMetrics.getGlyphIndex(textChar2);
+    if(textChar2Index == GlyphMetrics.Undefined)
       return 0;
 
-    Integer kerning = glyphKernings.get(
-      textChar1Index << 16 // Left-hand glyph index.
-        + textChar2Index // Right-hand glyph index.
+    return glyphMetrics.getKerning(
+      textChar1Index, // Left-hand glyph index.
+      textChar2Index // Right-hand glyph index.
       );
-    return kerning != null ? kerning : 0;
   }
 
   /**
@@ -733,8 +747,9 @@ public abstract class Font
     char textChar
     ) throws EncodeException
   {
-    Integer glyphIndex = glyphIndexes.get((int)textChar);
-    if(glyphIndex == null)
+    GlyphMetrics glyphMetrics = getGlyphMetrics();
+    int glyphIndex = glyphMetrics.getGlyphIndex(textChar);
+    if(glyphIndex == GlyphMetrics.Undefined)
     {
       switch(getDocument().getConfiguration().getEncodingFallback())
       {
@@ -749,8 +764,8 @@ public abstract class Font
       }
     }
 
-    Integer glyphWidth = glyphWidths.get(glyphIndex);
-    return glyphWidth != null ? glyphWidth : getDefaultWidth();
+    int glyphWidth = glyphMetrics.getWidth(glyphIndex);
+    return glyphWidth != GlyphMetrics.Undefined ? glyphWidth : getDefaultWidth();
   }
 
   /**
@@ -804,6 +819,17 @@ public abstract class Font
     )
   {return symbolic;}
   
+  /**
+    Notifies the imminent serialization of the font structure.
+    <p>Font structures whose content depends on the text encoded so far (like subset font
+    programs) are completed here.</p>
+
+    @since 0.2.0
+  */
+  public void onSave(
+    )
+  {/* NOOP */}
+
   /**
     @see #getDefaultCode()
     @throws EncodeException
@@ -829,14 +855,18 @@ public abstract class Font
   {
     if(averageWidth == UndefinedWidth)
     {
+      /*
+        NOTE: The average is accumulated locally, as concurrent threads sharing this font may read
+        the field in the meantime.
+      */
       if(glyphWidths.isEmpty())
       {averageWidth = 1000;}
       else
       {
-        averageWidth = 0;
+        int widthSum = 0;
         for(Integer glyphWidth : glyphWidths.values())
-        {averageWidth += glyphWidth;}
-        averageWidth /= glyphWidths.size();
+        {widthSum += glyphWidth;}
+        averageWidth = widthSum / glyphWidths.size();
       }
     }
     return averageWidth;
@@ -866,11 +896,13 @@ public abstract class Font
   protected void load(
     )
   {
-    if(getBaseDataObject().containsKey(PdfName.ToUnicode)) // To-Unicode explicit mapping.
+    if(codes == null // NOTE: Fonts created from font programs come with their own mapping.
+      && getBaseDataObject().containsKey(PdfName.ToUnicode)) // To-Unicode explicit mapping.
     {
       PdfStream toUnicodeStream = (PdfStream)getBaseDataObject().resolve(PdfName.ToUnicode);
       @SuppressWarnings("resource")
-      CMapParser parser = new CMapParser(toUnicodeStream.getBody());
+      // NOTE: The stream may be shared by concurrently-loading fonts, so a private cursor is used.
+      CMapParser parser = new CMapParser(toUnicodeStream.getBody().duplicate());
       codes = new BiMap<ByteArray,Integer>(parser.parse());
       symbolic = false;
     }
@@ -920,10 +952,33 @@ public abstract class Font
   // </protected>
 
   // <private>
+  private CodeTable getCodeTable(
+    )
+  {
+    // NOTE: Code tables are immutable, so concurrent threads may at most build them redundantly.
+    CodeTable codeTable = this.codeTable;
+    if(codeTable == null)
+    {this.codeTable = codeTable = new CodeTable(codes);}
+    return codeTable;
+  }
+
+  private GlyphMetrics getGlyphMetrics(
+    )
+  {
+    /*
+      NOTE: Glyph metrics are immutable, so concurrent threads may at most build them redundantly.
+    */
+    GlyphMetrics glyphMetrics = this.glyphMetrics;
+    if(glyphMetrics == null)
+    {this.glyphMetrics = glyphMetrics = new GlyphMetrics(glyphIndexes, glyphWidths, glyphKernings);}
+    return glyphMetrics;
+  }
+
   private void initialize(
     )
   {
-    usedCodes = new HashSet<Integer>();
+    // NOTE: Fonts may be shared by concurrent threads encoding text.
+    usedCodes = Collections.newSetFromMap(new ConcurrentHashMap<Integer,Boolean>());
 
     // Put the newly instantiated font into the common cache!
     /*
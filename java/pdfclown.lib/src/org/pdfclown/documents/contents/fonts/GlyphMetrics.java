@@ -0,0 +1,200 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+  Glyph metrics lookup tables.
+  <p>This is a dense, primitive-typed counterpart of the glyph maps of a {@link Font font} (glyph
+  indexes, widths and kernings), meant for hot typesetting paths: glyph indexes and widths are
+  stored in 256-entry pages over the 16-bit range, kernings in a sorted pair array searched by
+  bisection. Once built, it's immutable.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+final class GlyphMetrics
+{
+  // <class>
+  // <static>
+  // <fields>
+  /**
+    Undefined value marker.
+  */
+  public static final int Undefined = Integer.MIN_VALUE;
+
+  private static final int PageBits = 8;
+  private static final int PageMask = (1 << PageBits) - 1;
+  private static final int PageCount = 1 << (16 - PageBits);
+  // </fields>
+
+  // <interface>
+  // <private>
+  private static int get(
+    int[][] pages,
+    int key
+    )
+  {
+    if(key < 0 || key > 0xFFFF)
+      return Undefined;
+
+    int[] page = pages[key >> PageBits];
+    return page != null ? page[key & PageMask] : Undefined;
+  }
+
+  private static int[][] toPages(
+    Map<Integer,Integer> map
+    )
+  {
+    int[][] pages = new int[PageCount][];
+    if(map != null)
+    {
+      for(Map.Entry<Integer,Integer> entry : map.entrySet())
+      {
+        int key = entry.getKey();
+        if(key < 0 || key > 0xFFFF)
+          continue;
+
+        int[] page = pages[key >> PageBits];
+        if(page == null)
+        {
+          page = pages[key >> PageBits] = new int[1 << PageBits];
+          Arrays.fill(page, Undefined);
+        }
+        page[key & PageMask] = entry.getValue();
+      }
+    }
+    return pages;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Glyph indexes by (16-bit) unicode.
+  */
+  private final int[][] glyphIndexes;
+  /**
+    Glyph kernings (sorted by pair).
+  */
+  private final int[] glyphKerningPairs;
+  private final int[] glyphKernings;
+  /**
+    Glyph widths by glyph index.
+  */
+  private final int[][] glyphWidths;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param glyphIndexes Glyph indexes by unicode.
+    @param glyphWidths Glyph widths by glyph index.
+    @param glyphKernings Glyph kernings by (left-right) glyph index pairs ({@code null} if no
+      kerning is available).
+  */
+  public GlyphMetrics(
+    Map<Integer,Integer> glyphIndexes,
+    Map<Integer,Integer> glyphWidths,
+    Map<Integer,Integer> glyphKernings
+    )
+  {
+    this.glyphIndexes = toPages(glyphIndexes);
+    this.glyphWidths = toPages(glyphWidths);
+
+    if(glyphKernings != null && !glyphKernings.isEmpty())
+    {
+      int count = glyphKernings.size();
+      long[] entries = new long[count];
+      {
+        int index = 0;
+        for(Map.Entry<Integer,Integer> glyphKerning : glyphKernings.entrySet())
+        {entries[index++] = ((long)glyphKerning.getKey() << 32) | (glyphKerning.getValue() & 0xFFFFFFFFL);}
+      }
+      Arrays.sort(entries); // NOTE: Sorted by pair (high-order bits).
+      glyphKerningPairs = new int[count];
+      this.glyphKernings = new int[count];
+      for(int index = 0; index < count; index++)
+      {
+        glyphKerningPairs[index] = (int)(entries[index] >> 32);
+        this.glyphKernings[index] = (int)entries[index];
+      }
+    }
+    else
+    {
+      glyphKerningPairs = null;
+      this.glyphKernings = null;
+    }
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the glyph index associated to the given unicode.
+
+    @return {@link #Undefined}, if missing.
+  */
+  public int getGlyphIndex(
+    int code
+    )
+  {return get(glyphIndexes, code);}
+
+  /**
+    Gets the kerning between the given glyphs.
+
+    @return 0, if missing.
+  */
+  public int getKerning(
+    int leftGlyphIndex,
+    int rightGlyphIndex
+    )
+  {
+    if(glyphKerningPairs == null)
+      return 0;
+
+    int index = Arrays.binarySearch(glyphKerningPairs, (leftGlyphIndex << 16) | (rightGlyphIndex & 0xFFFF));
+    return index >= 0 ? glyphKernings[index] : 0;
+  }
+
+  /**
+    Gets the width of the given glyph.
+
+    @return {@link #Undefined}, if missing.
+  */
+  public int getWidth(
+    int glyphIndex
+    )
+  {return get(glyphWidths, glyphIndex);}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
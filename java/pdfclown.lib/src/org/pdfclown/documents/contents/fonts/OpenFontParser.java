@@ -26,12 +26,21 @@
 package org.pdfclown.documents.contents.fonts;
 
 import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.tokens.CharsetName;
+import org.pdfclown.util.ConvertUtils;
 import org.pdfclown.util.parsers.ParseException;
 
 /**
@@ -39,7 +48,7 @@ import org.pdfclown.util.parsers.ParseException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.1.2.1, 05/22/15
+  @version 0.2.0, 10/17/26
 */
 final class OpenFontParser
 {
@@ -118,10 +127,108 @@ final class OpenFontParser
   private static final int PlatformID_Microsoft = 3;
 
   private static final String TableName_CFF = "CFF ";
+
+  /**
+    Maximum number of font programs held by the cache.
+  */
+  private static final int CacheMaxCount = 16;
+  /**
+    Maximum total size (in bytes) of the font programs held by the cache.
+  */
+  private static final long CacheMaxLength = 64 << 20;
+
+  /**
+    Parsed font programs by content digest (least recently used first).
+    <p>Font programs are shared across documents, as their parsing is CPU-intensive, whilst their
+    use is read-only (see {@link #get(IInputStream)}).</p>
+  */
+  private static final LinkedHashMap<String,OpenFontParser> cache = new LinkedHashMap<String,OpenFontParser>(CacheMaxCount, .75f, true);
+  /**
+    Total size of the cached font programs.
+  */
+  private static long cacheLength;
+  /**
+    Font program content digests by file identity (path, size and modification time).
+  */
+  private static final Map<String,String> fileDigests = new LinkedHashMap<String,String>(CacheMaxCount, .75f, true)
+  {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(
+      Map.Entry<String,String> eldest
+      )
+    {return size() > CacheMaxCount * 4;}
+  };
   // </fields>
 
   // <interface>
   // <public>
+  /**
+    Gets the parsed font program contained in the given file.
+    <p>Font files are identified by path, size and modification time, so that unchanged files are
+    neither parsed nor read again.</p>
+
+    @return {@code null}, if the file doesn't represent a valid Open Font.
+  */
+  public static OpenFontParser get(
+    java.io.File file
+    )
+  {
+    String fileKey;
+    try
+    {fileKey = file.getCanonicalPath() + "|" + file.length() + "|" + file.lastModified();}
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+
+    synchronized(cache)
+    {
+      String digest = fileDigests.get(fileKey);
+      if(digest != null)
+      {
+        OpenFontParser parser = cache.get(digest);
+        if(parser != null)
+          return parser;
+      }
+    }
+
+    byte[] fontData;
+    try
+    {
+      RandomAccessFile fileStream = new RandomAccessFile(file, "r");
+      try
+      {
+        fontData = new byte[(int)fileStream.length()];
+        fileStream.readFully(fontData);
+      }
+      finally
+      {fileStream.close();}
+    }
+    catch(IOException e)
+    {throw new RuntimeException(e);}
+    if(!isOpenFont(new Buffer(fontData)))
+      return null;
+
+    String digest = getDigest(fontData);
+    OpenFontParser parser = get(digest, fontData);
+    synchronized(cache)
+    {fileDigests.put(fileKey, digest);}
+    return parser;
+  }
+
+  /**
+    Gets the parsed font program corresponding to the given data.
+    <p>Parsed font programs are cached by content digest, so the same font data are parsed just
+    once per JVM. As they are shared across documents (and threads), they MUST NOT be modified.</p>
+  */
+  public static OpenFontParser get(
+    IInputStream fontData
+    )
+  {
+    byte[] data = fontData.toByteArray();
+    return get(getDigest(data), data);
+  }
+
   /**
     Gets whether the given data represents a valid Open Font.
   */
@@ -154,6 +261,59 @@ final class OpenFontParser
     }
   }
   // </public>
+
+  // <private>
+  private static OpenFontParser get(
+    String digest,
+    byte[] fontData
+    )
+  {
+    synchronized(cache)
+    {
+      OpenFontParser parser = cache.get(digest);
+      if(parser != null)
+        return parser;
+    }
+
+    /*
+      NOTE: Parsing happens outside the lock, so concurrent requests of distinct fonts don't wait
+      for each other; in case of concurrent requests of the same font, the first parsed instance
+      wins.
+    */
+    OpenFontParser parser = new OpenFontParser(new Buffer(fontData));
+    synchronized(cache)
+    {
+      OpenFontParser cachedParser = cache.get(digest);
+      if(cachedParser != null)
+        return cachedParser;
+
+      cache.put(digest, parser);
+      cacheLength += fontData.length;
+      // Eviction.
+      for(Iterator<OpenFontParser> iterator = cache.values().iterator(); iterator.hasNext()
+        && (cache.size() > CacheMaxCount || cacheLength > CacheMaxLength);)
+      {
+        OpenFontParser evictedParser = iterator.next();
+        if(evictedParser == parser)
+          break;
+
+        cacheLength -= evictedParser.fontData.getLength();
+        iterator.remove();
+      }
+    }
+    return parser;
+  }
+
+  private static String getDigest(
+    byte[] fontData
+    )
+  {
+    try
+    {return ConvertUtils.byteArrayToHex(MessageDigest.getInstance("SHA-256").digest(fontData));}
+    catch(NoSuchAlgorithmException e)
+    {throw new RuntimeException(e);}
+  }
+  // </private>
   // </interface>
   // </static>
 
@@ -207,6 +367,12 @@ final class OpenFontParser
       loadCMap();
       loadGlyphWidths();
       loadGlyphKerning();
+
+      // NOTE: Parsed font programs are shared (see get(IInputStream)), so their maps are frozen.
+      glyphIndexes = Collections.unmodifiableMap(glyphIndexes);
+      glyphWidths = Collections.unmodifiableMap(glyphWidths);
+      if(glyphKernings != null)
+      {glyphKernings = Collections.unmodifiableMap(glyphKernings);}
     }
     catch(EOFException e)
     {throw new ParseException(e);}
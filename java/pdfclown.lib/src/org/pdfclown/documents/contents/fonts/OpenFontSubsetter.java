@@ -0,0 +1,484 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.pdfclown.tokens.Encoding;
+
+/**
+  Open Font subsetter for TrueType outlines [OFF:2009].
+  <p>The subset font program retains the original glyph indexes (so that CID-to-GID identity
+  mapping and glyph widths keep valid): unused glyphs are emptied, whilst glyphs beyond the
+  highest used one are dropped altogether. Only the tables needed for PDF embedding [PDF:1.6:5.8]
+  are kept.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+final class OpenFontSubsetter
+{
+  // <static>
+  // <fields>
+  private static final int ChecksumMagic = 0xB1B0AFBA;
+
+  /*
+    Composite glyph flags.
+  */
+  private static final int CompositeFlag_Arg1And2AreWords = 0x0001;
+  private static final int CompositeFlag_WeHaveAScale = 0x0008;
+  private static final int CompositeFlag_MoreComponents = 0x0020;
+  private static final int CompositeFlag_WeHaveAnXAndYScale = 0x0040;
+  private static final int CompositeFlag_WeHaveATwoByTwo = 0x0080;
+
+  /**
+    Tables copied as-is into the subset font program.
+  */
+  private static final String[] CopiedTableNames = new String[]{"cvt ", "fpgm", "name", "OS/2", "prep"};
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Subsets the specified font program.
+
+    @param fontData Font program (TrueType outlines).
+    @param glyphIndexes Glyph indexes to retain, by Unicode codepoint.
+    @return Subset font program; {@code null}, if the font program can't be subset (e.g., CFF
+      outlines, font collections, missing or inconsistent tables).
+  */
+  public static byte[] subset(
+    byte[] fontData,
+    SortedMap<Integer,Integer> glyphIndexes
+    )
+  {
+    try
+    {return new OpenFontSubsetter(fontData).subset(glyphIndexes);}
+    catch(IndexOutOfBoundsException e)
+    {return null;} // NOTE: Malformed font programs are left to be embedded in full.
+  }
+  // </public>
+
+  // <private>
+  private static int getChecksum(
+    byte[] data
+    )
+  {
+    int checksum = 0;
+    for(int index = 0, length = data.length; index < length; index += 4)
+    {
+      int word = 0;
+      for(int byteIndex = 0; byteIndex < 4; byteIndex++)
+      {word = (word << 8) | (index + byteIndex < length ? data[index + byteIndex] & 0xFF : 0);}
+      checksum += word;
+    }
+    return checksum;
+  }
+
+  private static void putInt(
+    byte[] data,
+    int offset,
+    int value
+    )
+  {
+    data[offset] = (byte)(value >>> 24);
+    data[offset + 1] = (byte)(value >>> 16);
+    data[offset + 2] = (byte)(value >>> 8);
+    data[offset + 3] = (byte)value;
+  }
+
+  private static void putShort(
+    byte[] data,
+    int offset,
+    int value
+    )
+  {
+    data[offset] = (byte)(value >>> 8);
+    data[offset + 1] = (byte)value;
+  }
+
+  private static void writeInt(
+    ByteArrayOutputStream stream,
+    int value
+    )
+  {
+    writeShort(stream, value >>> 16);
+    writeShort(stream, value);
+  }
+
+  private static void writeShort(
+    ByteArrayOutputStream stream,
+    int value
+    )
+  {
+    stream.write(value >>> 8);
+    stream.write(value);
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final byte[] fontData;
+
+  /**
+    Table locations (offset, length) by table tag.
+  */
+  private final Map<String,int[]> tables = new TreeMap<String,int[]>();
+  // </fields>
+
+  // <constructors>
+  private OpenFontSubsetter(
+    byte[] fontData
+    )
+  {this.fontData = fontData;}
+  // </constructors>
+
+  // <interface>
+  // <private>
+  private byte[] buildCMap(
+    SortedMap<Integer,Integer> glyphIndexes
+    )
+  {
+    /*
+      NOTE: The character map is reduced to a single Windows Unicode BMP subtable (format 4),
+      whose segments group consecutive codepoints mapped to consecutive glyph indexes.
+    */
+    List<int[]> segments = new ArrayList<int[]>(); // startCode, endCode, idDelta.
+    {
+      int[] segment = null;
+      for(Map.Entry<Integer,Integer> glyphIndexEntry : glyphIndexes.entrySet())
+      {
+        int code = glyphIndexEntry.getKey();
+        if(code >= 0xFFFF)
+          break;
+
+        int delta = glyphIndexEntry.getValue() - code;
+        if(segment != null
+          && segment[1] == code - 1
+          && segment[2] == delta)
+        {segment[1] = code;}
+        else
+        {segments.add(segment = new int[]{code, code, delta});}
+      }
+      segments.add(new int[]{0xFFFF, 0xFFFF, 1});
+    }
+
+    int segmentCount = segments.size();
+    int entrySelector = 31 - Integer.numberOfLeadingZeros(segmentCount);
+    int searchRange = 2 << entrySelector;
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    // Header.
+    writeShort(stream, 0); // Version.
+    writeShort(stream, 1); // Subtable count.
+    writeShort(stream, 3); // Platform ID (Microsoft).
+    writeShort(stream, 1); // Encoding ID (Unicode BMP).
+    writeInt(stream, 12); // Subtable offset.
+    // Subtable (format 4).
+    writeShort(stream, 4); // Format.
+    writeShort(stream, 16 + segmentCount * 8); // Length.
+    writeShort(stream, 0); // Language.
+    writeShort(stream, segmentCount * 2);
+    writeShort(stream, searchRange);
+    writeShort(stream, entrySelector);
+    writeShort(stream, segmentCount * 2 - searchRange);
+    for(int[] segment : segments)
+    {writeShort(stream, segment[1]);}
+    writeShort(stream, 0); // Reserved pad.
+    for(int[] segment : segments)
+    {writeShort(stream, segment[0]);}
+    for(int[] segment : segments)
+    {writeShort(stream, segment[2]);}
+    for(int index = 0; index < segmentCount; index++)
+    {writeShort(stream, 0);} // Range offset.
+    return stream.toByteArray();
+  }
+
+  private byte[] copyTable(
+    String name
+    )
+  {
+    int[] table = tables.get(name);
+    byte[] data = new byte[table[1]];
+    System.arraycopy(fontData, table[0], data, 0, table[1]);
+    return data;
+  }
+
+  private int getShort(
+    int offset
+    )
+  {return (short)getUnsignedShort(offset);}
+
+  private int getInt(
+    int offset
+    )
+  {return (getUnsignedShort(offset) << 16) | getUnsignedShort(offset + 2);}
+
+  private int getUnsignedShort(
+    int offset
+    )
+  {
+    if(offset < 0 || offset + 2 > fontData.length)
+      throw new IndexOutOfBoundsException();
+
+    return ((fontData[offset] & 0xFF) << 8) | (fontData[offset + 1] & 0xFF);
+  }
+
+  private boolean loadTables(
+    )
+  {
+    int version = getInt(0);
+    if(version != 0x00010000 && version != 0x74727565) // Neither TrueType ('\0\1\0\0') nor Apple TrueType ('true').
+      return false;
+
+    for(int index = 0, count = getUnsignedShort(4); index < count; index++)
+    {
+      int recordOffset = 12 + index * 16;
+      String tag = Encoding.Pdf.decode(fontData, recordOffset, 4);
+      int offset = getInt(recordOffset + 8);
+      int length = getInt(recordOffset + 12);
+      if(offset < 0 || length < 0 || (long)offset + length > fontData.length)
+        throw new IndexOutOfBoundsException();
+
+      tables.put(tag, new int[]{offset, length});
+    }
+    for(String tableName : new String[]{"glyf", "head", "hhea", "hmtx", "loca", "maxp"})
+    {
+      if(!tables.containsKey(tableName))
+        return false;
+    }
+    return true;
+  }
+
+  private byte[] subset(
+    SortedMap<Integer,Integer> glyphIndexes
+    )
+  {
+    if(!loadTables())
+      return null;
+
+    int headOffset = tables.get("head")[0];
+    int glyfOffset = tables.get("glyf")[0];
+    int hmtxOffset = tables.get("hmtx")[0];
+    int locaOffset = tables.get("loca")[0];
+    int glyphCount = getUnsignedShort(tables.get("maxp")[0] + 4);
+    int hMetricCount = getUnsignedShort(tables.get("hhea")[0] + 34);
+    boolean shortLoca = (getShort(headOffset + 50) == 0);
+
+    // 1. Glyph locations.
+    int[] glyphOffsets = new int[glyphCount + 1];
+    for(int index = 0; index <= glyphCount; index++)
+    {
+      glyphOffsets[index] = (shortLoca
+        ? getUnsignedShort(locaOffset + index * 2) * 2
+        : getInt(locaOffset + index * 4));
+    }
+
+    // 2. Used glyphs (along with the components of composite glyphs).
+    BitSet usedGlyphIndexes = new BitSet(glyphCount);
+    {
+      usedGlyphIndexes.set(0); // .notdef glyph.
+      List<Integer> pendingGlyphIndexes = new ArrayList<Integer>(glyphIndexes.values());
+      while(!pendingGlyphIndexes.isEmpty())
+      {
+        int glyphIndex = pendingGlyphIndexes.remove(pendingGlyphIndexes.size() - 1);
+        if(glyphIndex >= glyphCount)
+          continue;
+
+        usedGlyphIndexes.set(glyphIndex);
+        int glyphOffset = glyfOffset + glyphOffsets[glyphIndex];
+        if(glyphOffsets[glyphIndex + 1] - glyphOffsets[glyphIndex] < 10
+          || getShort(glyphOffset) >= 0) // Empty or simple glyph.
+          continue;
+
+        // Composite glyph components.
+        int componentOffset = glyphOffset + 10;
+        int flags;
+        do
+        {
+          flags = getUnsignedShort(componentOffset);
+          int componentGlyphIndex = getUnsignedShort(componentOffset + 2);
+          if(componentGlyphIndex < glyphCount
+            && !usedGlyphIndexes.get(componentGlyphIndex))
+          {pendingGlyphIndexes.add(componentGlyphIndex);}
+
+          componentOffset += 4 + ((flags & CompositeFlag_Arg1And2AreWords) != 0 ? 4 : 2);
+          if((flags & CompositeFlag_WeHaveAScale) != 0)
+          {componentOffset += 2;}
+          else if((flags & CompositeFlag_WeHaveAnXAndYScale) != 0)
+          {componentOffset += 4;}
+          else if((flags & CompositeFlag_WeHaveATwoByTwo) != 0)
+          {componentOffset += 8;}
+        } while((flags & CompositeFlag_MoreComponents) != 0);
+      }
+    }
+    int subsetGlyphCount = usedGlyphIndexes.length();
+
+    // 3. Tables.
+    SortedMap<String,byte[]> subsetTables = new TreeMap<String,byte[]>();
+    {
+      // Glyph data ('glyf' table).
+      int[] subsetGlyphOffsets = new int[subsetGlyphCount + 1];
+      ByteArrayOutputStream glyfStream = new ByteArrayOutputStream();
+      for(int glyphIndex = 0; glyphIndex < subsetGlyphCount; glyphIndex++)
+      {
+        subsetGlyphOffsets[glyphIndex] = glyfStream.size();
+        if(!usedGlyphIndexes.get(glyphIndex))
+          continue;
+
+        int glyphLength = glyphOffsets[glyphIndex + 1] - glyphOffsets[glyphIndex];
+        if(glyphLength <= 0)
+          continue;
+
+        glyfStream.write(fontData, glyfOffset + glyphOffsets[glyphIndex], glyphLength);
+        while(glyfStream.size() % 4 != 0)
+        {glyfStream.write(0);}
+      }
+      subsetGlyphOffsets[subsetGlyphCount] = glyfStream.size();
+      subsetTables.put("glyf", glyfStream.toByteArray());
+
+      // Index to location ('loca' table).
+      boolean subsetShortLoca = (glyfStream.size() / 2 <= 0xFFFF);
+      byte[] locaData = new byte[(subsetGlyphCount + 1) * (subsetShortLoca ? 2 : 4)];
+      for(int glyphIndex = 0; glyphIndex <= subsetGlyphCount; glyphIndex++)
+      {
+        if(subsetShortLoca)
+        {putShort(locaData, glyphIndex * 2, subsetGlyphOffsets[glyphIndex] / 2);}
+        else
+        {putInt(locaData, glyphIndex * 4, subsetGlyphOffsets[glyphIndex]);}
+      }
+      subsetTables.put("loca", locaData);
+
+      // Font header ('head' table).
+      byte[] headData = copyTable("head");
+      putInt(headData, 8, 0); // Checksum adjustment (see below).
+      putShort(headData, 50, subsetShortLoca ? 0 : 1); // Index to location format.
+      subsetTables.put("head", headData);
+
+      // Horizontal metrics ('hmtx' table).
+      /*
+        NOTE: Unused glyphs are zeroed, whilst the trailing left side bearings keep following the
+        last advance width.
+      */
+      int subsetHMetricCount = Math.min(hMetricCount, subsetGlyphCount);
+      byte[] hmtxData = new byte[subsetHMetricCount * 4 + (subsetGlyphCount - subsetHMetricCount) * 2];
+      for(int glyphIndex = usedGlyphIndexes.nextSetBit(0); glyphIndex >= 0; glyphIndex = usedGlyphIndexes.nextSetBit(glyphIndex + 1))
+      {
+        if(glyphIndex < subsetHMetricCount)
+        {System.arraycopy(fontData, hmtxOffset + glyphIndex * 4, hmtxData, glyphIndex * 4, 4);}
+        else
+        {
+          int metricOffset = subsetHMetricCount * 4 + (glyphIndex - subsetHMetricCount) * 2;
+          System.arraycopy(fontData, hmtxOffset + hMetricCount * 4 + (glyphIndex - hMetricCount) * 2, hmtxData, metricOffset, 2);
+        }
+      }
+      if(subsetHMetricCount > 0 && !usedGlyphIndexes.get(subsetHMetricCount - 1))
+      {
+        // NOTE: The last advance width applies to all the following glyphs.
+        System.arraycopy(fontData, hmtxOffset + (subsetHMetricCount - 1) * 4, hmtxData, (subsetHMetricCount - 1) * 4, 2);
+      }
+      subsetTables.put("hmtx", hmtxData);
+
+      // Horizontal header ('hhea' table).
+      byte[] hheaData = copyTable("hhea");
+      putShort(hheaData, 34, subsetHMetricCount);
+      subsetTables.put("hhea", hheaData);
+
+      // Maximum profile ('maxp' table).
+      byte[] maxpData = copyTable("maxp");
+      putShort(maxpData, 4, subsetGlyphCount);
+      subsetTables.put("maxp", maxpData);
+
+      // Character to glyph index mapping ('cmap' table).
+      subsetTables.put("cmap", buildCMap(glyphIndexes));
+
+      // Other tables.
+      for(String tableName : CopiedTableNames)
+      {
+        if(tables.containsKey(tableName))
+        {subsetTables.put(tableName, copyTable(tableName));}
+      }
+    }
+
+    // 4. Font program.
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    {
+      int tableCount = subsetTables.size();
+      int entrySelector = 31 - Integer.numberOfLeadingZeros(tableCount);
+      int searchRange = 16 << entrySelector;
+      // Offset table.
+      writeInt(stream, 0x00010000);
+      writeShort(stream, tableCount);
+      writeShort(stream, searchRange);
+      writeShort(stream, entrySelector);
+      writeShort(stream, tableCount * 16 - searchRange);
+      // Table directory.
+      int tableOffset = 12 + tableCount * 16;
+      for(Map.Entry<String,byte[]> tableEntry : subsetTables.entrySet())
+      {
+        byte[] tableData = tableEntry.getValue();
+        stream.write(Encoding.Pdf.encode(tableEntry.getKey()), 0, 4);
+        writeInt(stream, getChecksum(tableData));
+        writeInt(stream, tableOffset);
+        writeInt(stream, tableData.length);
+        tableOffset += (tableData.length + 3) & ~3;
+      }
+      // Tables.
+      for(byte[] tableData : subsetTables.values())
+      {
+        stream.write(tableData, 0, tableData.length);
+        for(int index = tableData.length; index % 4 != 0; index++)
+        {stream.write(0);}
+      }
+    }
+    byte[] subsetFontData = stream.toByteArray();
+    // Checksum adjustment.
+    {
+      int headTableOffset = 12;
+      for(String tableName : subsetTables.keySet())
+      {
+        if(tableName.equals("head"))
+          break;
+
+        headTableOffset += (subsetTables.get(tableName).length + 3) & ~3;
+      }
+      headTableOffset += subsetTables.size() * 16;
+      putInt(subsetFontData, headTableOffset + 8, ChecksumMagic - getChecksum(subsetFontData));
+    }
+    return subsetFontData;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+}
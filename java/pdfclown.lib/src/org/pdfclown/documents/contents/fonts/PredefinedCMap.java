@@ -0,0 +1,326 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+
+package org.pdfclown.documents.contents.fonts;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.pdfclown.util.ByteArray;
+
+/**
+  Compiled predefined character map.
+  <p>This is a compact, immutable counterpart of a parsed {@link CMap character map}, meant to be
+  shared across fonts and documents: character codes (up to 4 bytes long) are packed along with
+  their length into primitive values and sorted for bisection lookup, whilst the original entry
+  order is retained for iteration.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+final class PredefinedCMap
+  extends AbstractMap<ByteArray,Integer>
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int CodeMaxLength = 4;
+  private static final int EntryMaxCount = 1 << 23;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Compiles the given character map.
+
+    @param codes Character map entries.
+    @return <code>null</code>, in case the character map cannot be packed.
+  */
+  public static PredefinedCMap compile(
+    Map<ByteArray,Integer> codes
+    )
+  {
+    int count = codes.size();
+    if(count > EntryMaxCount)
+      return null;
+
+    long[] entries = new long[count];
+    int[] values = new int[count];
+    {
+      int index = 0;
+      for(Map.Entry<ByteArray,Integer> codeEntry : codes.entrySet())
+      {
+        byte[] code = codeEntry.getKey().data;
+        if(code.length > CodeMaxLength)
+          return null;
+
+        entries[index] = pack(code);
+        values[index] = codeEntry.getValue();
+        index++;
+      }
+    }
+    return new PredefinedCMap(entries, values);
+  }
+  // </public>
+
+  // <private>
+  private static long pack(
+    byte[] code
+    )
+  {
+    long packedCode = code.length;
+    for(byte codeByte : code)
+    {packedCode = (packedCode << 8) | (codeByte & 0xFF);}
+    return packedCode << ((CodeMaxLength - code.length) * 8);
+  }
+
+  private static ByteArray unpack(
+    long packedCode
+    )
+  {
+    int length = (int)(packedCode >>> (CodeMaxLength * 8));
+    byte[] code = new byte[length];
+    for(int index = 0; index < length; index++)
+    {code[index] = (byte)(packedCode >>> ((CodeMaxLength - 1 - index) * 8));}
+    return new ByteArray(code);
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Packed character codes (sorted).
+  */
+  private final long[] codes;
+  /**
+    Positions of the entries within {@link #codes}, in original order.
+  */
+  private final int[] entryIndexes;
+  /**
+    Values (matching {@link #codes}).
+  */
+  private final int[] values;
+
+  /**
+    Packed character codes by value (sorted by value), lazily built.
+  */
+  private volatile long[] inverseEntries;
+
+  private Set<Map.Entry<ByteArray,Integer>> entrySet;
+  // </fields>
+
+  // <constructors>
+  private PredefinedCMap(
+    long[] entries,
+    int[] values
+    )
+  {
+    int count = entries.length;
+
+    // Sort the codes, keeping track of their original order.
+    long[] sortedEntries = new long[count];
+    {
+      /*
+        NOTE: Packed codes take 35 bits, leaving room for the original position (up to 2^23
+        entries) in the low-order bits.
+      */
+      for(int index = 0; index < count; index++)
+      {sortedEntries[index] = (entries[index] << 23) | index;}
+      Arrays.sort(sortedEntries);
+    }
+    this.codes = new long[count];
+    this.values = new int[count];
+    this.entryIndexes = new int[count];
+    for(int index = 0; index < count; index++)
+    {
+      int entryIndex = (int)(sortedEntries[index] & 0x7FFFFF);
+      this.codes[index] = sortedEntries[index] >>> 23;
+      this.values[index] = values[entryIndex];
+      this.entryIndexes[entryIndex] = index;
+    }
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public boolean containsKey(
+    Object key
+    )
+  {return indexOf(key) >= 0;}
+
+  @Override
+  public Set<Map.Entry<ByteArray,Integer>> entrySet(
+    )
+  {
+    if(entrySet == null)
+    {
+      entrySet = new AbstractSet<Map.Entry<ByteArray,Integer>>()
+      {
+        @Override
+        public Iterator<Map.Entry<ByteArray,Integer>> iterator(
+          )
+        {
+          return new Iterator<Map.Entry<ByteArray,Integer>>()
+          {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext(
+              )
+            {return index < entryIndexes.length;}
+
+            @Override
+            public Map.Entry<ByteArray,Integer> next(
+              )
+            {
+              if(!hasNext())
+                throw new NoSuchElementException();
+
+              int codeIndex = entryIndexes[index++];
+              return new SimpleImmutableEntry<ByteArray,Integer>(unpack(codes[codeIndex]), values[codeIndex]);
+            }
+
+            @Override
+            public void remove(
+              )
+            {throw new UnsupportedOperationException();}
+          };
+        }
+
+        @Override
+        public int size(
+          )
+        {return codes.length;}
+      };
+    }
+    return entrySet;
+  }
+
+  @Override
+  public Integer get(
+    Object key
+    )
+  {
+    int index = indexOf(key);
+    return index >= 0 ? values[index] : null;
+  }
+
+  /**
+    Gets the character code associated to the given value.
+    <p>In case of multiple codes mapped to the same value, the last one (in original order)
+    applies.</p>
+
+    @return <code>null</code>, if missing.
+  */
+  public ByteArray getKey(
+    int value
+    )
+  {
+    long[] inverseEntries = getInverseEntries();
+    int low = 0, high = inverseEntries.length - 1;
+    while(low <= high)
+    {
+      int middle = (low + high) >>> 1;
+      int middleValue = (int)(inverseEntries[middle] >> 32);
+      if(middleValue < value)
+      {low = middle + 1;}
+      else if(middleValue > value)
+      {high = middle - 1;}
+      else
+        return unpack(codes[(int)inverseEntries[middle]]);
+    }
+    return null;
+  }
+
+  @Override
+  public int size(
+    )
+  {return codes.length;}
+  // </public>
+
+  // <private>
+  private long[] getInverseEntries(
+    )
+  {
+    long[] inverseEntries = this.inverseEntries;
+    if(inverseEntries == null)
+    {
+      int count = codes.length;
+      inverseEntries = new long[count];
+      int inverseCount = 0;
+      {
+        // Sort the values along with their original position.
+        long[] sortedValues = new long[count];
+        for(int index = 0; index < count; index++)
+        {
+          int codeIndex = entryIndexes[index];
+          sortedValues[index] = ((long)values[codeIndex] << 32) | index;
+        }
+        Arrays.sort(sortedValues);
+
+        // Keep the last occurrence of each value.
+        for(int index = 0; index < count; index++)
+        {
+          if(index + 1 < count && (sortedValues[index + 1] >> 32) == (sortedValues[index] >> 32))
+            continue;
+
+          int value = (int)(sortedValues[index] >> 32);
+          int codeIndex = entryIndexes[(int)sortedValues[index]];
+          inverseEntries[inverseCount++] = ((long)value << 32) | codeIndex;
+        }
+      }
+      this.inverseEntries = inverseEntries = Arrays.copyOf(inverseEntries, inverseCount);
+    }
+    return inverseEntries;
+  }
+
+  private int indexOf(
+    Object key
+    )
+  {
+    if(!(key instanceof ByteArray))
+      return -1;
+
+    byte[] code = ((ByteArray)key).data;
+    if(code.length > CodeMaxLength)
+      return -1;
+
+    return Arrays.binarySearch(codes, pack(code));
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -196,7 +196,7 @@ public final class StandardType1Font
     // BaseFont.
     getBaseDataObject().put(
       PdfName.BaseFont,
-      new PdfName(fontName)
+      PdfName.get(fontName)
       );
     // Encoding.
     if(encodingName != null)
@@ -238,7 +238,7 @@ public final class Layer
   // <fields>
   public static final PdfName TypeName = PdfName.OCG;
 
-  private static final PdfName MembershipName = new PdfName("D-OCMD");
+  private static final PdfName MembershipName = PdfName.get("D-OCMD");
   // </fields>
 
   // <interface>
@@ -41,7 +41,7 @@ import org.pdfclown.tokens.Chunk;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.2
-  @version 0.1.2.1, 04/08/15
+  @version 0.2.0, 10/17/26
 */
 @PDF(VersionEnum.PDF10)
 public abstract class Operation
@@ -49,6 +49,13 @@ public abstract class Operation
 {
   // <class>
   // <static>
+  // <fields>
+  /**
+    Maximum length of the operators resolved through operator codes.
+  */
+  private static final int OperatorCodeMaxLength = 3;
+  // </fields>
+
   // <interface>
   // <public>
   /**
@@ -65,135 +72,214 @@ public abstract class Operation
     if(operator == null)
       return null;
 
-    if(operator.equals(SaveGraphicsState.Operator))
-      return SaveGraphicsState.Value;
-    else if(operator.equals(SetFont.Operator))
-      return new SetFont(operands);
-    else if(operator.equals(SetStrokeColor.Operator)
-      || operator.equals(SetStrokeColor.ExtendedOperator))
-      return new SetStrokeColor(operator, operands);
-    else if(operator.equals(SetStrokeColorSpace.Operator))
-      return new SetStrokeColorSpace(operands);
-    else if(operator.equals(SetFillColor.Operator)
-      || operator.equals(SetFillColor.ExtendedOperator))
-      return new SetFillColor(operator, operands);
-    else if(operator.equals(SetFillColorSpace.Operator))
-      return new SetFillColorSpace(operands);
-    else if(operator.equals(SetDeviceGrayStrokeColor.Operator))
-      return new SetDeviceGrayStrokeColor(operands);
-    else if(operator.equals(SetDeviceGrayFillColor.Operator))
-      return new SetDeviceGrayFillColor(operands);
-    else if(operator.equals(SetDeviceRGBStrokeColor.Operator))
-      return new SetDeviceRGBStrokeColor(operands);
-    else if(operator.equals(SetDeviceRGBFillColor.Operator))
-      return new SetDeviceRGBFillColor(operands);
-    else if(operator.equals(SetDeviceCMYKStrokeColor.Operator))
-      return new SetDeviceCMYKStrokeColor(operands);
-    else if(operator.equals(SetDeviceCMYKFillColor.Operator))
-      return new SetDeviceCMYKFillColor(operands);
-    else if(operator.equals(RestoreGraphicsState.Operator))
-      return RestoreGraphicsState.Value;
-    else if(operator.equals(BeginSubpath.Operator))
-      return new BeginSubpath(operands);
-    else if(operator.equals(CloseSubpath.Operator))
-      return CloseSubpath.Value;
-    else if(operator.equals(PaintPath.CloseStrokeOperator))
-      return PaintPath.CloseStroke;
-    else if(operator.equals(PaintPath.FillOperator)
-      || operator.equals(PaintPath.FillObsoleteOperator))
-      return PaintPath.Fill;
-    else if(operator.equals(PaintPath.FillEvenOddOperator))
-      return PaintPath.FillEvenOdd;
-    else if(operator.equals(PaintPath.StrokeOperator))
-      return PaintPath.Stroke;
-    else if(operator.equals(PaintPath.FillStrokeOperator))
-      return PaintPath.FillStroke;
-    else if(operator.equals(PaintPath.FillStrokeEvenOddOperator))
-      return PaintPath.FillStrokeEvenOdd;
-    else if(operator.equals(PaintPath.CloseFillStrokeOperator))
-      return PaintPath.CloseFillStroke;
-    else if(operator.equals(PaintPath.CloseFillStrokeEvenOddOperator))
-      return PaintPath.CloseFillStrokeEvenOdd;
-    else if(operator.equals(PaintPath.EndPathNoOpOperator))
-      return PaintPath.EndPathNoOp;
-    else if(operator.equals(ModifyClipPath.NonZeroOperator))
-      return ModifyClipPath.NonZero;
-    else if(operator.equals(ModifyClipPath.EvenOddOperator))
-      return ModifyClipPath.EvenOdd;
-    else if(operator.equals(TranslateTextToNextLine.Operator))
-      return TranslateTextToNextLine.Value;
-    else if(operator.equals(ShowSimpleText.Operator))
-      return new ShowSimpleText(operands);
-    else if(operator.equals(ShowTextToNextLine.SimpleOperator)
-      || operator.equals(ShowTextToNextLine.SpaceOperator))
-      return new ShowTextToNextLine(operator, operands);
-    else if(operator.equals(ShowAdjustedText.Operator))
-      return new ShowAdjustedText(operands, 0);
-    else if(operator.equals(TranslateTextRelative.SimpleOperator)
-      || operator.equals(TranslateTextRelative.LeadOperator))
-      return new TranslateTextRelative(operator, operands);
-    else if(operator.equals(SetTextMatrix.Operator))
-      return new SetTextMatrix(operands);
-    else if(operator.equals(ModifyCTM.Operator))
-      return new ModifyCTM(operands);
-    else if(operator.equals(PaintXObject.Operator))
-      return new PaintXObject(operands);
-    else if(operator.equals(PaintShading.Operator))
-      return new PaintShading(operands);
-    else if(operator.equals(SetCharSpace.Operator))
-      return new SetCharSpace(operands);
-    else if(operator.equals(SetLineCap.Operator))
-      return new SetLineCap(operands);
-    else if(operator.equals(SetLineDash.Operator))
-      return new SetLineDash(operands);
-    else if(operator.equals(SetLineJoin.Operator))
-      return new SetLineJoin(operands);
-    else if(operator.equals(SetLineWidth.Operator))
-      return new SetLineWidth(operands);
-    else if(operator.equals(SetMiterLimit.Operator))
-      return new SetMiterLimit(operands);
-    else if(operator.equals(SetTextLead.Operator))
-      return new SetTextLead(operands);
-    else if(operator.equals(SetTextRise.Operator))
-      return new SetTextRise(operands);
-    else if(operator.equals(SetTextScale.Operator))
-      return new SetTextScale(operands);
-    else if(operator.equals(SetTextRenderMode.Operator))
-      return new SetTextRenderMode(operands);
-    else if(operator.equals(SetWordSpace.Operator))
-      return new SetWordSpace(operands);
-    else if(operator.equals(DrawLine.Operator))
-      return new DrawLine(operands);
-    else if(operator.equals(DrawRectangle.Operator))
-      return new DrawRectangle(operands);
-    else if(operator.equals(DrawCurve.FinalOperator)
-      || operator.equals(DrawCurve.FullOperator)
-      || operator.equals(DrawCurve.InitialOperator))
-      return new DrawCurve(operator, operands);
-    else if(operator.equals(EndInlineImage.Operator))
-      return EndInlineImage.Value;
-    else if(operator.equals(BeginText.Operator))
-      return BeginText.Value;
-    else if(operator.equals(EndText.Operator))
-      return EndText.Value;
-    else if(operator.equals(BeginMarkedContent.SimpleOperator)
-      || operator.equals(BeginMarkedContent.PropertyListOperator))
-      return new BeginMarkedContent(operator, operands);
-    else if(operator.equals(EndMarkedContent.Operator))
-      return EndMarkedContent.Value;
-    else if(operator.equals(MarkedContentPoint.SimpleOperator)
-      || operator.equals(MarkedContentPoint.PropertyListOperator))
-      return new MarkedContentPoint(operator, operands);
-    else if(operator.equals(BeginInlineImage.Operator))
-      return BeginInlineImage.Value;
-    else if(operator.equals(EndInlineImage.Operator))
-      return EndInlineImage.Value;
-    else if(operator.equals(ApplyExtGState.Operator))
-      return new ApplyExtGState(operands);
-    else // No explicit operation implementation available.
-      return new GenericOperation(operator, operands);
+    int operatorCode = 0;
+    {
+      int length = operator.length();
+      if(length <= OperatorCodeMaxLength)
+      {
+        for(int index = 0; index < length; index++)
+        {
+          char operatorChar = operator.charAt(index);
+          if(operatorChar > 0xFF)
+          {operatorCode = 0; break;}
+
+          operatorCode = operatorCode << 8 | operatorChar;
+        }
+      }
+    }
+    Operation operation = get(operatorCode, operands);
+    return operation != null
+      ? operation
+      : new GenericOperation(operator, operands); // No explicit operation implementation available.
+  }
+
+  /**
+    Gets an operation.
+    <p>Contrary to {@link #get(String, List)}, known operators are resolved without allocating
+    their string representation.</p>
+
+    @param operatorBytes Buffer containing the operator (single-byte characters).
+    @param offset Position of the operator within the buffer.
+    @param length Number of bytes of the operator.
+    @param operands List of operands.
+  */
+  public static Operation get(
+    byte[] operatorBytes,
+    int offset,
+    int length,
+    List<PdfDirectObject> operands
+    )
+  {
+    int operatorCode = 0;
+    if(length <= OperatorCodeMaxLength)
+    {
+      for(int index = offset, limit = offset + length; index < limit; index++)
+      {operatorCode = operatorCode << 8 | (operatorBytes[index] & 0xFF);}
+    }
+    Operation operation = get(operatorCode, operands);
+    if(operation == null) // No explicit operation implementation available.
+    {
+      char[] operatorChars = new char[length];
+      for(int index = 0; index < length; index++)
+      {operatorChars[index] = (char)(operatorBytes[offset + index] & 0xFF);}
+      operation = new GenericOperation(new String(operatorChars), operands);
+    }
+    return operation;
   }
   // </public>
+
+  // <private>
+  /**
+    Gets the operation corresponding to the given operator code.
+    <p>Operator codes pack the operator bytes (up to {@link #OperatorCodeMaxLength}) into an
+    integer, so dispatching resolves to a single switch lookup instead of a chain of string
+    comparisons; stateless operations are shared instances.</p>
+
+    @return <code>null</code>, in case no explicit operation implementation is available.
+  */
+  private static Operation get(
+    int operatorCode,
+    List<PdfDirectObject> operands
+    )
+  {
+    switch(operatorCode)
+    {
+      case 'q': // SaveGraphicsState.Operator
+        return SaveGraphicsState.Value;
+      case 'T' << 8 | 'f': // SetFont.Operator
+        return new SetFont(operands);
+      case 'S' << 8 | 'C': // SetStrokeColor.Operator
+        return new SetStrokeColor(SetStrokeColor.Operator, operands);
+      case ('S' << 8 | 'C') << 8 | 'N': // SetStrokeColor.ExtendedOperator
+        return new SetStrokeColor(SetStrokeColor.ExtendedOperator, operands);
+      case 'C' << 8 | 'S': // SetStrokeColorSpace.Operator
+        return new SetStrokeColorSpace(operands);
+      case 's' << 8 | 'c': // SetFillColor.Operator
+        return new SetFillColor(SetFillColor.Operator, operands);
+      case ('s' << 8 | 'c') << 8 | 'n': // SetFillColor.ExtendedOperator
+        return new SetFillColor(SetFillColor.ExtendedOperator, operands);
+      case 'c' << 8 | 's': // SetFillColorSpace.Operator
+        return new SetFillColorSpace(operands);
+      case 'G': // SetDeviceGrayStrokeColor.Operator
+        return new SetDeviceGrayStrokeColor(operands);
+      case 'g': // SetDeviceGrayFillColor.Operator
+        return new SetDeviceGrayFillColor(operands);
+      case 'R' << 8 | 'G': // SetDeviceRGBStrokeColor.Operator
+        return new SetDeviceRGBStrokeColor(operands);
+      case 'r' << 8 | 'g': // SetDeviceRGBFillColor.Operator
+        return new SetDeviceRGBFillColor(operands);
+      case 'K': // SetDeviceCMYKStrokeColor.Operator
+        return new SetDeviceCMYKStrokeColor(operands);
+      case 'k': // SetDeviceCMYKFillColor.Operator
+        return new SetDeviceCMYKFillColor(operands);
+      case 'Q': // RestoreGraphicsState.Operator
+        return RestoreGraphicsState.Value;
+      case 'm': // BeginSubpath.Operator
+        return new BeginSubpath(operands);
+      case 'h': // CloseSubpath.Operator
+        return CloseSubpath.Value;
+      case 's': // PaintPath.CloseStrokeOperator
+        return PaintPath.CloseStroke;
+      case 'f': // PaintPath.FillOperator
+      case 'F': // PaintPath.FillObsoleteOperator
+        return PaintPath.Fill;
+      case 'f' << 8 | '*': // PaintPath.FillEvenOddOperator
+        return PaintPath.FillEvenOdd;
+      case 'S': // PaintPath.StrokeOperator
+        return PaintPath.Stroke;
+      case 'B': // PaintPath.FillStrokeOperator
+        return PaintPath.FillStroke;
+      case 'B' << 8 | '*': // PaintPath.FillStrokeEvenOddOperator
+        return PaintPath.FillStrokeEvenOdd;
+      case 'b': // PaintPath.CloseFillStrokeOperator
+        return PaintPath.CloseFillStroke;
+      case 'b' << 8 | '*': // PaintPath.CloseFillStrokeEvenOddOperator
+        return PaintPath.CloseFillStrokeEvenOdd;
+      case 'n': // PaintPath.EndPathNoOpOperator
+        return PaintPath.EndPathNoOp;
+      case 'W': // ModifyClipPath.NonZeroOperator
+        return ModifyClipPath.NonZero;
+      case 'W' << 8 | '*': // ModifyClipPath.EvenOddOperator
+        return ModifyClipPath.EvenOdd;
+      case 'T' << 8 | '*': // TranslateTextToNextLine.Operator
+        return TranslateTextToNextLine.Value;
+      case 'T' << 8 | 'j': // ShowSimpleText.Operator
+        return new ShowSimpleText(operands);
+      case '\'': // ShowTextToNextLine.SimpleOperator
+        return new ShowTextToNextLine(ShowTextToNextLine.SimpleOperator, operands);
+      case '\'' << 8 | '\'': // ShowTextToNextLine.SpaceOperator
+        return new ShowTextToNextLine(ShowTextToNextLine.SpaceOperator, operands);
+      case 'T' << 8 | 'J': // ShowAdjustedText.Operator
+        return new ShowAdjustedText(operands, 0);
+      case 'T' << 8 | 'd': // TranslateTextRelative.SimpleOperator
+        return new TranslateTextRelative(TranslateTextRelative.SimpleOperator, operands);
+      case 'T' << 8 | 'D': // TranslateTextRelative.LeadOperator
+        return new TranslateTextRelative(TranslateTextRelative.LeadOperator, operands);
+      case 'T' << 8 | 'm': // SetTextMatrix.Operator
+        return new SetTextMatrix(operands);
+      case 'c' << 8 | 'm': // ModifyCTM.Operator
+        return new ModifyCTM(operands);
+      case 'D' << 8 | 'o': // PaintXObject.Operator
+        return new PaintXObject(operands);
+      case 's' << 8 | 'h': // PaintShading.Operator
+        return new PaintShading(operands);
+      case 'T' << 8 | 'c': // SetCharSpace.Operator
+        return new SetCharSpace(operands);
+      case 'J': // SetLineCap.Operator
+        return new SetLineCap(operands);
+      case 'd': // SetLineDash.Operator
+        return new SetLineDash(operands);
+      case 'j': // SetLineJoin.Operator
+        return new SetLineJoin(operands);
+      case 'w': // SetLineWidth.Operator
+        return new SetLineWidth(operands);
+      case 'M': // SetMiterLimit.Operator
+        return new SetMiterLimit(operands);
+      case 'T' << 8 | 'L': // SetTextLead.Operator
+        return new SetTextLead(operands);
+      case 'T' << 8 | 's': // SetTextRise.Operator
+        return new SetTextRise(operands);
+      case 'T' << 8 | 'z': // SetTextScale.Operator
+        return new SetTextScale(operands);
+      case 'T' << 8 | 'r': // SetTextRenderMode.Operator
+        return new SetTextRenderMode(operands);
+      case 'T' << 8 | 'w': // SetWordSpace.Operator
+        return new SetWordSpace(operands);
+      case 'l': // DrawLine.Operator
+        return new DrawLine(operands);
+      case 'r' << 8 | 'e': // DrawRectangle.Operator
+        return new DrawRectangle(operands);
+      case 'v': // DrawCurve.FinalOperator
+        return new DrawCurve(DrawCurve.FinalOperator, operands);
+      case 'c': // DrawCurve.FullOperator
+        return new DrawCurve(DrawCurve.FullOperator, operands);
+      case 'y': // DrawCurve.InitialOperator
+        return new DrawCurve(DrawCurve.InitialOperator, operands);
+      case 'E' << 8 | 'I': // EndInlineImage.Operator
+        return EndInlineImage.Value;
+      case 'B' << 8 | 'T': // BeginText.Operator
+        return BeginText.Value;
+      case 'E' << 8 | 'T': // EndText.Operator
+        return EndText.Value;
+      case ('B' << 8 | 'M') << 8 | 'C': // BeginMarkedContent.SimpleOperator
+        return new BeginMarkedContent(BeginMarkedContent.SimpleOperator, operands);
+      case ('B' << 8 | 'D') << 8 | 'C': // BeginMarkedContent.PropertyListOperator
+        return new BeginMarkedContent(BeginMarkedContent.PropertyListOperator, operands);
+      case ('E' << 8 | 'M') << 8 | 'C': // EndMarkedContent.Operator
+        return EndMarkedContent.Value;
+      case 'M' << 8 | 'P': // MarkedContentPoint.SimpleOperator
+        return new MarkedContentPoint(MarkedContentPoint.SimpleOperator, operands);
+      case 'D' << 8 | 'P': // MarkedContentPoint.PropertyListOperator
+        return new MarkedContentPoint(MarkedContentPoint.PropertyListOperator, operands);
+      case 'B' << 8 | 'I': // BeginInlineImage.Operator
+        return BeginInlineImage.Value;
+      case 'g' << 8 | 's': // ApplyExtGState.Operator
+        return new ApplyExtGState(operands);
+      default:
+        return null;
+    }
+  }
+  // </private>
   // </interface>
   // </static>
 
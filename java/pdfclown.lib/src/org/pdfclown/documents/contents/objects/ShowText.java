@@ -43,7 +43,7 @@ import org.pdfclown.objects.PdfDirectObject;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.2.0, 04/30/15
+  @version 0.2.0, 10/17/26
 */
 @PDF(VersionEnum.PDF10)
 public abstract class ShowText
@@ -65,6 +65,35 @@ public abstract class ShowText
       double alpha
       );
   }
+
+  /**
+    Text scanner notified about character boxes through their coordinates.
+    <p>It spares the allocation of a box object per character: whenever a scanner implements this
+    interface, {@link #scanChar(char, double, double, double, double, double)} is called instead of
+    {@link IScanner#scanChar(char, Rectangle2D, double)}.</p>
+  */
+  public interface ICoordinateScanner
+    extends IScanner
+  {
+    /**
+      Notifies the scanner about a text character.
+
+      @param textChar Scanned character.
+      @param x Horizontal coordinate of the bounding box of the scanned character.
+      @param y Vertical coordinate of the bounding box of the scanned character.
+      @param width Width of the bounding box of the scanned character.
+      @param height Height of the bounding box of the scanned character.
+      @param alpha Angle of the scanned character.
+    */
+    void scanChar(
+      char textChar,
+      double x,
+      double y,
+      double width,
+      double height,
+      double alpha
+      );
+  }
   // </interfaces>
 
   // <dynamic>
@@ -171,6 +200,8 @@ public abstract class ShowText
     }
     else
     {tm = (AffineTransform)state.getTm().clone();}
+    AffineTransform trm = new AffineTransform();
+    ICoordinateScanner coordinateScanner = (textScanner instanceof ICoordinateScanner ? (ICoordinateScanner)textScanner : null);
 
     for(Object textElement : getValue())
     {
@@ -187,7 +218,7 @@ public abstract class ShowText
               NOTE: The text rendering matrix is recomputed before each glyph is painted
               during a text-showing operation.
             */
-            AffineTransform trm = (AffineTransform)ctm.clone(); trm.concatenate(tm);
+            trm.setTransform(ctm); trm.concatenate(tm);
             double charHeight = font.getHeight(textChar,fontSize);
 
             double ascent = font.getAscent(fontSize);
@@ -200,7 +231,10 @@ public abstract class ShowText
             dx = charHeight * trm.getShearX();
             dy = charHeight * trm.getScaleY();
             double h = Math.sqrt(dx*dx + dy*dy);
-            Rectangle2D charBox = new Rectangle2D.Double(x, y, w, h);
+            if(coordinateScanner != null)
+            {coordinateScanner.scanChar(textChar, x, y, w, h, alpha);}
+            else
+            {textScanner.scanChar(textChar, new Rectangle2D.Double(x, y, w, h), alpha);}
 /*
             Rectangle2D charBox = new Rectangle2D.Double(
               trm.getTranslateX(),
@@ -209,7 +243,6 @@ public abstract class ShowText
               charHeight * trm.getScaleY()
               );
 */
-            textScanner.scanChar(textChar,charBox, alpha);
           }
 
           /*
@@ -68,7 +68,7 @@ import org.pdfclown.util.parsers.PostScriptParseException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.1
-  @version 0.2.0, 05/22/15
+  @version 0.2.0, 10/17/26
 */
 public final class ContentParser
   extends BaseParser
@@ -145,52 +145,10 @@ public final class ContentParser
   }
 
   /**
-    Parses the next operation.
+    Parses the inline image whose header begins after the current token ({@link
+    BeginInlineImage BI} operator).
   */
-  public Operation parseOperation(
-    )
-  {
-    String operator = null;
-    final List<PdfDirectObject> operands = new ArrayList<PdfDirectObject>();
-    // Parsing the operation parts...
-    do
-    {
-      switch(getTokenType())
-      {
-        case Keyword:
-          operator = (String)getToken();
-          break;
-        default:
-          operands.add(parsePdfObject());
-          break;
-      }
-    } while(operator == null && moveNext());
-    return Operation.get(operator,operands);
-  }
-
-  @Override
-  public PdfDirectObject parsePdfObject(
-    )
-  {
-    switch(getTokenType())
-    {
-      case Literal:
-        if(getToken() instanceof String)
-          return new PdfByteString(Encoding.Pdf.encode((String)getToken()));
-        break;
-      case Hex:
-        return new PdfByteString((String)getToken());
-      default:
-      {
-        /* NOOP */
-      }
-    }
-    return (PdfDirectObject)super.parsePdfObject();
-  }
-  // </public>
-
-  // <private>
-  private InlineImage parseInlineImage(
+  public InlineImage parseInlineImage(
     )
   {
     InlineImageHeader header;
@@ -271,6 +229,51 @@ public final class ContentParser
     return new InlineImage(header, body);
   }
 
+  /**
+    Parses the next operation.
+  */
+  public Operation parseOperation(
+    )
+  {
+    final List<PdfDirectObject> operands = new ArrayList<PdfDirectObject>();
+    // Parsing the operation parts...
+    do
+    {
+      switch(getTokenType())
+      {
+        case Keyword:
+          // NOTE: The operator is resolved from its raw bytes (no string allocation).
+          return Operation.get(getTokenBytes(), getTokenOffset(), getTokenLength(), operands);
+        default:
+          operands.add(parsePdfObject());
+          break;
+      }
+    } while(moveNext());
+    return null;
+  }
+
+  @Override
+  public PdfDirectObject parsePdfObject(
+    )
+  {
+    switch(getTokenType())
+    {
+      case Literal:
+        if(getToken() instanceof String)
+          return new PdfByteString(Encoding.Pdf.encode((String)getToken()));
+        break;
+      case Hex:
+        return new PdfByteString((String)getToken());
+      default:
+      {
+        /* NOOP */
+      }
+    }
+    return (PdfDirectObject)super.parsePdfObject();
+  }
+  // </public>
+
+  // <private>
   private Path parsePath(
     Operation beginOperation
     )
@@ -213,7 +213,7 @@ public final class EmbeddedFile
   public void setMimeType(
     String value
     )
-  {getBaseDataObject().getHeader().put(PdfName.Subtype, new PdfName(value));}
+  {getBaseDataObject().getHeader().put(PdfName.Subtype, PdfName.get(value));}
 
   /**
     @see #getModificationDate()
@@ -287,7 +287,7 @@ public final class FullFileSpecification
     if(value instanceof StandardFileSystemEnum)
     {fileSystemObject = ((StandardFileSystemEnum)value).getCode();}
     else if(value instanceof String)
-    {fileSystemObject = new PdfName((String)value);}
+    {fileSystemObject = PdfName.get((String)value);}
     else
       throw new IllegalArgumentException("MUST be either StandardFileSystemEnum (standard file system) or String (custom file system)");
 
@@ -123,7 +123,7 @@ public final class TextMarkup
 
   // <static>
   // <fields>
-  private static final PdfName HighlightExtGStateName = new PdfName("highlight");
+  private static final PdfName HighlightExtGStateName = PdfName.get("highlight");
   // </fields>
 
   // <interface>
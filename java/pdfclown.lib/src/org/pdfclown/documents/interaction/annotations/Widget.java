@@ -140,7 +140,7 @@ public final class Widget
     setAppearance(appearance);
     AppearanceStates normalAppearance = appearance.getNormal();
     normalAppearance.put(
-      new PdfName(name),
+      PdfName.get(name),
       new FormXObject(page.getDocument(), Dimension.get(box))
       );
   }
@@ -115,7 +115,7 @@ public final class RadioButton
       NOTE: The parent field's V entry holds a name object corresponding to the appearance state of
       whichever child field is currently in the on state; the default value for this entry is Off.
     */
-    PdfName selectedValue = new PdfName((String)value);
+    PdfName selectedValue = PdfName.get((String)value);
     boolean selected = false;
     // Selecting the current appearance state for each widget...
     for(Widget widget : getWidgets())
@@ -306,7 +306,7 @@ public final class TextField
             {
               //TODO:manage name collision!
               formFonts.put(
-                defaultFontName = new PdfName("default"),
+                defaultFontName = PdfName.get("default"),
                 defaultFont = new StandardType1Font(
                   getDocument(),
                   StandardType1Font.FamilyEnum.Helvetica,
@@ -266,11 +266,11 @@ public final class DefaultStyle
 
       Appearance appearance = widget.getAppearance();
       AppearanceStates normalAppearance = appearance.getNormal();
-      FormXObject onState = normalAppearance.get(new PdfName(widget.getValue()));
+      FormXObject onState = normalAppearance.get(PdfName.get(widget.getValue()));
 
 //TODO:verify!!!
-//   appearance.getRollover().put(new PdfName(...),onState);
-//   appearance.getDown().put(new PdfName(...),onState);
+//   appearance.getRollover().put(PdfName.get(...),onState);
+//   appearance.getDown().put(PdfName.get(...),onState);
 //   appearance.getRollover().put(PdfName.Off,offState);
 //   appearance.getDown().put(PdfName.Off,offState);
 
@@ -35,7 +35,7 @@ import java.util.Random;
 import org.pdfclown.Version;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.bytes.Buffer;
-import org.pdfclown.bytes.FileInputStream;
+import org.pdfclown.bytes.FileChannelInputStream;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.bytes.OutputStream;
@@ -49,6 +49,8 @@ import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfReference;
 import org.pdfclown.tokens.Reader;
 import org.pdfclown.tokens.Reader.FileInfo;
+import org.pdfclown.tokens.Reader.RecoveryReport;
+import org.pdfclown.tokens.StreamingWriter;
 import org.pdfclown.tokens.Writer;
 import org.pdfclown.tokens.XRefEntry;
 import org.pdfclown.util.NotImplementedException;
@@ -59,7 +61,7 @@ import org.pdfclown.util.io.IOUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.0
-  @version 0.2.0, 04/20/15
+  @version 0.2.0, 10/17/26
 */
 public final class File
   implements Closeable
@@ -91,8 +93,18 @@ public final class File
   private final IndirectObjects indirectObjects;
   private String path;
   private Reader reader;
+  private final RecoveryReport recoveryReport;
+  /**
+    Object numbers applied on serialization (see {@link #getSerializationNumbers()}).
+  */
+  private int[] serializationNumbers;
   private final PdfDictionary trailer;
   private final Version version;
+  /**
+    Modification count of the page tree of this file (see {@link
+    #getTreeModificationCount()}).
+  */
+  private volatile int treeModificationCount;
 
   private Cloner cloner;
   // </fields>
@@ -102,6 +114,7 @@ public final class File
     )
   {
     version = VersionEnum.PDF14.getVersion();
+    recoveryReport = null;
     trailer = prepareTrailer(new PdfDictionary());
     indirectObjects = new IndirectObjects(this, null);
     document = new Document(this);
@@ -112,8 +125,8 @@ public final class File
     ) throws java.io.FileNotFoundException
   {
     this(
-      new FileInputStream(
-        new java.io.RandomAccessFile(path,"r")
+      new FileChannelInputStream(
+        new java.io.RandomAccessFile(path,"r").getChannel()
         )
       );
     this.path = path;
@@ -142,6 +155,7 @@ public final class File
 
     FileInfo info = reader.readInfo();
     version = info.getVersion();
+    recoveryReport = info.getRecoveryReport();
     trailer = prepareTrailer(info.getTrailer());
     if(trailer.containsKey(PdfName.Encrypt)) // Encrypted file.
       throw new NotImplementedException("Encrypted files are currently not supported.");
@@ -210,6 +224,28 @@ public final class File
     )
   {return reader;}
 
+  /**
+    Gets the report of the repairs applied to the structure of this file on loading.
+
+    @return <code>null</code>, if the file structure is sound (or the file is newly-created).
+  */
+  public RecoveryReport getRecoveryReport(
+    )
+  {return recoveryReport;}
+
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Gets the object numbers to serialize in place of the actual ones, so that writers can
+    renumber the indirect objects without altering this file.</p>
+    <p>They are indexed by actual object number; zero marks the objects which aren't serialized
+    (references to them are serialized as null). Generation numbers are serialized as zero.</p>
+
+    @return <code>null</code>, if the actual object numbers are serialized.
+  */
+  public int[] getSerializationNumbers(
+    )
+  {return serializationNumbers;}
+
   /**
     Gets the file trailer.
   */
@@ -217,6 +253,16 @@ public final class File
     )
   {return trailer;}
 
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Gets the modification count of the page tree (that is, the <code>Kids</code> arrays of its
+    intermediate nodes and the nodes themselves) of this file, so that the structures derived from
+    it (like the page index) can detect low-level changes.</p>
+  */
+  public int getTreeModificationCount(
+    )
+  {return treeModificationCount;}
+
   /**
     Gets the file header version [PDF:1.6:3.4.1].
     <p>This property represents just the original file version; to get the actual version,
@@ -238,6 +284,15 @@ public final class File
     )
   {return !indirectObjects.getModifiedObjects().isEmpty();}
 
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Notifies that the page tree of this file has been modified (see {@link
+    #getTreeModificationCount()}).</p>
+  */
+  public void onTreeModified(
+    )
+  {treeModificationCount++;}
+
   /**
     Registers an <b>internal data object</b>.
 
@@ -349,25 +404,33 @@ public final class File
     SerializationModeEnum mode
     )
   {
-    Information information = getDocument().getInformation();
-    if(getReader() == null)
-    {
-      information.setCreationDate(new Date());
-      try
-      {
-        Package package_ = getClass().getPackage();
-        information.setProducer(package_.getSpecificationTitle() + " " + package_.getSpecificationVersion());
-      }
-      catch(Exception e)
-      {/* NOOP */}
-    }
-    else
-    {information.setModificationDate(new Date());}
+    updateInformation();
 
     Writer writer = Writer.get(this, stream);
     writer.write(mode);
   }
 
+  /**
+    Begins serializing the file to the specified stream, writing objects as soon as they are
+    complete.
+    <p>Objects (typically pages) passed to {@link StreamingWriter#flush(org.pdfclown.objects.IPdfObjectWrapper)
+    StreamingWriter.flush(...)} are written and released from memory, whilst the serialization is
+    completed on {@link StreamingWriter#close() StreamingWriter.close()}. It's caller
+    responsibility to close the stream after the writer is closed.</p>
+
+    @param stream
+      Target stream.
+    @since 0.2.0
+  */
+  public StreamingWriter saveStreaming(
+    IOutputStream stream
+    )
+  {
+    updateInformation();
+
+    return new StreamingWriter(this, stream);
+  }
+
   /**
     @see #getCloner()
   */
@@ -384,6 +447,16 @@ public final class File
     )
   {path = value;}
 
+  /**
+    <span style="color:red">For internal use only.</span>
+
+    @see #getSerializationNumbers()
+  */
+  public void setSerializationNumbers(
+    int[] value
+    )
+  {serializationNumbers = value;}
+
   /**
     Unregisters an <b>internal object</b>.
 
@@ -401,21 +474,9 @@ public final class File
   {
     if(reader != null)
     {
-      reader.close();
-      reader = null;
-
-      /*
-        NOTE: If the temporary file exists (see save() method), it must overwrite the document file.
-      */
-      if (getTempPath() != null) {
-        java.io.File sourceFile = new java.io.File(getTempPath());
-        if(sourceFile.exists())
-        {
-          java.io.File targetFile = new java.io.File(path);
-          targetFile.delete();
-          sourceFile.renameTo(targetFile);
-        }
-      }
+      // Stream bodies of modified objects still pending in the source must be loaded before it becomes unavailable.
+      indirectObjects.dropSources();
+      closeReader();
     }
   }
   // </Closeable>
@@ -427,13 +488,37 @@ public final class File
     ) throws Throwable
   {
     try
-    {close();}
+    {
+      // NOTE: As this file is unreachable, its objects need no detachment from the source.
+      if(reader != null)
+      {closeReader();}
+    }
     finally
     {super.finalize();}
   }
   // </protected>
 
   // <private>
+  private void closeReader(
+    ) throws IOException
+  {
+    reader.close();
+    reader = null;
+
+    /*
+      NOTE: If the temporary file exists (see save() method), it must overwrite the document file.
+    */
+    if (getTempPath() != null) {
+      java.io.File sourceFile = new java.io.File(getTempPath());
+      if(sourceFile.exists())
+      {
+        java.io.File targetFile = new java.io.File(path);
+        targetFile.delete();
+        sourceFile.renameTo(targetFile);
+      }
+    }
+  }
+
   private String getTempPath(
     )
   {return (path == null ? null : path + ".tmp");}
@@ -442,6 +527,28 @@ public final class File
     PdfDictionary trailer
     )
   {return (PdfDictionary)new ImplicitContainer(this, trailer).getDataObject();}
+
+  /**
+    Updates the document information before serialization.
+  */
+  private void updateInformation(
+    )
+  {
+    Information information = getDocument().getInformation();
+    if(getReader() == null)
+    {
+      information.setCreationDate(new Date());
+      try
+      {
+        Package package_ = getClass().getPackage();
+        information.setProducer(package_.getSpecificationTitle() + " " + package_.getSpecificationVersion());
+      }
+      catch(Exception e)
+      {/* NOOP */}
+    }
+    else
+    {information.setModificationDate(new Date());}
+  }
   // </private>
   // </interface>
   // </dynamic>
@@ -35,12 +35,13 @@ import org.pdfclown.util.StringUtils;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.2.1
-  @version 0.1.2.1, 03/30/15
+  @version 0.2.0, 10/17/26
 */
 public final class FileConfiguration
 {
   // <dynamic>
   // <fields>
+  private boolean importDeduplicationEnabled;
   private DecimalFormat realFormat;
   private boolean streamFilterEnabled;
   private XRefModeEnum xrefMode = XRefModeEnum.Plain;
@@ -87,6 +88,20 @@ public final class FileConfiguration
     )
   {return xrefMode;}
 
+  /**
+    Gets whether imported objects have to be deduplicated by content.
+    <p>When enabled, each stream and dictionary imported from an alien file (see {@link
+    IndirectObjects#addExternal(org.pdfclown.objects.PdfIndirectObject) IndirectObjects.addExternal})
+    is fingerprinted, so that it is replaced by any structurally-equivalent object already imported
+    into this file, even from other alien files or previous imports. This is typically useful when
+    merging many documents sharing the same resources (fonts, images, and so on).</p>
+    <p>NOTE: Deduplicated objects (like content streams and resources) become shared among the
+    imports they come from, so any later change to one of them affects the others too.</p>
+  */
+  public boolean isImportDeduplicationEnabled(
+    )
+  {return importDeduplicationEnabled;}
+
   /**
     Gets whether PDF stream objects have to be filtered for compression.
   */
@@ -94,6 +109,14 @@ public final class FileConfiguration
     )
   {return streamFilterEnabled;}
 
+  /**
+    @see #isImportDeduplicationEnabled()
+  */
+  public void setImportDeduplicationEnabled(
+    boolean value
+    )
+  {importDeduplicationEnabled = value;}
+
   /**
     @see #getRealPrecision()
   */
@@ -122,6 +145,17 @@ public final class FileConfiguration
     )
   {file.getDocument().checkCompatibility(xrefMode = value);}
 
+  /**
+    @see #setImportDeduplicationEnabled(boolean)
+  */
+  public FileConfiguration withImportDeduplicationEnabled(
+    boolean value
+    )
+  {
+    setImportDeduplicationEnabled(value);
+    return this;
+  }
+
   /**
     @see #setRealPrecision(int)
   */
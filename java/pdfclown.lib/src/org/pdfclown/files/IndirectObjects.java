@@ -25,20 +25,34 @@
 
 package org.pdfclown.files;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
-import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.pdfclown.bytes.Buffer;
 import org.pdfclown.objects.Cloner;
+import org.pdfclown.objects.PdfArray;
 import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfStream;
 import org.pdfclown.tokens.XRefEntry;
+import org.pdfclown.tokens.XRefTable;
 import org.pdfclown.util.NotImplementedException;
 
 /**
@@ -56,10 +70,12 @@ import org.pdfclown.util.NotImplementedException;
   indirect object).</p>
   <p><b>Alive indirect objects</b> encompass all the newly-registered ones plus
   not-overridden original ones.</p>
+  <p>Original indirect objects can be retrieved concurrently, each object number being woken at
+  most once.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.0
-  @version 0.2.0, 03/10/15
+  @version 0.2.0, 10/17/26
 */
 public final class IndirectObjects
   implements List<PdfIndirectObject>
@@ -80,6 +96,26 @@ public final class IndirectObjects
     matching internal indirect object.</p>
   */
   private final Hashtable<Integer,PdfIndirectObject> importedObjects = new Hashtable<Integer,PdfIndirectObject>();
+  /**
+    Map of the fingerprints of imported indirect objects.
+    <p>This collection is used to prevent structural duplications among imported indirect objects
+    (see {@link FileConfiguration#isImportDeduplicationEnabled()}).</p>
+    <p><code>Key</code> is the structural digest of the imported data object, <code>Value</code> is
+    the first internal indirect object matching it.</p>
+  */
+  private final HashMap<ByteBuffer,PdfIndirectObject> importedFingerprints = new HashMap<ByteBuffer,PdfIndirectObject>();
+  /**
+    Numbers of the placeholders dropped by import deduplication.
+    <p>As such object numbers have never been handed out, they are reused by the next
+    registrations (see {@link #add(PdfDataObject)}).</p>
+  */
+  private final TreeSet<Integer> droppedObjectNumbers = new TreeSet<Integer>();
+  /**
+    Imported indirect objects whose data object is being cloned.
+    <p><code>Value</code> is whether the indirect object has been referenced in the meantime, that
+    is it belongs to a reference cycle.</p>
+  */
+  private final IdentityHashMap<PdfIndirectObject,Boolean> pendingImports = new IdentityHashMap<PdfIndirectObject,Boolean>();
   /**
     Collection of newly-registered indirect objects.
   */
@@ -88,7 +124,7 @@ public final class IndirectObjects
     Collection of instantiated original indirect objects.
     <p>This collection is used as a cache to avoid unconsistent parsing duplications.</p>
   */
-  private final TreeMap<Integer,PdfIndirectObject> wokenObjects = new TreeMap<Integer,PdfIndirectObject>();
+  private final ConcurrentHashMap<Integer,PdfIndirectObject> wokenObjects = new ConcurrentHashMap<Integer,PdfIndirectObject>();
 
   /**
     Object counter.
@@ -100,13 +136,13 @@ public final class IndirectObjects
     <p>This information is vital to randomly retrieve the indirect-object persistent
     representation inside the associated file.</p>
   */
-  private final SortedMap<Integer,XRefEntry> xrefEntries;
+  private final XRefTable xrefEntries;
   // </fields>
 
   // <constructors>
   IndirectObjects(
     File file,
-    SortedMap<Integer,XRefEntry> xrefEntries
+    XRefTable xrefEntries
     )
   {
     this.file = file;
@@ -136,7 +172,7 @@ public final class IndirectObjects
     else
     {
       // Adjust the object counter!
-      lastObjectNumber = xrefEntries.lastKey();
+      lastObjectNumber = xrefEntries.getLastNumber();
     }
   }
   // </constructors>
@@ -153,14 +189,17 @@ public final class IndirectObjects
     PdfDataObject object
     )
   {
+    // Get the object number (reusing dropped ones first)!
+    Integer droppedObjectNumber = droppedObjectNumbers.pollFirst();
+    int objectNumber = (droppedObjectNumber != null ? droppedObjectNumber : ++lastObjectNumber);
     // Wrap the data object inside a new indirect object!
     PdfIndirectObject indirectObject = new PdfIndirectObject(
       file,
       object,
-      new XRefEntry(++lastObjectNumber, 0)
+      new XRefEntry(objectNumber, 0)
       );
     // Register the object!
-    modifiedObjects.put(lastObjectNumber,indirectObject);
+    modifiedObjects.put(objectNumber,indirectObject);
     return indirectObject;
   }
 
@@ -184,6 +223,10 @@ public final class IndirectObjects
     import contents from a file into another one.</p>
     <p>To register an internal data object, use {@link #add(PdfDataObject)}.</p>
 
+    <p>In case import deduplication is enabled (see {@link
+    FileConfiguration#isImportDeduplicationEnabled()}), the returned indirect object may be an
+    equivalent one imported before.</p>
+
     @param object External indirect object to import.
     @param cloner Import rules.
     @return Indirect object imported from the external indirect object.
@@ -205,8 +248,13 @@ public final class IndirectObjects
         object.hashCode(),
         indirectObject = add((PdfDataObject)null) // [DEV:AP] Circular reference issue solved.
         );
-      indirectObject.setDataObject((PdfDataObject)object.getDataObject().accept(cloner, null));
+      if(file.getConfiguration().isImportDeduplicationEnabled())
+      {indirectObject = addExternalDeduplicated(object, indirectObject, cloner);}
+      else
+      {indirectObject.setDataObject((PdfDataObject)object.getDataObject().accept(cloner, null));}
     }
+    else if(pendingImports.containsKey(indirectObject)) // Reference cycle.
+    {pendingImports.put(indirectObject, Boolean.TRUE);}
     return indirectObject;
   }
 
@@ -269,7 +317,7 @@ public final class IndirectObjects
       object = wokenObjects.get(index);
       if(object == null)
       {
-        XRefEntry xrefEntry = xrefEntries.get(index);
+        XRefEntry xrefEntry = (xrefEntries != null ? xrefEntries.get(index) : null);
         if(xrefEntry == null)
         {
           /*
@@ -277,25 +325,26 @@ public final class IndirectObjects
             update sections) MUST contain one entry for each object number from 0 to the maximum
             object number used in the file, even if one or more of the object numbers in this range
             do not actually occur in the file. However, for resilience purposes missing entries are
-            treated as free ones.
+            treated as free ones (the woken object keeps track of the entry, so the original
+            cross-reference table is left untouched).
           */
-          xrefEntries.put(
+          xrefEntry = new XRefEntry(
             index,
-            xrefEntry = new XRefEntry(
-              index,
-              XRefEntry.GenerationUnreusable,
-              0,
-              XRefEntry.UsageEnum.Free
-              )
+            XRefEntry.GenerationUnreusable,
+            0,
+            XRefEntry.UsageEnum.Free
             );
         }
 
         // Awake the object!
         /*
           NOTE: This operation allows to keep a consistent state across the whole session, avoiding
-          multiple incoherent instantiations of the same original indirect object.
+          multiple incoherent instantiations of the same original indirect object (in case of
+          concurrent retrieval, the first registered instance wins).
         */
-        wokenObjects.put(index, object = new PdfIndirectObject(file, null, xrefEntry));
+        PdfIndirectObject wokenObject = wokenObjects.putIfAbsent(index, object = new PdfIndirectObject(file, null, xrefEntry));
+        if(wokenObject != null)
+        {object = wokenObject;}
       }
     }
     return object;
@@ -582,6 +631,38 @@ public final class IndirectObjects
     )
   {return modifiedObjects;}
 
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Makes the data objects parsed so far independent from the file source, as it is about to be
+    closed: the pending data of modified objects are loaded (they are still to be serialized),
+    whereas those of unmodified objects become unavailable (loading them would just fill the heap).</p>
+  */
+  public void dropSources(
+    )
+  {
+    for(PdfIndirectObject object : wokenObjects.values())
+    {object.dropSource(false);}
+    for(PdfIndirectObject object : modifiedObjects.values())
+    {object.dropSource(true);}
+  }
+
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Releases the specified indirect object, as it has already been serialized for good (see
+    {@link org.pdfclown.tokens.StreamingWriter StreamingWriter}): its data object is dropped and
+    this collection stops tracking it, so that it can be garbage-collected as soon as no reference
+    points to it.</p>
+  */
+  public void release(
+    PdfIndirectObject object
+    )
+  {
+    int index = object.getReference().getObjectNumber();
+    modifiedObjects.remove(index);
+    wokenObjects.remove(index);
+    object.dropDataObject();
+  }
+
   /**
     <span style="color:red">For internal use only.</span>
   */
@@ -606,6 +687,164 @@ public final class IndirectObjects
     return old;
   }
   // </internal>
+
+  // <private>
+  /**
+    Fills the placeholder of an external indirect object, unless a structurally-equivalent one has
+    already been imported.
+    <p>As referenced objects are imported before their referrers, equivalent subgraphs collapse
+    bottom-up, so that references can be fingerprinted by their (internal) object numbers without
+    walking the graph. Objects belonging to reference cycles are never replaced, as references to
+    their placeholders have already been handed out.</p>
+
+    @param object External indirect object to import.
+    @param indirectObject Placeholder of the imported indirect object.
+    @param cloner Import rules.
+    @return Indirect object imported from the external indirect object.
+  */
+  private PdfIndirectObject addExternalDeduplicated(
+    PdfIndirectObject object,
+    PdfIndirectObject indirectObject,
+    Cloner cloner
+    )
+  {
+    PdfDataObject dataObject;
+    boolean cyclic;
+    pendingImports.put(indirectObject, Boolean.FALSE);
+    try
+    {dataObject = (PdfDataObject)object.getDataObject().accept(cloner, null);}
+    finally
+    {cyclic = pendingImports.remove(indirectObject);}
+
+    if(!cyclic && isDeduplicable(dataObject))
+    {
+      ByteBuffer fingerprint = getFingerprint(dataObject);
+      PdfIndirectObject equivalentObject = importedFingerprints.get(fingerprint);
+      if(equivalentObject != null)
+      {
+        // Drop the placeholder in favor of its equivalent!
+        int index = indirectObject.getReference().getObjectNumber();
+        if(index == lastObjectNumber) // Object number reclaimable.
+        {
+          modifiedObjects.remove(lastObjectNumber--);
+          // Reclaim the dropped object numbers left on top too!
+          while(droppedObjectNumbers.remove(lastObjectNumber))
+          {modifiedObjects.remove(lastObjectNumber--);}
+        }
+        else
+        {
+          /*
+            NOTE: The placeholder's number is freed for reuse by later registrations (its generation
+            is kept at 0, as no object has ever been serialized under it).
+          */
+          modifiedObjects.put(
+            index,
+            new PdfIndirectObject(
+              file,
+              null,
+              new XRefEntry(
+                index,
+                0,
+                0,
+                XRefEntry.UsageEnum.Free
+                )
+              )
+            );
+          droppedObjectNumbers.add(index);
+        }
+        importedObjects.put(object.hashCode(), equivalentObject);
+        return equivalentObject;
+      }
+      importedFingerprints.put(fingerprint, indirectObject);
+    }
+    indirectObject.setDataObject(dataObject);
+    return indirectObject;
+  }
+
+  /**
+    Gets the structural digest of the given imported data object.
+    <p>Stream bodies are digested raw (as they were imported), while dictionary entries are
+    normalized by key order; stream lengths are ignored, as they are recomputed on
+    serialization.</p>
+  */
+  private ByteBuffer getFingerprint(
+    PdfDataObject dataObject
+    )
+  {
+    MessageDigest digest;
+    try
+    {digest = MessageDigest.getInstance("SHA-256");}
+    catch(NoSuchAlgorithmException e)
+    {throw new RuntimeException(e);}
+
+    Buffer buffer = new Buffer();
+    if(dataObject instanceof PdfStream)
+    {
+      PdfStream stream = (PdfStream)dataObject;
+      writeFingerprint(stream.getHeader(), PdfName.Length, buffer);
+      digest.update(buffer.toByteArray());
+      digest.update(stream.getBody(false).toByteArray());
+    }
+    else
+    {
+      writeFingerprint((PdfDirectObject)dataObject, null, buffer);
+      digest.update(buffer.toByteArray());
+    }
+    return ByteBuffer.wrap(digest.digest());
+  }
+
+  /**
+    Gets whether the given imported data object can be replaced by an equivalent one.
+    <p>Objects whose identity matters (see {@link PdfDictionary#isIdentityBearing()}) are kept
+    distinct.</p>
+  */
+  private boolean isDeduplicable(
+    PdfDataObject dataObject
+    )
+  {
+    if(dataObject instanceof PdfStream)
+      return true;
+    else if(dataObject instanceof PdfDictionary)
+      return !((PdfDictionary)dataObject).isIdentityBearing();
+    else
+      return false;
+  }
+
+  private void writeFingerprint(
+    PdfDirectObject object,
+    PdfName excludedKey,
+    Buffer buffer
+    )
+  {
+    if(object instanceof PdfDictionary)
+    {
+      PdfDictionary dictionary = (PdfDictionary)object;
+      List<PdfName> keys = new ArrayList<PdfName>(dictionary.keySet());
+      Collections.sort(keys);
+      buffer.write("<<");
+      for(PdfName key : keys)
+      {
+        if(key.equals(excludedKey))
+          continue;
+
+        key.writeTo(buffer, file); buffer.write(" ");
+        writeFingerprint(dictionary.get(key), null, buffer); buffer.write(" ");
+      }
+      buffer.write(">>");
+    }
+    else if(object instanceof PdfArray)
+    {
+      buffer.write("[");
+      for(PdfDirectObject item : (PdfArray)object)
+      {writeFingerprint(item, null, buffer); buffer.write(" ");}
+      buffer.write("]");
+    }
+    else if(object == null)
+    {buffer.write("null");}
+    else
+    {object.writeTo(buffer, file);}
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
@@ -26,7 +26,6 @@
 package org.pdfclown.objects;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -378,7 +377,7 @@ public class Cloner
     Filter cloneFilter = matchFilter(object);
     PdfArray clone = (PdfArray)object.clone();
     {
-      clone.items = new ArrayList<PdfDirectObject>();
+      clone.items = new ItemList(object.size());
       List<PdfDirectObject> sourceItems = object.items;
       for(int index = 0, length = sourceItems.size(); index < length; index++)
       {
@@ -404,7 +403,7 @@ public class Cloner
     Filter cloneFilter = matchFilter(object);
     PdfDictionary clone = (PdfDictionary)object.clone();
     {
-      clone.entries = new HashMap<PdfName,PdfDirectObject>();
+      clone.entries = new EntryMap(object.size());
       for(Map.Entry<PdfName,PdfDirectObject> entry : object.entries.entrySet())
       {
         PdfDirectObject sourceValue = entry.getValue();
@@ -444,10 +443,12 @@ public class Cloner
     Object data
     )
   {
+    object.loadBody();
     PdfStream clone = (PdfStream)object.clone();
     {
       clone.header = (PdfDictionary)visit(object.header, data);
       clone.body = object.body.clone();
+      clone.bodySource = null;
     }
     return clone;
   }
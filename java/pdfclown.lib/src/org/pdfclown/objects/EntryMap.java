@@ -0,0 +1,577 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.objects;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+  Compact storage of dictionary entries.
+  <p>Entries are kept in insertion order as parallel key/value arrays. Small maps are scanned
+  linearly (as names are canonical, comparisons are mostly resolved by identity), whilst larger
+  ones are indexed through an open-addressing (linear probing) table of entry positions.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+final class EntryMap
+  extends AbstractMap<PdfName,PdfDirectObject>
+{
+  // <class>
+  // <classes>
+  private final class Entry
+    implements Map.Entry<PdfName,PdfDirectObject>
+  {
+    private final int position;
+
+    Entry(
+      int position
+      )
+    {this.position = position;}
+
+    @Override
+    public boolean equals(
+      Object object
+      )
+    {
+      if(!(object instanceof Map.Entry<?,?>))
+        return false;
+
+      Map.Entry<?,?> entry = (Map.Entry<?,?>)object;
+      Object value = getValue();
+      return getKey().equals(entry.getKey())
+        && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+    }
+
+    @Override
+    public PdfName getKey(
+      )
+    {return keys[position];}
+
+    @Override
+    public PdfDirectObject getValue(
+      )
+    {return values[position];}
+
+    @Override
+    public int hashCode(
+      )
+    {
+      PdfDirectObject value = getValue();
+      return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public PdfDirectObject setValue(
+      PdfDirectObject value
+      )
+    {
+      PdfDirectObject oldValue = values[position];
+      values[position] = value;
+      return oldValue;
+    }
+
+    @Override
+    public String toString(
+      )
+    {return getKey() + "=" + getValue();}
+  }
+
+  private abstract class PositionIterator<T>
+    implements Iterator<T>
+  {
+    private int expectedModCount = modCount;
+    private int nextPosition;
+    private int position = -1;
+
+    @Override
+    public boolean hasNext(
+      )
+    {return nextPosition < size;}
+
+    @Override
+    public T next(
+      )
+    {
+      if(modCount != expectedModCount)
+        throw new ConcurrentModificationException();
+      if(nextPosition >= size)
+        throw new NoSuchElementException();
+
+      return get(position = nextPosition++);
+    }
+
+    @Override
+    public void remove(
+      )
+    {
+      if(position < 0)
+        throw new IllegalStateException();
+      if(modCount != expectedModCount)
+        throw new ConcurrentModificationException();
+
+      removeAt(position);
+      nextPosition = position;
+      position = -1;
+      expectedModCount = modCount;
+    }
+
+    protected abstract T get(
+      int position
+      );
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  /**
+    Maximum number of entries which are linearly scanned, without indexing.
+  */
+  private static final int LinearScanMaxSize = 8;
+
+  private static final PdfName[] EmptyKeys = new PdfName[0];
+  private static final PdfDirectObject[] EmptyValues = new PdfDirectObject[0];
+  // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Spreads the given hash over the low bits used to address slots.
+  */
+  private static int mix(
+    int hash
+    )
+  {
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private PdfName[] keys;
+  private PdfDirectObject[] values;
+  private int size;
+  /**
+    Entry index (entry position + 1, or 0 for empty slots); <code>null</code> if entries are
+    linearly scanned.
+  */
+  private int[] slots;
+  private int modCount;
+  // </fields>
+
+  // <constructors>
+  EntryMap(
+    int capacity
+    )
+  {
+    if(capacity > 0)
+    {
+      keys = new PdfName[capacity];
+      values = new PdfDirectObject[capacity];
+    }
+    else
+    {
+      keys = EmptyKeys;
+      values = EmptyValues;
+    }
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void clear(
+    )
+  {
+    Arrays.fill(keys, 0, size, null);
+    Arrays.fill(values, 0, size, null);
+    size = 0;
+    slots = null;
+    modCount++;
+  }
+
+  @Override
+  public boolean containsKey(
+    Object key
+    )
+  {return indexOf(key) >= 0;}
+
+  @Override
+  public boolean containsValue(
+    Object value
+    )
+  {
+    for(int position = 0; position < size; position++)
+    {
+      if(value == null ? values[position] == null : value.equals(values[position]))
+        return true;
+    }
+    return false;
+  }
+
+  @Override
+  public Set<Map.Entry<PdfName,PdfDirectObject>> entrySet(
+    )
+  {
+    return new AbstractSet<Map.Entry<PdfName,PdfDirectObject>>()
+    {
+      @Override
+      public void clear(
+        )
+      {EntryMap.this.clear();}
+
+      @Override
+      public Iterator<Map.Entry<PdfName,PdfDirectObject>> iterator(
+        )
+      {
+        return new PositionIterator<Map.Entry<PdfName,PdfDirectObject>>()
+        {
+          @Override
+          protected Map.Entry<PdfName,PdfDirectObject> get(
+            int position
+            )
+          {return new Entry(position);}
+        };
+      }
+
+      @Override
+      public int size(
+        )
+      {return size;}
+    };
+  }
+
+  @Override
+  public PdfDirectObject get(
+    Object key
+    )
+  {
+    int position = indexOf(key);
+    return position >= 0 ? values[position] : null;
+  }
+
+  @Override
+  public boolean isEmpty(
+    )
+  {return size == 0;}
+
+  @Override
+  public Set<PdfName> keySet(
+    )
+  {
+    return new AbstractSet<PdfName>()
+    {
+      @Override
+      public void clear(
+        )
+      {EntryMap.this.clear();}
+
+      @Override
+      public boolean contains(
+        Object key
+        )
+      {return containsKey(key);}
+
+      @Override
+      public Iterator<PdfName> iterator(
+        )
+      {
+        return new PositionIterator<PdfName>()
+        {
+          @Override
+          protected PdfName get(
+            int position
+            )
+          {return keys[position];}
+        };
+      }
+
+      @Override
+      public boolean remove(
+        Object key
+        )
+      {
+        int position = indexOf(key);
+        if(position < 0)
+          return false;
+
+        removeAt(position);
+        return true;
+      }
+
+      @Override
+      public int size(
+        )
+      {return size;}
+    };
+  }
+
+  @Override
+  public PdfDirectObject put(
+    PdfName key,
+    PdfDirectObject value
+    )
+  {
+    if(key == null)
+      throw new NullPointerException("key");
+
+    int position = indexOf(key);
+    if(position >= 0)
+    {
+      PdfDirectObject oldValue = values[position];
+      values[position] = value;
+      return oldValue;
+    }
+
+    if(size == keys.length)
+    {
+      int capacity = Math.max(4, size + (size >> 1));
+      keys = Arrays.copyOf(keys, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+    keys[size] = key;
+    values[size] = value;
+    size++;
+    modCount++;
+
+    if(slots != null)
+    {
+      if(size << 1 > slots.length)
+      {index();}
+      else
+      {addSlot(size - 1);}
+    }
+    else if(size > LinearScanMaxSize)
+    {index();}
+    return null;
+  }
+
+  @Override
+  public PdfDirectObject remove(
+    Object key
+    )
+  {
+    int position = indexOf(key);
+    return position >= 0 ? removeAt(position) : null;
+  }
+
+  @Override
+  public int size(
+    )
+  {return size;}
+
+  @Override
+  public Collection<PdfDirectObject> values(
+    )
+  {
+    return new AbstractCollection<PdfDirectObject>()
+    {
+      @Override
+      public void clear(
+        )
+      {EntryMap.this.clear();}
+
+      @Override
+      public Iterator<PdfDirectObject> iterator(
+        )
+      {
+        return new PositionIterator<PdfDirectObject>()
+        {
+          @Override
+          protected PdfDirectObject get(
+            int position
+            )
+          {return values[position];}
+        };
+      }
+
+      @Override
+      public int size(
+        )
+      {return size;}
+    };
+  }
+  // </public>
+
+  // <internal>
+  /**
+    Gets the key at the given position (in insertion order).
+  */
+  PdfName getKey(
+    int position
+    )
+  {return keys[position];}
+
+  /**
+    Gets the value at the given position (in insertion order).
+  */
+  PdfDirectObject getValue(
+    int position
+    )
+  {return values[position];}
+  // </internal>
+
+  // <private>
+  private void addSlot(
+    int position
+    )
+  {
+    int mask = slots.length - 1;
+    int slot = mix(keys[position].hashCode()) & mask;
+    while(slots[slot] != 0)
+    {slot = (slot + 1) & mask;}
+    slots[slot] = position + 1;
+  }
+
+  /**
+    Rebuilds the entry index.
+  */
+  private void index(
+    )
+  {
+    slots = new int[Integer.highestOneBit(Math.max(size, 1) << 2)];
+    for(int position = 0; position < size; position++)
+    {addSlot(position);}
+  }
+
+  private int indexOf(
+    Object key
+    )
+  {
+    if(!(key instanceof PdfName))
+      return -1;
+
+    if(slots == null)
+    {
+      for(int position = 0; position < size; position++)
+      {
+        PdfName positionKey = keys[position];
+        if(positionKey == key || positionKey.equals(key))
+          return position;
+      }
+    }
+    else
+    {
+      int mask = slots.length - 1;
+      for(int slot = mix(key.hashCode()) & mask;; slot = (slot + 1) & mask)
+      {
+        int position = slots[slot] - 1;
+        if(position < 0)
+          break;
+
+        PdfName positionKey = keys[position];
+        if(positionKey == key || positionKey.equals(key))
+          return position;
+      }
+    }
+    return -1;
+  }
+
+  private PdfDirectObject removeAt(
+    int position
+    )
+  {
+    PdfDirectObject oldValue = values[position];
+    int moveCount = size - position - 1;
+    if(slots != null)
+    {
+      if(size - 1 > LinearScanMaxSize)
+      {removeSlot(position, moveCount > 0);}
+      else
+      {slots = null;}
+    }
+    if(moveCount > 0)
+    {
+      System.arraycopy(keys, position + 1, keys, position, moveCount);
+      System.arraycopy(values, position + 1, values, position, moveCount);
+    }
+    size--;
+    keys[size] = null;
+    values[size] = null;
+    modCount++;
+    return oldValue;
+  }
+
+  /**
+    Removes the slot of the entry at the given position, keeping the probe sequences of the
+    other entries unbroken (backward-shift deletion) instead of rebuilding the whole index.
+
+    @param position Position of the entry to remove (its key must still be in place).
+    @param shifted Whether the entries following <code>position</code> are going to be shifted
+      back by one position.
+  */
+  private void removeSlot(
+    int position,
+    boolean shifted
+    )
+  {
+    int mask = slots.length - 1;
+    int slot = mix(keys[position].hashCode()) & mask;
+    while(slots[slot] != position + 1)
+    {slot = (slot + 1) & mask;}
+
+    // Fill the hole with the following entries of the cluster which can legally move back to it.
+    for(int nextSlot = (slot + 1) & mask;; nextSlot = (nextSlot + 1) & mask)
+    {
+      int entry = slots[nextSlot];
+      if(entry == 0)
+        break;
+
+      int homeSlot = mix(keys[entry - 1].hashCode()) & mask;
+      if(((nextSlot - homeSlot) & mask) >= ((nextSlot - slot) & mask))
+      {
+        slots[slot] = entry;
+        slot = nextSlot;
+      }
+    }
+    slots[slot] = 0;
+
+    if(shifted)
+    {
+      for(int index = 0; index < slots.length; index++)
+      {
+        if(slots[index] > position + 1)
+        {slots[index]--;}
+      }
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
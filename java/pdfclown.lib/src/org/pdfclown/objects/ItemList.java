@@ -0,0 +1,214 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.objects;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+  Compact storage of array items.
+  <p>Homogeneous numeric sequences (such as font widths and rectangles) are stored as primitive
+  arrays, boxing their items on access only; as soon as an item of another type is added, the
+  storage falls back to object references.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+final class ItemList
+  extends AbstractList<PdfDirectObject>
+  implements RandomAccess
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  /*
+    NOTE: At most one of the following storages is defined (none until the first item is added).
+  */
+  private int[] integers;
+  private double[] reals;
+  private PdfDirectObject[] objects;
+  private int size;
+
+  private int capacity;
+  // </fields>
+
+  // <constructors>
+  ItemList(
+    int capacity
+    )
+  {this.capacity = capacity;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  @Override
+  public void add(
+    int index,
+    PdfDirectObject item
+    )
+  {
+    if(index < 0 || index > size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+    int moveCount = size - index;
+    if(size == 0) // Storage (re)definition.
+    {
+      if(item instanceof PdfInteger)
+      {integers = new int[Math.max(capacity, 4)];}
+      else if(item instanceof PdfReal)
+      {reals = new double[Math.max(capacity, 4)];}
+      else
+      {objects = new PdfDirectObject[Math.max(capacity, 4)];}
+    }
+
+    if(integers != null && item instanceof PdfInteger)
+    {
+      if(size == integers.length)
+      {integers = Arrays.copyOf(integers, grow(size));}
+      System.arraycopy(integers, index, integers, index + 1, moveCount);
+      integers[index] = ((PdfInteger)item).getIntValue();
+    }
+    else if(reals != null && item instanceof PdfReal)
+    {
+      if(size == reals.length)
+      {reals = Arrays.copyOf(reals, grow(size));}
+      System.arraycopy(reals, index, reals, index + 1, moveCount);
+      reals[index] = ((PdfReal)item).getDoubleValue();
+    }
+    else
+    {
+      inflate();
+      if(size == objects.length)
+      {objects = Arrays.copyOf(objects, grow(size));}
+      System.arraycopy(objects, index, objects, index + 1, moveCount);
+      objects[index] = item;
+    }
+    size++;
+    modCount++;
+  }
+
+  @Override
+  public void clear(
+    )
+  {
+    integers = null;
+    reals = null;
+    objects = null;
+    size = 0;
+    modCount++;
+  }
+
+  @Override
+  public PdfDirectObject get(
+    int index
+    )
+  {
+    if(index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+    if(integers != null)
+      return PdfInteger.get(integers[index]);
+    else if(reals != null)
+      return new PdfReal(reals[index]);
+    else
+      return objects[index];
+  }
+
+  @Override
+  public PdfDirectObject remove(
+    int index
+    )
+  {
+    PdfDirectObject oldItem = get(index);
+    int moveCount = size - index - 1;
+    if(integers != null)
+    {System.arraycopy(integers, index + 1, integers, index, moveCount);}
+    else if(reals != null)
+    {System.arraycopy(reals, index + 1, reals, index, moveCount);}
+    else
+    {
+      System.arraycopy(objects, index + 1, objects, index, moveCount);
+      objects[size - 1] = null;
+    }
+    size--;
+    modCount++;
+    return oldItem;
+  }
+
+  @Override
+  public PdfDirectObject set(
+    int index,
+    PdfDirectObject item
+    )
+  {
+    PdfDirectObject oldItem = get(index);
+    if(integers != null && item instanceof PdfInteger)
+    {integers[index] = ((PdfInteger)item).getIntValue();}
+    else if(reals != null && item instanceof PdfReal)
+    {reals[index] = ((PdfReal)item).getDoubleValue();}
+    else
+    {
+      inflate();
+      objects[index] = item;
+    }
+    return oldItem;
+  }
+
+  @Override
+  public int size(
+    )
+  {return size;}
+  // </public>
+
+  // <private>
+  private static int grow(
+    int size
+    )
+  {return Math.max(4, size + (size >> 1));}
+
+  /**
+    Switches to object storage.
+  */
+  private void inflate(
+    )
+  {
+    if(objects != null)
+      return;
+
+    PdfDirectObject[] objects = new PdfDirectObject[Math.max(Math.max(capacity, size), 4)];
+    for(int index = 0; index < size; index++)
+    {objects[index] = get(index);}
+    integers = null;
+    reals = null;
+    this.objects = objects;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
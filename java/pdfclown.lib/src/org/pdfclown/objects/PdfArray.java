@@ -25,7 +25,6 @@
 
 package org.pdfclown.objects;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -45,7 +44,7 @@ import org.pdfclown.util.NotImplementedException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.0
-  @version 0.1.2, 01/09/13
+  @version 0.2.0, 10/17/26
 */
 public final class PdfArray
   extends PdfDirectObject
@@ -61,7 +60,7 @@ public final class PdfArray
 
   // <dynamic>
   // <fields>
-  ArrayList<PdfDirectObject> items;
+  ItemList items;
 
   private PdfObject parent;
   private boolean updated;
@@ -77,7 +76,7 @@ public final class PdfArray
   public PdfArray(
     int capacity
     )
-  {items = new ArrayList<PdfDirectObject>(capacity);}
+  {items = new ItemList(capacity);}
 
   public PdfArray(
     PdfDirectObject... items
@@ -238,13 +237,13 @@ public final class PdfArray
     )
   {
     PdfArray otherArray = (PdfArray)other;
-    ArrayList<PdfDirectObject> otherItems = otherArray.items;
+    ItemList otherItems = otherArray.items;
     // Update the other!
     otherArray.items = this.items;
-    otherArray.update();
+    otherArray.updateItems(otherArray.isEmpty() ? null : otherArray.get(0));
     // Update this one!
     this.items = otherItems;
-    this.update();
+    this.updateItems(this.isEmpty() ? null : this.get(0));
     return this;
   }
 
@@ -292,8 +291,8 @@ public final class PdfArray
     PdfDirectObject item
     )
   {
-    items.add(index, (PdfDirectObject)include(item));
-    update();
+    items.add(index, item = (PdfDirectObject)include(item));
+    updateItems(item);
   }
 
   @Override
@@ -343,7 +342,7 @@ public final class PdfArray
   {
     PdfDirectObject oldItem = items.remove(index);
     exclude(oldItem);
-    update();
+    updateItems(oldItem);
     return oldItem;
   }
 
@@ -355,7 +354,7 @@ public final class PdfArray
   {
     PdfDirectObject oldItem = items.set(index, item = (PdfDirectObject)include(item));
     exclude(oldItem);
-    update();
+    updateItems(item != null ? item : oldItem);
     return oldItem;
   }
 
@@ -373,7 +372,7 @@ public final class PdfArray
     )
   {
     items.add(item = (PdfDirectObject)include(item));
-    update();
+    updateItems(item);
     return true;
   }
 
@@ -437,7 +436,7 @@ public final class PdfArray
       return false;
 
     exclude((PdfDirectObject)item);
-    update();
+    updateItems((PdfDirectObject)item);
     return true;
   }
 
@@ -519,6 +518,29 @@ public final class PdfArray
     )
   {parent = value;}
   // </internal>
+
+  // <private>
+  /**
+    Updates the state of this array after an item change, notifying the file in case this array is
+    the <code>Kids</code> array of a page tree node (see {@link PdfObject#updateTree()}).
+
+    @param item Changed item.
+  */
+  private void updateItems(
+    PdfDirectObject item
+    )
+  {
+    update();
+
+    PdfObject parent = getParent();
+    if(parent instanceof PdfDictionary
+      ? ((PdfDictionary)parent).get(PdfName.Kids) == this
+        && PdfName.Pages.equals(getPageTreeNodeType((PdfDictionary)parent))
+      : parent instanceof PdfIndirectObject // NOTE: Referrers of indirect arrays are unknown, so the changed item is checked instead.
+        && getPageTreeNodeType(PdfObject.resolve(item)) != null)
+    {updateTree();}
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
@@ -27,7 +27,6 @@ package org.pdfclown.objects;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,7 +43,7 @@ import org.pdfclown.util.NotImplementedException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.0
-  @version 0.1.2.1, 04/24/15
+  @version 0.2.0, 10/17/26
 */
 public final class PdfDictionary
   extends PdfDirectObject
@@ -60,7 +59,7 @@ public final class PdfDictionary
 
   // <dynamic>
   // <fields>
-  Map<PdfName,PdfDirectObject> entries;
+  EntryMap entries;
 
   private PdfObject parent;
   private boolean updated;
@@ -74,7 +73,7 @@ public final class PdfDictionary
   */
   public PdfDictionary(
     )
-  {entries = new HashMap<PdfName,PdfDirectObject>();}
+  {this(0);}
 
   /**
     Creates a new empty dictionary object with the specified initial capacity.
@@ -85,7 +84,7 @@ public final class PdfDictionary
   public PdfDictionary(
     int capacity
     )
-  {entries = new HashMap<PdfName,PdfDirectObject>(capacity);}
+  {entries = new EntryMap(capacity);}
 
   /**
     Creates a new dictionary object with the specified entries.
@@ -236,10 +235,10 @@ public final class PdfDictionary
       only currently-available way to retrieve a key from a value is to iterate the whole map (really
       poor performance!).
     */
-    for(Map.Entry<PdfName,PdfDirectObject> entry : entries.entrySet())
+    for(int index = 0, length = entries.size(); index < length; index++)
     {
-      if(entry.getValue().equals(value))
-        return entry.getKey();
+      if(entries.getValue(index).equals(value))
+        return entries.getKey(index);
     }
     return null;
   }
@@ -249,6 +248,32 @@ public final class PdfDictionary
     )
   {return parent;}
 
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Gets whether this dictionary has an identity of its own, that is it can't be interchanged
+    with an equivalent one (document structure, pages, annotations, fields, layers, outline and
+    thread items, structure elements and any other object linked to a parent).</p>
+  */
+  public boolean isIdentityBearing(
+    )
+  {
+    PdfDirectObject type = get(PdfName.Type);
+    return PdfName.Catalog.equals(type)
+      || PdfName.Pages.equals(type)
+      || PdfName.Page.equals(type)
+      || PdfName.Annot.equals(type)
+      || PdfName.OCG.equals(type)
+      || PdfName.OCMD.equals(type)
+      || PdfName.StructElem.equals(type)
+      || PdfName.Outlines.equals(type)
+      || PdfName.Thread.equals(type)
+      || PdfName.Bead.equals(type)
+      || containsKey(PdfName.Parent)
+      || containsKey(PdfName.P)
+      || containsKey(PdfName.Rect)
+      || containsKey(PdfName.FT);
+  }
+
   @Override
   public boolean isUpdateable(
     )
@@ -301,13 +326,16 @@ public final class PdfDictionary
     )
   {
     PdfDictionary otherDictionary = (PdfDictionary)other;
-    Map<PdfName,PdfDirectObject> otherEntries = otherDictionary.entries;
+    EntryMap otherEntries = otherDictionary.entries;
     // Update the other!
     otherDictionary.entries = this.entries;
     otherDictionary.update();
     // Update this one!
     this.entries = otherEntries;
     this.update();
+    if(PdfName.Pages.equals(getPageTreeNodeType(this))
+      || PdfName.Pages.equals(getPageTreeNodeType(otherDictionary)))
+    {updateTree();}
     return this;
   }
 
@@ -320,13 +348,13 @@ public final class PdfDictionary
       // Begin.
       buffer.append("<< ");
       // Entries.
-      for(Map.Entry<PdfName,PdfDirectObject> entry : entries.entrySet())
+      for(int index = 0, length = entries.size(); index < length; index++)
       {
         // Entry...
         // ...key.
-        buffer.append(entry.getKey().toString()).append(" ");
+        buffer.append(entries.getKey(index).toString()).append(" ");
         // ...value.
-        buffer.append(PdfDirectObject.toString(entry.getValue())).append(" ");
+        buffer.append(PdfDirectObject.toString(entries.getValue(index))).append(" ");
       }
       // End.
       buffer.append(">>");
@@ -343,15 +371,15 @@ public final class PdfDictionary
     // Begin.
     stream.write(BeginDictionaryChunk);
     // Entries.
-    for(Map.Entry<PdfName,PdfDirectObject> entry : entries.entrySet())
+    for(int index = 0, length = entries.size(); index < length; index++)
     {
-      PdfDirectObject value = entry.getValue();
+      PdfDirectObject value = entries.getValue(index);
       if(value != null && value.isVirtual())
         continue;
 
       // Entry...
       // ...key.
-      entry.getKey().writeTo(stream, context); stream.write(Chunk.Space);
+      entries.getKey(index).writeTo(stream, context); stream.write(Chunk.Space);
       // ...value.
       PdfDirectObject.writeTo(stream, context, value); stream.write(Chunk.Space);
     }
@@ -431,6 +459,9 @@ public final class PdfDictionary
       oldValue = entries.put(key, value = (PdfDirectObject)include(value));
       exclude(oldValue);
       update();
+      if(PdfName.Kids.equals(key)
+        && PdfName.Pages.equals(getPageTreeNodeType(this)))
+      {updateTree();}
     }
     return oldValue;
   }
@@ -452,6 +483,9 @@ public final class PdfDictionary
     PdfDirectObject oldValue = entries.remove(key);
     exclude(oldValue);
     update();
+    if(PdfName.Kids.equals(key)
+      && PdfName.Pages.equals(getPageTreeNodeType(this)))
+    {updateTree();}
     return oldValue;
   }
 
@@ -38,7 +38,7 @@ import org.pdfclown.tokens.XRefEntry.UsageEnum;
   PDF indirect object [PDF:1.6:3.2.9].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 04/23/15
+  @version 0.2.0, 10/17/26
 */
 public class PdfIndirectObject
   extends PdfObject
@@ -54,10 +54,11 @@ public class PdfIndirectObject
 
   // <dynamic>
   // <fields>
-  private PdfDataObject dataObject;
+  private volatile PdfDataObject dataObject;
   private File file;
   private boolean original;
   private final PdfReference reference;
+  private boolean released;
   private final XRefEntry xrefEntry;
 
   private boolean updated;
@@ -248,7 +249,7 @@ public class PdfIndirectObject
     )
   {
     // Header.
-    stream.write(reference.getId()); stream.write(BeginIndirectObjectChunk);
+    stream.write(reference.getSerializationId(context)); stream.write(BeginIndirectObjectChunk);
     // Body.
     getDataObject().writeTo(stream, context);
     // Tail.
@@ -282,25 +283,40 @@ public class PdfIndirectObject
   public PdfDataObject getDataObject(
     )
   {
+    PdfDataObject dataObject = this.dataObject;
     if(dataObject == null)
     {
-      switch (xrefEntry.getUsage())
+      /*
+        NOTE: Late binding is synchronized so that concurrent threads resolving the same object get
+        the same data object instance.
+      */
+      synchronized(this)
       {
-        case Free: // Free entry (no data object at all).
-          break;
-        case InUse: // In-use entry (late-bound data object).
+        dataObject = this.dataObject;
+        if(dataObject == null)
         {
-          // Get the indirect data object!
-          dataObject = include(file.getReader().getParser().parsePdfObject(xrefEntry));
-          break;
-        }
-        case InUseCompressed:
-        {
-          // Get the object stream where its data object is stored!
-          ObjectStream objectStream = (ObjectStream)file.getIndirectObjects().get(xrefEntry.getStreamNumber()).getDataObject();
-          // Get the indirect data object!
-          dataObject = include(objectStream.get(xrefEntry.getNumber()));
-          break;
+          switch (xrefEntry.getUsage())
+          {
+            case Free: // Free entry (no data object at all).
+              break;
+            case InUse: // In-use entry (late-bound data object).
+            {
+              if(released)
+                throw new IllegalStateException("Indirect object " + reference.getId() + " has already been flushed.");
+
+              // Get the indirect data object!
+              this.dataObject = dataObject = include(file.getReader().parsePdfObject(xrefEntry));
+              break;
+            }
+            case InUseCompressed:
+            {
+              // Get the object stream where its data object is stored!
+              ObjectStream objectStream = (ObjectStream)file.getIndirectObjects().get(xrefEntry.getStreamNumber()).getDataObject();
+              // Get the indirect data object!
+              this.dataObject = dataObject = include(objectStream.get(xrefEntry.getNumber()));
+              break;
+            }
+          }
         }
       }
     }
@@ -330,10 +346,13 @@ public class PdfIndirectObject
     if(xrefEntry.getGeneration() == XRefEntry.GenerationUnreusable)
       throw new RuntimeException("Unreusable entry.");
 
+    boolean treeNode = getPageTreeNodeType(dataObject) != null || getPageTreeNodeType(value) != null;
     exclude(dataObject);
     dataObject = include(value);
     xrefEntry.setUsage(UsageEnum.InUse);
     update();
+    if(treeNode)
+    {updateTree();}
   }
   // </IPdfIndirectObject>
   // </public>
@@ -382,6 +401,18 @@ public class PdfIndirectObject
   // </protected>
 
   // <internal>
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Releases the data object, as it has already been serialized for good (see {@link
+    org.pdfclown.tokens.StreamingWriter StreamingWriter}).</p>
+  */
+  public void dropDataObject(
+    )
+  {
+    dataObject = null;
+    released = true;
+  }
+
   /**
     <span style="color:red">For internal use only.</span>
   */
@@ -399,6 +430,23 @@ public class PdfIndirectObject
     )
   {original = false;}
 
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Makes the (already parsed) data object independent from the file source, as the source is
+    about to be closed (see {@link File#close()}).</p>
+
+    @param load Whether the pending data (that is, stream bodies) have to be loaded; otherwise, any
+      later access to them fails.
+  */
+  public void dropSource(
+    boolean load
+    )
+  {
+    PdfDataObject dataObject = this.dataObject;
+    if(dataObject instanceof PdfStream)
+    {((PdfStream)dataObject).dropBodySource(load);}
+  }
+
   @Override
   void setParent(
     PdfObject value
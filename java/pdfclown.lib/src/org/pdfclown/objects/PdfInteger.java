@@ -40,18 +40,47 @@ public final class PdfInteger
   // <class>
   // <static>
   // <fields>
-  public static final PdfInteger Default = new PdfInteger(0);
+  /*
+    NOTE: Small values (such as generation numbers, counts, glyph widths and page dimensions) are
+    shared, as simple objects are immutable.
+  */
+  private static final int CacheLowValue = -128;
+  private static final int CacheHighValue = 1023;
+  private static final PdfInteger[] Cache = new PdfInteger[CacheHighValue - CacheLowValue + 1];
+
+  public static final PdfInteger Default;
   // </fields>
 
+  // <constructors>
+  static
+  {
+    for(int index = 0; index < Cache.length; index++)
+    {Cache[index] = new PdfInteger(index + CacheLowValue);}
+    Default = get(0);
+  }
+  // </constructors>
+
   // <interface>
   // <public>
+  /**
+    Gets the object equivalent to the given value.
+  */
+  public static PdfInteger get(
+    int value
+    )
+  {
+    return value >= CacheLowValue && value <= CacheHighValue
+      ? Cache[value - CacheLowValue]
+      : new PdfInteger(value);
+  }
+
   /**
     Gets the object equivalent to the given value.
   */
   public static PdfInteger get(
     Integer value
     )
-  {return value == null ? null : new PdfInteger(value);}
+  {return value == null ? null : get(value.intValue());}
   // </public>
   // </interface>
   // </static>
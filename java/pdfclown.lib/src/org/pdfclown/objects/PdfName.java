@@ -25,8 +25,7 @@
 
 package org.pdfclown.objects;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
@@ -36,7 +35,7 @@ import org.pdfclown.tokens.Keyword;
   PDF name object [PDF:1.6:3.2.4].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 05/02/15
+  @version 0.2.0, 10/17/26
 */
 public final class PdfName
   extends PdfSimpleObject<String>
@@ -45,560 +44,705 @@ public final class PdfName
     NOTE: As name objects are simple symbols uniquely defined by sequences of characters,
     the bytes making up the name are never treated as text, always keeping them escaped.
   */
+  // <class>
+  // <classes>
+  /**
+    Global table of canonical names, keyed on their raw (escaped) bytes.
+    <p>Lookups are lock-free, whilst insertions are serialized. Once its capacity is exhausted
+    (e.g., because of documents crowded with arbitrary names), the table stops growing and further
+    names are instantiated as non-canonical ones.</p>
+  */
+  private static final class SymbolTable
+  {
+    private static final int BucketCount = 1 << 14;
+    private static final int MaxCount = 1 << 16;
+
+    private final AtomicReferenceArray<PdfName> buckets = new AtomicReferenceArray<PdfName>(BucketCount);
+    private int count;
+
+    /**
+      Gets the canonical name corresponding to the given raw bytes.
+    */
+    public PdfName get(
+      byte[] data,
+      int offset,
+      int length
+      )
+    {
+      int hash = 0;
+      for(int index = offset, limit = offset + length; index < limit; index++)
+      {hash = 31 * hash + (data[index] & 0xFF);}
+
+      PdfName name = find(hash, data, offset, length);
+      if(name == null)
+      {
+        byte[] bytes = new byte[length];
+        System.arraycopy(data, offset, bytes, 0, length);
+        name = add(new PdfName(bytes, org.pdfclown.tokens.Encoding.Pdf.decode(bytes), hash));
+      }
+      return name;
+    }
+
+    /**
+      Gets the canonical name corresponding to the given raw value.
+    */
+    public PdfName get(
+      String value
+      )
+    {
+      /*
+        NOTE: As raw values are ISO 8859-1 encoded, their string hash matches the hash of their
+        bytes.
+      */
+      int hash = value.hashCode();
+      PdfName name = find(hash, value);
+      if(name == null)
+      {
+        name = new PdfName(org.pdfclown.tokens.Encoding.Pdf.encode(value), value, hash);
+        if(!isEncodable(value)) // Lossy encoding (the name can't be canonical).
+          return name;
+
+        name = add(name);
+      }
+      return name;
+    }
+
+    private synchronized PdfName add(
+      PdfName name
+      )
+    {
+      int bucketIndex = name.hash & (BucketCount - 1);
+      // Another thread may have added the same name in the meantime.
+      for(PdfName bucketName = buckets.get(bucketIndex); bucketName != null; bucketName = bucketName.nextSymbol)
+      {
+        if(bucketName.hash == name.hash && equals(bucketName.bytes, name.bytes, 0, name.bytes.length))
+          return bucketName;
+      }
+      if(count == MaxCount)
+        return name;
+
+      name.interned = true;
+      name.nextSymbol = buckets.get(bucketIndex);
+      buckets.set(bucketIndex, name);
+      count++;
+      return name;
+    }
+
+    private PdfName find(
+      int hash,
+      byte[] data,
+      int offset,
+      int length
+      )
+    {
+      for(PdfName name = buckets.get(hash & (BucketCount - 1)); name != null; name = name.nextSymbol)
+      {
+        if(name.hash == hash && equals(name.bytes, data, offset, length))
+          return name;
+      }
+      return null;
+    }
+
+    private PdfName find(
+      int hash,
+      String value
+      )
+    {
+      for(PdfName name = buckets.get(hash & (BucketCount - 1)); name != null; name = name.nextSymbol)
+      {
+        if(name.hash == hash && name.getRawValue().equals(value))
+          return name;
+      }
+      return null;
+    }
+
+    private static boolean equals(
+      byte[] bytes,
+      byte[] data,
+      int offset,
+      int length
+      )
+    {
+      if(bytes.length != length)
+        return false;
+
+      for(int index = 0; index < length; index++)
+      {
+        if(bytes[index] != data[offset + index])
+          return false;
+      }
+      return true;
+    }
+
+    private static boolean isEncodable(
+      String value
+      )
+    {
+      for(int index = 0, length = value.length(); index < length; index++)
+      {
+        if(value.charAt(index) > 0xFF)
+          return false;
+      }
+      return true;
+    }
+  }
+  // </classes>
+
   // <static>
   // <fields>
-  /*
-    NOTE: Name lexical conventions prescribe that the following reserved characters
-    are to be escaped when placed inside names' character sequences:
-      - delimiters;
-      - whitespaces;
-      - '#' (number sign character).
-  */
-  private static final Pattern EscapedPattern = java.util.regex.Pattern.compile("#([\\da-fA-F]{2})");
-  private static final Pattern UnescapedPattern = java.util.regex.Pattern.compile("[\\s\\(\\)<>\\[\\]{}/%#]");
-
-  public static final PdfName A = new PdfName("A");
-  public static final PdfName a = new PdfName("a");
-  public static final PdfName A85 = new PdfName("A85");
-  public static final PdfName AA = new PdfName("AA");
-  public static final PdfName AC = new PdfName("AC");
-  public static final PdfName Action = new PdfName("Action");
-  public static final PdfName AcroForm = new PdfName("AcroForm");
-  public static final PdfName AHx = new PdfName("AHx");
-  public static final PdfName AIS = new PdfName("AIS");
-  public static final PdfName All = new PdfName("All");
-  public static final PdfName AllOff = new PdfName("AllOff");
-  public static final PdfName AllOn = new PdfName("AllOn");
-  public static final PdfName AllPages = new PdfName("AllPages");
-  public static final PdfName AN = new PdfName("AN");
-  public static final PdfName And = new PdfName("And");
-  public static final PdfName Annot = new PdfName("Annot");
-  public static final PdfName Annotation = new PdfName("Annotation");
-  public static final PdfName Annots = new PdfName("Annots");
-  public static final PdfName AnyOff = new PdfName("AnyOff");
-  public static final PdfName AnyOn = new PdfName("AnyOn");
-  public static final PdfName AP = new PdfName("AP");
-  public static final PdfName AppDefault = new PdfName("AppDefault");
-  public static final PdfName Approved = new PdfName("Approved");
-  public static final PdfName ArtBox = new PdfName("ArtBox");
-  public static final PdfName AS = new PdfName("AS");
-  public static final PdfName Ascent = new PdfName("Ascent");
-  public static final PdfName ASCII85Decode = new PdfName("ASCII85Decode");
-  public static final PdfName ASCIIHexDecode = new PdfName("ASCIIHexDecode");
-  public static final PdfName AsIs = new PdfName("AsIs");
-  public static final PdfName Author = new PdfName("Author");
-  public static final PdfName AvgWidth = new PdfName("AvgWidth");
-  public static final PdfName B = new PdfName("B");
-  public static final PdfName BaseEncoding = new PdfName("BaseEncoding");
-  public static final PdfName BaseFont = new PdfName("BaseFont");
-  public static final PdfName BaseState = new PdfName("BaseState");
-  public static final PdfName BBox = new PdfName("BBox");
-  public static final PdfName BC = new PdfName("BC");
-  public static final PdfName BE = new PdfName("BE");
-  public static final PdfName Bead = new PdfName("Bead");
-  public static final PdfName BG = new PdfName("BG");
-  public static final PdfName BitsPerComponent = new PdfName("BitsPerComponent");
-  public static final PdfName BitsPerSample = new PdfName("BitsPerSample");
-  public static final PdfName Bl = new PdfName("Bl");
-  public static final PdfName BlackPoint = new PdfName("BlackPoint");
-  public static final PdfName BleedBox = new PdfName("BleedBox");
-  public static final PdfName Blinds = new PdfName("Blinds");
-  public static final PdfName BM = new PdfName("BM");
-  public static final PdfName Border = new PdfName("Border");
-  public static final PdfName Bounds = new PdfName("Bounds");
-  public static final PdfName Box = new PdfName("Box");
-  public static final PdfName BPC = new PdfName("BPC");
-  public static final PdfName BS = new PdfName("BS");
-  public static final PdfName Btn = new PdfName("Btn");
-  public static final PdfName BU = new PdfName("BU");
-  public static final PdfName Butt = new PdfName("Butt");
-  public static final PdfName C = new PdfName("C");
-  public static final PdfName C0 = new PdfName("C0");
-  public static final PdfName C1 = new PdfName("C1");
-  public static final PdfName CA = new PdfName("CA");
-  public static final PdfName ca = new PdfName("ca");
-  public static final PdfName CalGray = new PdfName("CalGray");
-  public static final PdfName CalRGB = new PdfName("CalRGB");
-  public static final PdfName Cap = new PdfName("Cap");
-  public static final PdfName CapHeight = new PdfName("CapHeight");
-  public static final PdfName Caret = new PdfName("Caret");
-  public static final PdfName Catalog = new PdfName("Catalog");
-  public static final PdfName Category = new PdfName("Category");
-  public static final PdfName CCF = new PdfName("CCF");
-  public static final PdfName CCITTFaxDecode = new PdfName("CCITTFaxDecode");
-  public static final PdfName CenterWindow = new PdfName("CenterWindow");
-  public static final PdfName Ch = new PdfName("Ch");
-  public static final PdfName CIDFontType0 = new PdfName("CIDFontType0");
-  public static final PdfName CIDFontType2 = new PdfName("CIDFontType2");
-  public static final PdfName CIDSystemInfo = new PdfName("CIDSystemInfo");
-  public static final PdfName CIDToGIDMap = new PdfName("CIDToGIDMap");
-  public static final PdfName Circle = new PdfName("Circle");
-  public static final PdfName CL = new PdfName("CL");
-  public static final PdfName ClosedArrow = new PdfName("ClosedArrow");
-  public static final PdfName CMap = new PdfName("CMap");
-  public static final PdfName CMapName = new PdfName("CMapName");
-  public static final PdfName Color = new PdfName("Color");
-  public static final PdfName ColorBurn = new PdfName("ColorBurn");
-  public static final PdfName ColorDodge = new PdfName("ColorDodge");
-  public static final PdfName Colors = new PdfName("Colors");
-  public static final PdfName ColorSpace = new PdfName("ColorSpace");
-  public static final PdfName Columns = new PdfName("Columns");
-  public static final PdfName Comment = new PdfName("Comment");
-  public static final PdfName Confidential = new PdfName("Confidential");
-  public static final PdfName Configs = new PdfName("Configs");
-  public static final PdfName Contents = new PdfName("Contents");
-  public static final PdfName Count = new PdfName("Count");
-  public static final PdfName Cover = new PdfName("Cover");
-  public static final PdfName CreationDate = new PdfName("CreationDate");
-  public static final PdfName Creator = new PdfName("Creator");
-  public static final PdfName CreatorInfo = new PdfName("CreatorInfo");
-  public static final PdfName CropBox = new PdfName("CropBox");
-  public static final PdfName Crypt = new PdfName("Crypt");
-  public static final PdfName CS = new PdfName("CS");
-  public static final PdfName CT = new PdfName("CT");
-  public static final PdfName D = new PdfName("D");
-  public static final PdfName DA = new PdfName("DA");
-  public static final PdfName Darken = new PdfName("Darken");
-  public static final PdfName DC = new PdfName("DC");
-  public static final PdfName DCT = new PdfName("DCT");
-  public static final PdfName DCTDecode = new PdfName("DCTDecode");
-  public static final PdfName Decode = new PdfName("Decode");
-  public static final PdfName DecodeParms = new PdfName("DecodeParms");
-  public static final PdfName Departmental = new PdfName("Departmental");
-  public static final PdfName Desc = new PdfName("Desc");
-  public static final PdfName DescendantFonts = new PdfName("DescendantFonts");
-  public static final PdfName Descent = new PdfName("Descent");
-  public static final PdfName Design = new PdfName("Design");
-  public static final PdfName Dest = new PdfName("Dest");
-  public static final PdfName Dests = new PdfName("Dests");
-  public static final PdfName DeviceCMYK = new PdfName("DeviceCMYK");
-  public static final PdfName DeviceGray = new PdfName("DeviceGray");
-  public static final PdfName DeviceRGB = new PdfName("DeviceRGB");
-  public static final PdfName DeviceN = new PdfName("DeviceN");
-  public static final PdfName Di = new PdfName("Di");
-  public static final PdfName Diamond = new PdfName("Diamond");
-  public static final PdfName Difference = new PdfName("Difference");
-  public static final PdfName Differences = new PdfName("Differences");
-  public static final PdfName Direction = new PdfName("Direction");
-  public static final PdfName DisplayDocTitle = new PdfName("DisplayDocTitle");
-  public static final PdfName Dissolve = new PdfName("Dissolve");
-  public static final PdfName Dm = new PdfName("Dm");
-  public static final PdfName Domain = new PdfName("Domain");
-  public static final PdfName DOS = new PdfName("DOS");
-  public static final PdfName DP = new PdfName("DP");
-  public static final PdfName DR = new PdfName("DR");
-  public static final PdfName Draft = new PdfName("Draft");
-  public static final PdfName DS = new PdfName("DS");
-  public static final PdfName Duplex = new PdfName("Duplex");
-  public static final PdfName DuplexFlipLongEdge = new PdfName("DuplexFlipLongEdge");
-  public static final PdfName DuplexFlipShortEdge = new PdfName("DuplexFlipShortEdge");
-  public static final PdfName Dur = new PdfName("Dur");
-  public static final PdfName DV = new PdfName("DV");
-  public static final PdfName DW = new PdfName("DW");
-  public static final PdfName E = new PdfName("E");
-  public static final PdfName EF = new PdfName("EF");
-  public static final PdfName EmbeddedFile = new PdfName("EmbeddedFile");
-  public static final PdfName EmbeddedFiles = new PdfName("EmbeddedFiles");
-  public static final PdfName Encode = new PdfName("Encode");
-  public static final PdfName Encoding = new PdfName("Encoding");
-  public static final PdfName Encrypt = new PdfName("Encrypt");
-  public static final PdfName Event = new PdfName("Event");
-  public static final PdfName Exclusion = new PdfName("Exclusion");
-  public static final PdfName Experimental = new PdfName("Experimental");
-  public static final PdfName Expired = new PdfName("Expired");
-  public static final PdfName Export = new PdfName("Export");
-  public static final PdfName ExportState = new PdfName("ExportState");
-  public static final PdfName Extends = new PdfName("Extends");
-  public static final PdfName ExtGState = new PdfName("ExtGState");
-  public static final PdfName F = new PdfName("F");
-  public static final PdfName Fade = new PdfName("Fade");
-  public static final PdfName FB = new PdfName("FB");
-  public static final PdfName FDecodeParms = new PdfName("FDecodeParms");
-  public static final PdfName Ff = new PdfName("Ff");
-  public static final PdfName FFilter = new PdfName("FFilter");
-  public static final PdfName FG = new PdfName("FG");
-  public static final PdfName Fields = new PdfName("Fields");
-  public static final PdfName FileAttachment = new PdfName("FileAttachment");
-  public static final PdfName Filespec = new PdfName("Filespec");
-  public static final PdfName Filter = new PdfName("Filter");
-  public static final PdfName Final = new PdfName("Final");
-  public static final PdfName First = new PdfName("First");
-  public static final PdfName FirstChar = new PdfName("FirstChar");
-  public static final PdfName FirstPage = new PdfName("FirstPage");
-  public static final PdfName Fit = new PdfName("Fit");
-  public static final PdfName FitB = new PdfName("FitB");
-  public static final PdfName FitBH = new PdfName("FitBH");
-  public static final PdfName FitBV = new PdfName("FitBV");
-  public static final PdfName FitH = new PdfName("FitH");
-  public static final PdfName FitR = new PdfName("FitR");
-  public static final PdfName FitV = new PdfName("FitV");
-  public static final PdfName FitWindow = new PdfName("FitWindow");
-  public static final PdfName Fl = new PdfName("Fl");
-  public static final PdfName Flags = new PdfName("Flags");
-  public static final PdfName FlateDecode = new PdfName("FlateDecode");
-  public static final PdfName Fly = new PdfName("Fly");
-  public static final PdfName Fo = new PdfName("Fo");
-  public static final PdfName Font = new PdfName("Font");
-  public static final PdfName FontBBox = new PdfName("FontBBox");
-  public static final PdfName FontDescriptor = new PdfName("FontDescriptor");
-  public static final PdfName FontFile = new PdfName("FontFile");
-  public static final PdfName FontFile2 = new PdfName("FontFile2");
-  public static final PdfName FontFile3 = new PdfName("FontFile3");
-  public static final PdfName FontName = new PdfName("FontName");
-  public static final PdfName ForComment = new PdfName("ForComment");
-  public static final PdfName Form = new PdfName("Form");
-  public static final PdfName ForPublicRelease = new PdfName("ForPublicRelease");
-  public static final PdfName FreeText = new PdfName("FreeText");
-  public static final PdfName FreeTextCallout = new PdfName("FreeTextCallout");
-  public static final PdfName FreeTextTypeWriter = new PdfName("FreeTextTypeWriter");
-  public static final PdfName FS = new PdfName("FS");
-  public static final PdfName FT = new PdfName("FT");
-  public static final PdfName FullScreen = new PdfName("FullScreen");
-  public static final PdfName Functions = new PdfName("Functions");
-  public static final PdfName FunctionType = new PdfName("FunctionType");
-  public static final PdfName FWParams = new PdfName("FWParams");
-  public static final PdfName Gamma = new PdfName("Gamma");
-  public static final PdfName Glitter = new PdfName("Glitter");
-  public static final PdfName GoTo = new PdfName("GoTo");
-  public static final PdfName GoTo3DView = new PdfName("GoTo3DView");
-  public static final PdfName GoToAction = new PdfName("GoToAction");
-  public static final PdfName GoToE = new PdfName("GoToE");
-  public static final PdfName GoToR = new PdfName("GoToR");
-  public static final PdfName Graph = new PdfName("Graph");
-  public static final PdfName Group = new PdfName("Group");
-  public static final PdfName H = new PdfName("H");
-  public static final PdfName HardLight = new PdfName("HardLight");
-  public static final PdfName Height = new PdfName("Height");
-  public static final PdfName Help = new PdfName("Help");
-  public static final PdfName HF = new PdfName("HF");
-  public static final PdfName HI = new PdfName("HI");
-  public static final PdfName Hide = new PdfName("Hide");
-  public static final PdfName HideMenubar = new PdfName("HideMenubar");
-  public static final PdfName HideToolbar = new PdfName("HideToolbar");
-  public static final PdfName HideWindowUI = new PdfName("HideWindowUI");
-  public static final PdfName Highlight = new PdfName("Highlight");
-  public static final PdfName Hue = new PdfName("Hue");
-  public static final PdfName I = new PdfName("I");
-  public static final PdfName IC = new PdfName("IC");
-  public static final PdfName ICCBased = new PdfName("ICCBased");
-  public static final PdfName ID = new PdfName("ID");
-  public static final PdfName Identity = new PdfName("Identity");
-  public static final PdfName IdentityH = new PdfName("Identity-H");
-  public static final PdfName IdentityV = new PdfName("Identity-V");
-  public static final PdfName IF = new PdfName("IF");
-  public static final PdfName Image = new PdfName("Image");
-  public static final PdfName ImportData = new PdfName("ImportData");
-  public static final PdfName Ind = new PdfName("Ind");
-  public static final PdfName Index = new PdfName("Index");
-  public static final PdfName Indexed = new PdfName("Indexed");
-  public static final PdfName Info = new PdfName("Info");
-  public static final PdfName Ink = new PdfName("Ink");
-  public static final PdfName InkList = new PdfName("InkList");
-  public static final PdfName Insert = new PdfName("Insert");
-  public static final PdfName Intent = new PdfName("Intent");
-  public static final PdfName IRT = new PdfName("IRT");
-  public static final PdfName IT = new PdfName("IT");
-  public static final PdfName ItalicAngle = new PdfName("ItalicAngle");
-  public static final PdfName IX = new PdfName("IX");
-  public static final PdfName JavaScript = new PdfName("JavaScript");
-  public static final PdfName JBIG2Decode = new PdfName("JBIG2Decode");
-  public static final PdfName JPXDecode = new PdfName("JPXDecode");
-  public static final PdfName JS = new PdfName("JS");
-  public static final PdfName K = new PdfName("K");
-  public static final PdfName Key = new PdfName("Key");
-  public static final PdfName Keywords = new PdfName("Keywords");
-  public static final PdfName Kids = new PdfName("Kids");
-  public static final PdfName L = new PdfName("L");
-  public static final PdfName L2R = new PdfName("L2R");
-  public static final PdfName Lab = new PdfName("Lab");
-  public static final PdfName Lang = new PdfName("Lang");
-  public static final PdfName Language = new PdfName("Language");
-  public static final PdfName Last = new PdfName("Last");
-  public static final PdfName LastChar = new PdfName("LastChar");
-  public static final PdfName LastModified = new PdfName("LastModified");
-  public static final PdfName LastPage = new PdfName("LastPage");
-  public static final PdfName Launch = new PdfName("Launch");
-  public static final PdfName LC = new PdfName("LC");
-  public static final PdfName LE = new PdfName("LE");
-  public static final PdfName Leading = new PdfName("Leading");
-  public static final PdfName Length = new PdfName("Length");
-  public static final PdfName LI = new PdfName("LI");
-  public static final PdfName Lighten = new PdfName("Lighten");
-  public static final PdfName Limits = new PdfName("Limits");
-  public static final PdfName Line = new PdfName("Line");
-  public static final PdfName Link = new PdfName("Link");
-  public static final PdfName ListMode = new PdfName("ListMode");
-  public static final PdfName LJ = new PdfName("LJ");
-  public static final PdfName LL = new PdfName("LL");
-  public static final PdfName LLE = new PdfName("LLE");
-  public static final PdfName Locked = new PdfName("Locked");
-  public static final PdfName Luminosity = new PdfName("Luminosity");
-  public static final PdfName LW = new PdfName("LW");
-  public static final PdfName LZW = new PdfName("LZW");
-  public static final PdfName LZWDecode = new PdfName("LZWDecode");
-  public static final PdfName M = new PdfName("M");
-  public static final PdfName Mac = new PdfName("Mac");
-  public static final PdfName MacRomanEncoding = new PdfName("MacRomanEncoding");
-  public static final PdfName Matrix = new PdfName("Matrix");
-  public static final PdfName max = new PdfName("max");
-  public static final PdfName MaxLen = new PdfName("MaxLen");
-  public static final PdfName MCD = new PdfName("MCD");
-  public static final PdfName MCS = new PdfName("MCS");
-  public static final PdfName MediaBox = new PdfName("MediaBox");
-  public static final PdfName MediaClip = new PdfName("MediaClip");
-  public static final PdfName MediaDuration = new PdfName("MediaDuration");
-  public static final PdfName MediaOffset = new PdfName("MediaOffset");
-  public static final PdfName MediaPlayerInfo = new PdfName("MediaPlayerInfo");
-  public static final PdfName MediaPlayParams = new PdfName("MediaPlayParams");
-  public static final PdfName MediaScreenParams = new PdfName("MediaScreenParams");
-  public static final PdfName Metadata = new PdfName("Metadata");
-  public static final PdfName MH = new PdfName("MH");
-  public static final PdfName Mic = new PdfName("Mic");
-  public static final PdfName min = new PdfName("min");
-  public static final PdfName MissingWidth = new PdfName("MissingWidth");
-  public static final PdfName MK = new PdfName("MK");
-  public static final PdfName ML = new PdfName("ML");
-  public static final PdfName MMType1 = new PdfName("MMType1");
-  public static final PdfName ModDate = new PdfName("ModDate");
-  public static final PdfName Movie = new PdfName("Movie");
-  public static final PdfName MR = new PdfName("MR");
-  public static final PdfName MU = new PdfName("MU");
-  public static final PdfName Multiply = new PdfName("Multiply");
-  public static final PdfName N = new PdfName("N");
-  public static final PdfName Name = new PdfName("Name");
-  public static final PdfName Named = new PdfName("Named");
-  public static final PdfName Names = new PdfName("Names");
-  public static final PdfName NewParagraph = new PdfName("NewParagraph");
-  public static final PdfName NewWindow = new PdfName("NewWindow");
-  public static final PdfName Next = new PdfName("Next");
-  public static final PdfName NextPage = new PdfName("NextPage");
-  public static final PdfName NM = new PdfName("NM");
-  public static final PdfName None = new PdfName("None");
-  public static final PdfName NonFullScreenPageMode = new PdfName("NonFullScreenPageMode");
-  public static final PdfName Normal = new PdfName("Normal");
-  public static final PdfName Not = new PdfName("Not");
-  public static final PdfName NotApproved = new PdfName("NotApproved");
-  public static final PdfName Note = new PdfName("Note");
-  public static final PdfName NotForPublicRelease = new PdfName("NotForPublicRelease");
-  public static final PdfName NU = new PdfName("NU");
-  public static final PdfName NumCopies = new PdfName("NumCopies");
-  public static final PdfName Nums = new PdfName("Nums");
-  public static final PdfName O = new PdfName("O");
-  public static final PdfName ObjStm = new PdfName("ObjStm");
-  public static final PdfName OC = new PdfName("OC");
-  public static final PdfName OCG = new PdfName("OCG");
-  public static final PdfName OCGs = new PdfName("OCGs");
-  public static final PdfName OCMD = new PdfName("OCMD");
-  public static final PdfName OCProperties = new PdfName("OCProperties");
-  public static final PdfName OFF = new PdfName("OFF");
-  public static final PdfName Off = new PdfName("Off");
-  public static final PdfName ON = new PdfName("ON");
-  public static final PdfName OneColumn = new PdfName("OneColumn");
-  public static final PdfName OP = new PdfName("OP");
-  public static final PdfName Open = new PdfName("Open");
-  public static final PdfName OpenAction = new PdfName("OpenAction");
-  public static final PdfName OpenArrow = new PdfName("OpenArrow");
-  public static final PdfName OpenType = new PdfName("OpenType");
-  public static final PdfName Opt = new PdfName("Opt");
-  public static final PdfName Or = new PdfName("Or");
-  public static final PdfName Order = new PdfName("Order");
-  public static final PdfName Ordering = new PdfName("Ordering");
-  public static final PdfName Org = new PdfName("Org");
-  public static final PdfName OS = new PdfName("OS");
-  public static final PdfName Outlines = new PdfName("Outlines");
-  public static final PdfName Overlay = new PdfName("Overlay");
-  public static final PdfName P = new PdfName("P");
-  public static final PdfName Page = new PdfName("Page");
-  public static final PdfName PageElement = new PdfName("PageElement");
-  public static final PdfName PageLabel = new PdfName("PageLabel");
-  public static final PdfName PageLabels = new PdfName("PageLabels");
-  public static final PdfName PageLayout = new PdfName("PageLayout");
-  public static final PdfName PageMode = new PdfName("PageMode");
-  public static final PdfName Pages = new PdfName("Pages");
-  public static final PdfName PaintType = new PdfName("PaintType");
-  public static final PdfName Paperclip = new PdfName("Paperclip");
-  public static final PdfName Paragraph = new PdfName("Paragraph");
-  public static final PdfName Params = new PdfName("Params");
-  public static final PdfName Parent = new PdfName("Parent");
-  public static final PdfName Pattern = new PdfName("Pattern");
-  public static final PdfName PatternType = new PdfName("PatternType");
-  public static final PdfName PC = new PdfName("PC");
-  public static final PdfName PDFDocEncoding = new PdfName("PdfDocEncoding");
-  public static final PdfName PI = new PdfName("PI");
-  public static final PdfName PickTrayByPDFSize = new PdfName("PickTrayByPDFSize");
-  public static final PdfName PID = new PdfName("PID");
-  public static final PdfName PieceInfo = new PdfName("PieceInfo");
-  public static final PdfName PL = new PdfName("PL");
-  public static final PdfName PO = new PdfName("PO");
-  public static final PdfName Polygon = new PdfName("Polygon");
-  public static final PdfName PolyLine = new PdfName("PolyLine");
-  public static final PdfName Popup = new PdfName("Popup");
-  public static final PdfName Predictor = new PdfName("Predictor");
-  public static final PdfName Preferred = new PdfName("Preferred");
-  public static final PdfName Prev = new PdfName("Prev");
-  public static final PdfName PrevPage = new PdfName("PrevPage");
-  public static final PdfName Print = new PdfName("Print");
-  public static final PdfName PrintPageRange = new PdfName("PrintPageRange");
-  public static final PdfName PrintScaling = new PdfName("PrintScaling");
-  public static final PdfName PrintState = new PdfName("PrintState");
-  public static final PdfName Private = new PdfName("Private");
-  public static final PdfName Producer = new PdfName("Producer");
-  public static final PdfName Properties = new PdfName("Properties");
-  public static final PdfName Push = new PdfName("Push");
-  public static final PdfName PushPin = new PdfName("PushPin");
-  public static final PdfName PV = new PdfName("PV");
-  public static final PdfName Q = new PdfName("Q");
-  public static final PdfName QuadPoints = new PdfName("QuadPoints");
-  public static final PdfName R = new PdfName("R");
-  public static final PdfName r = new PdfName("r");
-  public static final PdfName R2L = new PdfName("R2L");
-  public static final PdfName Range = new PdfName("Range");
-  public static final PdfName RBGroups = new PdfName("RBGroups");
-  public static final PdfName RC = new PdfName("RC");
-  public static final PdfName RClosedArrow = new PdfName("RClosedArrow");
-  public static final PdfName Rect = new PdfName("Rect");
-  public static final PdfName Registry = new PdfName("Registry");
-  public static final PdfName Rendition = new PdfName("Rendition");
-  public static final PdfName Renditions = new PdfName("Renditions");
-  public static final PdfName ResetForm = new PdfName("ResetForm");
-  public static final PdfName Resources = new PdfName("Resources");
-  public static final PdfName RF = new PdfName("RF");
-  public static final PdfName RGB = new PdfName("RGB");
-  public static final PdfName RI = new PdfName("RI");
-  public static final PdfName RL = new PdfName("RL");
-  public static final PdfName Root = new PdfName("Root");
-  public static final PdfName ROpenArrow = new PdfName("ROpenArrow");
-  public static final PdfName Rotate = new PdfName("Rotate");
-  public static final PdfName RT = new PdfName("RT");
-  public static final PdfName RunLengthDecode = new PdfName("RunLengthDecode");
-  public static final PdfName S = new PdfName("S");
-  public static final PdfName Saturation = new PdfName("Saturation");
-  public static final PdfName SBApproved = new PdfName("SBApproved");
-  public static final PdfName SBCompleted = new PdfName("SBCompleted");
-  public static final PdfName SBConfidential = new PdfName("SBConfidential");
-  public static final PdfName SBDraft = new PdfName("SBDraft");
-  public static final PdfName SBFinal = new PdfName("SBFinal");
-  public static final PdfName SBForComment = new PdfName("SBForComment");
-  public static final PdfName SBForPublicRelease = new PdfName("SBForPublicRelease");
-  public static final PdfName SBInformationOnly = new PdfName("SBInformationOnly");
-  public static final PdfName SBNotApproved = new PdfName("SBNotApproved");
-  public static final PdfName SBNotForPublicRelease = new PdfName("SBNotForPublicRelease");
-  public static final PdfName SBPreliminaryResults = new PdfName("SBPreliminaryResults");
-  public static final PdfName SBRejected = new PdfName("SBRejected");
-  public static final PdfName SBVoid = new PdfName("SBVoid");
-  public static final PdfName Screen = new PdfName("Screen");
-  public static final PdfName Separation = new PdfName("Separation");
-  public static final PdfName SetOCGState = new PdfName("SetOCGState");
-  public static final PdfName SHAccepted = new PdfName("SHAccepted");
-  public static final PdfName Shading = new PdfName("Shading");
-  public static final PdfName SHInitialHere = new PdfName("SHInitialHere");
-  public static final PdfName SHSignHere = new PdfName("SHSignHere");
-  public static final PdfName SHWitness = new PdfName("SHWitness");
-  public static final PdfName Sig = new PdfName("Sig");
-  public static final PdfName Simplex = new PdfName("Simplex");
-  public static final PdfName SinglePage = new PdfName("SinglePage");
-  public static final PdfName Size = new PdfName("Size");
-  public static final PdfName Slash = new PdfName("Slash");
-  public static final PdfName SoftLight = new PdfName("SoftLight");
-  public static final PdfName Sold = new PdfName("Sold");
-  public static final PdfName Sound = new PdfName("Sound");
-  public static final PdfName SP = new PdfName("SP");
-  public static final PdfName Speaker = new PdfName("Speaker");
-  public static final PdfName Split = new PdfName("Split");
-  public static final PdfName Square = new PdfName("Square");
-  public static final PdfName Squiggly = new PdfName("Squiggly");
-  public static final PdfName SR = new PdfName("SR");
-  public static final PdfName SS = new PdfName("SS");
-  public static final PdfName St = new PdfName("St");
-  public static final PdfName Stamp = new PdfName("Stamp");
-  public static final PdfName StandardEncoding = new PdfName("StandardEncoding");
-  public static final PdfName State = new PdfName("State");
-  public static final PdfName StemV = new PdfName("StemV");
-  public static final PdfName StrikeOut = new PdfName("StrikeOut");
-  public static final PdfName StructParent = new PdfName("StructParent");
-  public static final PdfName Subj = new PdfName("Subj");
-  public static final PdfName Subject = new PdfName("Subject");
-  public static final PdfName SubmitForm = new PdfName("SubmitForm");
-  public static final PdfName Subtype = new PdfName("Subtype");
-  public static final PdfName Supplement = new PdfName("Supplement");
-  public static final PdfName SW = new PdfName("SW");
-  public static final PdfName Sy = new PdfName("Sy");
-  public static final PdfName Symbol = new PdfName("Symbol");
-  public static final PdfName T = new PdfName("T");
-  public static final PdfName Tabs = new PdfName("Tabs");
-  public static final PdfName Tag = new PdfName("Tag");
-  public static final PdfName Text = new PdfName("Text");
-  public static final PdfName TF = new PdfName("TF");
-  public static final PdfName Thread = new PdfName("Thread");
-  public static final PdfName Threads = new PdfName("Threads");
-  public static final PdfName TilingType = new PdfName("TilingType");
-  public static final PdfName Timespan = new PdfName("Timespan");
-  public static final PdfName Title = new PdfName("Title");
-  public static final PdfName Toggle = new PdfName("Toggle");
-  public static final PdfName TopSecret = new PdfName("TopSecret");
-  public static final PdfName ToUnicode = new PdfName("ToUnicode");
-  public static final PdfName TP = new PdfName("TP");
-  public static final PdfName Trans = new PdfName("Trans");
-  public static final PdfName TrimBox = new PdfName("TrimBox");
-  public static final PdfName TrueType = new PdfName("TrueType");
-  public static final PdfName Ttl = new PdfName("Ttl");
-  public static final PdfName TwoColumnLeft = new PdfName("TwoColumnLeft");
-  public static final PdfName TwoColumnRight = new PdfName("TwoColumnRight");
-  public static final PdfName TwoPageLeft = new PdfName("TwoPageLeft");
-  public static final PdfName TwoPageRight = new PdfName("TwoPageRight");
-  public static final PdfName Tx = new PdfName("Tx");
-  public static final PdfName Type = new PdfName("Type");
-  public static final PdfName Type0 = new PdfName("Type0");
-  public static final PdfName Type1 = new PdfName("Type1");
-  public static final PdfName Type1C = new PdfName("Type1C");
-  public static final PdfName Type3 = new PdfName("Type3");
-  public static final PdfName U = new PdfName("U");
-  public static final PdfName UC = new PdfName("UC");
-  public static final PdfName Unchanged = new PdfName("Unchanged");
-  public static final PdfName Uncover = new PdfName("Uncover");
-  public static final PdfName Underline = new PdfName("Underline");
-  public static final PdfName Unix = new PdfName("Unix");
-  public static final PdfName URI = new PdfName("URI");
-  public static final PdfName URL = new PdfName("URL");
-  public static final PdfName Usage = new PdfName("Usage");
-  public static final PdfName UseAttachments = new PdfName("UseAttachments");
-  public static final PdfName UseCMap = new PdfName("UseCMap");
-  public static final PdfName UseNone = new PdfName("UseNone");
-  public static final PdfName UseOC = new PdfName("UseOC");
-  public static final PdfName UseOutlines = new PdfName("UseOutlines");
-  public static final PdfName User = new PdfName("User");
-  public static final PdfName UseThumbs = new PdfName("UseThumbs");
-  public static final PdfName V = new PdfName("V");
-  public static final PdfName VE = new PdfName("VE");
-  public static final PdfName Version = new PdfName("Version");
-  public static final PdfName Vertices = new PdfName("Vertices");
-  public static final PdfName View = new PdfName("View");
-  public static final PdfName ViewerPreferences = new PdfName("ViewerPreferences");
-  public static final PdfName ViewState = new PdfName("ViewState");
-  public static final PdfName VisiblePages = new PdfName("VisiblePages");
-  public static final PdfName W = new PdfName("W");
-  public static final PdfName WhitePoint = new PdfName("WhitePoint");
-  public static final PdfName Widget = new PdfName("Widget");
-  public static final PdfName Width = new PdfName("Width");
-  public static final PdfName Widths = new PdfName("Widths");
-  public static final PdfName Win = new PdfName("Win");
-  public static final PdfName WinAnsiEncoding = new PdfName("WinAnsiEncoding");
-  public static final PdfName Wipe = new PdfName("Wipe");
-  public static final PdfName WP = new PdfName("WP");
-  public static final PdfName WS = new PdfName("WS");
-  public static final PdfName X = new PdfName("X");
-  public static final PdfName XML = new PdfName("XML");
-  public static final PdfName XObject = new PdfName("XObject");
-  public static final PdfName XRef = new PdfName("XRef");
-  public static final PdfName XStep = new PdfName("XStep");
-  public static final PdfName XYZ = new PdfName("XYZ");
-  public static final PdfName Yes = new PdfName("Yes");
-  public static final PdfName YStep = new PdfName("YStep");
-  public static final PdfName Z = new PdfName("Z");
-  public static final PdfName ZapfDingbats = new PdfName("ZapfDingbats");
-  public static final PdfName Zoom = new PdfName("Zoom");
+  private static final SymbolTable Symbols = new SymbolTable();
+
+  public static final PdfName A = get("A");
+  public static final PdfName a = get("a");
+  public static final PdfName A85 = get("A85");
+  public static final PdfName AA = get("AA");
+  public static final PdfName AC = get("AC");
+  public static final PdfName Action = get("Action");
+  public static final PdfName AcroForm = get("AcroForm");
+  public static final PdfName AHx = get("AHx");
+  public static final PdfName AIS = get("AIS");
+  public static final PdfName All = get("All");
+  public static final PdfName AllOff = get("AllOff");
+  public static final PdfName AllOn = get("AllOn");
+  public static final PdfName AllPages = get("AllPages");
+  public static final PdfName AN = get("AN");
+  public static final PdfName And = get("And");
+  public static final PdfName Annot = get("Annot");
+  public static final PdfName Annotation = get("Annotation");
+  public static final PdfName Annots = get("Annots");
+  public static final PdfName AnyOff = get("AnyOff");
+  public static final PdfName AnyOn = get("AnyOn");
+  public static final PdfName AP = get("AP");
+  public static final PdfName AppDefault = get("AppDefault");
+  public static final PdfName Approved = get("Approved");
+  public static final PdfName ArtBox = get("ArtBox");
+  public static final PdfName AS = get("AS");
+  public static final PdfName Ascent = get("Ascent");
+  public static final PdfName ASCII85Decode = get("ASCII85Decode");
+  public static final PdfName ASCIIHexDecode = get("ASCIIHexDecode");
+  public static final PdfName AsIs = get("AsIs");
+  public static final PdfName Author = get("Author");
+  public static final PdfName AvgWidth = get("AvgWidth");
+  public static final PdfName B = get("B");
+  public static final PdfName BaseEncoding = get("BaseEncoding");
+  public static final PdfName BaseFont = get("BaseFont");
+  public static final PdfName BaseState = get("BaseState");
+  public static final PdfName BBox = get("BBox");
+  public static final PdfName BC = get("BC");
+  public static final PdfName BE = get("BE");
+  public static final PdfName Bead = get("Bead");
+  public static final PdfName BG = get("BG");
+  public static final PdfName BitsPerComponent = get("BitsPerComponent");
+  public static final PdfName BitsPerSample = get("BitsPerSample");
+  public static final PdfName Bl = get("Bl");
+  public static final PdfName BlackPoint = get("BlackPoint");
+  public static final PdfName BleedBox = get("BleedBox");
+  public static final PdfName Blinds = get("Blinds");
+  public static final PdfName BM = get("BM");
+  public static final PdfName Border = get("Border");
+  public static final PdfName Bounds = get("Bounds");
+  public static final PdfName Box = get("Box");
+  public static final PdfName BPC = get("BPC");
+  public static final PdfName BS = get("BS");
+  public static final PdfName Btn = get("Btn");
+  public static final PdfName BU = get("BU");
+  public static final PdfName Butt = get("Butt");
+  public static final PdfName C = get("C");
+  public static final PdfName C0 = get("C0");
+  public static final PdfName C1 = get("C1");
+  public static final PdfName CA = get("CA");
+  public static final PdfName ca = get("ca");
+  public static final PdfName CalGray = get("CalGray");
+  public static final PdfName CalRGB = get("CalRGB");
+  public static final PdfName Cap = get("Cap");
+  public static final PdfName CapHeight = get("CapHeight");
+  public static final PdfName Caret = get("Caret");
+  public static final PdfName Catalog = get("Catalog");
+  public static final PdfName Category = get("Category");
+  public static final PdfName CCF = get("CCF");
+  public static final PdfName CCITTFaxDecode = get("CCITTFaxDecode");
+  public static final PdfName CenterWindow = get("CenterWindow");
+  public static final PdfName Ch = get("Ch");
+  public static final PdfName CIDFontType0 = get("CIDFontType0");
+  public static final PdfName CIDFontType2 = get("CIDFontType2");
+  public static final PdfName CIDSystemInfo = get("CIDSystemInfo");
+  public static final PdfName CIDToGIDMap = get("CIDToGIDMap");
+  public static final PdfName Circle = get("Circle");
+  public static final PdfName CL = get("CL");
+  public static final PdfName ClosedArrow = get("ClosedArrow");
+  public static final PdfName CMap = get("CMap");
+  public static final PdfName CMapName = get("CMapName");
+  public static final PdfName Color = get("Color");
+  public static final PdfName ColorBurn = get("ColorBurn");
+  public static final PdfName ColorDodge = get("ColorDodge");
+  public static final PdfName Colors = get("Colors");
+  public static final PdfName ColorSpace = get("ColorSpace");
+  public static final PdfName Columns = get("Columns");
+  public static final PdfName Comment = get("Comment");
+  public static final PdfName Confidential = get("Confidential");
+  public static final PdfName Configs = get("Configs");
+  public static final PdfName Contents = get("Contents");
+  public static final PdfName Count = get("Count");
+  public static final PdfName Cover = get("Cover");
+  public static final PdfName CreationDate = get("CreationDate");
+  public static final PdfName Creator = get("Creator");
+  public static final PdfName CreatorInfo = get("CreatorInfo");
+  public static final PdfName CropBox = get("CropBox");
+  public static final PdfName Crypt = get("Crypt");
+  public static final PdfName CS = get("CS");
+  public static final PdfName CT = get("CT");
+  public static final PdfName D = get("D");
+  public static final PdfName DA = get("DA");
+  public static final PdfName Darken = get("Darken");
+  public static final PdfName DC = get("DC");
+  public static final PdfName DCT = get("DCT");
+  public static final PdfName DCTDecode = get("DCTDecode");
+  public static final PdfName Decode = get("Decode");
+  public static final PdfName DecodeParms = get("DecodeParms");
+  public static final PdfName DefaultCMYK = get("DefaultCMYK");
+  public static final PdfName DefaultGray = get("DefaultGray");
+  public static final PdfName DefaultRGB = get("DefaultRGB");
+  public static final PdfName Departmental = get("Departmental");
+  public static final PdfName Desc = get("Desc");
+  public static final PdfName DescendantFonts = get("DescendantFonts");
+  public static final PdfName Descent = get("Descent");
+  public static final PdfName Design = get("Design");
+  public static final PdfName Dest = get("Dest");
+  public static final PdfName Dests = get("Dests");
+  public static final PdfName DeviceCMYK = get("DeviceCMYK");
+  public static final PdfName DeviceGray = get("DeviceGray");
+  public static final PdfName DeviceRGB = get("DeviceRGB");
+  public static final PdfName DeviceN = get("DeviceN");
+  public static final PdfName Di = get("Di");
+  public static final PdfName Diamond = get("Diamond");
+  public static final PdfName Difference = get("Difference");
+  public static final PdfName Differences = get("Differences");
+  public static final PdfName Direction = get("Direction");
+  public static final PdfName DisplayDocTitle = get("DisplayDocTitle");
+  public static final PdfName Dissolve = get("Dissolve");
+  public static final PdfName Dm = get("Dm");
+  public static final PdfName Domain = get("Domain");
+  public static final PdfName DOS = get("DOS");
+  public static final PdfName DP = get("DP");
+  public static final PdfName DR = get("DR");
+  public static final PdfName Draft = get("Draft");
+  public static final PdfName DS = get("DS");
+  public static final PdfName Duplex = get("Duplex");
+  public static final PdfName DuplexFlipLongEdge = get("DuplexFlipLongEdge");
+  public static final PdfName DuplexFlipShortEdge = get("DuplexFlipShortEdge");
+  public static final PdfName Dur = get("Dur");
+  public static final PdfName DV = get("DV");
+  public static final PdfName DW = get("DW");
+  public static final PdfName E = get("E");
+  public static final PdfName EF = get("EF");
+  public static final PdfName EmbeddedFile = get("EmbeddedFile");
+  public static final PdfName EmbeddedFiles = get("EmbeddedFiles");
+  public static final PdfName Encode = get("Encode");
+  public static final PdfName Encoding = get("Encoding");
+  public static final PdfName Encrypt = get("Encrypt");
+  public static final PdfName Event = get("Event");
+  public static final PdfName Exclusion = get("Exclusion");
+  public static final PdfName Experimental = get("Experimental");
+  public static final PdfName Expired = get("Expired");
+  public static final PdfName Export = get("Export");
+  public static final PdfName ExportState = get("ExportState");
+  public static final PdfName Extends = get("Extends");
+  public static final PdfName ExtGState = get("ExtGState");
+  public static final PdfName F = get("F");
+  public static final PdfName Fade = get("Fade");
+  public static final PdfName FB = get("FB");
+  public static final PdfName FDecodeParms = get("FDecodeParms");
+  public static final PdfName Ff = get("Ff");
+  public static final PdfName FFilter = get("FFilter");
+  public static final PdfName FG = get("FG");
+  public static final PdfName Fields = get("Fields");
+  public static final PdfName FileAttachment = get("FileAttachment");
+  public static final PdfName Filespec = get("Filespec");
+  public static final PdfName Filter = get("Filter");
+  public static final PdfName Final = get("Final");
+  public static final PdfName First = get("First");
+  public static final PdfName FirstChar = get("FirstChar");
+  public static final PdfName FirstPage = get("FirstPage");
+  public static final PdfName Fit = get("Fit");
+  public static final PdfName FitB = get("FitB");
+  public static final PdfName FitBH = get("FitBH");
+  public static final PdfName FitBV = get("FitBV");
+  public static final PdfName FitH = get("FitH");
+  public static final PdfName FitR = get("FitR");
+  public static final PdfName FitV = get("FitV");
+  public static final PdfName FitWindow = get("FitWindow");
+  public static final PdfName Fl = get("Fl");
+  public static final PdfName Flags = get("Flags");
+  public static final PdfName FlateDecode = get("FlateDecode");
+  public static final PdfName Fly = get("Fly");
+  public static final PdfName Fo = get("Fo");
+  public static final PdfName Font = get("Font");
+  public static final PdfName FontBBox = get("FontBBox");
+  public static final PdfName FontDescriptor = get("FontDescriptor");
+  public static final PdfName FontFile = get("FontFile");
+  public static final PdfName FontFile2 = get("FontFile2");
+  public static final PdfName FontFile3 = get("FontFile3");
+  public static final PdfName FontName = get("FontName");
+  public static final PdfName ForComment = get("ForComment");
+  public static final PdfName Form = get("Form");
+  public static final PdfName ForPublicRelease = get("ForPublicRelease");
+  public static final PdfName FreeText = get("FreeText");
+  public static final PdfName FreeTextCallout = get("FreeTextCallout");
+  public static final PdfName FreeTextTypeWriter = get("FreeTextTypeWriter");
+  public static final PdfName FS = get("FS");
+  public static final PdfName FT = get("FT");
+  public static final PdfName FullScreen = get("FullScreen");
+  public static final PdfName Functions = get("Functions");
+  public static final PdfName FunctionType = get("FunctionType");
+  public static final PdfName FWParams = get("FWParams");
+  public static final PdfName G = get("G");
+  public static final PdfName Gamma = get("Gamma");
+  public static final PdfName Glitter = get("Glitter");
+  public static final PdfName GoTo = get("GoTo");
+  public static final PdfName GoTo3DView = get("GoTo3DView");
+  public static final PdfName GoToAction = get("GoToAction");
+  public static final PdfName GoToE = get("GoToE");
+  public static final PdfName GoToR = get("GoToR");
+  public static final PdfName Graph = get("Graph");
+  public static final PdfName Group = get("Group");
+  public static final PdfName H = get("H");
+  public static final PdfName HardLight = get("HardLight");
+  public static final PdfName Height = get("Height");
+  public static final PdfName Help = get("Help");
+  public static final PdfName HF = get("HF");
+  public static final PdfName HI = get("HI");
+  public static final PdfName Hide = get("Hide");
+  public static final PdfName HideMenubar = get("HideMenubar");
+  public static final PdfName HideToolbar = get("HideToolbar");
+  public static final PdfName HideWindowUI = get("HideWindowUI");
+  public static final PdfName Highlight = get("Highlight");
+  public static final PdfName Hue = get("Hue");
+  public static final PdfName I = get("I");
+  public static final PdfName IC = get("IC");
+  public static final PdfName ICCBased = get("ICCBased");
+  public static final PdfName ID = get("ID");
+  public static final PdfName Identity = get("Identity");
+  public static final PdfName IdentityH = get("Identity-H");
+  public static final PdfName IdentityV = get("Identity-V");
+  public static final PdfName IF = get("IF");
+  public static final PdfName Image = get("Image");
+  public static final PdfName ImportData = get("ImportData");
+  public static final PdfName Ind = get("Ind");
+  public static final PdfName Index = get("Index");
+  public static final PdfName Indexed = get("Indexed");
+  public static final PdfName Info = get("Info");
+  public static final PdfName Ink = get("Ink");
+  public static final PdfName InkList = get("InkList");
+  public static final PdfName Insert = get("Insert");
+  public static final PdfName Intent = get("Intent");
+  public static final PdfName IRT = get("IRT");
+  public static final PdfName IT = get("IT");
+  public static final PdfName ItalicAngle = get("ItalicAngle");
+  public static final PdfName IX = get("IX");
+  public static final PdfName JavaScript = get("JavaScript");
+  public static final PdfName JBIG2Decode = get("JBIG2Decode");
+  public static final PdfName JPXDecode = get("JPXDecode");
+  public static final PdfName JS = get("JS");
+  public static final PdfName K = get("K");
+  public static final PdfName Key = get("Key");
+  public static final PdfName Keywords = get("Keywords");
+  public static final PdfName Kids = get("Kids");
+  public static final PdfName L = get("L");
+  public static final PdfName L2R = get("L2R");
+  public static final PdfName Lab = get("Lab");
+  public static final PdfName Lang = get("Lang");
+  public static final PdfName Language = get("Language");
+  public static final PdfName Last = get("Last");
+  public static final PdfName LastChar = get("LastChar");
+  public static final PdfName LastModified = get("LastModified");
+  public static final PdfName LastPage = get("LastPage");
+  public static final PdfName Launch = get("Launch");
+  public static final PdfName LC = get("LC");
+  public static final PdfName LE = get("LE");
+  public static final PdfName Leading = get("Leading");
+  public static final PdfName Length = get("Length");
+  public static final PdfName LI = get("LI");
+  public static final PdfName Lighten = get("Lighten");
+  public static final PdfName Limits = get("Limits");
+  public static final PdfName Line = get("Line");
+  public static final PdfName Linearized = get("Linearized");
+  public static final PdfName Link = get("Link");
+  public static final PdfName ListMode = get("ListMode");
+  public static final PdfName LJ = get("LJ");
+  public static final PdfName LL = get("LL");
+  public static final PdfName LLE = get("LLE");
+  public static final PdfName Locked = get("Locked");
+  public static final PdfName Luminosity = get("Luminosity");
+  public static final PdfName LW = get("LW");
+  public static final PdfName LZW = get("LZW");
+  public static final PdfName LZWDecode = get("LZWDecode");
+  public static final PdfName M = get("M");
+  public static final PdfName Mac = get("Mac");
+  public static final PdfName MacRomanEncoding = get("MacRomanEncoding");
+  public static final PdfName Matrix = get("Matrix");
+  public static final PdfName max = get("max");
+  public static final PdfName MaxLen = get("MaxLen");
+  public static final PdfName MCD = get("MCD");
+  public static final PdfName MCS = get("MCS");
+  public static final PdfName MediaBox = get("MediaBox");
+  public static final PdfName MediaClip = get("MediaClip");
+  public static final PdfName MediaDuration = get("MediaDuration");
+  public static final PdfName MediaOffset = get("MediaOffset");
+  public static final PdfName MediaPlayerInfo = get("MediaPlayerInfo");
+  public static final PdfName MediaPlayParams = get("MediaPlayParams");
+  public static final PdfName MediaScreenParams = get("MediaScreenParams");
+  public static final PdfName Metadata = get("Metadata");
+  public static final PdfName MH = get("MH");
+  public static final PdfName Mic = get("Mic");
+  public static final PdfName min = get("min");
+  public static final PdfName MissingWidth = get("MissingWidth");
+  public static final PdfName MK = get("MK");
+  public static final PdfName ML = get("ML");
+  public static final PdfName MMType1 = get("MMType1");
+  public static final PdfName ModDate = get("ModDate");
+  public static final PdfName Movie = get("Movie");
+  public static final PdfName MR = get("MR");
+  public static final PdfName MU = get("MU");
+  public static final PdfName Multiply = get("Multiply");
+  public static final PdfName N = get("N");
+  public static final PdfName Name = get("Name");
+  public static final PdfName Named = get("Named");
+  public static final PdfName Names = get("Names");
+  public static final PdfName NewParagraph = get("NewParagraph");
+  public static final PdfName NewWindow = get("NewWindow");
+  public static final PdfName Next = get("Next");
+  public static final PdfName NextPage = get("NextPage");
+  public static final PdfName NM = get("NM");
+  public static final PdfName None = get("None");
+  public static final PdfName NonFullScreenPageMode = get("NonFullScreenPageMode");
+  public static final PdfName Normal = get("Normal");
+  public static final PdfName Not = get("Not");
+  public static final PdfName NotApproved = get("NotApproved");
+  public static final PdfName Note = get("Note");
+  public static final PdfName NotForPublicRelease = get("NotForPublicRelease");
+  public static final PdfName NU = get("NU");
+  public static final PdfName NumCopies = get("NumCopies");
+  public static final PdfName Nums = get("Nums");
+  public static final PdfName O = get("O");
+  public static final PdfName ObjStm = get("ObjStm");
+  public static final PdfName OC = get("OC");
+  public static final PdfName OCG = get("OCG");
+  public static final PdfName OCGs = get("OCGs");
+  public static final PdfName OCMD = get("OCMD");
+  public static final PdfName OCProperties = get("OCProperties");
+  public static final PdfName OFF = get("OFF");
+  public static final PdfName Off = get("Off");
+  public static final PdfName ON = get("ON");
+  public static final PdfName OneColumn = get("OneColumn");
+  public static final PdfName OP = get("OP");
+  public static final PdfName Open = get("Open");
+  public static final PdfName OpenAction = get("OpenAction");
+  public static final PdfName OpenArrow = get("OpenArrow");
+  public static final PdfName OpenType = get("OpenType");
+  public static final PdfName Opt = get("Opt");
+  public static final PdfName Or = get("Or");
+  public static final PdfName Order = get("Order");
+  public static final PdfName Ordering = get("Ordering");
+  public static final PdfName Org = get("Org");
+  public static final PdfName OS = get("OS");
+  public static final PdfName Outlines = get("Outlines");
+  public static final PdfName Overlay = get("Overlay");
+  public static final PdfName P = get("P");
+  public static final PdfName Page = get("Page");
+  public static final PdfName PageElement = get("PageElement");
+  public static final PdfName PageLabel = get("PageLabel");
+  public static final PdfName PageLabels = get("PageLabels");
+  public static final PdfName PageLayout = get("PageLayout");
+  public static final PdfName PageMode = get("PageMode");
+  public static final PdfName Pages = get("Pages");
+  public static final PdfName PaintType = get("PaintType");
+  public static final PdfName Paperclip = get("Paperclip");
+  public static final PdfName Paragraph = get("Paragraph");
+  public static final PdfName Params = get("Params");
+  public static final PdfName Parent = get("Parent");
+  public static final PdfName Pattern = get("Pattern");
+  public static final PdfName PatternType = get("PatternType");
+  public static final PdfName PC = get("PC");
+  public static final PdfName PDFDocEncoding = get("PdfDocEncoding");
+  public static final PdfName PI = get("PI");
+  public static final PdfName PickTrayByPDFSize = get("PickTrayByPDFSize");
+  public static final PdfName PID = get("PID");
+  public static final PdfName PieceInfo = get("PieceInfo");
+  public static final PdfName PL = get("PL");
+  public static final PdfName PO = get("PO");
+  public static final PdfName Polygon = get("Polygon");
+  public static final PdfName PolyLine = get("PolyLine");
+  public static final PdfName Popup = get("Popup");
+  public static final PdfName Predictor = get("Predictor");
+  public static final PdfName Preferred = get("Preferred");
+  public static final PdfName Prev = get("Prev");
+  public static final PdfName PrevPage = get("PrevPage");
+  public static final PdfName Print = get("Print");
+  public static final PdfName PrintPageRange = get("PrintPageRange");
+  public static final PdfName PrintScaling = get("PrintScaling");
+  public static final PdfName PrintState = get("PrintState");
+  public static final PdfName Private = get("Private");
+  public static final PdfName Producer = get("Producer");
+  public static final PdfName Properties = get("Properties");
+  public static final PdfName Push = get("Push");
+  public static final PdfName PushPin = get("PushPin");
+  public static final PdfName PV = get("PV");
+  public static final PdfName Q = get("Q");
+  public static final PdfName QuadPoints = get("QuadPoints");
+  public static final PdfName R = get("R");
+  public static final PdfName r = get("r");
+  public static final PdfName R2L = get("R2L");
+  public static final PdfName Range = get("Range");
+  public static final PdfName RBGroups = get("RBGroups");
+  public static final PdfName RC = get("RC");
+  public static final PdfName RClosedArrow = get("RClosedArrow");
+  public static final PdfName Rect = get("Rect");
+  public static final PdfName Registry = get("Registry");
+  public static final PdfName Rendition = get("Rendition");
+  public static final PdfName Renditions = get("Renditions");
+  public static final PdfName ResetForm = get("ResetForm");
+  public static final PdfName Resources = get("Resources");
+  public static final PdfName RF = get("RF");
+  public static final PdfName RGB = get("RGB");
+  public static final PdfName RI = get("RI");
+  public static final PdfName RL = get("RL");
+  public static final PdfName Root = get("Root");
+  public static final PdfName ROpenArrow = get("ROpenArrow");
+  public static final PdfName Rotate = get("Rotate");
+  public static final PdfName RT = get("RT");
+  public static final PdfName RunLengthDecode = get("RunLengthDecode");
+  public static final PdfName S = get("S");
+  public static final PdfName Saturation = get("Saturation");
+  public static final PdfName SBApproved = get("SBApproved");
+  public static final PdfName SBCompleted = get("SBCompleted");
+  public static final PdfName SBConfidential = get("SBConfidential");
+  public static final PdfName SBDraft = get("SBDraft");
+  public static final PdfName SBFinal = get("SBFinal");
+  public static final PdfName SBForComment = get("SBForComment");
+  public static final PdfName SBForPublicRelease = get("SBForPublicRelease");
+  public static final PdfName SBInformationOnly = get("SBInformationOnly");
+  public static final PdfName SBNotApproved = get("SBNotApproved");
+  public static final PdfName SBNotForPublicRelease = get("SBNotForPublicRelease");
+  public static final PdfName SBPreliminaryResults = get("SBPreliminaryResults");
+  public static final PdfName SBRejected = get("SBRejected");
+  public static final PdfName SBVoid = get("SBVoid");
+  public static final PdfName Screen = get("Screen");
+  public static final PdfName Separation = get("Separation");
+  public static final PdfName SetOCGState = get("SetOCGState");
+  public static final PdfName SHAccepted = get("SHAccepted");
+  public static final PdfName Shading = get("Shading");
+  public static final PdfName SHInitialHere = get("SHInitialHere");
+  public static final PdfName SHSignHere = get("SHSignHere");
+  public static final PdfName SHWitness = get("SHWitness");
+  public static final PdfName Sig = get("Sig");
+  public static final PdfName Simplex = get("Simplex");
+  public static final PdfName SinglePage = get("SinglePage");
+  public static final PdfName Size = get("Size");
+  public static final PdfName Slash = get("Slash");
+  public static final PdfName SMask = get("SMask");
+  public static final PdfName SoftLight = get("SoftLight");
+  public static final PdfName Sold = get("Sold");
+  public static final PdfName Sound = get("Sound");
+  public static final PdfName SP = get("SP");
+  public static final PdfName Speaker = get("Speaker");
+  public static final PdfName Split = get("Split");
+  public static final PdfName Square = get("Square");
+  public static final PdfName Squiggly = get("Squiggly");
+  public static final PdfName SR = get("SR");
+  public static final PdfName SS = get("SS");
+  public static final PdfName St = get("St");
+  public static final PdfName Stamp = get("Stamp");
+  public static final PdfName StandardEncoding = get("StandardEncoding");
+  public static final PdfName State = get("State");
+  public static final PdfName StemV = get("StemV");
+  public static final PdfName StrikeOut = get("StrikeOut");
+  public static final PdfName StructElem = get("StructElem");
+  public static final PdfName StructParent = get("StructParent");
+  public static final PdfName Subj = get("Subj");
+  public static final PdfName Subject = get("Subject");
+  public static final PdfName SubmitForm = get("SubmitForm");
+  public static final PdfName Subtype = get("Subtype");
+  public static final PdfName Supplement = get("Supplement");
+  public static final PdfName SW = get("SW");
+  public static final PdfName Sy = get("Sy");
+  public static final PdfName Symbol = get("Symbol");
+  public static final PdfName T = get("T");
+  public static final PdfName Tabs = get("Tabs");
+  public static final PdfName Tag = get("Tag");
+  public static final PdfName Text = get("Text");
+  public static final PdfName TF = get("TF");
+  public static final PdfName Thread = get("Thread");
+  public static final PdfName Threads = get("Threads");
+  public static final PdfName TilingType = get("TilingType");
+  public static final PdfName Timespan = get("Timespan");
+  public static final PdfName Title = get("Title");
+  public static final PdfName Toggle = get("Toggle");
+  public static final PdfName TopSecret = get("TopSecret");
+  public static final PdfName ToUnicode = get("ToUnicode");
+  public static final PdfName TP = get("TP");
+  public static final PdfName Trans = get("Trans");
+  public static final PdfName TrimBox = get("TrimBox");
+  public static final PdfName TrueType = get("TrueType");
+  public static final PdfName Ttl = get("Ttl");
+  public static final PdfName TwoColumnLeft = get("TwoColumnLeft");
+  public static final PdfName TwoColumnRight = get("TwoColumnRight");
+  public static final PdfName TwoPageLeft = get("TwoPageLeft");
+  public static final PdfName TwoPageRight = get("TwoPageRight");
+  public static final PdfName Tx = get("Tx");
+  public static final PdfName Type = get("Type");
+  public static final PdfName Type0 = get("Type0");
+  public static final PdfName Type1 = get("Type1");
+  public static final PdfName Type1C = get("Type1C");
+  public static final PdfName Type3 = get("Type3");
+  public static final PdfName U = get("U");
+  public static final PdfName UC = get("UC");
+  public static final PdfName Unchanged = get("Unchanged");
+  public static final PdfName Uncover = get("Uncover");
+  public static final PdfName Underline = get("Underline");
+  public static final PdfName Unix = get("Unix");
+  public static final PdfName URI = get("URI");
+  public static final PdfName URL = get("URL");
+  public static final PdfName Usage = get("Usage");
+  public static final PdfName UseAttachments = get("UseAttachments");
+  public static final PdfName UseCMap = get("UseCMap");
+  public static final PdfName UseNone = get("UseNone");
+  public static final PdfName UseOC = get("UseOC");
+  public static final PdfName UseOutlines = get("UseOutlines");
+  public static final PdfName User = get("User");
+  public static final PdfName UseThumbs = get("UseThumbs");
+  public static final PdfName V = get("V");
+  public static final PdfName VE = get("VE");
+  public static final PdfName Version = get("Version");
+  public static final PdfName Vertices = get("Vertices");
+  public static final PdfName View = get("View");
+  public static final PdfName ViewerPreferences = get("ViewerPreferences");
+  public static final PdfName ViewState = get("ViewState");
+  public static final PdfName VisiblePages = get("VisiblePages");
+  public static final PdfName W = get("W");
+  public static final PdfName WhitePoint = get("WhitePoint");
+  public static final PdfName Widget = get("Widget");
+  public static final PdfName Width = get("Width");
+  public static final PdfName Widths = get("Widths");
+  public static final PdfName Win = get("Win");
+  public static final PdfName WinAnsiEncoding = get("WinAnsiEncoding");
+  public static final PdfName Wipe = get("Wipe");
+  public static final PdfName WP = get("WP");
+  public static final PdfName WS = get("WS");
+  public static final PdfName X = get("X");
+  public static final PdfName XML = get("XML");
+  public static final PdfName XObject = get("XObject");
+  public static final PdfName XRef = get("XRef");
+  public static final PdfName XStep = get("XStep");
+  public static final PdfName XYZ = get("XYZ");
+  public static final PdfName Yes = get("Yes");
+  public static final PdfName YStep = get("YStep");
+  public static final PdfName Z = get("Z");
+  public static final PdfName ZapfDingbats = get("ZapfDingbats");
+  public static final PdfName Zoom = get("Zoom");
 
   private static final byte[] NamePrefixChunk = org.pdfclown.tokens.Encoding.Pdf.encode(Keyword.NamePrefix);
+
+  private static final String HexDigits = "0123456789ABCDEF";
   // </fields>
 
   // <interface>
@@ -617,13 +761,147 @@ public final class PdfName
   public static PdfName get(
     String value
     )
-  {return value == null ? null : new PdfName(value);}
+  {return value == null ? null : Symbols.get(escape(value));}
+
+  /**
+    Gets the object equivalent to the given raw (escaped) bytes.
+    <p>This is the way parsed names are resolved to their canonical instances (for example, {@link
+    #Type}) without allocation.</p>
+
+    @param data Raw bytes buffer.
+    @param offset Position of the first name byte in the buffer.
+    @param length Number of name bytes.
+  */
+  public static PdfName get(
+    byte[] data,
+    int offset,
+    int length
+    )
+  {return Symbols.get(data, offset, length);}
   // </public>
+
+  // <private>
+  /**
+    Normalizes the given character sequence escaping reserved characters.
+  */
+  private static String escape(
+    String value
+    )
+  {
+    /*
+      NOTE: Name lexical conventions prescribe that the following reserved characters
+      are to be escaped when placed inside names' character sequences:
+        - delimiters;
+        - whitespaces;
+        - '#' (number sign character).
+    */
+    StringBuilder buffer = null;
+    for(int index = 0, length = value.length(); index < length; index++)
+    {
+      char valueChar = value.charAt(index);
+      if(isReserved(valueChar))
+      {
+        if(buffer == null)
+        {buffer = new StringBuilder(length + 4).append(value, 0, index);}
+        buffer.append('#').append(HexDigits.charAt(valueChar >> 4)).append(HexDigits.charAt(valueChar & 0xF));
+      }
+      else if(buffer != null)
+      {buffer.append(valueChar);}
+    }
+    return buffer != null ? buffer.toString() : value;
+  }
+
+  private static boolean isReserved(
+    char value
+    )
+  {
+    switch(value)
+    {
+      case ' ':
+      case '\t':
+      case '\n':
+      case '\u000B':
+      case '\f':
+      case '\r':
+      case '(':
+      case ')':
+      case '<':
+      case '>':
+      case '[':
+      case ']':
+      case '{':
+      case '}':
+      case '/':
+      case '%':
+      case '#':
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+    Resolves the escape sequences within the given raw value.
+  */
+  private static String unescape(
+    String value
+    )
+  {
+    int index = value.indexOf('#');
+    if(index < 0)
+      return value;
+
+    StringBuilder buffer = new StringBuilder(value.length()).append(value, 0, index);
+    for(int length = value.length(); index < length; index++)
+    {
+      char valueChar = value.charAt(index);
+      if(valueChar == '#' && index + 2 < length)
+      {
+        int high = Character.digit(value.charAt(index + 1), 16);
+        int low = Character.digit(value.charAt(index + 2), 16);
+        if(high >= 0 && low >= 0)
+        {
+          buffer.append((char)(high << 4 | low));
+          index += 2;
+          continue;
+        }
+      }
+      buffer.append(valueChar);
+    }
+    return buffer.toString();
+  }
+  // </private>
   // </interface>
   // </static>
 
   // <dynamic>
+  // <fields>
+  /**
+    Raw (escaped) value, serialization-ready.
+  */
+  private final byte[] bytes;
+  /**
+    Hash of the raw value (as it's ISO 8859-1 encoded, it matches the hash of its bytes).
+  */
+  private final int hash;
+  /**
+    Whether this is the canonical instance of its value.
+  */
+  private boolean interned;
+  /**
+    Next name within the same symbol-table bucket.
+  */
+  private PdfName nextSymbol;
+  /**
+    Textual (unescaped) representation (lazily computed).
+  */
+  private String text;
+  // </fields>
+
   // <constructors>
+  /**
+    Creates a non-canonical instance: {@link #get(String)} should be preferred.
+  */
   public PdfName(
     String value
     )
@@ -642,10 +920,21 @@ public final class PdfName
       it's necessary to explicitly state when a name value has already been escaped.
       This is tipically the case of names parsed from a previously-serialized PDF file.
     */
-    if(escaped)
-    {setRawValue(value);}
-    else
-    {setValue(value);}
+    String rawValue = (escaped ? value : escape(value));
+    bytes = org.pdfclown.tokens.Encoding.Pdf.encode(rawValue);
+    hash = rawValue.hashCode();
+    setRawValue(rawValue);
+  }
+
+  private PdfName(
+    byte[] bytes,
+    String value,
+    int hash
+    )
+  {
+    this.bytes = bytes;
+    this.hash = hash;
+    setRawValue(value);
   }
   // </constructors>
 
@@ -669,11 +958,33 @@ public final class PdfName
     return getRawValue().compareTo(((PdfName)obj).getRawValue());
   }
 
+  @Override
+  public boolean equals(
+    Object object
+    )
+  {
+    if(object == this)
+      return true;
+    else if(!(object instanceof PdfName))
+      return false;
+
+    PdfName name = (PdfName)object;
+    if(interned && name.interned) // Distinct canonical instances.
+      return false;
+
+    return name.hash == hash && name.getRawValue().equals(getRawValue());
+  }
+
   @Override
   public String getValue(
     )
   {return (String)super.getValue();}
 
+  @Override
+  public int hashCode(
+    )
+  {return hash;}
+
   @Override
   public String toString(
     )
@@ -681,29 +992,9 @@ public final class PdfName
     /*
       NOTE: The textual representation of a name concerns unescaping reserved characters.
     */
-    String value = getRawValue();
-    StringBuilder buffer = new StringBuilder();
-    int index = 0;
-    Matcher escapedMatcher = EscapedPattern.matcher(value);
-    while(escapedMatcher.find())
-    {
-      int start = escapedMatcher.start();
-      if(start > index)
-      {buffer.append(value.substring(index,start));}
-
-      buffer.append(
-        (char)Integer.parseInt(
-          escapedMatcher.group(1),
-          16
-          )
-        );
-
-      index = escapedMatcher.end();
-    }
-    if(index < value.length())
-    {buffer.append(value.substring(index));}
-
-    return buffer.toString();
+    if(text == null)
+    {text = unescape(getRawValue());}
+    return text;
   }
 
   @Override
@@ -711,7 +1002,7 @@ public final class PdfName
     IOutputStream stream,
     File context
     )
-  {stream.write(NamePrefixChunk); stream.write(getRawValue());}
+  {stream.write(NamePrefixChunk); stream.write(bytes);}
   // </public>
 
   // <protected>
@@ -719,36 +1010,9 @@ public final class PdfName
   protected void setValue(
     Object value
     )
-  {
-    /*
-      NOTE: Before being accepted, any character sequence identifying a name MUST be normalized
-      escaping reserved characters.
-    */
-    StringBuilder buffer = new StringBuilder();
-    {
-      String stringValue = (String)value;
-      int index = 0;
-      Matcher unescapedMatcher = UnescapedPattern.matcher(stringValue);
-      while(unescapedMatcher.find())
-      {
-        int start = unescapedMatcher.start();
-        if(start > index)
-        {buffer.append(stringValue.substring(index,start));}
-
-        buffer.append(
-          '#' + Integer.toHexString(
-            unescapedMatcher.group(0).charAt(0)
-            )
-          );
-
-        index = unescapedMatcher.end();
-      }
-      if(index < stringValue.length())
-      {buffer.append(stringValue.substring(index));}
-    }
-    setRawValue(buffer.toString());
-  }
+  {throw new UnsupportedOperationException("Immutable object");} // NOTE: Names are canonical symbols.
   // </protected>
   // </interface>
   // </dynamic>
+  // </class>
 }
\ No newline at end of file
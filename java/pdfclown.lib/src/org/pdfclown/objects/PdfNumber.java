@@ -35,6 +35,23 @@ public abstract class PdfNumber<TValue extends Number>
   extends PdfSimpleObject<TValue>
 {
   // <class>
+  // <static>
+  // <interface>
+  // <public>
+  /**
+    Gets the integer object equivalent to the given value.
+    <p>Values beyond the 32-bit range (such as byte offsets within files larger than 2 GB) are
+    represented as {@link PdfReal reals}, which are exact up to 2<sup>53</sup> and are serialized
+    without fractional digits.</p>
+  */
+  public static PdfNumber<?> getInteger(
+    long value
+    )
+  {return value == (int)value ? PdfInteger.get((int)value) : PdfReal.get(value);}
+  // </public>
+  // </interface>
+  // </static>
+
   // <dynamic>
   // <interface>
   // <public>
@@ -72,6 +89,13 @@ public abstract class PdfNumber<TValue extends Number>
   public abstract int getIntValue(
     );
 
+  /**
+    Gets the long integer representation of the value.
+  */
+  public long getLongValue(
+    )
+  {return getValue().longValue();}
+
   @Override
   public Number getValue(
     )
@@ -32,7 +32,7 @@ import org.pdfclown.files.File;
   Abstract PDF object.
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 1/26/15
+  @version 0.2.0, 10/17/26
 */
 public abstract class PdfObject
   implements Cloneable,
@@ -75,6 +75,25 @@ public abstract class PdfObject
     )
   {return object == null ? null : object.unresolve();}
   // </public>
+
+  // <internal>
+  /**
+    Gets the page tree node type of the specified data object [PDF:1.6:3.6.2].
+
+    @return Either {@link PdfName#Pages} (intermediate node) or {@link PdfName#Page} (leaf node);
+      <code>null</code>, if the data object isn't a page tree node.
+  */
+  static PdfName getPageTreeNodeType(
+    PdfDataObject object
+    )
+  {
+    if(!(object instanceof PdfDictionary))
+      return null;
+
+    PdfDirectObject type = ((PdfDictionary)object).get(PdfName.Type);
+    return PdfName.Pages.equals(type) || PdfName.Page.equals(type) ? (PdfName)type : null;
+  }
+  // </internal>
   // </interface>
   // </static>
 
@@ -344,6 +363,18 @@ public abstract class PdfObject
   abstract void setParent(
     PdfObject value
     );
+
+  /**
+    Notifies the file that its page tree has been modified (see {@link
+    File#getTreeModificationCount()}).
+  */
+  final void updateTree(
+    )
+  {
+    File file = getFile();
+    if(file != null)
+    {file.onTreeModified();}
+  }
   // </internal>
   // </interface>
   // </dynamic>
@@ -34,7 +34,7 @@ import org.pdfclown.util.NotImplementedException;
   PDF indirect reference object [PDF:1.6:3.2.9].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 03/10/15
+  @version 0.2.0, 10/17/26
 */
 public final class PdfReference
   extends PdfDirectObject
@@ -212,7 +212,13 @@ public final class PdfReference
     IOutputStream stream,
     File context
     )
-  {stream.write(getIndirectReference());}
+  {
+    String serializationId = getSerializationId(context);
+    if(serializationId == null) // Unserialized object.
+    {PdfDirectObject.writeTo(stream, context, null);}
+    else
+    {stream.write(serializationId + Symbol.Space + Symbol.CapitalR);}
+  }
 
   // <IPdfIndirectObject>
   @Override
@@ -283,6 +289,28 @@ public final class PdfReference
   // </protected>
 
   // <internal>
+  /**
+    Gets the object identifier to serialize within the specified file context (see {@link
+    File#getSerializationNumbers()}).
+
+    @return <code>null</code>, if the referenced object isn't serialized.
+  */
+  String getSerializationId(
+    File context
+    )
+  {
+    int[] serializationNumbers = context.getSerializationNumbers();
+    if(serializationNumbers == null)
+      return getId();
+
+    int objectNumber = getObjectNumber();
+    if(objectNumber >= serializationNumbers.length
+      || serializationNumbers[objectNumber] == 0)
+      return null;
+
+    return ("" + serializationNumbers[objectNumber] + Symbol.Space + 0);
+  }
+
   @Override
   void setParent(
     PdfObject value
@@ -25,6 +25,7 @@
 
 package org.pdfclown.objects;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.util.Iterator;
 
@@ -32,6 +33,8 @@ import org.pdfclown.PDF;
 import org.pdfclown.VersionEnum;
 import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.IBuffer;
+import org.pdfclown.bytes.IDuplicableInputStream;
+import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.bytes.filters.Filter;
 import org.pdfclown.documents.files.FileSpecification;
@@ -45,13 +48,147 @@ import org.pdfclown.tokens.Symbol;
   PDF stream object [PDF:1.6:3.2.7].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 05/22/15
+  @version 0.2.0, 10/17/26
 */
 public class PdfStream
   extends PdfDataObject
   implements IFileResource
 {
   // <class>
+  // <classes>
+  /**
+    Original (encoded) body data within the source file.
+  */
+  static final class BodySource
+  {
+    private static final int ChunkSize = 1 << 16;
+
+    private final IInputStream stream;
+    private final long offset;
+    private final int length;
+
+    /**
+      Whether the source is no longer available.
+    */
+    private boolean detached;
+
+    /**
+      Whether the data have been loaded into the body buffer.
+    */
+    boolean loaded;
+    /**
+      Whether the loaded data have been decoded.
+    */
+    boolean decoded;
+    /**
+      Original filter entry (available once decoded).
+    */
+    PdfDirectObject filter;
+    /**
+      Original decode parameters entry (available once decoded).
+    */
+    PdfDirectObject parameters;
+
+    BodySource(
+      IInputStream stream,
+      long offset,
+      int length
+      )
+    {
+      this.stream = stream;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    /**
+      Makes the source unavailable, as it is about to be closed: any later access to the data fails.
+    */
+    public void detach(
+      )
+    {detached = true;}
+
+    /**
+      Reads the data.
+    */
+    public byte[] read(
+      )
+    {
+      byte[] data = new byte[length];
+      read(getCursor(), data, 0, length, offset);
+      return data;
+    }
+
+    /**
+      Copies the data to the specified stream.
+    */
+    public void writeTo(
+      IOutputStream target
+      )
+    {
+      IInputStream cursor = getCursor();
+      byte[] chunk = new byte[Math.min(length, ChunkSize)];
+      for(int index = 0; index < length;)
+      {
+        int chunkLength = Math.min(chunk.length, length - index);
+        read(cursor, chunk, 0, chunkLength, offset + index);
+        target.write(chunk, 0, chunkLength);
+        index += chunkLength;
+      }
+    }
+
+    /**
+      Gets a cursor over the source.
+      <p>Duplicable sources provide a cursor of its own to each read, so that concurrent reads don't
+      contend; otherwise, the shared source itself is returned.</p>
+    */
+    private IInputStream getCursor(
+      )
+    {
+      if(detached)
+        throw new IllegalStateException("Stream body unavailable: its source file has been closed.");
+
+      return stream instanceof IDuplicableInputStream
+        ? ((IDuplicableInputStream)stream).duplicate()
+        : stream;
+    }
+
+    private void read(
+      IInputStream cursor,
+      byte[] data,
+      int dataOffset,
+      int dataLength,
+      long position
+      )
+    {
+      try
+      {
+        if(cursor != stream)
+        {
+          cursor.seek(position);
+          cursor.read(data, dataOffset, dataLength);
+        }
+        else
+        {
+          /*
+            NOTE: The source stream is shared with the file parser (and, in case of concurrent
+            access, with the bodies of other streams), so its position has to be preserved under
+            lock.
+          */
+          synchronized(stream)
+          {
+            long oldPosition = stream.getPosition();
+            stream.seek(position);
+            stream.read(data, dataOffset, dataLength);
+            stream.seek(oldPosition);
+          }
+        }
+      }
+      catch(EOFException e)
+      {throw new RuntimeException("Stream body beyond source end.", e);}
+    }
+  }
+  // </classes>
+
   // <static>
   // <fields>
   private static final byte[] BeginStreamBodyChunk = Encoding.Pdf.encode(Symbol.LineFeed + Keyword.BeginStream + Symbol.LineFeed);
@@ -74,6 +211,14 @@ public class PdfStream
     stream data.
   */
   private boolean bodyResolved;
+
+  /**
+    Original body data within the source file.
+    <p>As long as {@link #body} is unchanged, these data are copied as-is on serialization, along
+    with their original filters, so that no re-encoding is needed. {@code null} in case of stream
+    not coming from a parsed file, or whose body has been changed.</p>
+  */
+  BodySource bodySource;
   // </fields>
 
   // <constructors>
@@ -113,16 +258,30 @@ public class PdfStream
   {
     this.header = (PdfDictionary)include(header);
 
-    this.body = body;
-    body.setDirty(false);
-    body.addListener(new IBuffer.IListener()
-    {
-      @Override
-      public void onChange(
-        IBuffer buffer
-        )
-      {update();}
-    });
+    setBody(body);
+  }
+
+  /**
+    <span style="color:red">For internal use only.</span>
+    <p>Creates a stream whose body is loaded from its source just when first accessed: the source
+    has to stay open until then (on {@link File#close() file closing}, the pending bodies of modified
+    objects are loaded, whilst the others become unavailable).</p>
+
+    @param header Stream header.
+    @param bodySource Source stream containing the (encoded) body data.
+    @param bodySourceOffset Position of the body data within the source stream.
+    @param bodySourceLength Size of the body data within the source stream.
+  */
+  public PdfStream(
+    PdfDictionary header,
+    IInputStream bodySource,
+    long bodySourceOffset,
+    int bodySourceLength
+    )
+  {
+    this(header);
+
+    this.bodySource = new BodySource(bodySource, bodySourceOffset, bodySourceLength);
   }
   // </constructors>
 
@@ -157,13 +316,16 @@ public class PdfStream
 
   /**
     Gets the stream body.
+    <p>Body resolution (loading and decoding) is synchronized, so that streams shared among
+    concurrent threads are resolved once.</p>
 
     @param decode Defines whether the body has to be decoded.
   */
-  public IBuffer getBody(
+  public synchronized IBuffer getBody(
     boolean decode
     )
   {
+    loadBody();
     if(!bodyResolved)
     {
       /*
@@ -185,6 +347,14 @@ public class PdfStream
       PdfDataObject filter = getFilter();
       if(filter != null) // Stream encoded.
       {
+        if(bodySource != null && !bodySource.decoded)
+        {
+          // Keep track of the original encoding (see writeTo(...))!
+          bodySource.filter = header.get(PdfName.Filter);
+          bodySource.parameters = header.get(PdfName.DecodeParms);
+          bodySource.decoded = true;
+        }
+
         header.setUpdateable(false);
         PdfDataObject parameters = getParameters();
         if(filter instanceof PdfName) // Single filter.
@@ -279,6 +449,8 @@ public class PdfStream
       external        | null            | true      | G. Import old file to local.
       ----------------------------------------------------------------------------------------------
     */
+    loadBody();
+
     FileSpecification<?> oldDataFile = getDataFile();
     PdfDirectObject dataFileObject = (value != null ? value.getBaseObject() : null);
     if(value != null)
@@ -356,6 +528,10 @@ public class PdfStream
     )
   {
     PdfStream otherStream = (PdfStream)other;
+    otherStream.loadBody();
+    otherStream.bodySource = null;
+    this.loadBody();
+    this.bodySource = null;
     PdfDictionary otherHeader = otherStream.header;
     IBuffer otherBody = otherStream.body;
     // Update the other!
@@ -380,6 +556,15 @@ public class PdfStream
     */
     header.setUpdateable(false);
 
+    if(isSourcePassthrough())
+    {
+      writeSourceTo(stream, context);
+      header.setUpdateable(true);
+      return;
+    }
+
+    loadBody();
+
     byte[] bodyData = null;
     {
       boolean filterApplied = false;
@@ -510,12 +695,116 @@ public class PdfStream
   // </protected>
 
   // <internal>
+  /**
+    Makes this stream independent from its source (see {@link PdfIndirectObject#dropSource(boolean)}).
+
+    @param load Whether the pending body data have to be loaded; otherwise, any later access to them
+      fails.
+  */
+  synchronized void dropBodySource(
+    boolean load
+    )
+  {
+    if(bodySource == null)
+      return;
+
+    if(load)
+    {loadBody();}
+    if(bodySource.loaded)
+    {bodySource = null;}
+    else
+    {bodySource.detach();}
+  }
+
+  /**
+    Ensures the body data are available in {@link #body}, loading them from their source.
+  */
+  synchronized void loadBody(
+    )
+  {
+    if(bodySource == null || bodySource.loaded)
+      return;
+
+    setBody(new Buffer(bodySource.read()));
+    bodySource.loaded = true;
+  }
+
   @Override
   void setParent(
     PdfObject value
     )
   {parent = value;}
   // </internal>
+
+  // <private>
+  /**
+    Gets whether the original body data can be serialized as-is.
+  */
+  private boolean isSourcePassthrough(
+    )
+  {
+    if(bodySource == null
+      || header.get(PdfName.F) != null)
+      return false;
+
+    /*
+      NOTE: Unencoded original data are passed through the ordinary serialization, as it may apply
+      the default filter.
+    */
+    return (bodySource.decoded ? bodySource.filter : header.get(PdfName.Filter)) != null;
+  }
+
+  private void setBody(
+    IBuffer value
+    )
+  {
+    body = value;
+    body.setDirty(false);
+    body.addListener(new IBuffer.IListener()
+    {
+      @Override
+      public void onChange(
+        IBuffer buffer
+        )
+      {
+        // The original body data are no more representative of the stream.
+        bodySource = null;
+        update();
+      }
+    });
+  }
+
+  /**
+    Serializes this stream copying its original body data.
+  */
+  private void writeSourceTo(
+    IOutputStream stream,
+    File context
+    )
+  {
+    // 1. Header.
+    if(bodySource.decoded)
+    {
+      // Restore the original encoding!
+      header.put(PdfName.Filter, bodySource.filter);
+      header.put(PdfName.DecodeParms, bodySource.parameters);
+    }
+    header.put(PdfName.Length, PdfInteger.get(bodySource.length));
+    header.writeTo(stream, context);
+    if(bodySource.decoded)
+    {
+      // Restore the actual header entries!
+      header.put(PdfName.Length, PdfInteger.get((int)body.getLength()));
+      setFilter(null);
+      setParameters(null);
+    }
+
+    // 2. Body.
+    stream.write(BeginStreamBodyChunk);
+    bodySource.writeTo(stream);
+    stream.write(EndStreamBodyChunk);
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
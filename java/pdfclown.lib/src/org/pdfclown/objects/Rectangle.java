@@ -175,7 +175,7 @@ public final class Rectangle
   public void setBottom(
     double value
     )
-  {((PdfNumber<?>)getBaseDataObject().get(1)).setValue(value);}
+  {getBaseDataObject().set(1, PdfReal.get(value));}
 
   public void setHeight(
     double value
@@ -185,17 +185,17 @@ public final class Rectangle
   public void setLeft(
     double value
     )
-  {((PdfNumber<?>)getBaseDataObject().get(0)).setValue(value);}
+  {getBaseDataObject().set(0, PdfReal.get(value));}
 
   public void setRight(
     double value
     )
-  {((PdfNumber<?>)getBaseDataObject().get(2)).setValue(value);}
+  {getBaseDataObject().set(2, PdfReal.get(value));}
 
   public void setTop(
     double value
     )
-  {((PdfNumber<?>)getBaseDataObject().get(3)).setValue(value);}
+  {getBaseDataObject().set(3, PdfReal.get(value));}
 
   public void setWidth(
     double value
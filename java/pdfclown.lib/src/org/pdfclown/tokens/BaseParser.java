@@ -36,6 +36,7 @@ import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.objects.PdfReal;
 import org.pdfclown.objects.PdfString;
 import org.pdfclown.objects.PdfTextString;
@@ -80,19 +81,16 @@ public class BaseParser
       if(tokenType == TokenTypeEnum.Comment)
         continue; // Comments are ignored.
 
-      if(tokenType == TokenTypeEnum.Literal)
+      if(tokenType == TokenTypeEnum.Literal
+        && tokenStartsWith(Keyword.DatePrefix)) // Date.
       {
-        String literalToken = (String)getToken();
-        if(literalToken.startsWith(Keyword.DatePrefix)) // Date.
-        {
-          /*
-            NOTE: Dates are a weak extension to the PostScript language.
-          */
-          try
-          {setToken(PdfDate.toDate(literalToken));}
-          catch(ParseException e)
-          {/* NOOP: gently degrade to a common literal. */}
-        }
+        /*
+          NOTE: Dates are a weak extension to the PostScript language.
+        */
+        try
+        {setToken(PdfDate.toDate((String)getToken()));}
+        catch(ParseException e)
+        {/* NOOP: gently degrade to a common literal. */}
       }
       break;
     }
@@ -108,9 +106,9 @@ public class BaseParser
     switch(getTokenType())
     {
       case Integer:
-        return PdfInteger.get((Integer)getToken());
+        return PdfNumber.getInteger(getLongToken());
       case Name:
-        return new PdfName((String)getToken(),true);
+        return PdfName.get(getTokenBytes(), getTokenOffset(), getTokenLength());
       case DictionaryBegin:
       {
         PdfDictionary dictionary = new PdfDictionary();
@@ -156,7 +154,7 @@ public class BaseParser
           PdfString.SerializationModeEnum.Hex
           );
       case Real:
-        return PdfReal.get((Double)getToken());
+        return PdfReal.get(getRealToken());
       case Boolean:
         return PdfBoolean.get((Boolean)getToken());
       case Null:
@@ -28,20 +28,20 @@ package org.pdfclown.tokens;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.SortedMap;
 
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.files.IndirectObjects;
 import org.pdfclown.objects.PdfIndirectObject;
-import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
-import org.pdfclown.util.NotImplementedException;
+import org.pdfclown.objects.PdfNumber;
 
 /**
   PDF file writer implementing compressed cross-reference stream [PDF:1.6:3.4.7].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2.1, 03/21/15
+  @version 0.2.0, 10/17/26
 */
 final class CompressedWriter
   extends Writer
@@ -135,7 +135,7 @@ final class CompressedWriter
 
       // 2.2. XRef stream.
       updateTrailer(xrefStream.getHeader(), stream);
-      xrefStream.getHeader().put(PdfName.Prev, PdfInteger.get((int)parser.retrieveXRefOffset()));
+      xrefStream.getHeader().put(PdfName.Prev, PdfNumber.getInteger(parser.retrieveXRefOffset()));
       addXRefEntry(
         /*
           NOTE: This xref stream indirect object is purposely temporary (i.e. not registered into the
@@ -144,7 +144,7 @@ final class CompressedWriter
         new PdfIndirectObject(
           file,
           xrefStream,
-          xrefStreamEntry = new XRefEntry(indirectObjects.size(), 0, (int)stream.getLength(), XRefEntry.UsageEnum.InUse)
+          xrefStreamEntry = new XRefEntry(indirectObjects.size(), 0, stream.getLength(), XRefEntry.UsageEnum.InUse)
           ),
         xrefStream,
         null,
@@ -159,7 +159,49 @@ final class CompressedWriter
   @Override
   protected void writeLinearized(
     )
-  {throw new NotImplementedException();}
+  {
+    // 1. Header [PDF:1.6:3.4.1].
+    writeHeader();
+
+    // 2. Body and xref streams [PDF:1.6:F.3].
+    /*
+      NOTE: Objects are serialized uncompressed, as hint tables would otherwise have to account for
+      object stream contents.
+    */
+    updateTrailer(file.getTrailer(), stream);
+    new Linearizer(file, 2)
+    {
+      @Override
+      protected void writeFirstPageXRef(
+        IOutputStream stream,
+        long offset,
+        SortedMap<Integer,XRefEntry> entries,
+        long mainXRefOffset
+        )
+      {
+        XRefStream xrefStream = new XRefStream(file);
+        xrefStream.getHeader().put(PdfName.Prev, PdfNumber.getInteger(mainXRefOffset));
+        writeXRefStream(stream, xrefStream, getXRefStreamNumber(1), offset, entries);
+
+        writeTail(stream, 0); // NOTE: The first-page trailer's startxref is ignored [PDF:1.6:F.3.4].
+      }
+
+      @Override
+      protected long writeMainXRef(
+        IOutputStream stream,
+        long offset,
+        SortedMap<Integer,XRefEntry> entries,
+        long firstPageXRefOffset
+        )
+      {
+        writeXRefStream(stream, new XRefStream(file), getXRefStreamNumber(0), offset, entries);
+
+        writeTail(stream, firstPageXRefOffset);
+
+        return offset;
+      }
+    }.write(stream);
+  }
 
   @Override
   protected void writeStandard(
@@ -214,7 +256,7 @@ final class CompressedWriter
         new PdfIndirectObject(
           file,
           xrefStream,
-          xrefStreamEntry = new XRefEntry(indirectObjects.size(), 0, (int)stream.getLength(), XRefEntry.UsageEnum.InUse)
+          xrefStreamEntry = new XRefEntry(indirectObjects.size(), 0, stream.getLength(), XRefEntry.UsageEnum.InUse)
           ),
         xrefStream,
         null,
@@ -259,7 +301,7 @@ final class CompressedWriter
     {
       case InUse:
       {
-        int offset = (int)stream.getLength();
+        long offset = stream.getLength();
         // Add entry content!
         indirectObject.writeTo(stream, file);
         // Set entry content's offset!
@@ -304,6 +346,40 @@ final class CompressedWriter
     }
     return prevFreeEntry;
   }
+
+  /**
+    Serializes the specified xref stream.
+
+    @param stream
+      Target stream.
+    @param xrefStream
+      XRef stream.
+    @param number
+      Object number of the xref stream (see {@link Linearizer#getXRefStreamNumber(int)}).
+    @param offset
+      Position of the xref stream within the file.
+    @param entries
+      XRef entries (including the xref stream's own entry).
+  */
+  private void writeXRefStream(
+    IOutputStream stream,
+    XRefStream xrefStream,
+    int number,
+    long offset,
+    SortedMap<Integer,XRefEntry> entries
+    )
+  {
+    xrefStream.putAll(entries);
+    /*
+      NOTE: This xref stream indirect object is purposely temporary (i.e. not registered into the
+      file's indirect objects collection).
+    */
+    new PdfIndirectObject(
+      file,
+      xrefStream,
+      new XRefEntry(number, 0, offset, XRefEntry.UsageEnum.InUse)
+      ).writeTo(stream, file);
+  }
   // </private>
   // </interface>
   // </dynamic>
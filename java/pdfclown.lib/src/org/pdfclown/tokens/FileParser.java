@@ -43,7 +43,7 @@ import org.pdfclown.util.parsers.PostScriptParseException;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.1
-  @version 0.2.0, 05/22/15
+  @version 0.2.0, 10/17/26
 */
 public final class FileParser
   extends BaseParser
@@ -77,12 +77,17 @@ public final class FileParser
   // <static>
   // <fields>
   private static final int EOFMarkerChunkSize = 1024; // [PDF:1.6:H.3.18].
+  private static final int StreamEndChunkSize = 4096;
   // </fields>
   // </static>
 
   // <dynamic>
   // <fields>
   private final File file;
+  /**
+    Stream which late-bound stream bodies are read from.
+  */
+  private final IInputStream sourceStream;
   // </fields>
 
   // <constructors>
@@ -90,9 +95,22 @@ public final class FileParser
     IInputStream stream,
     File file
     )
+  {this(stream, file, stream);}
+
+  /**
+    @param sourceStream Stream which late-bound stream bodies are read from (in case
+      {@code stream} is a transient cursor over the file data, this is the stream which the
+      cursor is derived from).
+  */
+  FileParser(
+    IInputStream stream,
+    File file,
+    IInputStream sourceStream
+    )
   {
     super(stream);
     this.file = file;
+    this.sourceStream = sourceStream;
   }
   // </constructors>
 
@@ -121,28 +139,28 @@ public final class FileParser
           long baseOffset = stream.getPosition(); // Backs up the recovery position.
 
           // 1. Object number.
-          int objectNumber = (Integer)getToken();
+          long integerToken = getLongToken(); // Backs up the integer (it may be a long offset rather than an object number).
+          int objectNumber = (int)integerToken;
           // 2. Generation number.
           super.moveNext();
           if(getTokenType() == TokenTypeEnum.Integer)
           {
-            int generationNumber = (Integer)getToken();
+            int generationNumber = getIntToken();
             // 3. Reference keyword.
             super.moveNext();
             if(getTokenType() == TokenTypeEnum.Keyword
-              && getToken().equals(Keyword.Reference))
-            {setToken(new Reference(objectNumber,generationNumber));}
-          }
-          if(!(getToken() instanceof Reference))
-          {
-            // Rollback!
-            try
-            {stream.seek(baseOffset);}
-            catch(EOFException e)
-            {throw new RuntimeException(e);}
-            setToken(objectNumber);
-            setTokenType(TokenTypeEnum.Integer);
+              && tokenEquals(Keyword.Reference))
+            {
+              setToken(new Reference(objectNumber,generationNumber));
+              break;
+            }
           }
+          // Rollback!
+          try
+          {stream.seek(baseOffset);}
+          catch(EOFException e)
+          {throw new RuntimeException(e);}
+          setIntegerToken(integerToken);
         } break;
         default:
         {
@@ -182,7 +200,7 @@ public final class FileParser
         moveNext();
         // Is this dictionary the header of a stream object [PDF:1.6:3.2.7]?
         if(getTokenType() == TokenTypeEnum.Keyword
-          && getToken().equals(Keyword.BeginStream)) // Stream.
+          && tokenEquals(Keyword.BeginStream)) // Stream.
         {
           PdfDictionary streamHeader = (PdfDictionary)pdfObject;
   
@@ -193,33 +211,59 @@ public final class FileParser
           */
           long position = stream.getPosition();
           // Get the stream length!
-          int length = ((PdfInteger)streamHeader.resolve(PdfName.Length)).getValue();
+          long length = getStreamLength(streamHeader);
           // Move to the stream data beginning!
           stream.seek(position);
           skipEOL();
-  
-          // Copy the stream data to the instance!
-          byte[] data = new byte[length];
-          stream.read(data);
-  
-          moveNext(); // Postcondition (last token should be 'endstream' keyword).
-  
+          long dataOffset = stream.getPosition();
+          if(length < 0 || dataOffset + length > stream.getLength()) // Unknown or broken length.
+          {
+            length = findStreamLength(dataOffset);
+            stream.seek(dataOffset);
+          }
+
+          PdfStream pdfStream;
           Object streamType = streamHeader.get(PdfName.Type);
-          if(PdfName.ObjStm.equals(streamType)) // Object stream [PDF:1.6:3.4.6].
-            return new ObjectStream(
-              streamHeader,
-              new Buffer(data)
-              );
-          else if(PdfName.XRef.equals(streamType)) // Cross-reference stream [PDF:1.6:3.4.7].
-            return new XRefStream(
-              streamHeader,
-              new Buffer(data)
-              );
+          if(PdfName.ObjStm.equals(streamType)
+            || PdfName.XRef.equals(streamType))
+          {
+            // Copy the stream data to the instance!
+            byte[] data = new byte[(int)length];
+            stream.read(data);
+
+            if(PdfName.ObjStm.equals(streamType)) // Object stream [PDF:1.6:3.4.6].
+            {
+              pdfStream = new ObjectStream(
+                streamHeader,
+                new Buffer(data)
+                );
+            }
+            else // Cross-reference stream [PDF:1.6:3.4.7].
+            {
+              pdfStream = new XRefStream(
+                streamHeader,
+                new Buffer(data)
+                );
+            }
+          }
           else // Generic stream.
-            return new PdfStream(
+          {
+            /*
+              NOTE: Generic stream data are loaded on demand, so that inspecting the stream header
+              doesn't cost the (possibly huge) body reading.
+            */
+            pdfStream = new PdfStream(
               streamHeader,
-              new Buffer(data)
+              sourceStream,
+              dataOffset,
+              (int)length
               );
+            stream.seek(dataOffset + length);
+          }
+
+          moveNext(); // Postcondition (last token should be 'endstream' keyword).
+
+          return pdfStream;
         }
         else // Stand-alone dictionary.
         {stream.seek(oldOffset);} // Restores postcondition (last token should be the dictionary end).
@@ -247,7 +291,7 @@ public final class FileParser
     
     // Empty indirect object?
     if(getTokenType() == TokenTypeEnum.Keyword
-        && Keyword.EndIndirectObject.equals(getToken()))
+        && tokenEquals(Keyword.EndIndirectObject))
       return null; 
     
     // Get the indirect data object!
@@ -314,12 +358,81 @@ public final class FileParser
       if(getTokenType() != TokenTypeEnum.Integer)
         throw new PostScriptParseException("'" + Keyword.StartXRef + "' value invalid.", this);
   
-      return (Integer)getToken();
+      return getLongToken();
     }
     catch(EOFException e)
     {throw new RuntimeException(e);}
   }
   // </public>
+
+  // <private>
+  /**
+    Finds the length of the stream data starting at the given position, looking for the
+    end-of-stream keyword.
+    <p>This is the fallback for streams whose declared length is unavailable (like indirect lengths
+    referenced while the cross-reference table is still being read) or broken.</p>
+  */
+  private long findStreamLength(
+    long dataOffset
+    ) throws EOFException
+  {
+    IInputStream stream = getStream();
+    long streamLength = stream.getLength();
+    byte[] keyword = Encoding.Pdf.encode(Keyword.EndStream);
+    byte[] chunk = new byte[StreamEndChunkSize];
+    long chunkOffset = dataOffset;
+    while(chunkOffset < streamLength)
+    {
+      int chunkLength = (int)Math.min(chunk.length, streamLength - chunkOffset);
+      stream.seek(chunkOffset);
+      stream.read(chunk, 0, chunkLength);
+      for(int index = 0, lastIndex = chunkLength - keyword.length; index <= lastIndex; index++)
+      {
+        int keywordIndex = 0;
+        while(keywordIndex < keyword.length
+          && chunk[index + keywordIndex] == keyword[keywordIndex])
+        {keywordIndex++;}
+        if(keywordIndex == keyword.length)
+        {
+          // Exclude the EOL marker preceding the keyword [PDF:1.6:3.2.7]!
+          long length = chunkOffset + index - dataOffset;
+          if(length > 0 && index > 0 && chunk[index - 1] == Symbol.LineFeed)
+          {
+            length--;
+            if(length > 0 && index > 1 && chunk[index - 2] == Symbol.CarriageReturn)
+            {length--;}
+          }
+          else if(length > 0 && index > 0 && chunk[index - 1] == Symbol.CarriageReturn)
+          {length--;}
+          return length;
+        }
+      }
+      if(chunkOffset + chunkLength >= streamLength)
+        break;
+
+      // NOTE: Chunks overlap so that the keyword cannot be split by their boundary.
+      chunkOffset += chunkLength - keyword.length + 1;
+    }
+    throw new EOFException();
+  }
+
+  /**
+    Gets the declared length of the data of the specified stream.
+
+    @return <code>-1</code>, if unavailable.
+  */
+  private long getStreamLength(
+    PdfDictionary streamHeader
+    )
+  {
+    if(streamHeader.get(PdfName.Length) instanceof PdfReference
+      && (file == null || file.getIndirectObjects() == null)) // Indirect objects not available yet.
+      return -1;
+
+    PdfDataObject lengthObject = streamHeader.resolve(PdfName.Length);
+    return lengthObject instanceof PdfInteger ? ((PdfInteger)lengthObject).getValue() : -1;
+  }
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
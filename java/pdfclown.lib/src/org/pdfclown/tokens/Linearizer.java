@@ -0,0 +1,840 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.tokens;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.bytes.IOutputStream;
+import org.pdfclown.files.File;
+import org.pdfclown.files.IndirectObjects;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
+import org.pdfclown.objects.PdfObject;
+import org.pdfclown.objects.PdfReference;
+import org.pdfclown.objects.PdfStream;
+import org.pdfclown.objects.Visitor;
+
+/**
+  Linearized file layout [PDF:1.6:F].
+  <p>Indirect objects are arranged so that the first page can be displayed before the rest of the
+  file is available: document catalog, primary hint stream and first-page section come first,
+  followed by the remaining pages, the objects shared among pages and any other object
+  [PDF:1.6:F.3]. Cross-reference sections are serialized by the concrete writer.</p>
+  <p>Indirect objects are renumbered in linearized order on serialization (see {@link
+  File#getSerializationNumbers()}), without altering the file: the main cross-reference section
+  covers the objects outside the first-page section from object number 0, whilst the first-page
+  cross-reference section consists of a single subsection [PDF:1.6:F.3]. Objects belonging to object
+  streams are written uncompressed.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+abstract class Linearizer
+{
+  // <class>
+  // <classes>
+  /**
+    Bit stream for hint table serialization [PDF:1.6:F.4].
+  */
+  private static final class HintTableBuilder
+  {
+    private final Buffer buffer = new Buffer();
+
+    private int bitBuffer;
+    private int bitCount;
+
+    /**
+      Pads the current byte with zero bits.
+    */
+    public void align(
+      )
+    {
+      if(bitCount > 0)
+      {
+        buffer.append((byte)(bitBuffer << (8 - bitCount)));
+        bitBuffer = bitCount = 0;
+      }
+    }
+
+    public Buffer getBuffer(
+      )
+    {
+      align();
+      return buffer;
+    }
+
+    /**
+      Appends the specified value.
+
+      @param value Value to append.
+      @param length Number of bits to use (most significant first).
+    */
+    public void write(
+      long value,
+      int length
+      )
+    {
+      for(int index = length - 1; index >= 0; index--)
+      {
+        bitBuffer = (bitBuffer << 1) | (int)((value >>> index) & 1);
+        if(++bitCount == 8)
+        {
+          buffer.append((byte)bitBuffer);
+          bitBuffer = bitCount = 0;
+        }
+      }
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final int NoOwner = -1;
+  private static final int SharedOwner = -2;
+  // </fields>
+
+  // <interface>
+  // <private>
+  /**
+    Gets the number of bits needed to represent the specified value.
+  */
+  private static int getBitCount(
+    long value
+    )
+  {return 64 - Long.numberOfLeadingZeros(value);}
+
+  private static void pad(
+    IOutputStream stream,
+    long length
+    )
+  {
+    if(length <= 0)
+      return;
+
+    byte[] padding = new byte[(int)length];
+    Arrays.fill(padding, (byte)Symbol.Space);
+    padding[padding.length - 1] = (byte)Symbol.LineFeed;
+    stream.write(padding);
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  protected final File file;
+
+  /*
+    NOTE: Object numbers are actual ones (the objects created by the linearizer are numbered after
+    the file's indirect objects), whereas cross-reference entries are serialized ones.
+  */
+  private final int hintStreamNumber;
+  private final int objectCount;
+  private final int parametersNumber;
+  private final int xrefStreamCount;
+
+  private PdfIndirectObject catalog;
+  /**
+    Serialized object number of the first object in the first-page section.
+  */
+  private int firstPageNumber;
+  /**
+    Other objects (neither document catalog nor referenced by pages).
+  */
+  private List<PdfIndirectObject> otherObjects;
+  /**
+    Page sections (page object followed by its private objects; the first page is also followed by
+    the shared objects it references).
+  */
+  private List<List<PdfIndirectObject>> pageSections;
+  /**
+    Shared object identifiers referenced by each page.
+    <p>Identifiers are entry indexes of the shared object hint table, whose leading entries cover
+    the whole first-page section (shared and private objects alike) [PDF:1.6:F.4.2].</p>
+  */
+  private List<int[]> pageSharedIds;
+  /**
+    Objects referenced by multiple pages (those belonging to the first-page section come first).
+  */
+  private List<PdfIndirectObject> sharedObjects;
+  private int firstPageSharedCount;
+  /**
+    Serialized object numbers, indexed by actual object number.
+  */
+  private int[] serializationNumbers;
+  /**
+    Serialized cross-reference table size.
+  */
+  private int size;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param file File to serialize.
+    @param xrefStreamCount Number of cross-reference streams the writer needs (they are numbered
+      after the linearization parameter dictionary and the primary hint stream).
+  */
+  protected Linearizer(
+    File file,
+    int xrefStreamCount
+    )
+  {
+    this.file = file;
+    this.xrefStreamCount = xrefStreamCount;
+
+    objectCount = file.getIndirectObjects().size();
+    parametersNumber = objectCount;
+    hintStreamNumber = objectCount + 1;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Serializes the linearized file body, from the linearization parameter dictionary to the end of
+    the file.
+    <p>The file header is expected to be already written into the stream.</p>
+
+    @param stream Target stream.
+  */
+  public void write(
+    IOutputStream stream
+    )
+  {
+    partition();
+    renumber();
+
+    file.setSerializationNumbers(serializationNumbers);
+    try
+    {writeSections(stream);}
+    finally
+    {file.setSerializationNumbers(null);}
+  }
+  // </public>
+
+  // <protected>
+  /**
+    Gets the total number of entries in the serialized cross-reference table.
+  */
+  protected int getSize(
+    )
+  {return size;}
+
+  /**
+    Gets the object number reserved to the specified cross-reference stream.
+    <p>Like the file's indirect objects, the cross-reference stream is renumbered on serialization;
+    its entry is included in the cross-reference section it belongs to.</p>
+
+    @param index Cross-reference stream index (0: main section; 1: first-page section).
+  */
+  protected int getXRefStreamNumber(
+    int index
+    )
+  {return objectCount + 2 + index;}
+
+  /**
+    Serializes the first-page cross-reference section along with its trailer [PDF:1.6:F.3.4].
+
+    @param stream Target stream.
+    @param offset Position of the section within the file.
+    @param entries Entries of the objects belonging to the first-page section.
+    @param mainXRefOffset Position of the main cross-reference section within the file.
+  */
+  protected abstract void writeFirstPageXRef(
+    IOutputStream stream,
+    long offset,
+    SortedMap<Integer,XRefEntry> entries,
+    long mainXRefOffset
+    );
+
+  /**
+    Serializes the main cross-reference section along with its trailer [PDF:1.6:F.3.11].
+
+    @param stream Target stream.
+    @param offset Position of the section within the file.
+    @param entries Entries of the objects outside the first-page section.
+    @param firstPageXRefOffset Position of the first-page cross-reference section within the file.
+    @return Position of the first entry of the section within the file.
+  */
+  protected abstract long writeMainXRef(
+    IOutputStream stream,
+    long offset,
+    SortedMap<Integer,XRefEntry> entries,
+    long firstPageXRefOffset
+    );
+  // </protected>
+
+  // <private>
+  /**
+    Collects the leaves of the page tree.
+
+    @param nodeObject Page tree node reference.
+    @param nodeNumbers Object numbers of the visited page tree nodes.
+    @param pages Page objects.
+  */
+  private void collectPages(
+    PdfDirectObject nodeObject,
+    BitSet nodeNumbers,
+    List<PdfIndirectObject> pages
+    )
+  {
+    if(!(nodeObject instanceof PdfReference))
+      return;
+
+    PdfIndirectObject node = ((PdfReference)nodeObject).getIndirectObject();
+    if(node == null
+      || !(node.getDataObject() instanceof PdfDictionary)
+      || nodeNumbers.get(node.getXrefEntry().getNumber())) // Cyclic page tree.
+      return;
+
+    nodeNumbers.set(node.getXrefEntry().getNumber());
+    PdfDataObject kidsObject = ((PdfDictionary)node.getDataObject()).resolve(PdfName.Kids);
+    if(kidsObject instanceof PdfArray)
+    {
+      for(PdfDirectObject kidObject : (PdfArray)kidsObject)
+      {collectPages(kidObject, nodeNumbers, pages);}
+    }
+    else
+    {pages.add(node);}
+  }
+
+  /**
+    Creates the primary hint stream [PDF:1.6:F.4].
+
+    @param bodyOffset Position of the first-page section, hint stream excluded.
+  */
+  private PdfStream createHintStream(
+    long bodyOffset,
+    long[] positions,
+    long[] lengths,
+    long[] pageBounds
+    )
+  {
+    HintTableBuilder builder = new HintTableBuilder();
+
+    int pageCount = pageSections.size();
+    /*
+      NOTE: The shared object hint table lists the whole first-page section first, followed by the
+      shared objects section [PDF:1.6:F.4.2].
+    */
+    List<PdfIndirectObject> sharedEntries = new ArrayList<PdfIndirectObject>();
+    if(pageCount > 0)
+    {sharedEntries.addAll(pageSections.get(0));}
+    int firstPageEntryCount = sharedEntries.size();
+    sharedEntries.addAll(sharedObjects.subList(firstPageSharedCount, sharedObjects.size()));
+
+    // 1. Page offset hint table [PDF:1.6:F.4.1].
+    {
+      int minObjectCount = Integer.MAX_VALUE, maxObjectCount = 0;
+      long minPageLength = Long.MAX_VALUE, maxPageLength = 0;
+      int maxSharedCount = 0;
+      for(int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+      {
+        int sectionObjectCount = pageSections.get(pageIndex).size();
+        minObjectCount = Math.min(minObjectCount, sectionObjectCount);
+        maxObjectCount = Math.max(maxObjectCount, sectionObjectCount);
+        long pageLength = pageBounds[pageIndex + 1] - pageBounds[pageIndex];
+        minPageLength = Math.min(minPageLength, pageLength);
+        maxPageLength = Math.max(maxPageLength, pageLength);
+        maxSharedCount = Math.max(maxSharedCount, pageSharedIds.get(pageIndex).length);
+      }
+      if(pageCount == 0)
+      {minObjectCount = 0; minPageLength = 0;}
+      int objectCountBits = getBitCount(maxObjectCount - minObjectCount);
+      int pageLengthBits = getBitCount(maxPageLength - minPageLength);
+      int sharedCountBits = getBitCount(maxSharedCount);
+      int sharedIdBits = getBitCount(Math.max(sharedEntries.size() - 1, 0));
+
+      // Header.
+      builder.write(minObjectCount, 32);
+      builder.write(bodyOffset + pageBounds[0], 32);
+      builder.write(objectCountBits, 16);
+      builder.write(minPageLength, 32);
+      builder.write(pageLengthBits, 16);
+      /*
+        NOTE: Content stream positions aren't tracked: like common practice, offsets are zeroed and
+        lengths span the whole page.
+      */
+      builder.write(0, 32);
+      builder.write(0, 16);
+      builder.write(minPageLength, 32);
+      builder.write(pageLengthBits, 16);
+      builder.write(sharedCountBits, 16);
+      builder.write(sharedIdBits, 16);
+      builder.write(0, 16);
+      builder.write(1, 16);
+
+      // Entries.
+      for(int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+      {builder.write(pageSections.get(pageIndex).size() - minObjectCount, objectCountBits);}
+      builder.align();
+      for(int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+      {builder.write(pageBounds[pageIndex + 1] - pageBounds[pageIndex] - minPageLength, pageLengthBits);}
+      builder.align();
+      for(int[] sharedIds : pageSharedIds)
+      {builder.write(sharedIds.length, sharedCountBits);}
+      builder.align();
+      for(int[] sharedIds : pageSharedIds)
+      {
+        for(int sharedId : sharedIds)
+        {builder.write(sharedId, sharedIdBits);}
+      }
+      builder.align();
+      for(int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+      {builder.write(pageBounds[pageIndex + 1] - pageBounds[pageIndex] - minPageLength, pageLengthBits);}
+      builder.align();
+    }
+
+    // 2. Shared object hint table [PDF:1.6:F.4.2].
+    int sharedTableOffset = (int)builder.getBuffer().getLength();
+    {
+      int entryCount = sharedEntries.size();
+      long minGroupLength = Long.MAX_VALUE, maxGroupLength = 0;
+      for(PdfIndirectObject object : sharedEntries)
+      {
+        long groupLength = lengths[object.getXrefEntry().getNumber()];
+        minGroupLength = Math.min(minGroupLength, groupLength);
+        maxGroupLength = Math.max(maxGroupLength, groupLength);
+      }
+      if(entryCount == 0)
+      {minGroupLength = 0;}
+      int groupLengthBits = getBitCount(maxGroupLength - minGroupLength);
+
+      // Header.
+      if(entryCount > firstPageEntryCount)
+      {
+        builder.write(serializationNumbers[sharedEntries.get(firstPageEntryCount).getXrefEntry().getNumber()], 32);
+        builder.write(bodyOffset + pageBounds[pageCount], 32);
+      }
+      else
+      {
+        builder.write(0, 32);
+        builder.write(0, 32);
+      }
+      builder.write(firstPageEntryCount, 32);
+      builder.write(entryCount, 32);
+      builder.write(0, 16); // NOTE: Each group contains a single object.
+      builder.write(minGroupLength, 32);
+      builder.write(groupLengthBits, 16);
+
+      // Entries.
+      for(PdfIndirectObject object : sharedEntries)
+      {builder.write(lengths[object.getXrefEntry().getNumber()] - minGroupLength, groupLengthBits);}
+      builder.align();
+      for(int index = 0; index < entryCount; index++)
+      {builder.write(0, 1);} // No signature.
+      builder.align();
+    }
+
+    return new PdfStream(
+      new PdfDictionary(
+        new PdfName[]{PdfName.S},
+        new PdfDirectObject[]{PdfInteger.get(sharedTableOffset)}
+        ),
+      builder.getBuffer()
+      );
+  }
+
+  /**
+    Gets whether the specified object has to be serialized.
+    <p>Object and cross-reference streams are dropped, as their contents are superseded by the
+    linearized structure.</p>
+  */
+  private boolean isWritable(
+    PdfIndirectObject object
+    )
+  {
+    if(!object.isInUse())
+      return false;
+
+    PdfDataObject dataObject = object.getDataObject();
+    return dataObject != null
+      && !(dataObject instanceof ObjectStream
+        || dataObject instanceof XRefStream);
+  }
+
+  /**
+    Assigns the indirect objects to the linearized sections [PDF:1.6:F.3].
+  */
+  private void partition(
+    )
+  {
+    IndirectObjects indirectObjects = file.getIndirectObjects();
+    catalog = ((PdfReference)file.getTrailer().get(PdfName.Root)).getIndirectObject();
+
+    // 1. Page tree.
+    /*
+      NOTE: Page tree nodes delimit the objects reachable from each page (parent and destination
+      references lead outside the page).
+    */
+    final BitSet boundaryNumbers = new BitSet(objectCount);
+    List<PdfIndirectObject> pages = new ArrayList<PdfIndirectObject>();
+    collectPages(((PdfDictionary)catalog.getDataObject()).get(PdfName.Pages), boundaryNumbers, pages);
+    boundaryNumbers.set(catalog.getXrefEntry().getNumber());
+
+    // 2. Objects reachable from each page.
+    final BitSet visitedNumbers = new BitSet(objectCount);
+    Visitor visitor = new Visitor()
+    {
+      @Override
+      @SuppressWarnings("unchecked")
+      public PdfObject visit(
+        PdfReference object,
+        Object data
+        )
+      {
+        PdfIndirectObject indirectObject = object.getIndirectObject();
+        if(indirectObject != null)
+        {
+          int number = indirectObject.getXrefEntry().getNumber();
+          if(!boundaryNumbers.get(number)
+            && !visitedNumbers.get(number)
+            && isWritable(indirectObject))
+          {
+            visitedNumbers.set(number);
+            ((List<PdfIndirectObject>)data).add(indirectObject);
+            indirectObject.accept(this, data);
+          }
+        }
+        return object;
+      }
+    };
+    int[] owners = new int[objectCount];
+    Arrays.fill(owners, NoOwner);
+    List<List<PdfIndirectObject>> pagesObjects = new ArrayList<List<PdfIndirectObject>>(pages.size());
+    for(int pageIndex = 0, pageCount = pages.size(); pageIndex < pageCount; pageIndex++)
+    {
+      PdfIndirectObject page = pages.get(pageIndex);
+      List<PdfIndirectObject> pageObjects = new ArrayList<PdfIndirectObject>();
+      pageObjects.add(page);
+      visitedNumbers.clear();
+      page.accept(visitor, pageObjects);
+      for(PdfIndirectObject object : pageObjects)
+      {
+        int number = object.getXrefEntry().getNumber();
+        if(owners[number] == NoOwner)
+        {owners[number] = pageIndex;}
+        else if(owners[number] != pageIndex)
+        {owners[number] = SharedOwner;}
+      }
+      pagesObjects.add(pageObjects);
+    }
+
+    // 3. Sections.
+    pageSections = new ArrayList<List<PdfIndirectObject>>(pages.size());
+    pageSharedIds = new ArrayList<int[]>(pages.size());
+    sharedObjects = new ArrayList<PdfIndirectObject>();
+    int[] sharedIds = new int[objectCount];
+    Arrays.fill(sharedIds, NoOwner);
+    for(int pageIndex = 0, pageCount = pages.size(); pageIndex < pageCount; pageIndex++)
+    {
+      List<PdfIndirectObject> pageSection = new ArrayList<PdfIndirectObject>();
+      List<PdfIndirectObject> pageObjects = pagesObjects.get(pageIndex);
+      int sharedCount = 0;
+      for(PdfIndirectObject object : pageObjects)
+      {
+        int number = object.getXrefEntry().getNumber();
+        if(owners[number] == pageIndex)
+        {pageSection.add(object);}
+        else
+        {
+          sharedCount++;
+          if(sharedIds[number] == NoOwner)
+          {
+            if(pageIndex == 0)
+            {
+              // Shared objects referenced by the first page belong to its section.
+              sharedIds[number] = pageSection.size();
+              pageSection.add(object);
+            }
+            else
+            {sharedIds[number] = pageSections.get(0).size() + sharedObjects.size() - firstPageSharedCount;}
+            sharedObjects.add(object);
+          }
+        }
+      }
+      if(pageIndex == 0)
+      {firstPageSharedCount = sharedObjects.size();}
+
+      int[] sharedReferences = new int[sharedCount];
+      int index = 0;
+      for(PdfIndirectObject object : pageObjects)
+      {
+        int number = object.getXrefEntry().getNumber();
+        if(owners[number] == SharedOwner)
+        {sharedReferences[index++] = sharedIds[number];}
+      }
+      pageSharedIds.add(sharedReferences);
+      pageSections.add(pageSection);
+    }
+
+    // 4. Other objects.
+    otherObjects = new ArrayList<PdfIndirectObject>();
+    int catalogNumber = catalog.getXrefEntry().getNumber();
+    for(int number = 1; number < objectCount; number++)
+    {
+      if(owners[number] == NoOwner
+        && number != catalogNumber)
+      {
+        PdfIndirectObject object = indirectObjects.get(number);
+        if(isWritable(object))
+        {otherObjects.add(object);}
+      }
+    }
+  }
+
+  /**
+    Puts the cross-reference entry of the specified object into the section it belongs to.
+
+    @param number Actual object number.
+    @param offset Position of the object within the file.
+  */
+  private void putXRefEntry(
+    int number,
+    long offset,
+    SortedMap<Integer,XRefEntry> mainEntries,
+    SortedMap<Integer,XRefEntry> firstPageEntries
+    )
+  {
+    int serializationNumber = serializationNumbers[number];
+    (serializationNumber < firstPageNumber ? mainEntries : firstPageEntries).put(
+      serializationNumber,
+      new XRefEntry(serializationNumber, 0, offset, XRefEntry.UsageEnum.InUse)
+      );
+  }
+
+  /**
+    Assigns the serialized object numbers in linearized order [PDF:1.6:F.3]: the objects outside
+    the first-page section come first, followed by the first-page section objects (linearization
+    parameter dictionary, first-page cross-reference stream, document catalog, primary hint stream and
+    first-page objects).
+  */
+  private void renumber(
+    )
+  {
+    serializationNumbers = new int[objectCount + 2 + xrefStreamCount];
+    int number = 0;
+
+    // 1. Main section.
+    for(int pageIndex = 1, pageCount = pageSections.size(); pageIndex < pageCount; pageIndex++)
+    {
+      for(PdfIndirectObject object : pageSections.get(pageIndex))
+      {serializationNumbers[object.getXrefEntry().getNumber()] = ++number;}
+    }
+    for(PdfIndirectObject object : sharedObjects.subList(firstPageSharedCount, sharedObjects.size()))
+    {serializationNumbers[object.getXrefEntry().getNumber()] = ++number;}
+    for(PdfIndirectObject object : otherObjects)
+    {serializationNumbers[object.getXrefEntry().getNumber()] = ++number;}
+    if(xrefStreamCount > 0)
+    {serializationNumbers[getXRefStreamNumber(0)] = ++number;}
+
+    // 2. First-page section.
+    firstPageNumber = number + 1;
+    serializationNumbers[parametersNumber] = ++number;
+    if(xrefStreamCount > 1)
+    {serializationNumbers[getXRefStreamNumber(1)] = ++number;}
+    serializationNumbers[catalog.getXrefEntry().getNumber()] = ++number;
+    serializationNumbers[hintStreamNumber] = ++number;
+    if(!pageSections.isEmpty())
+    {
+      for(PdfIndirectObject object : pageSections.get(0))
+      {serializationNumbers[object.getXrefEntry().getNumber()] = ++number;}
+    }
+
+    size = number + 1;
+  }
+
+  private void writeObject(
+    PdfIndirectObject object,
+    Buffer chunk,
+    long[] positions,
+    long[] lengths
+    )
+  {
+    int number = object.getXrefEntry().getNumber();
+    long position = chunk.getLength();
+    object.writeTo(chunk, file);
+    positions[number] = position;
+    lengths[number] = chunk.getLength() - position;
+  }
+
+  private void writeSections(
+    IOutputStream stream
+    )
+  {
+    // 1. Sections serialization (relative positions).
+    Buffer catalogChunk = new Buffer();
+    catalog.writeTo(catalogChunk, file);
+
+    Buffer bodyChunk = new Buffer();
+    long[] positions = new long[objectCount];
+    long[] lengths = new long[objectCount];
+    int pageCount = pageSections.size();
+    long[] pageBounds = new long[pageCount + 1];
+    for(int pageIndex = 0; pageIndex < pageCount; pageIndex++)
+    {
+      pageBounds[pageIndex] = bodyChunk.getLength();
+      for(PdfIndirectObject object : pageSections.get(pageIndex))
+      {writeObject(object, bodyChunk, positions, lengths);}
+    }
+    pageBounds[pageCount] = bodyChunk.getLength();
+    for(PdfIndirectObject object : sharedObjects.subList(firstPageSharedCount, sharedObjects.size()))
+    {writeObject(object, bodyChunk, positions, lengths);}
+    for(PdfIndirectObject object : otherObjects)
+    {writeObject(object, bodyChunk, positions, lengths);}
+
+    // 2. Layout.
+    /*
+      NOTE: The linearization parameter dictionary, the first-page cross-reference section and the
+      primary hint stream precede the objects they describe, so their lengths are iteratively
+      estimated until every part fits its slot (any leftover is padded with white-space).
+    */
+    long base = stream.getLength();
+    long parametersLength = 0, firstPageXRefLength = 0, hintStreamLength = 0;
+    while(true)
+    {
+      long firstPageXRefOffset = base + parametersLength;
+      long catalogOffset = firstPageXRefOffset + firstPageXRefLength;
+      long hintStreamOffset = catalogOffset + catalogChunk.getLength();
+      long bodyOffset = hintStreamOffset + hintStreamLength;
+      long mainXRefOffset = bodyOffset + bodyChunk.getLength();
+
+      // 2.1. Cross-reference entries.
+      SortedMap<Integer,XRefEntry> mainEntries = new TreeMap<Integer,XRefEntry>();
+      SortedMap<Integer,XRefEntry> firstPageEntries = new TreeMap<Integer,XRefEntry>();
+      {
+        mainEntries.put(0, new XRefEntry(0, XRefEntry.GenerationUnreusable, 0, XRefEntry.UsageEnum.Free));
+        int catalogNumber = catalog.getXrefEntry().getNumber();
+        for(int number = 1; number < objectCount; number++)
+        {
+          if(serializationNumbers[number] == 0) // Unserialized object.
+            continue;
+
+          putXRefEntry(
+            number,
+            number == catalogNumber ? catalogOffset : bodyOffset + positions[number],
+            mainEntries,
+            firstPageEntries
+            );
+        }
+        putXRefEntry(parametersNumber, base, mainEntries, firstPageEntries);
+        putXRefEntry(hintStreamNumber, hintStreamOffset, mainEntries, firstPageEntries);
+        if(xrefStreamCount > 0)
+        {putXRefEntry(getXRefStreamNumber(0), mainXRefOffset, mainEntries, firstPageEntries);}
+        if(xrefStreamCount > 1)
+        {putXRefEntry(getXRefStreamNumber(1), firstPageXRefOffset, mainEntries, firstPageEntries);}
+      }
+
+      // 2.2. Main cross-reference section.
+      Buffer mainXRefChunk = new Buffer();
+      long mainXRefFirstEntryOffset = writeMainXRef(mainXRefChunk, mainXRefOffset, mainEntries, firstPageXRefOffset);
+      long fileLength = mainXRefOffset + mainXRefChunk.getLength();
+
+      // 2.3. Primary hint stream.
+      /*
+        NOTE: Hint table offsets are computed as if the primary hint stream were absent
+        [PDF:1.6:F.4].
+      */
+      Buffer hintStreamChunk = new Buffer();
+      new PdfIndirectObject(
+        file,
+        createHintStream(hintStreamOffset, positions, lengths, pageBounds),
+        new XRefEntry(hintStreamNumber, 0, hintStreamOffset, XRefEntry.UsageEnum.InUse)
+        ).writeTo(hintStreamChunk, file);
+
+      // 2.4. First-page cross-reference section.
+      Buffer firstPageXRefChunk = new Buffer();
+      writeFirstPageXRef(firstPageXRefChunk, firstPageXRefOffset, firstPageEntries, mainXRefOffset);
+
+      // 2.5. Linearization parameter dictionary [PDF:1.6:F.2].
+      Buffer parametersChunk = new Buffer();
+      new PdfIndirectObject(
+        file,
+        new PdfDictionary(
+          new PdfName[]
+          {
+            PdfName.Linearized,
+            PdfName.L,
+            PdfName.H,
+            PdfName.O,
+            PdfName.E,
+            PdfName.N,
+            PdfName.T
+          },
+          new PdfDirectObject[]
+          {
+            PdfInteger.get(1),
+            PdfNumber.getInteger(fileLength),
+            new PdfArray(
+              PdfNumber.getInteger(hintStreamOffset),
+              PdfNumber.getInteger(hintStreamLength)
+              ),
+            PdfInteger.get(pageCount > 0 ? serializationNumbers[pageSections.get(0).get(0).getXrefEntry().getNumber()] : 0),
+            PdfNumber.getInteger(bodyOffset + pageBounds[pageCount > 0 ? 1 : 0]),
+            PdfInteger.get(pageCount),
+            PdfNumber.getInteger(mainXRefFirstEntryOffset)
+          }
+          ),
+        new XRefEntry(parametersNumber, 0, base, XRefEntry.UsageEnum.InUse)
+        ).writeTo(parametersChunk, file);
+
+      if(parametersChunk.getLength() <= parametersLength
+        && firstPageXRefChunk.getLength() <= firstPageXRefLength
+        && hintStreamChunk.getLength() <= hintStreamLength)
+      {
+        // 3. Serialization.
+        parametersChunk.writeTo(stream); pad(stream, parametersLength - parametersChunk.getLength());
+        firstPageXRefChunk.writeTo(stream); pad(stream, firstPageXRefLength - firstPageXRefChunk.getLength());
+        catalogChunk.writeTo(stream);
+        hintStreamChunk.writeTo(stream); pad(stream, hintStreamLength - hintStreamChunk.getLength());
+        bodyChunk.writeTo(stream);
+        mainXRefChunk.writeTo(stream);
+        break;
+      }
+
+      parametersLength = Math.max(parametersLength, parametersChunk.getLength());
+      firstPageXRefLength = Math.max(firstPageXRefLength, firstPageXRefChunk.getLength());
+      hintStreamLength = Math.max(hintStreamLength, hintStreamChunk.getLength());
+    }
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -89,12 +89,16 @@ public final class ObjectStream
     public PdfDataObject getDataObject(
       )
     {
-      if(dataObject == null)
+      // NOTE: The parser is shared among the entries.
+      synchronized(ObjectStream.this)
       {
-        parser.seek(offset); parser.moveNext();
-        dataObject = parser.parsePdfObject();
+        if(dataObject == null)
+        {
+          parser.seek(offset); parser.moveNext();
+          dataObject = parser.parsePdfObject();
+        }
+        return dataObject;
       }
-      return dataObject;
     }
   }
   // </classes>
@@ -331,7 +335,7 @@ public final class ObjectStream
     }
   }
 
-  private Map<Integer,ObjectEntry> getEntries(
+  private synchronized Map<Integer,ObjectEntry> getEntries(
     )
   {
     if(entries == null)
@@ -27,40 +27,30 @@
 
 package org.pdfclown.tokens;
 
-import java.text.DecimalFormat;
 import java.util.Map;
+import java.util.SortedMap;
 
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.files.IndirectObjects;
 import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfIndirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.objects.PdfReference;
-import org.pdfclown.util.NotImplementedException;
 
 /**
   PDF file writer implementing classic cross-reference table [PDF:1.6:3.4.3].
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2, 08/23/12
+  @version 0.2.0, 10/17/26
 */
 final class PlainWriter
   extends Writer
 {
   // <class>
-  // <static>
-  // <fields>
-  private static final byte[] TrailerChunk = Encoding.Pdf.encode(Keyword.Trailer + Symbol.LineFeed);
-  private static final String XRefChunk = Keyword.XRef + Symbol.LineFeed;
-  private static final String XRefEOLChunk = "" + Symbol.CarriageReturn + Symbol.LineFeed;
-
-  private static final DecimalFormat XRefGenerationFormatter = new DecimalFormat("00000");
-  private static final DecimalFormat XRefOffsetFormatter = new DecimalFormat("0000000000");
-  // </fields>
-  // </static>
-
   // <dynamic>
   // <constructors>
   PlainWriter(
@@ -169,7 +159,58 @@ final class PlainWriter
   @Override
   protected void writeLinearized(
     )
-  {throw new NotImplementedException();}
+  {
+    // 1. Header [PDF:1.6:3.4.1].
+    writeHeader();
+
+    // 2. Body, xref table sections and trailers [PDF:1.6:F.3].
+    final PdfDictionary trailer = file.getTrailer();
+    updateTrailer(trailer, stream);
+    new Linearizer(file, 0)
+    {
+      @Override
+      protected void writeFirstPageXRef(
+        IOutputStream stream,
+        long offset,
+        SortedMap<Integer,XRefEntry> entries,
+        long mainXRefOffset
+        )
+      {
+        stream.write(appendXRefSection(new StringBuilder(XRefChunk), entries).toString());
+
+        stream.write(TrailerChunk);
+        trailer.put(PdfName.Size, PdfInteger.get(getSize()));
+        trailer.put(PdfName.Prev, PdfNumber.getInteger(mainXRefOffset));
+        trailer.writeTo(stream, file); stream.write(Chunk.LineFeed);
+        trailer.remove(PdfName.Prev);
+
+        writeTail(stream, 0); // NOTE: The first-page trailer's startxref is ignored [PDF:1.6:F.3.4].
+      }
+
+      @Override
+      protected long writeMainXRef(
+        IOutputStream stream,
+        long offset,
+        SortedMap<Integer,XRefEntry> entries,
+        long firstPageXRefOffset
+        )
+      {
+        StringBuilder xrefBuilder = appendXRefSection(new StringBuilder(XRefChunk), entries);
+        stream.write(xrefBuilder.toString());
+
+        stream.write(TrailerChunk);
+        new PdfDictionary(
+          new PdfName[]{PdfName.Size},
+          new PdfDirectObject[]{PdfInteger.get(getSize())}
+          ).writeTo(stream, file); stream.write(Chunk.LineFeed);
+
+        writeTail(stream, firstPageXRefOffset);
+
+        // Line feed ending the first subsection indexer (that is preceding the first entry).
+        return offset + xrefBuilder.indexOf("" + Symbol.LineFeed, XRefChunk.length());
+      }
+    }.write(stream);
+  }
 
   @Override
   protected void writeStandard(
@@ -256,21 +297,59 @@ final class PlainWriter
     long offset
     )
   {
-    String usage;
-    switch(reference.getIndirectObject().getXrefEntry().getUsage())
+    return appendXRefEntry(
+      xrefBuilder,
+      offset,
+      reference.getGenerationNumber(),
+      reference.getIndirectObject().getXrefEntry().getUsage()
+      );
+  }
+
+  /**
+    Appends the cross-reference section to the specified builder, grouping contiguous entries into
+    subsections.
+
+    @param xrefBuilder Target builder.
+    @param entries Cross-reference section entries.
+  */
+  private StringBuilder appendXRefSection(
+    StringBuilder xrefBuilder,
+    SortedMap<Integer,XRefEntry> entries
+    )
+  {
+    StringBuilder xrefSubBuilder = new StringBuilder(); // Xref-table subsection builder.
+    int xrefSubCount = 0; // Xref-table subsection counter.
+    int prevNumber = 0; // Previous-entry object number.
+    for(XRefEntry entry : entries.values())
     {
-      case Free:
-        usage = Keyword.FreeXrefEntry;
-        break;
-      case InUse:
-        usage = Keyword.InUseXrefEntry;
-        break;
-      default: // Should NEVER happen.
-        throw new UnsupportedOperationException();
+      if(xrefSubCount > 0
+        && entry.getNumber() - prevNumber != 1) // Current subsection terminates.
+      {
+        appendXRefSubsection(
+          xrefBuilder,
+          prevNumber - xrefSubCount + 1,
+          xrefSubCount,
+          xrefSubBuilder
+          );
+        xrefSubBuilder.setLength(0);
+        xrefSubCount = 0;
+      }
+      xrefSubCount++;
+      prevNumber = entry.getNumber();
+
+      appendXRefEntry(
+        xrefSubBuilder,
+        entry.getOffset(),
+        entry.getGeneration(),
+        entry.getUsage()
+        );
     }
-    return xrefBuilder.append(XRefOffsetFormatter.format(offset)).append(Symbol.Space)
-      .append(XRefGenerationFormatter.format(reference.getGenerationNumber())).append(Symbol.Space)
-      .append(usage).append(XRefEOLChunk);
+    return appendXRefSubsection(
+      xrefBuilder,
+      prevNumber - xrefSubCount + 1,
+      xrefSubCount,
+      xrefSubBuilder
+      );
   }
 
   /**
@@ -289,20 +368,6 @@ final class PlainWriter
     )
   {return appendXRefSubsectionIndexer(xrefBuilder, firstObjectNumber, entryCount).append(xrefSubBuilder);}
 
-  /**
-    Appends the cross-reference subsection indexer to the specified builder.
-
-    @param xrefBuilder Target builder.
-    @param firstObjectNumber Object number of the first object in the subsection.
-    @param entryCount Number of entries in the subsection.
-  */
-  private StringBuilder appendXRefSubsectionIndexer(
-    StringBuilder xrefBuilder,
-    int firstObjectNumber,
-    int entryCount
-    )
-  {return xrefBuilder.append(firstObjectNumber).append(Symbol.Space).append(entryCount).append(Symbol.LineFeed);}
-
   /**
     Serializes the file trailer [PDF:1.6:3.4.4].
 
@@ -331,7 +396,7 @@ final class PlainWriter
     if(parser == null)
     {trailer.remove(PdfName.Prev);} // [FIX:0.0.4:5] It (wrongly) kept the 'Prev' entry of multiple-section xref tables.
     else
-    {trailer.put(PdfName.Prev, PdfInteger.get((int)parser.retrieveXRefOffset()));}
+    {trailer.put(PdfName.Prev, PdfNumber.getInteger(parser.retrieveXRefOffset()));}
     // Serialize its contents!
     trailer.writeTo(stream, file); stream.write(Chunk.LineFeed);
 
@@ -27,23 +27,32 @@ package org.pdfclown.tokens;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.pdfclown.Version;
+import org.pdfclown.bytes.IDuplicableInputStream;
 import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.files.File;
+import org.pdfclown.objects.PdfDataObject;
 import org.pdfclown.objects.PdfDictionary;
-import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
+import org.pdfclown.util.parsers.ParseException;
 import org.pdfclown.util.parsers.PostScriptParseException;
 import org.pdfclown.util.parsers.PostScriptParser.TokenTypeEnum;
 
 /**
   PDF file reader.
+  <p>Indirect objects can be {@link #parsePdfObject(XRefEntry) parsed} concurrently: in case the
+  source stream is {@link IDuplicableInputStream duplicable}, each parsing borrows an idle cursor
+  from a pool of parsers sharing the source data; otherwise, parsings are serialized on the source
+  stream.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.2.0, 03/10/15
+  @version 0.2.0, 10/17/26
 */
 public final class Reader
   implements Closeable
@@ -52,21 +61,33 @@ public final class Reader
   // <classes>
   public static final class FileInfo
   {
+    private final RecoveryReport recoveryReport;
     private final PdfDictionary trailer;
     private final Version version;
-    private final SortedMap<Integer,XRefEntry> xrefEntries;
+    private final XRefTable xrefEntries;
 
     FileInfo(
       Version version,
       PdfDictionary trailer,
-      SortedMap<Integer,XRefEntry> xrefEntries
+      XRefTable xrefEntries,
+      RecoveryReport recoveryReport
       )
     {
       this.version = version;
       this.trailer = trailer;
       this.xrefEntries = xrefEntries;
+      this.recoveryReport = recoveryReport;
     }
 
+    /**
+      Gets the report of the repairs applied to the file structure.
+
+      @return <code>null</code>, if the file structure is sound.
+    */
+    public RecoveryReport getRecoveryReport(
+      )
+    {return recoveryReport;}
+
     public PdfDictionary getTrailer(
       )
     {return trailer;}
@@ -75,14 +96,89 @@ public final class Reader
       )
     {return version;}
 
-    public SortedMap<Integer,XRefEntry> getXrefEntries(
+    public XRefTable getXrefEntries(
       )
     {return xrefEntries;}
   }
+
+  /**
+    Report of the repairs applied to a damaged file.
+    <p>In case the cross-reference information of a file is unreadable, it's rebuilt scanning the
+    file for indirect objects (see {@link Reader#readInfo()}).</p>
+  */
+  public static final class RecoveryReport
+  {
+    private final Throwable cause;
+    private final int compressedObjectCount;
+    private final int objectCount;
+    private final int redefinedObjectCount;
+    private final List<String> repairs;
+
+    private RecoveryReport(
+      Throwable cause,
+      XRefRebuilder rebuilder
+      )
+    {
+      this.cause = cause;
+      this.compressedObjectCount = rebuilder.getCompressedObjectCount();
+      this.objectCount = rebuilder.getObjectCount();
+      this.redefinedObjectCount = rebuilder.getRedefinedObjectCount();
+      this.repairs = Collections.unmodifiableList(rebuilder.getRepairs());
+    }
+
+    /**
+      Gets the failure which triggered the recovery.
+    */
+    public Throwable getCause(
+      )
+    {return cause;}
+
+    /**
+      Gets the number of recovered objects compressed within object streams.
+    */
+    public int getCompressedObjectCount(
+      )
+    {return compressedObjectCount;}
+
+    /**
+      Gets the number of recovered uncompressed objects.
+    */
+    public int getObjectCount(
+      )
+    {return objectCount;}
+
+    /**
+      Gets the number of objects defined multiple times (in which case the last definition wins).
+    */
+    public int getRedefinedObjectCount(
+      )
+    {return redefinedObjectCount;}
+
+    /**
+      Gets the descriptions of the applied repairs.
+    */
+    public List<String> getRepairs(
+      )
+    {return repairs;}
+
+    @Override
+    public String toString(
+      )
+    {
+      StringBuilder buffer = new StringBuilder("File structure recovered after failure: ").append(cause.getMessage());
+      for(String repair : repairs)
+      {buffer.append("\n  ").append(repair);}
+      return buffer.toString();
+    }
+  }
   // </classes>
 
   // <dynamic>
   // <fields>
+  /**
+    Idle parsers over duplicates of the source stream.
+  */
+  private final Queue<FileParser> cursors = new ConcurrentLinkedQueue<FileParser>();
   private FileParser parser;
   // </fields>
 
@@ -104,20 +200,124 @@ public final class Reader
     )
   {return parser.hashCode();}
 
+  /**
+    Gets the parser over the source stream.
+    <p>As its position is shared, this parser isn't meant for concurrent use: to parse indirect
+    objects, {@link #parsePdfObject(XRefEntry)} should be preferred.</p>
+  */
   public FileParser getParser(
     )
   {return parser;}
 
+  /**
+    Parses the specified PDF indirect object [PDF:1.6:3.2.9].
+    <p>This method is thread-safe.</p>
+
+    @param xrefEntry
+      Cross-reference entry of the indirect object to parse.
+  */
+  public PdfDataObject parsePdfObject(
+    XRefEntry xrefEntry
+    )
+  {
+    IInputStream stream = parser.getStream();
+    if(!(stream instanceof IDuplicableInputStream))
+    {
+      synchronized(stream)
+      {
+        /*
+          NOTE: Nested parsings (like indirect stream lengths) share the same parser, so its position
+          has to be restored on return.
+        */
+        long oldPosition = stream.getPosition();
+        try
+        {return parser.parsePdfObject(xrefEntry);}
+        finally
+        {parser.seek(oldPosition);}
+      }
+    }
+
+    FileParser cursor = cursors.poll();
+    if(cursor == null)
+    {cursor = new FileParser(((IDuplicableInputStream)stream).duplicate(), parser.getFile(), stream);}
+    try
+    {return cursor.parsePdfObject(xrefEntry);}
+    finally
+    {cursors.offer(cursor);}
+  }
+
   /**
     Retrieves the file information.
+    <p>In case the cross-reference information is unreadable (damaged file), it's rebuilt scanning
+    the file for indirect objects (see {@link FileInfo#getRecoveryReport()}).</p>
   */
   public FileInfo readInfo(
     )
   {
-//TODO:hybrid xref table/stream
     Version version = Version.get(parser.retrieveVersion());
+    try
+    {return readInfo(version);}
+    catch(RuntimeException e)
+    {
+      XRefRebuilder rebuilder = new XRefRebuilder(parser);
+      try
+      {rebuilder.rebuild(Runtime.getRuntime().availableProcessors());}
+      catch(RuntimeException rebuildException)
+      {
+        e.addSuppressed(rebuildException);
+        throw e;
+      }
+      return new FileInfo(
+        version,
+        rebuilder.getTrailer(),
+        rebuilder.getXRefEntries(),
+        new RecoveryReport(e, rebuilder)
+        );
+    }
+  }
+
+
+  // <Closeable>
+  @Override
+  public void close(
+    ) throws IOException
+  {
+    if(parser != null)
+    {
+      FileParser cursor;
+      while((cursor = cursors.poll()) != null)
+      {cursor.close();}
+
+      parser.close();
+      parser = null;
+    }
+  }
+  // </Closeable>
+  // </public>
+
+  // <protected>
+  @Override
+  protected void finalize(
+    ) throws Throwable
+  {
+    try
+    {close();}
+    finally
+    {super.finalize();}
+  }
+  // </protected>
+
+  // <private>
+  /**
+    Reads the cross-reference information of the file.
+  */
+  private FileInfo readInfo(
+    Version version
+    )
+  {
+//TODO:hybrid xref table/stream
     PdfDictionary trailer = null;
-    SortedMap<Integer,XRefEntry> xrefEntries = new TreeMap<Integer,XRefEntry>();
+    XRefTable xrefEntries = new XRefTable();
     {
       long sectionOffset = parser.retrieveXRefOffset();
       while(sectionOffset > -1)
@@ -126,7 +326,8 @@ public final class Reader
         parser.seek(sectionOffset);
 
         PdfDictionary sectionTrailer;
-        if(parser.getToken(1).equals(Keyword.XRef)) // XRef-table section.
+        parser.moveNext();
+        if(parser.tokenEquals(Keyword.XRef)) // XRef-table section.
         {
           // Looping sequentially across the subsections inside the current xref-table section...
           while(true)
@@ -139,13 +340,13 @@ public final class Reader
             // 1. First object number.
             parser.moveNext();
             if((parser.getTokenType() == TokenTypeEnum.Keyword)
-                && parser.getToken().equals(Keyword.Trailer)) // XRef-table section ended.
+                && parser.tokenEquals(Keyword.Trailer)) // XRef-table section ended.
               break;
             else if(parser.getTokenType() != TokenTypeEnum.Integer)
               throw new PostScriptParseException("Neither object number of the first object in this xref subsection nor end of xref section found.", parser);
 
             // Get the object number of the first object in this xref-table subsection!
-            int startObjectNumber = (Integer)parser.getToken();
+            int startObjectNumber = parser.getIntToken();
 
             // 2. Last object number.
             parser.moveNext();
@@ -153,7 +354,7 @@ public final class Reader
               throw new PostScriptParseException("Number of entries in this xref subsection not found.", parser);
 
             // Get the object number of the last object in this xref-table subsection!
-            int endObjectNumber = (Integer)parser.getToken() + startObjectNumber;
+            int endObjectNumber = parser.getIntToken() + startObjectNumber;
 
             // 3. XRef-table subsection entries.
             for(
@@ -162,7 +363,7 @@ public final class Reader
               index++
               )
             {
-              if(xrefEntries.containsKey(index)) // Already-defined entry.
+              if(xrefEntries.contains(index)) // Already-defined entry.
               {
                 // Skip to the next entry!
                 parser.moveNext(3);
@@ -170,31 +371,25 @@ public final class Reader
               }
 
               // Get the indirect object offset!
-              int offset = (Integer)parser.getToken(1);
+              parser.moveNext();
+              long offset = parser.getLongToken();
               // Get the object generation number!
-              int generation = (Integer)parser.getToken(1);
+              parser.moveNext();
+              int generation = parser.getIntToken();
               // Get the usage tag!
               XRefEntry.UsageEnum usage;
               {
-                String usageToken = (String)parser.getToken(1);
-                if(usageToken.equals(Keyword.InUseXrefEntry))
+                parser.moveNext();
+                if(parser.tokenEquals(Keyword.InUseXrefEntry))
                   usage = XRefEntry.UsageEnum.InUse;
-                else if(usageToken.equals(Keyword.FreeXrefEntry))
+                else if(parser.tokenEquals(Keyword.FreeXrefEntry))
                   usage = XRefEntry.UsageEnum.Free;
                 else
                   throw new PostScriptParseException("Invalid xref entry.", parser);
               }
 
               // Define entry!
-              xrefEntries.put(
-                index,
-                new XRefEntry(
-                  index,
-                  generation,
-                  offset,
-                  usage
-                  )
-                );
+              xrefEntries.put(index, generation, offset, usage);
             }
           }
 
@@ -205,14 +400,7 @@ public final class Reader
         {
           XRefStream stream = (XRefStream)parser.parsePdfObject(3); // Gets the xref stream skipping the indirect-object header.
           // XRef-stream subsection entries.
-          for(XRefEntry xrefEntry : stream.values())
-          {
-            if(xrefEntries.containsKey(xrefEntry.getNumber())) // Already-defined entry.
-              continue;
-
-            // Define entry!
-            xrefEntries.put(xrefEntry.getNumber(), xrefEntry);
-          }
+          stream.readEntries(xrefEntries);
 
           // Get the previous trailer!
           sectionTrailer = stream.getHeader();
@@ -222,38 +410,16 @@ public final class Reader
         {trailer = sectionTrailer;}
 
         // Get the previous xref-table section's offset!
-        PdfInteger prevXRefOffset = (PdfInteger)sectionTrailer.get(PdfName.Prev);
-        sectionOffset = (prevXRefOffset != null ? prevXRefOffset.getValue() : -1);
+        PdfNumber<?> prevXRefOffset = (PdfNumber<?>)sectionTrailer.get(PdfName.Prev);
+        sectionOffset = (prevXRefOffset != null ? prevXRefOffset.getLongValue() : -1);
       }
     }
-    return new FileInfo(version, trailer, xrefEntries);
-  }
-
-  // <Closeable>
-  @Override
-  public void close(
-    ) throws IOException
-  {
-    if(parser != null)
-    {
-      parser.close();
-      parser = null;
-    }
-  }
-  // </Closeable>
-  // </public>
+    if(trailer == null || trailer.get(PdfName.Root) == null)
+      throw new ParseException("Document catalog reference not found.");
 
-  // <protected>
-  @Override
-  protected void finalize(
-    ) throws Throwable
-  {
-    try
-    {close();}
-    finally
-    {super.finalize();}
+    return new FileInfo(version, trailer, xrefEntries, null);
   }
-  // </protected>
+  // </private>
   // </interface>
   // </dynamic>
   // </class>
@@ -0,0 +1,370 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.tokens;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.pdfclown.bytes.IOutputStream;
+import org.pdfclown.files.File;
+import org.pdfclown.files.IndirectObjects;
+import org.pdfclown.files.SerializationModeEnum;
+import org.pdfclown.files.XRefModeEnum;
+import org.pdfclown.objects.IPdfObjectWrapper;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfObject;
+import org.pdfclown.objects.PdfReference;
+import org.pdfclown.objects.Visitor;
+
+/**
+  PDF file writer serializing indirect objects as soon as they are complete [PDF:1.6:3.4].
+  <p>The file is written append-only: the header is written on instantiation, the objects reachable
+  from a {@link #flush(IPdfObjectWrapper) flushed} object (typically a page along with its contents
+  and resources) are written and released from memory, while the remaining objects (page tree,
+  document catalog, shared resources...), the cross-reference section and the trailer are written
+  on {@link #close() closing}. This way, memory consumption doesn't grow with the number of pages.
+  </p>
+  <p>As the header is written upfront, the {@link org.pdfclown.documents.Document#getVersion()
+  document version} has to be set before instantiation. Flushed objects cannot be accessed anymore;
+  objects shared among multiple pages are left in memory only if they are cached by the document
+  (like fonts), so any other object meant to be shared has to be flushed after its last use.</p>
+  <p>It's caller responsibility to close the target stream after this writer is closed.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+public final class StreamingWriter
+  extends Writer
+  implements Closeable
+{
+  // <class>
+  // <dynamic>
+  // <fields>
+  private boolean closed;
+  /**
+    Generation numbers of the written indirect objects, indexed by object number.
+  */
+  private int[] generations = new int[256];
+  /**
+    Offsets of the written indirect objects (<code>0</code> if not written yet), indexed by object
+    number.
+  */
+  private long[] offsets = new long[256];
+  // </fields>
+
+  // <constructors>
+  /**
+    @param file File to serialize.
+    @param stream Target stream.
+    @see File#saveStreaming(IOutputStream)
+  */
+  public StreamingWriter(
+    File file,
+    IOutputStream stream
+    )
+  {
+    super(file, stream);
+
+    // Header [PDF:1.6:3.4.1].
+    writeHeader();
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Completes the serialization, writing the objects not flushed yet, the cross-reference section
+    and the trailer.
+  */
+  @Override
+  public void close(
+    ) throws IOException
+  {
+    if(closed)
+      return;
+
+    write(SerializationModeEnum.Standard);
+    closed = true;
+  }
+
+  /**
+    Writes the specified object, along with the objects reachable from it, releasing them from
+    memory.
+    <p>Page tree nodes, the document catalog and objects cached by the document (like fonts) are
+    skipped, as they may still change or be needed later.</p>
+
+    @param object Object to flush (typically a page).
+  */
+  public void flush(
+    IPdfObjectWrapper object
+    )
+  {flush(object.getBaseObject());}
+
+  /**
+    Writes the specified object, along with the objects reachable from it, releasing them from
+    memory.
+
+    @param object Object to flush.
+    @see #flush(IPdfObjectWrapper)
+  */
+  public void flush(
+    PdfDirectObject object
+    )
+  {
+    if(closed)
+      throw new IllegalStateException("Writer already closed.");
+
+    // 1. Objects to write.
+    final PdfIndirectObject rootObject = (object instanceof PdfReference ? ((PdfReference)object).getIndirectObject() : null);
+    final BitSet visitedNumbers = new BitSet();
+    List<PdfIndirectObject> objects = new ArrayList<PdfIndirectObject>();
+    Visitor visitor = new Visitor()
+    {
+      @Override
+      @SuppressWarnings("unchecked")
+      public PdfObject visit(
+        PdfReference object,
+        Object data
+        )
+      {
+        PdfIndirectObject indirectObject = object.getIndirectObject();
+        if(indirectObject != null)
+        {
+          int number = indirectObject.getReference().getObjectNumber();
+          if(!visitedNumbers.get(number)
+            && !isWritten(number)
+            && indirectObject.isInUse()
+            && (indirectObject == rootObject || !isRetained(indirectObject)))
+          {
+            visitedNumbers.set(number);
+            ((List<PdfIndirectObject>)data).add(indirectObject);
+            indirectObject.accept(this, data);
+          }
+        }
+        return object;
+      }
+    };
+    object.accept(visitor, objects);
+
+    // 2. Serialization.
+    IndirectObjects indirectObjects = file.getIndirectObjects();
+    for(PdfIndirectObject indirectObject : objects)
+    {writeObject(indirectObject);}
+    for(PdfIndirectObject indirectObject : objects)
+    {indirectObjects.release(indirectObject);}
+  }
+  // </public>
+
+  // <protected>
+  @Override
+  protected void writeIncremental(
+    )
+  {throw new UnsupportedOperationException("Incremental serialization cannot be streamed.");}
+
+  @Override
+  protected void writeLinearized(
+    )
+  {throw new UnsupportedOperationException("Linearized serialization cannot be streamed.");}
+
+  @Override
+  protected void writeStandard(
+    )
+  {
+    // 1. Body [PDF:1.6:3.4.2] (remaining objects).
+    IndirectObjects indirectObjects = file.getIndirectObjects();
+    int xrefSize = indirectObjects.size();
+    for(int number = 1; number < xrefSize; number++)
+    {
+      if(isWritten(number))
+        continue;
+
+      PdfIndirectObject indirectObject = indirectObjects.get(number);
+      if(indirectObject.isInUse())
+      {writeObject(indirectObject);}
+    }
+
+    // 2. Cross-reference section [PDF:1.6:3.4.3,7] and trailer [PDF:1.6:3.4.4].
+    if(file.getConfiguration().getXRefMode() == XRefModeEnum.Compressed)
+    {writeXRefStream(xrefSize);}
+    else
+    {writeXRefTable(xrefSize);}
+  }
+  // </protected>
+
+  // <private>
+  /**
+    Gets whether the specified object has to be kept in memory (as it may still change or be shared
+    among pages).
+  */
+  private boolean isRetained(
+    PdfIndirectObject object
+    )
+  {
+    if(object.getReference().equals(file.getTrailer().get(PdfName.Root))
+      || file.getDocument().cache.containsKey(object.getReference()))
+      return true;
+
+    PdfDataObject dataObject = object.getDataObject();
+    if(dataObject instanceof PdfDictionary)
+    {
+      PdfDirectObject type = ((PdfDictionary)dataObject).get(PdfName.Type);
+      return PdfName.Page.equals(type) || PdfName.Pages.equals(type);
+    }
+    return false;
+  }
+
+  private boolean isWritten(
+    int number
+    )
+  {return number < offsets.length && offsets[number] > 0;}
+
+  private void writeObject(
+    PdfIndirectObject object
+    )
+  {
+    int number = object.getReference().getObjectNumber();
+    if(number >= offsets.length)
+    {
+      int length = Math.max(number + 1, offsets.length * 2);
+      offsets = Arrays.copyOf(offsets, length);
+      generations = Arrays.copyOf(generations, length);
+    }
+    offsets[number] = stream.getLength();
+    generations[number] = object.getReference().getGenerationNumber();
+    object.writeTo(stream, file);
+  }
+
+  /**
+    Serializes the cross-reference stream [PDF:1.6:3.4.7].
+
+    @param xrefSize Number of indirect objects.
+  */
+  private void writeXRefStream(
+    int xrefSize
+    )
+  {
+    XRefStream xrefStream = new XRefStream(file);
+    XRefEntry prevFreeEntry = null;
+    for(int number = 0; number < xrefSize; number++)
+    {
+      XRefEntry xrefEntry;
+      if(isWritten(number))
+      {
+        xrefEntry = new XRefEntry(
+          number,
+          generations[number],
+          offsets[number],
+          XRefEntry.UsageEnum.InUse
+          );
+      }
+      else
+      {
+        xrefEntry = new XRefEntry(
+          number,
+          XRefEntry.GenerationUnreusable,
+          0, // Links back to the first free object.
+          XRefEntry.UsageEnum.Free
+          );
+        if(prevFreeEntry != null)
+        {prevFreeEntry.setOffset(number);} // Object number of the next free object.
+        prevFreeEntry = xrefEntry;
+      }
+      xrefStream.put(number, xrefEntry);
+    }
+
+    updateTrailer(xrefStream.getHeader(), stream);
+    XRefEntry xrefStreamEntry = new XRefEntry(xrefSize, 0, stream.getLength(), XRefEntry.UsageEnum.InUse);
+    xrefStream.put(xrefSize, xrefStreamEntry);
+    /*
+      NOTE: This xref stream indirect object is purposely temporary (i.e. not registered into the
+      file's indirect objects collection).
+    */
+    new PdfIndirectObject(file, xrefStream, xrefStreamEntry).writeTo(stream, file);
+
+    writeTail(xrefStreamEntry.getOffset());
+  }
+
+  /**
+    Serializes the cross-reference table [PDF:1.6:3.4.3] along with the trailer [PDF:1.6:3.4.4].
+
+    @param xrefSize Number of indirect objects.
+  */
+  private void writeXRefTable(
+    int xrefSize
+    )
+  {
+    long startxref = stream.getLength();
+    {
+      StringBuilder xrefBuilder = new StringBuilder(XRefChunk);
+      appendXRefSubsectionIndexer(xrefBuilder, 0, xrefSize);
+      for(int number = 0; number < xrefSize; number++)
+      {
+        if(isWritten(number))
+        {appendXRefEntry(xrefBuilder, offsets[number], generations[number], XRefEntry.UsageEnum.InUse);}
+        else
+        {
+          /*
+            NOTE: Free entries are arrayed as a linked list, so each one refers to the next one (the
+            last one links back to the first free object).
+          */
+          int nextFreeNumber = number + 1;
+          while(nextFreeNumber < xrefSize && isWritten(nextFreeNumber))
+          {nextFreeNumber++;}
+          appendXRefEntry(
+            xrefBuilder,
+            nextFreeNumber < xrefSize ? nextFreeNumber : 0,
+            XRefEntry.GenerationUnreusable,
+            XRefEntry.UsageEnum.Free
+            );
+        }
+      }
+      stream.write(xrefBuilder.toString());
+    }
+
+    stream.write(TrailerChunk);
+    PdfDictionary trailer = file.getTrailer();
+    updateTrailer(trailer, stream);
+    trailer.put(PdfName.Size, PdfInteger.get(xrefSize));
+    trailer.remove(PdfName.Prev);
+    trailer.writeTo(stream, file); stream.write(Chunk.LineFeed);
+
+    writeTail(startxref);
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
@@ -26,6 +26,7 @@
 package org.pdfclown.tokens;
 
 import org.pdfclown.bytes.IOutputStream;
+import org.pdfclown.documents.contents.fonts.Font;
 import org.pdfclown.files.File;
 import org.pdfclown.files.FileIdentifier;
 import org.pdfclown.files.SerializationModeEnum;
@@ -36,7 +37,7 @@ import org.pdfclown.objects.PdfName;
   PDF file writer.
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2.1, 03/30/15
+  @version 0.2.0, 10/17/26
 */
 public abstract class Writer
 {
@@ -47,6 +48,14 @@ public abstract class Writer
   private static final byte[] EOFChunk = Encoding.Pdf.encode(Symbol.LineFeed + Keyword.EOF + Symbol.CarriageReturn + Symbol.LineFeed);
   private static final byte[] HeaderBinaryHintChunk = new byte[]{(byte)Symbol.LineFeed,(byte)Symbol.Percent,(byte)0x80,(byte)0x80,(byte)0x80,(byte)0x80,(byte)Symbol.LineFeed}; // NOTE: Arbitrary binary characters (code >= 128) for ensuring proper behavior of file transfer applications [PDF:1.6:3.4.1].
   private static final byte[] StartXRefChunk = Encoding.Pdf.encode(Keyword.StartXRef + Symbol.LineFeed);
+  private static final String XRefEOLChunk = "" + Symbol.CarriageReturn + Symbol.LineFeed;
+  /**
+    Maximum offset representable by the fixed-width entries of xref tables.
+  */
+  private static final long XRefOffsetMax = 9999999999L;
+
+  protected static final byte[] TrailerChunk = Encoding.Pdf.encode(Keyword.Trailer + Symbol.LineFeed);
+  protected static final String XRefChunk = Keyword.XRef + Symbol.LineFeed;
   // </fields>
 
   // <interface>
@@ -74,6 +83,76 @@ public abstract class Writer
     }
   }
   // </public>
+
+  // <protected>
+  /**
+    Appends an xref-table entry [PDF:1.6:3.4.3] to the specified builder.
+
+    @param xrefBuilder Target builder.
+    @param offset Indirect-object byte offset (in-use entry), or the next free-object object number
+      (free entry).
+    @param generation Generation number.
+    @param usage Usage state.
+    @throws UnsupportedOperationException If the entry can't be represented in an xref table.
+  */
+  protected static StringBuilder appendXRefEntry(
+    StringBuilder xrefBuilder,
+    long offset,
+    int generation,
+    XRefEntry.UsageEnum usage
+    )
+  {
+    String usageChunk;
+    switch(usage)
+    {
+      case Free:
+        usageChunk = Keyword.FreeXrefEntry;
+        break;
+      case InUse:
+        usageChunk = Keyword.InUseXrefEntry;
+        break;
+      default: // Should NEVER happen.
+        throw new UnsupportedOperationException();
+    }
+    if(offset > XRefOffsetMax)
+      throw new UnsupportedOperationException("Offset " + offset + " exceeds the xref-table capacity: use the compressed xref mode instead.");
+
+    appendDigits(xrefBuilder, offset, 10).append(Symbol.Space);
+    appendDigits(xrefBuilder, generation, 5).append(Symbol.Space);
+    return xrefBuilder.append(usageChunk).append(XRefEOLChunk);
+  }
+
+  /**
+    Appends an xref-table subsection indexer [PDF:1.6:3.4.3] to the specified builder.
+
+    @param xrefBuilder Target builder.
+    @param firstObjectNumber Object number of the first object in the subsection.
+    @param entryCount Number of entries in the subsection.
+  */
+  protected static StringBuilder appendXRefSubsectionIndexer(
+    StringBuilder xrefBuilder,
+    int firstObjectNumber,
+    int entryCount
+    )
+  {return xrefBuilder.append(firstObjectNumber).append(Symbol.Space).append(entryCount).append(Symbol.LineFeed);}
+  // </protected>
+
+  // <private>
+  /**
+    Appends the specified non-negative value zero-padded to the specified length.
+  */
+  private static StringBuilder appendDigits(
+    StringBuilder builder,
+    long value,
+    int length
+    )
+  {
+    String digits = Long.toString(value);
+    for(int index = digits.length(); index < length; index++)
+    {builder.append('0');}
+    return builder.append(digits);
+  }
+  // </private>
   // </interface>
   // </static>
 
@@ -119,15 +198,30 @@ public abstract class Writer
     SerializationModeEnum mode
     )
   {
+    // Font completion.
+    /*
+      NOTE: Some font structures (like subset font programs) depend on the text encoded so far, so
+      they are completed just before serialization.
+    */
+    for(Object cachedObject : file.getDocument().cache.values())
+    {
+      if(cachedObject instanceof Font)
+      {((Font)cachedObject).onSave();}
+    }
+
     switch(mode)
     {
       case Incremental:
-        if(file.getReader() != null)
+        if(file.getReader() != null
+          && file.getRecoveryReport() == null)
         {
           writeIncremental();
           break;
         }
-        // If the file is new (no reader), fall through to Standard!
+        /*
+          If the file is new (no reader) or damaged (its original cross-reference information is
+          broken, so it cannot be extended), fall through to Standard!
+        */
       case Standard:
         writeStandard();
         break;
@@ -193,6 +287,19 @@ public abstract class Writer
   protected final void writeTail(
     long startxref
     )
+  {writeTail(stream, startxref);}
+
+  /**
+    Serializes the end of the file [PDF:1.6:3.4.4] into the specified stream.
+
+    @param stream Target stream.
+    @param startxref Byte offset from the beginning of the file to the beginning
+      of the last cross-reference section.
+  */
+  protected final void writeTail(
+    IOutputStream stream,
+    long startxref
+    )
   {
     stream.write(StartXRefChunk);
     stream.write(Long.toString(startxref));
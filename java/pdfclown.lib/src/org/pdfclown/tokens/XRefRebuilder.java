@@ -0,0 +1,822 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.tokens;
+
+import java.io.EOFException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.pdfclown.bytes.IBuffer;
+import org.pdfclown.bytes.IDuplicableInputStream;
+import org.pdfclown.bytes.IInputStream;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfReference;
+import org.pdfclown.objects.PdfStream;
+import org.pdfclown.util.parsers.ParseException;
+
+/**
+  Cross-reference table rebuilder for damaged files.
+  <p>The cross-reference information is reconstructed scanning the whole file for indirect-object
+  headers ({@code N G obj}); the file is split into chunks which are scanned in parallel, then
+  merged in file order, so that the last definition of each object wins (consistently with
+  incremental updates). Objects compressed within object streams [PDF:1.6:3.4.6] are recovered
+  too, as well as the trailer (falling back to the document catalog, in case no usable trailer is
+  found).</p>
+  <p>Recovered objects exposed to damage (that is, the object at the end of the file, which may be
+  truncated, and the objects referenced by the trailer) are checked to be parseable: broken ones
+  are dropped.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+final class XRefRebuilder
+{
+  // <class>
+  // <classes>
+  /**
+    Scan results of a file chunk.
+  */
+  private static final class ChunkResult
+  {
+    /**
+      Offsets of the <code>/Catalog</code> name occurrences.
+    */
+    final LongList catalogOffsets = new LongList();
+    final IntList headerGenerations = new IntList();
+    final IntList headerNumbers = new IntList();
+    /**
+      Offsets of the indirect-object headers.
+    */
+    final LongList headerOffsets = new LongList();
+    /**
+      Offsets of the <code>/ObjStm</code> name occurrences.
+    */
+    final LongList objectStreamOffsets = new LongList();
+    /**
+      Offsets of the <code>trailer</code> keyword occurrences.
+    */
+    final LongList trailerOffsets = new LongList();
+    /**
+      Offsets of the <code>/XRef</code> name occurrences.
+    */
+    final LongList xrefStreamOffsets = new LongList();
+  }
+
+  /**
+    File chunk scanner.
+  */
+  private static final class ChunkTask
+    implements Callable<ChunkResult>
+  {
+    private final long end;
+    private final long start;
+    private final IInputStream stream;
+
+    ChunkTask(
+      IInputStream stream,
+      long start,
+      long end
+      )
+    {
+      this.stream = stream;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public ChunkResult call(
+      ) throws EOFException
+    {
+      /*
+        NOTE: Chunk data are padded on both sides, so that tokens straddling the chunk boundaries
+        are caught by the chunk in which they start.
+      */
+      long length = stream.getLength();
+      long dataOffset = Math.max(start - ChunkPadding, 0);
+      byte[] data = new byte[(int)(Math.min(end + ChunkPadding, length) - dataOffset)];
+      if(stream instanceof IDuplicableInputStream)
+      {
+        IInputStream cursor = ((IDuplicableInputStream)stream).duplicate();
+        cursor.seek(dataOffset);
+        cursor.read(data);
+      }
+      else
+      {
+        synchronized(stream)
+        {
+          long oldPosition = stream.getPosition();
+          stream.seek(dataOffset);
+          stream.read(data);
+          stream.seek(oldPosition);
+        }
+      }
+
+      ChunkResult result = new ChunkResult();
+      int fromIndex = (int)(start - dataOffset);
+      int toIndex = (int)(end - dataOffset);
+      boolean fileEnd = (dataOffset + data.length == length);
+      for(int index = fromIndex, dataLength = data.length; index < dataLength; index++)
+      {
+        switch(data[index])
+        {
+          case 'o':
+          {
+            if(!matches(data, index, BeginIndirectObjectBytes, fileEnd)
+              || (index > 0 && !isWhitespace(data[index - 1])))
+              break;
+
+            // Generation number.
+            int numberIndex = index - 1;
+            while(numberIndex >= 0 && isWhitespace(data[numberIndex]))
+            {numberIndex--;}
+            int generationEnd = numberIndex + 1;
+            while(numberIndex >= 0 && isDigit(data[numberIndex]))
+            {numberIndex--;}
+            int generationStart = numberIndex + 1;
+            if(generationStart == generationEnd
+              || generationEnd - generationStart > MaxGenerationLength)
+              break;
+
+            // Object number.
+            int whitespaceEnd = numberIndex + 1;
+            while(numberIndex >= 0 && isWhitespace(data[numberIndex]))
+            {numberIndex--;}
+            if(numberIndex + 1 == whitespaceEnd)
+              break;
+
+            int numberEnd = numberIndex + 1;
+            while(numberIndex >= 0 && isDigit(data[numberIndex]))
+            {numberIndex--;}
+            int numberStart = numberIndex + 1;
+            if(numberStart == numberEnd
+              || numberEnd - numberStart > MaxNumberLength
+              || (numberStart > 0 && isRegular(data[numberStart - 1])))
+              break;
+
+            long number = parseDigits(data, numberStart, numberEnd);
+            if(number > Integer.MAX_VALUE)
+              break;
+
+            /*
+              NOTE: As the scan is triggered by the trailing keyword, it extends over the trailing
+              padding; anyway, headers are collected by the chunk in which they start only.
+            */
+            if(numberStart < fromIndex || numberStart >= toIndex)
+              break;
+
+            result.headerNumbers.add((int)number);
+            result.headerGenerations.add((int)parseDigits(data, generationStart, generationEnd));
+            result.headerOffsets.add(dataOffset + numberStart);
+            break;
+          }
+          case 't':
+          {
+            if(index < toIndex
+              && matches(data, index, TrailerBytes, fileEnd)
+              && (index == 0 || !isRegular(data[index - 1])))
+            {result.trailerOffsets.add(dataOffset + index);}
+            break;
+          }
+          case '/':
+          {
+            if(index >= toIndex)
+              break;
+
+            if(matches(data, index, CatalogBytes, fileEnd))
+            {result.catalogOffsets.add(dataOffset + index);}
+            else if(matches(data, index, ObjStmBytes, fileEnd))
+            {result.objectStreamOffsets.add(dataOffset + index);}
+            else if(matches(data, index, XRefBytes, fileEnd))
+            {result.xrefStreamOffsets.add(dataOffset + index);}
+            break;
+          }
+          default:
+          {
+            /* NOOP */
+          }
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+    Growable primitive list.
+  */
+  private static final class IntList
+  {
+    int[] items = new int[16];
+    int size;
+
+    void add(
+      int item
+      )
+    {
+      if(size == items.length)
+      {items = Arrays.copyOf(items, size * 2);}
+      items[size++] = item;
+    }
+  }
+
+  /**
+    Growable primitive list.
+  */
+  private static final class LongList
+  {
+    long[] items = new long[16];
+    int size;
+
+    void add(
+      long item
+      )
+    {
+      if(size == items.length)
+      {items = Arrays.copyOf(items, size * 2);}
+      items[size++] = item;
+    }
+
+    void addAll(
+      LongList list
+      )
+    {
+      for(int index = 0; index < list.size; index++)
+      {add(list.items[index]);}
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  private static final byte[] BeginIndirectObjectBytes = Encoding.Pdf.encode(Keyword.BeginIndirectObject);
+  private static final byte[] CatalogBytes = Encoding.Pdf.encode(Keyword.NamePrefix + "Catalog");
+  private static final byte[] ObjStmBytes = Encoding.Pdf.encode(Keyword.NamePrefix + "ObjStm");
+  private static final byte[] TrailerBytes = Encoding.Pdf.encode(Keyword.Trailer);
+  private static final byte[] XRefBytes = Encoding.Pdf.encode(Keyword.NamePrefix + "XRef");
+
+  /**
+    Chunk padding (maximum length of the tokens straddling the chunk boundaries).
+  */
+  private static final int ChunkPadding = 64;
+  /**
+    Chunk size.
+    <p>It bounds the buffer of each scan task, whatever the file size; files smaller than this are
+    scanned by the calling thread.</p>
+  */
+  private static final int ChunkSize = 1 << 22;
+  private static final int MaxGenerationLength = 5;
+  private static final int MaxNumberLength = 10;
+  // </fields>
+
+  // <interface>
+  // <private>
+  private static boolean isDigit(
+    byte value
+    )
+  {return value >= '0' && value <= '9';}
+
+  /**
+    Gets whether the specified byte is a regular character [PDF:1.6:3.1.1].
+  */
+  private static boolean isRegular(
+    byte value
+    )
+  {
+    return !isWhitespace(value)
+      && value != Symbol.OpenRoundBracket
+      && value != Symbol.CloseRoundBracket
+      && value != Symbol.OpenAngleBracket
+      && value != Symbol.CloseAngleBracket
+      && value != Symbol.OpenSquareBracket
+      && value != Symbol.CloseSquareBracket
+      && value != Symbol.Slash
+      && value != Symbol.Percent;
+  }
+
+  /**
+    Gets whether the specified byte is a white-space character [PDF:1.6:3.1.1].
+  */
+  private static boolean isWhitespace(
+    byte value
+    )
+  {return value == ' ' || value == '\n' || value == '\r' || value == 0 || value == '\t' || value == '\f';}
+
+  /**
+    Gets whether the specified token occurs at the given position (and is terminated there).
+  */
+  private static boolean matches(
+    byte[] data,
+    int index,
+    byte[] token,
+    boolean fileEnd
+    )
+  {
+    int endIndex = index + token.length;
+    if(endIndex > data.length)
+      return false;
+
+    for(int tokenIndex = 0; tokenIndex < token.length; tokenIndex++)
+    {
+      if(data[index + tokenIndex] != token[tokenIndex])
+        return false;
+    }
+    return endIndex < data.length ? !isRegular(data[endIndex]) : fileEnd;
+  }
+
+  private static long parseDigits(
+    byte[] data,
+    int start,
+    int end
+    )
+  {
+    long value = 0;
+    for(int index = start; index < end; index++)
+    {value = value * 10 + (data[index] - '0');}
+    return value;
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final FileParser parser;
+  private final List<String> repairs = new ArrayList<String>();
+  private final XRefTable xrefEntries = new XRefTable();
+
+  private int compressedObjectCount;
+  private int objectCount;
+  private int redefinedObjectCount;
+  private PdfDictionary trailer;
+  // </fields>
+
+  // <constructors>
+  /**
+    @param parser Parser over the damaged file.
+  */
+  XRefRebuilder(
+    FileParser parser
+    )
+  {this.parser = parser;}
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the number of recovered objects compressed within object streams.
+  */
+  public int getCompressedObjectCount(
+    )
+  {return compressedObjectCount;}
+
+  /**
+    Gets the number of recovered uncompressed objects.
+  */
+  public int getObjectCount(
+    )
+  {return objectCount;}
+
+  /**
+    Gets the number of objects defined multiple times (in which case the last definition wins).
+  */
+  public int getRedefinedObjectCount(
+    )
+  {return redefinedObjectCount;}
+
+  /**
+    Gets the descriptions of the applied repairs.
+  */
+  public List<String> getRepairs(
+    )
+  {return repairs;}
+
+  /**
+    Gets the recovered trailer.
+  */
+  public PdfDictionary getTrailer(
+    )
+  {return trailer;}
+
+  /**
+    Gets the recovered cross-reference table.
+  */
+  public XRefTable getXRefEntries(
+    )
+  {return xrefEntries;}
+
+  /**
+    Rebuilds the cross-reference information.
+
+    @param parallelism Maximum number of chunks scanned at the same time.
+    @throws ParseException If the file is unrecoverable.
+  */
+  public void rebuild(
+    int parallelism
+    )
+  {
+    ChunkResult result = scan(parallelism);
+
+    // 1. Uncompressed objects.
+    for(int index = 0; index < result.headerOffsets.size; index++)
+    {
+      int number = result.headerNumbers.items[index];
+      if(xrefEntries.contains(number))
+      {redefinedObjectCount++;}
+      else
+      {objectCount++;}
+      xrefEntries.put(number, result.headerGenerations.items[index], result.headerOffsets.items[index], XRefEntry.UsageEnum.InUse);
+    }
+    if(result.headerOffsets.size > 0)
+    {
+      /*
+        NOTE: The last object in the file may be truncated, so it's dropped if unparseable.
+      */
+      int lastIndex = result.headerOffsets.size - 1;
+      if(findHeader(result, result.headerOffsets.items[lastIndex]) == lastIndex)
+      {
+        try
+        {parseObject(result, lastIndex);}
+        catch(RuntimeException e)
+        {
+          int number = result.headerNumbers.items[lastIndex];
+          xrefEntries.put(number, result.headerGenerations.items[lastIndex], 0, XRefEntry.UsageEnum.Free);
+          objectCount--;
+          repairs.add("Object " + number + " at the end of the file dropped (" + e.getMessage() + ").");
+        }
+      }
+    }
+    if(!xrefEntries.contains(0))
+    {
+      // NOTE: Mandatory head of the linked list of free objects [PDF:1.6:3.4.3].
+      xrefEntries.put(0, XRefEntry.GenerationUnreusable, 0, XRefEntry.UsageEnum.Free);
+    }
+    repairs.add("Cross-reference table rebuilt scanning " + result.headerOffsets.size + " object headers (" + objectCount + " objects, " + redefinedObjectCount + " redefinitions).");
+
+    // 2. Compressed objects.
+    int objectStreamCount = 0;
+    for(int index = 0; index < result.objectStreamOffsets.size; index++)
+    {
+      int streamIndex = findHeader(result, result.objectStreamOffsets.items[index]);
+      if(streamIndex >= 0
+        && (index == 0 || findHeader(result, result.objectStreamOffsets.items[index - 1]) != streamIndex)
+        && expandObjectStream(result, streamIndex))
+      {objectStreamCount++;}
+    }
+    if(objectStreamCount > 0)
+    {repairs.add(compressedObjectCount + " compressed objects recovered from " + objectStreamCount + " object streams.");}
+
+    // 3. Trailer.
+    rebuildTrailer(result);
+  }
+  // </public>
+
+  // <private>
+  /**
+    Registers the objects compressed within the object stream whose header is at the given index.
+
+    @return Whether the object stream has been successfully expanded.
+  */
+  private boolean expandObjectStream(
+    ChunkResult result,
+    int streamIndex
+    )
+  {
+    int streamNumber = result.headerNumbers.items[streamIndex];
+    long streamOffset = result.headerOffsets.items[streamIndex];
+    try
+    {
+      PdfDataObject dataObject = parseObject(result, streamIndex);
+      if(!(dataObject instanceof ObjectStream))
+        return false;
+
+      ObjectStream objectStream = (ObjectStream)dataObject;
+      PdfDictionary header = objectStream.getHeader();
+      IBuffer body = objectStream.getBody();
+      FileParser streamParser = new FileParser(body, null);
+      for(
+        int objectIndex = 0,
+          length = ((PdfInteger)header.get(PdfName.N)).getValue();
+        objectIndex < length;
+        objectIndex++
+        )
+      {
+        int number = ((PdfInteger)streamParser.parsePdfObject(1)).getValue();
+        streamParser.moveNext(); // Skips the object offset.
+        if(number == streamNumber)
+          continue;
+
+        if(xrefEntries.contains(number))
+        {
+          XRefEntry xrefEntry = xrefEntries.get(number);
+          if(xrefEntry.getUsage() == XRefEntry.UsageEnum.InUse
+            && xrefEntry.getOffset() > streamOffset) // Redefined after the object stream.
+            continue;
+
+          redefinedObjectCount++;
+        }
+        xrefEntries.putCompressed(number, objectIndex, streamNumber);
+        compressedObjectCount++;
+      }
+      return true;
+    }
+    catch(RuntimeException e)
+    {
+      repairs.add("Object stream " + streamNumber + " skipped (" + e.getMessage() + ").");
+      return false;
+    }
+  }
+
+  /**
+    Gets the index of the current header of the object enclosing the given position.
+
+    @return <code>-1</code>, if no current object encloses the position.
+  */
+  private int findHeader(
+    ChunkResult result,
+    long position
+    )
+  {
+    int index = Arrays.binarySearch(result.headerOffsets.items, 0, result.headerOffsets.size, position);
+    if(index < 0)
+    {index = -index - 2;}
+    if(index < 0)
+      return -1;
+
+    // Is it the winning definition of the object?
+    XRefEntry xrefEntry = xrefEntries.get(result.headerNumbers.items[index]);
+    return xrefEntry.getUsage() == XRefEntry.UsageEnum.InUse
+        && xrefEntry.getOffset() == result.headerOffsets.items[index]
+      ? index
+      : -1;
+  }
+
+  /**
+    Parses the object whose header is at the given index.
+  */
+  private PdfDataObject parseObject(
+    ChunkResult result,
+    int headerIndex
+    )
+  {
+    return parser.parsePdfObject(
+      new XRefEntry(
+        result.headerNumbers.items[headerIndex],
+        result.headerGenerations.items[headerIndex],
+        result.headerOffsets.items[headerIndex],
+        XRefEntry.UsageEnum.InUse
+        )
+      );
+  }
+
+  /**
+    Parses the recovered object with the given number.
+
+    @return <code>null</code>, if the object is undefined or free.
+  */
+  private PdfDataObject parseRecoveredObject(
+    int number
+    )
+  {
+    XRefEntry xrefEntry = xrefEntries.get(number);
+    if(xrefEntry == null)
+      return null;
+
+    switch(xrefEntry.getUsage())
+    {
+      case InUse:
+        return parser.parsePdfObject(xrefEntry);
+      case InUseCompressed:
+        return ((ObjectStream)parser.parsePdfObject(xrefEntries.get(xrefEntry.getStreamNumber()))).get(number);
+      default:
+        return null;
+    }
+  }
+
+  private void rebuildTrailer(
+    ChunkResult result
+    )
+  {
+    // Get the last parseable trailer (either trailer dictionary or xref stream header)!
+    PdfDictionary sourceTrailer = null;
+    boolean xrefStream = false;
+    {
+      int trailerIndex = result.trailerOffsets.size - 1;
+      int xrefStreamIndex = result.xrefStreamOffsets.size - 1;
+      while(sourceTrailer == null && (trailerIndex >= 0 || xrefStreamIndex >= 0))
+      {
+        long trailerOffset = (trailerIndex >= 0 ? result.trailerOffsets.items[trailerIndex] : -1);
+        long xrefStreamOffset = (xrefStreamIndex >= 0 ? result.xrefStreamOffsets.items[xrefStreamIndex] : -1);
+        try
+        {
+          if(trailerOffset > xrefStreamOffset)
+          {
+            trailerIndex--;
+            parser.seek(trailerOffset);
+            parser.moveNext();
+            PdfDataObject dataObject = parser.parsePdfObject(1);
+            if(dataObject instanceof PdfDictionary)
+            {
+              sourceTrailer = (PdfDictionary)dataObject;
+              xrefStream = false;
+            }
+          }
+          else
+          {
+            xrefStreamIndex--;
+            int headerIndex = findHeader(result, xrefStreamOffset);
+            if(headerIndex >= 0)
+            {
+              PdfDataObject dataObject = parseObject(result, headerIndex);
+              if(dataObject instanceof XRefStream)
+              {
+                sourceTrailer = ((XRefStream)dataObject).getHeader();
+                xrefStream = true;
+              }
+            }
+          }
+        }
+        catch(RuntimeException e)
+        {/* NOOP: Broken trailer candidate. */}
+      }
+    }
+
+    trailer = new PdfDictionary();
+    if(sourceTrailer != null)
+    {
+      for(PdfName key : new PdfName[]{PdfName.Root, PdfName.Info, PdfName.ID, PdfName.Encrypt})
+      {
+        PdfDirectObject value = sourceTrailer.get(key);
+        if(value == null)
+          continue;
+
+        // Check the entry!
+        String failure;
+        try
+        {
+          PdfDataObject dataObject = (value instanceof PdfReference
+            ? parseRecoveredObject(((PdfReference)value).getObjectNumber())
+            : value);
+          if(key.equals(PdfName.ID)
+            ? dataObject instanceof PdfArray
+            : dataObject instanceof PdfDictionary)
+          {
+            trailer.put(key, value);
+            continue;
+          }
+
+          failure = (dataObject == null ? "undefined object" : "unexpected object type");
+        }
+        catch(RuntimeException e)
+        {failure = e.getMessage();}
+        repairs.add("Trailer entry " + key + " dropped (" + failure + ").");
+      }
+    }
+    else
+    {repairs.add("Trailer not found.");}
+    /*
+      NOTE: Compressed objects can be referenced by cross-reference streams only, so the original
+      cross-reference mode is inferred from their presence too (see File).
+    */
+    if(xrefStream || compressedObjectCount > 0)
+    {trailer.put(PdfName.Type, PdfName.XRef);}
+
+    // Document catalog.
+    if(!(trailer.get(PdfName.Root) instanceof PdfReference))
+    {
+      PdfReference catalogReference = null;
+      for(int index = result.catalogOffsets.size - 1; index >= 0 && catalogReference == null; index--)
+      {
+        int headerIndex = findHeader(result, result.catalogOffsets.items[index]);
+        if(headerIndex < 0)
+          continue;
+
+        try
+        {
+          PdfDataObject dataObject = parseObject(result, headerIndex);
+          if(dataObject instanceof PdfDictionary
+            && !(dataObject instanceof PdfStream)
+            && PdfName.Catalog.equals(((PdfDictionary)dataObject).get(PdfName.Type)))
+          {
+            catalogReference = new PdfReference(
+              result.headerNumbers.items[headerIndex],
+              result.headerGenerations.items[headerIndex],
+              parser.getFile()
+              );
+          }
+        }
+        catch(RuntimeException e)
+        {/* NOOP: Broken catalog candidate. */}
+      }
+      if(catalogReference == null)
+        throw new ParseException("Document catalog not found.");
+
+      trailer.put(PdfName.Root, catalogReference);
+      repairs.add("Document catalog recovered from object " + catalogReference.getObjectNumber() + ".");
+    }
+    trailer.put(PdfName.Size, PdfInteger.get(xrefEntries.getLastNumber() + 1));
+  }
+
+  /**
+    Scans the file, collecting the offsets of the relevant tokens.
+  */
+  private ChunkResult scan(
+    int parallelism
+    )
+  {
+    IInputStream stream = parser.getStream();
+    long length = stream.getLength();
+    int chunkCount = (int)Math.max((length + ChunkSize - 1) / ChunkSize, 1);
+
+    List<ChunkResult> chunkResults = new ArrayList<ChunkResult>(chunkCount);
+    try
+    {
+      if(chunkCount == 1 || parallelism <= 1)
+      {
+        for(long start = 0; start < length; start += ChunkSize)
+        {chunkResults.add(new ChunkTask(stream, start, Math.min(start + ChunkSize, length)).call());}
+      }
+      else
+      {
+        /*
+          NOTE: As chunks have a fixed size, peak memory is bounded by the parallelism rather than
+          by the file size.
+        */
+        ExecutorService executor = new ForkJoinPool(parallelism);
+        try
+        {
+          List<Future<ChunkResult>> futures = new ArrayList<Future<ChunkResult>>(chunkCount);
+          for(long start = 0; start < length; start += ChunkSize)
+          {futures.add(executor.submit(new ChunkTask(stream, start, Math.min(start + ChunkSize, length))));}
+          for(Future<ChunkResult> future : futures)
+          {chunkResults.add(future.get());}
+        }
+        finally
+        {executor.shutdownNow();}
+      }
+    }
+    catch(EOFException e)
+    {throw new ParseException("File scan failed.", e);}
+    catch(InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new ParseException("File scan interrupted.", e);
+    }
+    catch(ExecutionException e)
+    {throw new ParseException("File scan failed.", e.getCause());}
+
+    // Merge the chunk results (in file order)!
+    ChunkResult result = new ChunkResult();
+    for(ChunkResult chunkResult : chunkResults)
+    {
+      for(int index = 0; index < chunkResult.headerOffsets.size; index++)
+      {
+        result.headerNumbers.add(chunkResult.headerNumbers.items[index]);
+        result.headerGenerations.add(chunkResult.headerGenerations.items[index]);
+      }
+      result.headerOffsets.addAll(chunkResult.headerOffsets);
+      result.catalogOffsets.addAll(chunkResult.catalogOffsets);
+      result.objectStreamOffsets.addAll(chunkResult.objectStreamOffsets);
+      result.trailerOffsets.addAll(chunkResult.trailerOffsets);
+      result.xrefStreamOffsets.addAll(chunkResult.xrefStreamOffsets);
+    }
+    return result;
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
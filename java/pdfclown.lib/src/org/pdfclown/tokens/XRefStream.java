@@ -36,6 +36,7 @@ import java.util.TreeMap;
 
 import org.pdfclown.bytes.Buffer;
 import org.pdfclown.bytes.IBuffer;
+import org.pdfclown.bytes.IInputStream;
 import org.pdfclown.bytes.IOutputStream;
 import org.pdfclown.files.File;
 import org.pdfclown.objects.IVisitor;
@@ -44,6 +45,7 @@ import org.pdfclown.objects.PdfDictionary;
 import org.pdfclown.objects.PdfDirectObject;
 import org.pdfclown.objects.PdfInteger;
 import org.pdfclown.objects.PdfName;
+import org.pdfclown.objects.PdfNumber;
 import org.pdfclown.objects.PdfObject;
 import org.pdfclown.objects.PdfStream;
 import org.pdfclown.util.ConvertUtils;
@@ -54,7 +56,7 @@ import org.pdfclown.util.parsers.ParseException;
   <p>It is alternative to the classic cross-reference table.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
-  @version 0.1.2.1, 05/22/15
+  @version 0.2.0, 10/17/26
 */
 public final class XRefStream
   extends PdfStream
@@ -67,8 +69,6 @@ public final class XRefStream
   private static final int InUseEntryType = 1;
   private static final int InUseCompressedEntryType = 2;
 
-  private static final double ByteBaseLog = Math.log(256);
-
   private static final int EntryField0Size = 1;
   private static final int EntryField2Size = getFieldSize(XRefEntry.GenerationUnreusable);
   // </fields>
@@ -81,9 +81,14 @@ public final class XRefStream
     @param maxValue Maximum storable value.
   */
   private static int getFieldSize(
-    int maxValue
+    long maxValue
     )
-  {return (int)Math.ceil(Math.log(maxValue)/ByteBaseLog);}
+  {
+    int size = 1;
+    while((maxValue >>>= 8) != 0)
+    {size++;}
+    return size;
+  }
 
   /**
     Converts the specified value into a customly-sized big-endian byte array.
@@ -92,10 +97,29 @@ public final class XRefStream
     @param length Byte array's length.
    */
   private static byte[] numberToByteArray(
-    int value,
+    long value,
     int length
     )
   {return ConvertUtils.numberToByteArray(value, length, ByteOrder.BIG_ENDIAN);}
+
+  /**
+    Reads a big-endian entry field.
+    <p>Byte offsets may exceed the <code>int</code> range, so fields are accumulated as
+    <code>long</code>.</p>
+
+    @param stream Source stream.
+    @param length Field length in bytes.
+  */
+  private static long readField(
+    IInputStream stream,
+    int length
+    ) throws EOFException
+  {
+    long value = 0;
+    for(int index = 0; index < length; index++)
+    {value = (value << 8) | stream.readUnsignedByte();}
+    return value;
+  }
   // </private>
   // </interface>
   // </static>
@@ -152,11 +176,105 @@ public final class XRefStream
 
     @return <code>-1</code> in case no linked stream exists.
   */
-  public int getLinkedStreamOffset(
+  public long getLinkedStreamOffset(
+    )
+  {
+    PdfNumber<?> linkedStreamOffsetObject = (PdfNumber<?>)getHeader().get(PdfName.Prev);
+    return (linkedStreamOffsetObject != null ? linkedStreamOffsetObject.getLongValue() : -1);
+  }
+
+  /**
+    Decodes the serialized entries straight into the given cross-reference table.
+    <p>Entries already defined in the table are left untouched (that is, more recent
+    cross-reference sections take precedence over this one).</p>
+
+    @param table Target table.
+  */
+  public void readEntries(
+    XRefTable table
     )
   {
-    PdfInteger linkedStreamOffsetObject = (PdfInteger)getHeader().get(PdfName.Prev);
-    return (linkedStreamOffsetObject != null ? linkedStreamOffsetObject.getValue() : -1);
+    final IBuffer body = getBody();
+    if(body.getLength() == 0)
+      return;
+
+    try
+    {
+      final PdfDictionary header = getHeader();
+      final int size = ((PdfInteger)header.get(PdfName.Size)).getValue();
+      final int[] entryFieldSizes;
+      {
+        final PdfArray entryFieldSizesObject = (PdfArray)header.get(PdfName.W);
+        entryFieldSizes = new int[entryFieldSizesObject.size()];
+        for(int index = 0, length = entryFieldSizes.length; index < length; index++)
+        {entryFieldSizes[index] = ((PdfInteger)entryFieldSizesObject.get(index)).getValue();}
+      }
+
+      final PdfArray subsectionBounds;
+      if(header.containsKey(PdfName.Index))
+      {subsectionBounds = (PdfArray)header.get(PdfName.Index);}
+      else
+      {
+        subsectionBounds = new PdfArray();
+        subsectionBounds.add(PdfInteger.get(0));
+        subsectionBounds.add(PdfInteger.get(size));
+      }
+
+      body.setByteOrder(ByteOrder.BIG_ENDIAN);
+      body.seek(0);
+
+      final int entrySize = entryFieldSizes[0] + entryFieldSizes[1] + entryFieldSizes[2];
+      final Iterator<PdfDirectObject> subsectionBoundIterator = subsectionBounds.iterator();
+      while(subsectionBoundIterator.hasNext())
+      {
+        final int start = ((PdfInteger)subsectionBoundIterator.next()).getValue();
+        final int count = ((PdfInteger)subsectionBoundIterator.next()).getValue();
+        for(
+          int entryIndex = start,
+            length = start + count;
+          entryIndex < length;
+          entryIndex++
+          )
+        {
+          if(table.contains(entryIndex)) // Already-defined entry.
+          {
+            // Skip to the next entry!
+            body.skip(entrySize);
+            continue;
+          }
+
+          final int entryFieldType = (entryFieldSizes[0] == 0 ? 1 : body.readInt(entryFieldSizes[0]));
+          switch(entryFieldType)
+          {
+            case FreeEntryType:
+            {
+              final int nextFreeObjectNumber = body.readInt(entryFieldSizes[1]);
+              final int generation = body.readInt(entryFieldSizes[2]);
+              table.put(entryIndex, generation, nextFreeObjectNumber, XRefEntry.UsageEnum.Free);
+              break;
+            }
+            case InUseEntryType:
+            {
+              final long offset = readField(body, entryFieldSizes[1]);
+              final int generation = body.readInt(entryFieldSizes[2]);
+              table.put(entryIndex, generation, offset, XRefEntry.UsageEnum.InUse);
+              break;
+            }
+            case InUseCompressedEntryType:
+            {
+              final int streamNumber = body.readInt(entryFieldSizes[1]);
+              final int innerNumber = body.readInt(entryFieldSizes[2]);
+              table.putCompressed(entryIndex, innerNumber, streamNumber);
+              break;
+            }
+            default:
+              throw new UnsupportedOperationException("Unknown xref entry type '" + entryFieldType + "'.");
+          }
+        }
+      }
+    }
+    catch(EOFException e)
+    {throw new ParseException("Malformed cross-reference stream object.", e);}
   }
 
   @Override
@@ -256,12 +374,27 @@ public final class XRefStream
   {
     // 1. Body.
     final PdfArray indexArray = new PdfArray();
-    final int[] entryFieldSizes = new int[]
+    final int[] entryFieldSizes;
+    {
+      /*
+        NOTE: The entries are usually located before this xref stream, but the layout of
+        linearized files places the first-page xref stream before most of them.
+      */
+      long maxFieldValue = stream.getLength();
+      for(XRefEntry entry : entries.values())
       {
-        EntryField0Size,
-        getFieldSize((int)stream.getLength()), // NOTE: We assume this xref stream is the last indirect object.
-        EntryField2Size
-      };
+        maxFieldValue = Math.max(
+          maxFieldValue,
+          entry.getUsage() == XRefEntry.UsageEnum.InUseCompressed ? entry.getStreamNumber() : entry.getOffset()
+          );
+      }
+      entryFieldSizes = new int[]
+        {
+          EntryField0Size,
+          getFieldSize(maxFieldValue),
+          EntryField2Size
+        };
+    }
     {
       // Get the stream buffer!
       final IBuffer body = getBody();
@@ -315,7 +448,7 @@ public final class XRefStream
         );
       header.put(
         PdfName.Size,
-        PdfInteger.get(getFile().getIndirectObjects().size()+1)
+        PdfInteger.get(Math.max(getFile().getIndirectObjects().size(), entries.lastKey()) + 1)
         );
       header.put(
         PdfName.W,
@@ -335,101 +468,13 @@ public final class XRefStream
     {
       entries = new TreeMap<Integer,XRefEntry>();
 
-      final IBuffer body = getBody();
-      if(body.getLength() > 0)
+      XRefTable table = new XRefTable();
+      readEntries(table);
+      for(int number = 0, lastNumber = table.getLastNumber(); number <= lastNumber; number++)
       {
-        try
-        {
-          final PdfDictionary header = getHeader();
-          final int size = ((PdfInteger)header.get(PdfName.Size)).getValue();
-          final int[] entryFieldSizes;
-          {
-            final PdfArray entryFieldSizesObject = (PdfArray)header.get(PdfName.W);
-            entryFieldSizes = new int[entryFieldSizesObject.size()];
-            for(int index = 0, length = entryFieldSizes.length; index < length; index++)
-            {entryFieldSizes[index] = ((PdfInteger)entryFieldSizesObject.get(index)).getValue();}
-          }
-  
-          final PdfArray subsectionBounds;
-          if(header.containsKey(PdfName.Index))
-          {subsectionBounds = (PdfArray)header.get(PdfName.Index);}
-          else
-          {
-            subsectionBounds = new PdfArray();
-            subsectionBounds.add(PdfInteger.get(0));
-            subsectionBounds.add(PdfInteger.get(size));
-          }
-  
-          body.setByteOrder(ByteOrder.BIG_ENDIAN);
-          body.seek(0);
-  
-          final Iterator<PdfDirectObject> subsectionBoundIterator = subsectionBounds.iterator();
-          while(subsectionBoundIterator.hasNext())
-          {
-            final int start = ((PdfInteger)subsectionBoundIterator.next()).getValue();
-            final int count = ((PdfInteger)subsectionBoundIterator.next()).getValue();
-            for(
-              int entryIndex = start,
-                length = start + count;
-              entryIndex < length;
-              entryIndex++
-              )
-            {
-              final int entryFieldType = (entryFieldSizes[0] == 0 ? 1 : body.readInt(entryFieldSizes[0]));
-              switch(entryFieldType)
-              {
-                case FreeEntryType:
-                {
-                  final int nextFreeObjectNumber = body.readInt(entryFieldSizes[1]);
-                  final int generation = body.readInt(entryFieldSizes[2]);
-                  entries.put(
-                    entryIndex,
-                    new XRefEntry(
-                      entryIndex,
-                      generation,
-                      nextFreeObjectNumber,
-                      XRefEntry.UsageEnum.Free
-                      )
-                    );
-                  break;
-                }
-                case InUseEntryType:
-                {
-                  final int offset = body.readInt(entryFieldSizes[1]);
-                  final int generation = body.readInt(entryFieldSizes[2]);
-                  entries.put(
-                    entryIndex,
-                    new XRefEntry(
-                      entryIndex,
-                      generation,
-                      offset,
-                      XRefEntry.UsageEnum.InUse
-                      )
-                    );
-                  break;
-                }
-                case InUseCompressedEntryType:
-                {
-                  final int streamNumber = body.readInt(entryFieldSizes[1]);
-                  final int innerNumber = body.readInt(entryFieldSizes[2]);
-                  entries.put(
-                    entryIndex,
-                    new XRefEntry(
-                      entryIndex,
-                      innerNumber,
-                      streamNumber
-                      )
-                    );
-                  break;
-                }
-                default:
-                  throw new UnsupportedOperationException("Unknown xref entry type '" + entryFieldType + "'.");
-              }
-            }
-          }
-        }
-        catch(EOFException e)
-        {throw new ParseException("Malformed cross-reference stream object.", e);}
+        XRefEntry entry = table.get(number);
+        if(entry != null)
+        {entries.put(number, entry);}
       }
     }
     return entries;
@@ -0,0 +1,324 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.tokens;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+  Cross-reference table [PDF:1.6:3.4.3].
+  <p>This is a dense, primitive-typed collection of cross-reference entries indexed by object
+  number, meant to hold the (possibly huge) original cross-reference information of a file:
+  {@link XRefEntry entry objects} are instantiated on demand only.</p>
+  <p>As object numbers come from the (possibly corrupt) file, dense storage is bounded by the entry
+  count: entries whose numbers lie too far beyond it are kept sparse instead.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+public final class XRefTable
+{
+  // <class>
+  // <static>
+  // <fields>
+  private static final int DefaultCapacity = 16;
+  /**
+    Maximum dense capacity per defined entry.
+  */
+  private static final int MaxSparseness = 4;
+  /**
+    Dense capacity allowed regardless of the entry count.
+  */
+  private static final int MinDenseCapacity = 1 << 10;
+
+  private static final XRefEntry.UsageEnum[] Usages = XRefEntry.UsageEnum.values();
+  /**
+    Undefined-entry usage code.
+  */
+  private static final byte UndefinedUsage = 0;
+  // </fields>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  /**
+    Generation numbers (ordinary entries) or object stream numbers (compressed entries).
+  */
+  private int[] generations;
+  /**
+    Byte offsets or next free-object numbers (ordinary entries) or object indexes (compressed
+    entries).
+  */
+  private long[] offsets;
+  /**
+    Usage codes ({@link #UndefinedUsage}, or 1-based {@link XRefEntry.UsageEnum} ordinals).
+  */
+  private byte[] usages;
+  /**
+    Entries beyond the dense capacity.
+    <p>All the entries whose numbers are lower than the dense capacity are stored densely.</p>
+  */
+  private Map<Integer,XRefEntry> sparseEntries;
+
+  private int lastNumber = -1;
+  private int size;
+  // </fields>
+
+  // <constructors>
+  public XRefTable(
+    )
+  {this(DefaultCapacity);}
+
+  /**
+    @param capacity Initial capacity (that is, expected object count).
+  */
+  public XRefTable(
+    int capacity
+    )
+  {
+    capacity = Math.max(capacity, 1);
+    generations = new int[capacity];
+    offsets = new long[capacity];
+    usages = new byte[capacity];
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets whether the entry associated to the given object number is defined.
+  */
+  public boolean contains(
+    int number
+    )
+  {
+    if(number < 0 || number > lastNumber)
+      return false;
+    else if(number < usages.length)
+      return usages[number] != UndefinedUsage;
+    else
+      return sparseEntries != null && sparseEntries.containsKey(number);
+  }
+
+  /**
+    Gets the entry associated to the given object number.
+    <p>As entries are stored in primitive form, each call instantiates a new entry object.</p>
+
+    @return <code>null</code>, if undefined.
+  */
+  public XRefEntry get(
+    int number
+    )
+  {
+    if(!contains(number))
+      return null;
+    else if(number >= usages.length)
+      return copy(sparseEntries.get(number));
+
+    XRefEntry.UsageEnum usage = Usages[usages[number] - 1];
+    if(usage == XRefEntry.UsageEnum.InUseCompressed)
+      return new XRefEntry(number, (int)offsets[number], generations[number]);
+    else
+      return new XRefEntry(number, generations[number], offsets[number], usage);
+  }
+
+  /**
+    Gets the highest object number among the defined entries.
+
+    @return <code>-1</code>, if no entry is defined.
+  */
+  public int getLastNumber(
+    )
+  {return lastNumber;}
+
+  public boolean isEmpty(
+    )
+  {return size == 0;}
+
+  /**
+    Defines an ordinary (uncompressed) object entry.
+
+    @param number Object number.
+    @param generation Generation number.
+    @param offset Indirect-object byte offset within the serialized file (in-use entry), or the
+      next free-object object number (free entry).
+    @param usage Usage state.
+  */
+  public void put(
+    int number,
+    int generation,
+    long offset,
+    XRefEntry.UsageEnum usage
+    )
+  {
+    if(usage == XRefEntry.UsageEnum.InUseCompressed)
+      throw new IllegalArgumentException("Compressed entries MUST be defined through putCompressed(...).");
+
+    set(number, generation, offset, usage);
+  }
+
+  /**
+    Defines the given entry.
+  */
+  public void put(
+    XRefEntry entry
+    )
+  {
+    if(entry.getUsage() == XRefEntry.UsageEnum.InUseCompressed)
+    {set(entry.getNumber(), entry.getStreamNumber(), entry.getOffset(), entry.getUsage());}
+    else
+    {set(entry.getNumber(), entry.getGeneration(), entry.getOffset(), entry.getUsage());}
+  }
+
+  /**
+    Defines a compressed object entry.
+
+    @param number Object number.
+    @param offset Object index within its object stream.
+    @param streamNumber Object number of the object stream in which this object is stored.
+  */
+  public void putCompressed(
+    int number,
+    int offset,
+    int streamNumber
+    )
+  {set(number, streamNumber, offset, XRefEntry.UsageEnum.InUseCompressed);}
+
+  /**
+    Gets the number of defined entries.
+  */
+  public int size(
+    )
+  {return size;}
+  // </public>
+
+  // <private>
+  private static XRefEntry copy(
+    XRefEntry entry
+    )
+  {
+    if(entry.getUsage() == XRefEntry.UsageEnum.InUseCompressed)
+      return new XRefEntry(entry.getNumber(), (int)entry.getOffset(), entry.getStreamNumber());
+    else
+      return new XRefEntry(entry.getNumber(), entry.getGeneration(), entry.getOffset(), entry.getUsage());
+  }
+
+  /**
+    Ensures the dense storage covers the given capacity, as long as it's within bounds.
+
+    @return Whether the capacity is covered.
+  */
+  private boolean ensureCapacity(
+    int capacity
+    )
+  {
+    if(capacity <= usages.length)
+      return true;
+
+    long maxCapacity = Math.max(MinDenseCapacity, (size + 1L) * MaxSparseness);
+    if(capacity > maxCapacity)
+      return false;
+
+    int newCapacity = (int)Math.min(Math.max(capacity, usages.length * 2L), maxCapacity);
+    int oldCapacity = usages.length;
+    generations = Arrays.copyOf(generations, newCapacity);
+    offsets = Arrays.copyOf(offsets, newCapacity);
+    usages = Arrays.copyOf(usages, newCapacity);
+
+    // Move the sparse entries now covered into the dense storage!
+    if(sparseEntries != null)
+    {
+      Iterator<XRefEntry> sparseEntryIterator = sparseEntries.values().iterator();
+      while(sparseEntryIterator.hasNext())
+      {
+        XRefEntry entry = sparseEntryIterator.next();
+        int number = entry.getNumber();
+        if(number < oldCapacity || number >= newCapacity)
+          continue;
+
+        setDense(
+          number,
+          entry.getUsage() == XRefEntry.UsageEnum.InUseCompressed ? entry.getStreamNumber() : entry.getGeneration(),
+          entry.getOffset(),
+          entry.getUsage()
+          );
+        sparseEntryIterator.remove();
+      }
+    }
+    return true;
+  }
+
+  private void set(
+    int number,
+    int generation,
+    long offset,
+    XRefEntry.UsageEnum usage
+    )
+  {
+    if(number < 0)
+      throw new IllegalArgumentException("Object number MUST be non-negative.");
+
+    if(ensureCapacity(number + 1))
+    {
+      if(usages[number] == UndefinedUsage)
+      {size++;}
+      setDense(number, generation, offset, usage);
+    }
+    else
+    {
+      if(sparseEntries == null)
+      {sparseEntries = new HashMap<Integer,XRefEntry>();}
+      if(sparseEntries.put(
+          number,
+          usage == XRefEntry.UsageEnum.InUseCompressed
+            ? new XRefEntry(number, (int)offset, generation)
+            : new XRefEntry(number, generation, offset, usage)
+          ) == null)
+      {size++;}
+    }
+    if(number > lastNumber)
+    {lastNumber = number;}
+  }
+
+  private void setDense(
+    int number,
+    int generation,
+    long offset,
+    XRefEntry.UsageEnum usage
+    )
+  {
+    generations[number] = generation;
+    offsets[number] = offset;
+    usages[number] = (byte)(usage.ordinal() + 1);
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
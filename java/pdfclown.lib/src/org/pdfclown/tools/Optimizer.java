@@ -1,5 +1,5 @@
 /*
-  Copyright 2012 Stefano Chizzolini. http://www.pdfclown.org
+  Copyright 2012-2026 Stefano Chizzolini. http://www.pdfclown.org
 
   Contributors:
     * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
@@ -25,25 +25,1074 @@
 
 package org.pdfclown.tools;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.pdfclown.bytes.Buffer;
+import org.pdfclown.documents.Page;
+import org.pdfclown.documents.contents.ContentScanner;
+import org.pdfclown.documents.contents.IContentContext;
+import org.pdfclown.documents.contents.objects.ApplyExtGState;
+import org.pdfclown.documents.contents.objects.CompositeObject;
+import org.pdfclown.documents.contents.objects.ContentObject;
+import org.pdfclown.documents.contents.objects.InlineImageHeader;
+import org.pdfclown.documents.contents.objects.Operation;
+import org.pdfclown.documents.contents.objects.PaintXObject;
+import org.pdfclown.documents.contents.objects.SetFillColor;
+import org.pdfclown.documents.contents.objects.SetFillColorSpace;
+import org.pdfclown.documents.contents.objects.SetFont;
+import org.pdfclown.documents.contents.objects.SetStrokeColor;
+import org.pdfclown.documents.contents.objects.SetStrokeColorSpace;
+import org.pdfclown.documents.contents.xObjects.FormXObject;
 import org.pdfclown.files.File;
 import org.pdfclown.files.IndirectObjects;
+import org.pdfclown.files.XRefModeEnum;
 import org.pdfclown.objects.IVisitor;
+import org.pdfclown.objects.PdfArray;
+import org.pdfclown.objects.PdfDataObject;
+import org.pdfclown.objects.PdfDictionary;
+import org.pdfclown.objects.PdfDirectObject;
+import org.pdfclown.objects.PdfIndirectObject;
+import org.pdfclown.objects.PdfInteger;
+import org.pdfclown.objects.PdfName;
 import org.pdfclown.objects.PdfObject;
 import org.pdfclown.objects.PdfReference;
+import org.pdfclown.objects.PdfStream;
 import org.pdfclown.objects.Visitor;
+import org.pdfclown.tokens.ObjectStream;
+import org.pdfclown.tokens.XRefStream;
 
 /**
   Tool to enhance PDF files.
+  <p>The {@link #optimize(File) whole-file optimization} runs in time linear in the number of
+  objects: the object graph is walked once, and each object is fingerprinted at most once.</p>
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.2
-  @version 0.1.2, 12/21/12
+  @version 0.2.0, 10/17/26
 */
 public final class Optimizer
 {
+  // <class>
+  // <classes>
+  /**
+    Optimization category.
+  */
+  public enum CategoryEnum
+  {
+    /**
+      Indirect objects unreachable from the document structure.
+    */
+    OrphanedObjects,
+    /**
+      Indirect objects byte-identical to other ones, merged into them.
+    */
+    DuplicateObjects,
+    /**
+      Resources no content stream refers to (along with the indirect objects exclusively used by
+      them).
+    */
+    UnusedResources,
+    /**
+      Small indirect objects referenced just once, collapsed into their referrers.
+    */
+    CollapsedObjects,
+    /**
+      Indirect objects packed into object streams.
+    */
+    PackedObjects
+  }
+
+  /**
+    Optimization outcome.
+    <p>Byte counts are estimated against the uncompressed {@link XRefModeEnum#Plain plain}
+    serialization, so they don't account for the compression applied by object streams.</p>
+  */
+  public static final class Report
+  {
+    private final long[] byteCounts = new long[CategoryEnum.values().length];
+    private final int[] itemCounts = new int[CategoryEnum.values().length];
+
+    Report(
+      )
+    {}
+
+    /**
+      Gets the total number of bytes saved.
+    */
+    public long getByteCount(
+      )
+    {
+      long byteCount = 0;
+      for(long categoryByteCount : byteCounts)
+      {byteCount += categoryByteCount;}
+      return byteCount;
+    }
+
+    /**
+      Gets the number of bytes saved in the specified category.
+    */
+    public long getByteCount(
+      CategoryEnum category
+      )
+    {return byteCounts[category.ordinal()];}
+
+    /**
+      Gets the number of items (indirect objects or, in case of {@link CategoryEnum#UnusedResources
+      unused resources}, resource entries) affected in the specified category.
+    */
+    public int getItemCount(
+      CategoryEnum category
+      )
+    {return itemCounts[category.ordinal()];}
+
+    @Override
+    public String toString(
+      )
+    {
+      StringBuilder buffer = new StringBuilder();
+      for(CategoryEnum category : CategoryEnum.values())
+      {
+        buffer.append(category).append(": ").append(getItemCount(category)).append(" items, ")
+          .append(getByteCount(category)).append(" bytes\n");
+      }
+      buffer.append("Total: ").append(getByteCount()).append(" bytes");
+      return buffer.toString();
+    }
+
+    void add(
+      CategoryEnum category,
+      long byteCount
+      )
+    {
+      itemCounts[category.ordinal()]++;
+      addBytes(category, byteCount);
+    }
+
+    void addBytes(
+      CategoryEnum category,
+      long byteCount
+      )
+    {byteCounts[category.ordinal()] += byteCount;}
+  }
+
+  /**
+    Position of a reference within its container.
+  */
+  private static final class Slot
+  {
+    final PdfDirectObject container;
+    final Object key;
+
+    int objectNumber;
+
+    Slot(
+      PdfDirectObject container,
+      Object key,
+      int objectNumber
+      )
+    {
+      this.container = container;
+      this.key = key;
+      this.objectNumber = objectNumber;
+    }
+
+    void set(
+      PdfDirectObject value
+      )
+    {
+      if(container instanceof PdfDictionary)
+      {((PdfDictionary)container).put((PdfName)key, value);}
+      else
+      {((PdfArray)container).set((Integer)key, value);}
+    }
+  }
+
+  /**
+    Indirect object being walked.
+  */
+  private static final class Frame
+  {
+    final int objectNumber;
+    final List<Slot> slots;
+
+    int slotIndex;
+
+    Frame(
+      int objectNumber,
+      List<Slot> slots
+      )
+    {
+      this.objectNumber = objectNumber;
+      this.slots = slots;
+    }
+  }
+
+  /**
+    Single optimization run over a file.
+  */
+  private final class Pass
+  {
+    private static final byte Unvisited = 0;
+    private static final byte Visiting = 1;
+    private static final byte Visited = 2;
+    private static final byte Discarded = 3;
+
+    private final File file;
+    private final IndirectObjects indirectObjects;
+    private final Report report;
+
+    private final Buffer buffer = new Buffer();
+    private final MessageDigest digest;
+    /**
+      Structural digests of the visited objects, mapped to their object numbers.
+    */
+    private final Map<ByteBuffer,Integer> fingerprints = new HashMap<ByteBuffer,Integer>();
+    /**
+      Header digests of the visited streams, mapped to the object number of the first stream
+      (or <code>-1</code>, once its fingerprint has been registered).
+      <p>Stream bodies are loaded just in case of header collision.</p>
+    */
+    private final Map<ByteBuffer,Integer> streamHeaderFingerprints = new HashMap<ByteBuffer,Integer>();
+
+    private final int objectCount;
+    private final byte[] states;
+    /**
+      Whether the object identity must be preserved (as referenced by the trailer or within a
+      reference cycle).
+    */
+    private final boolean[] pinned;
+    /**
+      Object number of the equivalent object (<code>0</code>, if not merged).
+    */
+    private final int[] mergedNumbers;
+    private final int[] referenceCounts;
+    /**
+      Position of the reference to the objects referenced just once.
+    */
+    private final Slot[] referenceSlots;
+    /**
+      Serialized length of the collapsible objects (<code>-1</code>, if not collapsible).
+    */
+    private final int[] lengths;
+    /**
+      Visited objects, in post-order (referenced objects before their referrers).
+    */
+    private final int[] visitedNumbers;
+    private int visitedCount;
+
+    Pass(
+      File file,
+      Report report
+      )
+    {
+      this.file = file;
+      this.indirectObjects = file.getIndirectObjects();
+      this.report = report;
+
+      try
+      {digest = MessageDigest.getInstance("SHA-256");}
+      catch(NoSuchAlgorithmException e)
+      {throw new RuntimeException(e);}
+
+      objectCount = indirectObjects.size();
+      states = new byte[objectCount];
+      pinned = new boolean[objectCount];
+      mergedNumbers = new int[objectCount];
+      referenceCounts = new int[objectCount];
+      referenceSlots = new Slot[objectCount];
+      lengths = new int[objectCount];
+      visitedNumbers = new int[objectCount];
+    }
+
+    /**
+      Collapses the small objects referenced just once into their referrers.
+      <p>As objects are processed in post-order, objects collapsed into an object which is in turn
+      collapsed are carried along.</p>
+    */
+    void collapse(
+      )
+    {
+      for(int index = 0; index < visitedCount; index++)
+      {
+        int objectNumber = visitedNumbers[index];
+        if(states[objectNumber] != Visited
+          || referenceCounts[objectNumber] != 1
+          || pinned[objectNumber]
+          || lengths[objectNumber] < 0
+          || lengths[objectNumber] > collapsibleObjectMaxLength)
+          continue;
+
+        PdfIndirectObject object = indirectObjects.get(objectNumber);
+        referenceSlots[objectNumber].set((PdfDirectObject)object.getDataObject());
+        report.add(
+          CategoryEnum.CollapsedObjects,
+          getOverhead(object) + object.getReference().getIndirectReference().length()
+          );
+        indirectObjects.remove(objectNumber);
+        states[objectNumber] = Discarded;
+      }
+    }
+
+    /**
+      Removes the objects left unreachable.
+
+      @param prunedReferences References removed from the resources.
+    */
+    void collectGarbage(
+      List<PdfReference> prunedReferences
+      )
+    {
+      List<Integer> garbageNumbers = new ArrayList<Integer>();
+
+      // 1. Objects exclusively used by unused resources.
+      Deque<Integer> objectNumbers = new ArrayDeque<Integer>();
+      for(PdfReference reference : prunedReferences)
+      {
+        int objectNumber = reference.getObjectNumber();
+        if(isWalkable(objectNumber) && states[objectNumber] == Unvisited)
+        {
+          states[objectNumber] = Discarded;
+          objectNumbers.push(objectNumber);
+        }
+      }
+      while(!objectNumbers.isEmpty())
+      {
+        int objectNumber = objectNumbers.pop();
+        PdfIndirectObject object = indirectObjects.get(objectNumber);
+        PdfDataObject dataObject = object.getDataObject();
+        if(dataObject == null)
+          continue;
+
+        report.addBytes(CategoryEnum.UnusedResources, getLength(object));
+        for(Slot slot : getSlots(dataObject))
+        {
+          if(states[slot.objectNumber] == Unvisited)
+          {
+            states[slot.objectNumber] = Discarded;
+            objectNumbers.push(slot.objectNumber);
+          }
+        }
+        garbageNumbers.add(objectNumber);
+      }
+
+      // 2. Orphaned objects.
+      for(int objectNumber = 1; objectNumber < objectCount; objectNumber++)
+      {
+        if(states[objectNumber] != Unvisited)
+          continue;
+
+        PdfIndirectObject object = indirectObjects.get(objectNumber);
+        if(!object.isInUse())
+          continue;
+
+        PdfDataObject dataObject = object.getDataObject();
+        /*
+          NOTE: Original object streams and cross-reference streams are left to the writer, as they
+          are superseded on serialization (besides, removing an object stream would prevent its
+          objects from being retrieved).
+        */
+        if(dataObject == null
+          || dataObject instanceof ObjectStream
+          || dataObject instanceof XRefStream)
+          continue;
+
+        report.add(CategoryEnum.OrphanedObjects, getLength(object));
+        garbageNumbers.add(objectNumber);
+      }
+
+      // 3. Removal.
+      for(int objectNumber : garbageNumbers)
+      {indirectObjects.remove(objectNumber);}
+    }
+
+    /**
+      Sets the file up to pack its objects into object streams.
+    */
+    void pack(
+      )
+    {
+      if(file.getConfiguration().getXRefMode() == XRefModeEnum.Compressed)
+        return;
+
+      for(int index = 0; index < visitedCount; index++)
+      {
+        int objectNumber = visitedNumbers[index];
+        if(states[objectNumber] != Visited)
+          continue;
+
+        PdfIndirectObject object = indirectObjects.get(objectNumber);
+        if(object.isCompressible())
+        {
+          report.add(
+            CategoryEnum.PackedObjects,
+            getOverhead(object) - (Integer.toString(objectNumber).length() + PackedObjectOverhead)
+            );
+        }
+      }
+      file.getConfiguration().setXRefMode(XRefModeEnum.Compressed);
+    }
+
+    /**
+      Walks the object graph from the trailer, merging duplicate objects and counting references.
+    */
+    void walk(
+      )
+    {
+      Deque<Frame> frames = new ArrayDeque<Frame>();
+      {
+        Frame trailerFrame = new Frame(-1, getSlots(file.getTrailer()));
+        for(Slot slot : trailerFrame.slots)
+        {pinned[slot.objectNumber] = true;}
+        frames.push(trailerFrame);
+      }
+      while(!frames.isEmpty())
+      {
+        Frame frame = frames.peek();
+        if(frame.slotIndex < frame.slots.size())
+        {
+          int objectNumber = frame.slots.get(frame.slotIndex++).objectNumber;
+          switch(states[objectNumber])
+          {
+            case Unvisited:
+            {
+              states[objectNumber] = Visiting;
+              PdfDataObject dataObject = indirectObjects.get(objectNumber).getDataObject();
+              frames.push(
+                new Frame(
+                  objectNumber,
+                  dataObject != null ? getSlots(dataObject) : Collections.<Slot>emptyList()
+                  )
+                );
+              break;
+            }
+            case Visiting: // Reference cycle.
+              pinned[objectNumber] = true;
+              break;
+          }
+        }
+        else
+        {
+          frames.pop();
+          close(frame);
+        }
+      }
+    }
+
+    /**
+      Completes the visit of the given object, once its references have been visited.
+    */
+    private void close(
+      Frame frame
+      )
+    {
+      // Redirect the references to merged objects!
+      for(Slot slot : frame.slots)
+      {
+        int mergedNumber = mergedNumbers[slot.objectNumber];
+        if(mergedNumber != 0)
+        {
+          slot.set(indirectObjects.get(mergedNumber).getReference());
+          slot.objectNumber = mergedNumber;
+        }
+      }
+
+      int objectNumber = frame.objectNumber;
+      if(objectNumber >= 0)
+      {
+        lengths[objectNumber] = -1;
+        PdfIndirectObject object = indirectObjects.get(objectNumber);
+        PdfDataObject dataObject = object.getDataObject();
+        if(dataObject != null && isInterchangeable(dataObject))
+        {
+          if(dataObject instanceof PdfStream)
+          {
+            if(duplicateMergingEnabled && !pinned[objectNumber])
+            {
+              int equivalentNumber = getEquivalent(objectNumber, (PdfStream)dataObject);
+              if(equivalentNumber != 0)
+              {
+                merge(object, equivalentNumber);
+                return;
+              }
+            }
+          }
+          else
+          {
+            serialize(dataObject);
+            if(duplicateMergingEnabled
+              && !pinned[objectNumber]
+              && (dataObject instanceof PdfDictionary || dataObject instanceof PdfArray))
+            {
+              int equivalentNumber = getEquivalent(objectNumber, getDigest());
+              if(equivalentNumber != 0)
+              {
+                merge(object, equivalentNumber);
+                return;
+              }
+            }
+            if(isCollapsible(dataObject))
+            {lengths[objectNumber] = (int)buffer.getLength();}
+          }
+        }
+        states[objectNumber] = Visited;
+        visitedNumbers[visitedCount++] = objectNumber;
+      }
+
+      // Count the references!
+      for(Slot slot : frame.slots)
+      {
+        if(++referenceCounts[slot.objectNumber] == 1)
+        {referenceSlots[slot.objectNumber] = slot;}
+        else
+        {referenceSlots[slot.objectNumber] = null;}
+      }
+    }
+
+    /**
+      Gets the digest of the buffer contents.
+    */
+    private ByteBuffer getDigest(
+      )
+    {return ByteBuffer.wrap(digest.digest(buffer.toByteArray()));}
+
+    /**
+      Gets the object number of the object equivalent to the given one, registering its fingerprint
+      otherwise.
+
+      @return <code>0</code>, if no equivalent object has been visited yet.
+    */
+    private int getEquivalent(
+      int objectNumber,
+      ByteBuffer fingerprint
+      )
+    {
+      Integer equivalentNumber = fingerprints.get(fingerprint);
+      if(equivalentNumber != null)
+        return equivalentNumber;
+
+      fingerprints.put(fingerprint, objectNumber);
+      return 0;
+    }
+
+    /**
+      @see #getEquivalent(int, ByteBuffer)
+    */
+    private int getEquivalent(
+      int objectNumber,
+      PdfStream stream
+      )
+    {
+      ByteBuffer headerFingerprint = getHeaderFingerprint(stream);
+      Integer firstNumber = streamHeaderFingerprints.get(headerFingerprint);
+      if(firstNumber == null)
+      {
+        streamHeaderFingerprints.put(headerFingerprint, objectNumber);
+        return 0;
+      }
+      else if(firstNumber >= 0)
+      {
+        fingerprints.put(
+          getFingerprint(headerFingerprint, (PdfStream)indirectObjects.get(firstNumber).getDataObject()),
+          firstNumber
+          );
+        streamHeaderFingerprints.put(headerFingerprint, -1);
+      }
+      return getEquivalent(objectNumber, getFingerprint(headerFingerprint, stream));
+    }
+
+    private ByteBuffer getFingerprint(
+      ByteBuffer headerFingerprint,
+      PdfStream stream
+      )
+    {
+      digest.update(headerFingerprint.duplicate());
+      return ByteBuffer.wrap(digest.digest(stream.getBody(false).toByteArray()));
+    }
+
+    /**
+      Gets the digest of the stream header, ignoring its length (which is recomputed on
+      serialization).
+    */
+    private ByteBuffer getHeaderFingerprint(
+      PdfStream stream
+      )
+    {
+      buffer.clear();
+      for(Map.Entry<PdfName,PdfDirectObject> entry : stream.getHeader().entrySet())
+      {
+        if(entry.getKey().equals(PdfName.Length))
+          continue;
+
+        entry.getKey().writeTo(buffer, file); buffer.write(" ");
+        PdfDirectObject value = entry.getValue();
+        if(value == null)
+        {buffer.write("null");}
+        else
+        {value.writeTo(buffer, file);}
+        buffer.write(" ");
+      }
+      return getDigest();
+    }
+
+    /**
+      Gets the estimated serialized length of the given object.
+    */
+    private long getLength(
+      PdfIndirectObject object
+      )
+    {
+      long length = getOverhead(object);
+      PdfDataObject dataObject = object.getDataObject();
+      if(dataObject instanceof PdfStream)
+      {
+        PdfStream stream = (PdfStream)dataObject;
+        serialize(stream.getHeader());
+        PdfDataObject bodyLength = stream.getHeader().resolve(PdfName.Length);
+        length += buffer.getLength() + (bodyLength instanceof PdfInteger
+          ? ((PdfInteger)bodyLength).getIntValue()
+          : stream.getBody(false).getLength());
+      }
+      else
+      {
+        serialize(dataObject);
+        length += buffer.getLength();
+      }
+      return length;
+    }
+
+    /**
+      Gets the references contained in the given data object, skipping those which point to no
+      walkable object.
+    */
+    private List<Slot> getSlots(
+      PdfDataObject dataObject
+      )
+    {
+      List<Slot> slots = new ArrayList<Slot>();
+      if(dataObject instanceof PdfStream)
+      {fillSlots(((PdfStream)dataObject).getHeader(), slots);}
+      else
+      {fillSlots((PdfDirectObject)dataObject, slots);}
+      return slots;
+    }
+
+    private void fillSlots(
+      PdfDirectObject object,
+      List<Slot> slots
+      )
+    {
+      if(object instanceof PdfDictionary)
+      {
+        for(Map.Entry<PdfName,PdfDirectObject> entry : ((PdfDictionary)object).entrySet())
+        {fillSlot(object, entry.getKey(), entry.getValue(), slots);}
+      }
+      else if(object instanceof PdfArray)
+      {
+        PdfArray array = (PdfArray)object;
+        for(int index = 0, length = array.size(); index < length; index++)
+        {fillSlot(object, index, array.get(index), slots);}
+      }
+    }
+
+    private void fillSlot(
+      PdfDirectObject container,
+      Object key,
+      PdfDirectObject value,
+      List<Slot> slots
+      )
+    {
+      if(value instanceof PdfReference)
+      {
+        int objectNumber = ((PdfReference)value).getObjectNumber();
+        if(isWalkable(objectNumber))
+        {slots.add(new Slot(container, key, objectNumber));}
+      }
+      else
+      {fillSlots(value, slots);}
+    }
+
+    private boolean isWalkable(
+      int objectNumber
+      )
+    {
+      /*
+        NOTE: Object number 0 is the head of the free list, and is also the placeholder number of
+        virtual objects.
+      */
+      return objectNumber > 0 && objectNumber < objectCount;
+    }
+
+    /**
+      Replaces the given object with its equivalent.
+    */
+    private void merge(
+      PdfIndirectObject object,
+      int equivalentNumber
+      )
+    {
+      int objectNumber = object.getReference().getObjectNumber();
+      report.add(CategoryEnum.DuplicateObjects, getLength(object));
+      mergedNumbers[objectNumber] = equivalentNumber;
+      states[objectNumber] = Discarded;
+      indirectObjects.remove(objectNumber);
+    }
+
+    /**
+      Serializes the given data object into the buffer.
+    */
+    private void serialize(
+      PdfDataObject dataObject
+      )
+    {
+      buffer.clear();
+      dataObject.writeTo(buffer, file);
+    }
+  }
+
+  /**
+    Unused resource collector.
+    <p>Resource usage is tracked per category dictionary (which may be shared among several
+    resource dictionaries), scanning the contents of pages, annotation appearances and any form
+    XObject they paint. Category dictionaries belonging to resources whose contents can't be fully
+    accounted for (tiling patterns, Type 3 fonts, interactive form defaults, unparseable contents)
+    are left untouched.</p>
+  */
+  private static final class ResourcePruner
+  {
+    /**
+      Resource categories subject to pruning.
+    */
+    private static final PdfName[] Categories = new PdfName[]
+      {
+        PdfName.ColorSpace,
+        PdfName.ExtGState,
+        PdfName.Font,
+        PdfName.Pattern,
+        PdfName.XObject
+      };
+    /**
+      Default color spaces (they are implicitly selected by device color operators, so they are never
+      referenced by name [PDF:1.6:4.5.4]).
+    */
+    private static final PdfName[] DefaultColorSpaces = new PdfName[]
+      {
+        PdfName.DefaultCMYK,
+        PdfName.DefaultGray,
+        PdfName.DefaultRGB
+      };
+
+    private static final class FormTask
+    {
+      final PdfDirectObject formObject;
+      final PdfDictionary resources;
+
+      FormTask(
+        PdfDirectObject formObject,
+        PdfDictionary resources
+        )
+      {
+        this.formObject = formObject;
+        this.resources = resources;
+      }
+    }
+
+    private final File file;
+    private final Report report;
+
+    private final Set<PdfDictionary> lockedDictionaries = Collections.newSetFromMap(new IdentityHashMap<PdfDictionary,Boolean>());
+    private final Deque<FormTask> pendingForms = new ArrayDeque<FormTask>();
+    /**
+      Scanned forms, mapped to their effective resources.
+    */
+    private final Map<PdfDataObject,Set<PdfDictionary>> scannedForms = new IdentityHashMap<PdfDataObject,Set<PdfDictionary>>();
+    /**
+      Used resource names, mapped to their category dictionaries.
+    */
+    private final Map<PdfDictionary,Set<PdfName>> usedNames = new IdentityHashMap<PdfDictionary,Set<PdfName>>();
+
+    ResourcePruner(
+      File file,
+      Report report
+      )
+    {
+      this.file = file;
+      this.report = report;
+    }
+
+    /**
+      Removes the unused resources.
+
+      @return References removed from the resources.
+    */
+    List<PdfReference> prune(
+      )
+    {
+      // 1. Resource usage.
+      {
+        PdfDictionary formObject = (PdfDictionary)file.getDocument().getBaseDataObject().resolve(PdfName.AcroForm);
+        if(formObject != null)
+        {lock(formObject.resolve(PdfName.DR));}
+      }
+      for(Page page : file.getDocument().getPages())
+      {
+        PdfDictionary resources = asDictionary(PdfObject.resolve(Page.getInheritableAttribute(page.getBaseDataObject(), PdfName.Resources)));
+        scan(page, resources);
+
+        PdfDataObject annotationsObject = page.getBaseDataObject().resolve(PdfName.Annots);
+        if(annotationsObject instanceof PdfArray)
+        {
+          for(PdfDirectObject annotationObject : (PdfArray)annotationsObject)
+          {
+            PdfDictionary annotation = asDictionary(PdfObject.resolve(annotationObject));
+            PdfDictionary appearance = (annotation != null ? asDictionary(annotation.resolve(PdfName.AP)) : null);
+            if(appearance == null)
+              continue;
+
+            for(PdfDirectObject statesObject : appearance.values())
+            {
+              PdfDataObject states = PdfObject.resolve(statesObject);
+              if(states instanceof PdfStream)
+              {schedule(statesObject, resources);}
+              else if(states instanceof PdfDictionary)
+              {
+                for(PdfDirectObject stateObject : ((PdfDictionary)states).values())
+                {schedule(stateObject, resources);}
+              }
+            }
+          }
+        }
+
+        while(!pendingForms.isEmpty())
+        {
+          FormTask formTask = pendingForms.poll();
+          scan(FormXObject.wrap(formTask.formObject), formTask.resources);
+        }
+      }
+
+      // 2. Unused resource removal.
+      List<PdfReference> prunedReferences = new ArrayList<PdfReference>();
+      Buffer buffer = new Buffer();
+      for(Map.Entry<PdfDictionary,Set<PdfName>> entry : usedNames.entrySet())
+      {
+        PdfDictionary categoryDictionary = entry.getKey();
+        if(lockedDictionaries.contains(categoryDictionary))
+          continue;
+
+        Set<PdfName> names = entry.getValue();
+        for(PdfName name : new ArrayList<PdfName>(categoryDictionary.keySet()))
+        {
+          if(names.contains(name))
+            continue;
+
+          PdfDirectObject value = categoryDictionary.remove(name);
+          buffer.clear();
+          name.writeTo(buffer, file); buffer.write(" ");
+          if(value != null)
+          {value.writeTo(buffer, file);}
+          report.add(CategoryEnum.UnusedResources, buffer.getLength() + 1);
+          if(value instanceof PdfReference)
+          {prunedReferences.add((PdfReference)value);}
+        }
+      }
+      return prunedReferences;
+    }
+
+    private PdfDictionary asDictionary(
+      PdfDataObject object
+      )
+    {return object instanceof PdfDictionary ? (PdfDictionary)object : null;}
+
+    /**
+      Prevents the category dictionaries of the given resources from being pruned.
+    */
+    private void lock(
+      PdfDataObject resources
+      )
+    {
+      if(!(resources instanceof PdfDictionary))
+        return;
+
+      for(PdfName category : Categories)
+      {
+        PdfDictionary categoryDictionary = asDictionary(((PdfDictionary)resources).resolve(category));
+        if(categoryDictionary != null)
+        {lockedDictionaries.add(categoryDictionary);}
+      }
+    }
+
+    /**
+      Scans the contents of the given context.
+
+      @param context Content context.
+      @param resources Effective resources of the content context.
+    */
+    private void scan(
+      IContentContext context,
+      PdfDictionary resources
+      )
+    {
+      if(resources == null)
+        return;
+
+      // Register the category dictionaries in scope!
+      for(PdfName category : Categories)
+      {use(resources, category, null);}
+      for(PdfName colorSpace : DefaultColorSpaces)
+      {use(resources, PdfName.ColorSpace, colorSpace);}
+
+      try
+      {scan(new ContentScanner(context), resources);}
+      catch(RuntimeException e)
+      {lock(resources);} // Contents not accounted for.
+    }
+
+    private void scan(
+      ContentScanner level,
+      PdfDictionary resources
+      )
+    {
+      while(level.moveNext())
+      {
+        ContentObject content = level.getCurrent();
+        if(content instanceof CompositeObject)
+        {scan(level.getChildLevel(), resources);}
+        else if(content instanceof SetFont)
+        {
+          PdfDictionary font = asDictionary(PdfObject.resolve(use(resources, PdfName.Font, ((SetFont)content).getName())));
+          if(font != null && PdfName.Type3.equals(font.get(PdfName.Subtype)))
+          {
+            PdfDataObject fontResources = font.resolve(PdfName.Resources);
+            lock(fontResources != null ? fontResources : resources);
+          }
+        }
+        else if(content instanceof ApplyExtGState)
+        {
+          PdfDictionary extGState = asDictionary(PdfObject.resolve(use(resources, PdfName.ExtGState, ((ApplyExtGState)content).getName())));
+          PdfDictionary softMask = (extGState != null ? asDictionary(extGState.resolve(PdfName.SMask)) : null);
+          if(softMask != null)
+          {schedule(softMask.get(PdfName.G), resources);}
+        }
+        else if(content instanceof PaintXObject)
+        {schedule(use(resources, PdfName.XObject, ((PaintXObject)content).getName()), resources);}
+        else if(content instanceof SetFillColorSpace)
+        {use(resources, PdfName.ColorSpace, ((SetFillColorSpace)content).getName());}
+        else if(content instanceof SetStrokeColorSpace)
+        {use(resources, PdfName.ColorSpace, ((SetStrokeColorSpace)content).getName());}
+        else if(content instanceof SetFillColor || content instanceof SetStrokeColor)
+        {
+          List<PdfDirectObject> operands = ((Operation)content).getOperands();
+          if(!operands.isEmpty() && operands.get(operands.size() - 1) instanceof PdfName)
+          {
+            PdfDataObject pattern = PdfObject.resolve(use(resources, PdfName.Pattern, (PdfName)operands.get(operands.size() - 1)));
+            if(pattern instanceof PdfStream) // Tiling pattern.
+            {lock(((PdfStream)pattern).getHeader().resolve(PdfName.Resources));}
+          }
+        }
+        else if(content instanceof InlineImageHeader)
+        {
+          InlineImageHeader header = (InlineImageHeader)content;
+          PdfDirectObject colorSpace = header.get(PdfName.CS);
+          if(colorSpace == null)
+          {colorSpace = header.get(PdfName.ColorSpace);}
+          if(colorSpace instanceof PdfName)
+          {use(resources, PdfName.ColorSpace, (PdfName)colorSpace);}
+        }
+      }
+    }
+
+    /**
+      Schedules the scan of the given form XObject.
+
+      @param formObject Form XObject.
+      @param callerResources Resources of the content context painting the form XObject (inherited
+      in case the form XObject has no resources of its own).
+    */
+    private void schedule(
+      PdfDirectObject formObject,
+      PdfDictionary callerResources
+      )
+    {
+      PdfDataObject formDataObject = PdfObject.resolve(formObject);
+      if(!(formDataObject instanceof PdfStream))
+        return;
+
+      PdfDictionary header = ((PdfStream)formDataObject).getHeader();
+      PdfDirectObject subtype = header.get(PdfName.Subtype);
+      if(subtype == null ? !header.containsKey(PdfName.BBox) : !PdfName.Form.equals(subtype))
+        return;
+
+      PdfDictionary resources = asDictionary(header.resolve(PdfName.Resources));
+      if(resources == null)
+      {resources = callerResources;}
+      if(resources == null)
+        return;
+
+      Set<PdfDictionary> scannedResources = scannedForms.get(formDataObject);
+      if(scannedResources == null)
+      {scannedForms.put(formDataObject, scannedResources = Collections.newSetFromMap(new IdentityHashMap<PdfDictionary,Boolean>()));}
+      if(scannedResources.add(resources))
+      {pendingForms.add(new FormTask(formObject, resources));}
+    }
+
+    /**
+      Marks the given resource as used.
+
+      @param resources Resources.
+      @param category Resource category.
+      @param name Resource name (<code>null</code> to just register the category dictionary).
+      @return Resource object.
+    */
+    private PdfDirectObject use(
+      PdfDictionary resources,
+      PdfName category,
+      PdfName name
+      )
+    {
+      PdfDictionary categoryDictionary = asDictionary(resources.resolve(category));
+      if(categoryDictionary == null)
+        return null;
+
+      Set<PdfName> names = usedNames.get(categoryDictionary);
+      if(names == null)
+      {usedNames.put(categoryDictionary, names = new HashSet<PdfName>());}
+      if(name == null)
+        return null;
+
+      names.add(name);
+      return categoryDictionary.get(name);
+    }
+  }
+  // </classes>
+
+  // <static>
+  // <fields>
+  /**
+    Estimated serialization overhead of an indirect object within an object stream, besides its
+    object number (offset within the object stream, separators and compressed cross-reference
+    entry).
+  */
+  private static final int PackedObjectOverhead = 14;
+  /**
+    Serialization overhead of an indirect object in a plain file, besides its identifier (object
+    header and trailer, and cross-reference table entry [PDF:1.6:3.4.3]).
+  */
+  private static final int PlainObjectOverhead = 5 + 8 + 20;
+  // </fields>
+
+  // <interface>
+  // <public>
   /**
     Removes indirect objects which have no reference in the document structure.
 
@@ -85,4 +1134,173 @@ public final class Optimizer
       {indirectObjects.remove(objectNumber);}
     }
   }
+  // </public>
+
+  // <private>
+  private static int getOverhead(
+    PdfIndirectObject object
+    )
+  {return object.getReference().getId().length() + PlainObjectOverhead;}
+
+  /**
+    Gets whether the given (interchangeable) data object can be collapsed into its referrer.
+  */
+  private static boolean isCollapsible(
+    PdfDataObject dataObject
+    )
+  {
+    /*
+      NOTE: Fonts MUST be referenced indirectly, as their wrappers are cached by reference (see
+      Font.wrap(PdfDirectObject)).
+    */
+    return !(dataObject instanceof PdfDictionary
+      && PdfName.Font.equals(((PdfDictionary)dataObject).get(PdfName.Type)));
+  }
+
+  /**
+    Gets whether the given data object can be merged with or collapsed into other objects.
+    <p>Objects whose identity matters (see {@link PdfDictionary#isIdentityBearing()}) are kept
+    distinct.</p>
+  */
+  private static boolean isInterchangeable(
+    PdfDataObject dataObject
+    )
+  {
+    if(dataObject instanceof PdfDictionary)
+      return !((PdfDictionary)dataObject).isIdentityBearing();
+    else
+      return !(dataObject instanceof ObjectStream
+        || dataObject instanceof XRefStream);
+  }
+  // </private>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private int collapsibleObjectMaxLength = 128;
+  private boolean duplicateMergingEnabled = true;
+  private boolean objectCollapsingEnabled = true;
+  private boolean objectStreamPackingEnabled = true;
+  private boolean resourcePruningEnabled = true;
+  // </fields>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the maximum serialized length of the indirect objects to collapse into their referrers.
+  */
+  public int getCollapsibleObjectMaxLength(
+    )
+  {return collapsibleObjectMaxLength;}
+
+  /**
+    Gets whether byte-identical indirect objects have to be merged.
+    <p>Objects are compared after their references have been redirected to their merged
+    equivalents, so that duplicate subgraphs collapse bottom-up.</p>
+  */
+  public boolean isDuplicateMergingEnabled(
+    )
+  {return duplicateMergingEnabled;}
+
+  /**
+    Gets whether small indirect objects referenced just once have to be collapsed into their
+    referrers.
+
+    @see #getCollapsibleObjectMaxLength()
+  */
+  public boolean isObjectCollapsingEnabled(
+    )
+  {return objectCollapsingEnabled;}
+
+  /**
+    Gets whether indirect objects have to be packed into object streams (see {@link
+    XRefModeEnum#Compressed}).
+  */
+  public boolean isObjectStreamPackingEnabled(
+    )
+  {return objectStreamPackingEnabled;}
+
+  /**
+    Gets whether the resources no content stream refers to have to be removed.
+    <p>Affected categories are fonts, XObjects, graphics states, color spaces and patterns.</p>
+  */
+  public boolean isResourcePruningEnabled(
+    )
+  {return resourcePruningEnabled;}
+
+  /**
+    Optimizes the specified file.
+    <p>Besides the enabled optimizations, indirect objects which have no reference in the document
+    structure are removed. Changes take effect on file serialization.</p>
+
+    @param file File to optimize.
+    @return Optimization outcome.
+  */
+  public Report optimize(
+    File file
+    )
+  {
+    Report report = new Report();
+
+    // 1. Unused resources.
+    List<PdfReference> prunedReferences = (resourcePruningEnabled
+      ? new ResourcePruner(file, report).prune()
+      : Collections.<PdfReference>emptyList());
+
+    // 2. Object graph.
+    Pass pass = new Pass(file, report);
+    pass.walk();
+    pass.collectGarbage(prunedReferences);
+    if(objectCollapsingEnabled)
+    {pass.collapse();}
+    if(objectStreamPackingEnabled)
+    {pass.pack();}
+
+    return report;
+  }
+
+  /**
+    @see #getCollapsibleObjectMaxLength()
+  */
+  public void setCollapsibleObjectMaxLength(
+    int value
+    )
+  {collapsibleObjectMaxLength = value;}
+
+  /**
+    @see #isDuplicateMergingEnabled()
+  */
+  public void setDuplicateMergingEnabled(
+    boolean value
+    )
+  {duplicateMergingEnabled = value;}
+
+  /**
+    @see #isObjectCollapsingEnabled()
+  */
+  public void setObjectCollapsingEnabled(
+    boolean value
+    )
+  {objectCollapsingEnabled = value;}
+
+  /**
+    @see #isObjectStreamPackingEnabled()
+  */
+  public void setObjectStreamPackingEnabled(
+    boolean value
+    )
+  {objectStreamPackingEnabled = value;}
+
+  /**
+    @see #isResourcePruningEnabled()
+  */
+  public void setResourcePruningEnabled(
+    boolean value
+    )
+  {resourcePruningEnabled = value;}
+  // </public>
+  // </interface>
+  // </dynamic>
+  // </class>
 }
@@ -0,0 +1,377 @@
+/*
+  Copyright 2026 Stefano Chizzolini. http://www.pdfclown.org
+
+  Contributors:
+    * Stefano Chizzolini (original code developer, http://www.stefanochizzolini.it)
+
+  This file should be part of the source code distribution of "PDF Clown library"
+  (the Program): see the accompanying README files for more info.
+
+  This Program is free software; you can redistribute it and/or modify it under the terms
+  of the GNU Lesser General Public License as published by the Free Software Foundation;
+  either version 3 of the License, or (at your option) any later version.
+
+  This Program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY,
+  either expressed or implied; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License along with this
+  Program (see README files); if not, go to the GNU website (http://www.gnu.org/licenses/).
+
+  Redistribution and use, with or without modification, are permitted provided that such
+  redistributions retain the above copyright notice, license and disclaimer, along with
+  this list of conditions.
+*/
+
+package org.pdfclown.tools;
+
+import java.awt.geom.Dimension2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.pdfclown.documents.Page;
+import org.pdfclown.documents.contents.ITextString;
+import org.pdfclown.util.IFunction;
+
+/**
+  Tool for processing pages in parallel.
+  <p>Each page is submitted as an independent task to an executor (by default, a fork/join pool
+  sized on the available processors); results are delivered back to the calling thread in page
+  order. The number of tasks in flight is bounded, so that long page sequences are processed in
+  constant memory.</p>
+  <p>Tasks MUST NOT modify the document, as only its read access is safe for concurrent use.</p>
+
+  @author Stefano Chizzolini (http://www.stefanochizzolini.it)
+  @since 0.2.0
+  @version 0.2.0, 10/17/26
+*/
+public final class PageProcessor
+  implements Closeable
+{
+  // <class>
+  // <classes>
+  /**
+    Page result handler.
+  */
+  public interface IResultHandler<TResult>
+  {
+    /**
+      Handles the result of a page task.
+      <p>Results are delivered in page order from the thread which invoked the processing.</p>
+
+      @param pageIndex Page position within the processed sequence.
+      @param page Processed page.
+      @param result Task result.
+      @return Whether the processing has to go on (<code>false</code> cancels the pending tasks).
+    */
+    boolean handle(
+      int pageIndex,
+      Page page,
+      TResult result
+      );
+  }
+
+  private static final class PageTask<TResult>
+    implements Callable<TResult>
+  {
+    final int pageIndex;
+    final Page page;
+    final IFunction<Page,TResult> task;
+
+    Future<TResult> future;
+
+    PageTask(
+      int pageIndex,
+      Page page,
+      IFunction<Page,TResult> task
+      )
+    {
+      this.pageIndex = pageIndex;
+      this.page = page;
+      this.task = task;
+    }
+
+    @Override
+    public TResult call(
+      )
+    {return task.apply(page);}
+  }
+  // </classes>
+
+  // <static>
+  // <interface>
+  // <public>
+  /**
+    Creates a task detecting whether a page is blank.
+
+    @see PageManager#isBlank(Page)
+  */
+  public static IFunction<Page,Boolean> createBlankTask(
+    )
+  {
+    return new IFunction<Page,Boolean>()
+    {
+      @Override
+      public Boolean apply(
+        Page page
+        )
+      {return PageManager.isBlank(page);}
+    };
+  }
+
+  /**
+    Creates a task rendering a page into an image.
+
+    @param size Image size expressed in device-space units (that is typically pixels).
+    @see Renderer#render(org.pdfclown.documents.contents.IContentContext, Dimension2D)
+  */
+  public static IFunction<Page,BufferedImage> createRenderTask(
+    final Dimension2D size
+    )
+  {
+    final Renderer renderer = new Renderer();
+    return new IFunction<Page,BufferedImage>()
+    {
+      @Override
+      public BufferedImage apply(
+        Page page
+        )
+      {return renderer.render(page, size);}
+    };
+  }
+
+  /**
+    Creates a task extracting the text of a page.
+
+    @param extractor Text extractor (it MUST NOT be reconfigured during the processing).
+    @see TextExtractor#extract(org.pdfclown.documents.contents.IContentContext)
+  */
+  public static IFunction<Page,Map<Rectangle2D,List<ITextString>>> createTextTask(
+    final TextExtractor extractor
+    )
+  {
+    return new IFunction<Page,Map<Rectangle2D,List<ITextString>>>()
+    {
+      @Override
+      public Map<Rectangle2D,List<ITextString>> apply(
+        Page page
+        )
+      {return extractor.extract(page);}
+    };
+  }
+  // </public>
+  // </interface>
+  // </static>
+
+  // <dynamic>
+  // <fields>
+  private final ExecutorService executor;
+  private final boolean executorOwned;
+  private final int parallelism;
+  // </fields>
+
+  // <constructors>
+  /**
+    Creates a processor running as many tasks as the available processors.
+  */
+  public PageProcessor(
+    )
+  {this(Runtime.getRuntime().availableProcessors());}
+
+  /**
+    Creates a processor running on its own fork/join pool.
+
+    @param parallelism Maximum number of tasks running at the same time.
+  */
+  public PageProcessor(
+    int parallelism
+    )
+  {this(new ForkJoinPool(parallelism), parallelism, true);}
+
+  /**
+    Creates a processor running on the specified executor.
+    <p>This is the way to plug alternative threading models (for example, a virtual-thread-per-task
+    executor): in any case, the tasks in flight are bounded according to <code>parallelism</code>.
+    The executor is not shut down on {@link #close() closing}.</p>
+
+    @param executor Executor to submit the page tasks to.
+    @param parallelism Maximum number of tasks running at the same time.
+  */
+  public PageProcessor(
+    ExecutorService executor,
+    int parallelism
+    )
+  {this(executor, parallelism, false);}
+
+  private PageProcessor(
+    ExecutorService executor,
+    int parallelism,
+    boolean executorOwned
+    )
+  {
+    if(parallelism < 1)
+      throw new IllegalArgumentException("Parallelism MUST be positive.");
+
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.executorOwned = executorOwned;
+  }
+  // </constructors>
+
+  // <interface>
+  // <public>
+  /**
+    Gets the maximum number of tasks running at the same time.
+  */
+  public int getParallelism(
+    )
+  {return parallelism;}
+
+  /**
+    Applies the specified task to the pages, collecting the results.
+
+    @param pages Pages to process.
+    @param task Task to apply to each page.
+    @return Task results, in page order.
+    @throws CancellationException If the calling thread has been interrupted.
+  */
+  public <TResult> List<TResult> process(
+    Iterable<Page> pages,
+    IFunction<Page,TResult> task
+    )
+  {
+    final List<TResult> results = new ArrayList<TResult>();
+    if(!process(
+      pages,
+      task,
+      new IResultHandler<TResult>()
+      {
+        @Override
+        public boolean handle(
+          int pageIndex,
+          Page page,
+          TResult result
+          )
+        {
+          results.add(result);
+          return true;
+        }
+      }
+      ))
+      throw new CancellationException("Page processing interrupted.");
+
+    return results;
+  }
+
+  /**
+    Applies the specified task to the pages, delivering the results in page order.
+    <p>The processing is cancelled as soon as either the handler asks so or the calling thread is
+    interrupted (in the latter case, the interrupted status is preserved).</p>
+
+    @param pages Pages to process.
+    @param task Task to apply to each page.
+    @param handler Handler of the task results.
+    @return Whether all the pages have been processed.
+  */
+  public <TResult> boolean process(
+    Iterable<Page> pages,
+    IFunction<Page,TResult> task,
+    IResultHandler<? super TResult> handler
+    )
+  {
+    /*
+      NOTE: Twice as many tasks as the parallelism are kept in flight, so that workers don't starve
+      while the head task (whose result is to be delivered next) is still running.
+    */
+    int maxPendingTaskCount = parallelism * 2;
+    Queue<PageTask<TResult>> pendingTasks = new ArrayDeque<PageTask<TResult>>(maxPendingTaskCount);
+    try
+    {
+      int pageIndex = 0;
+      for(Page page : pages)
+      {
+        if(pendingTasks.size() >= maxPendingTaskCount
+          && !deliver(pendingTasks.poll(), handler))
+          return false;
+
+        PageTask<TResult> pageTask = new PageTask<TResult>(pageIndex++, page, task);
+        pageTask.future = executor.submit(pageTask);
+        pendingTasks.add(pageTask);
+      }
+      while(!pendingTasks.isEmpty())
+      {
+        if(!deliver(pendingTasks.poll(), handler))
+          return false;
+      }
+      return true;
+    }
+    finally
+    {
+      // Cancel the tasks left behind (early exit)!
+      for(PageTask<TResult> pendingTask : pendingTasks)
+      {pendingTask.future.cancel(true);}
+    }
+  }
+
+  // <Closeable>
+  /**
+    Shuts down the executor, in case it was created by this processor.
+  */
+  @Override
+  public void close(
+    )
+  {
+    if(executorOwned)
+    {executor.shutdown();}
+  }
+  // </Closeable>
+  // </public>
+
+  // <private>
+  /**
+    Waits for the specified task to complete, then passes its result to the handler.
+
+    @return Whether the processing has to go on.
+  */
+  private <TResult> boolean deliver(
+    PageTask<TResult> pageTask,
+    IResultHandler<? super TResult> handler
+    )
+  {
+    TResult result;
+    try
+    {result = pageTask.future.get();}
+    catch(InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    catch(ExecutionException e)
+    {
+      Throwable cause = e.getCause();
+      if(cause instanceof RuntimeException)
+        throw (RuntimeException)cause;
+      else if(cause instanceof Error)
+        throw (Error)cause;
+      else
+        throw new RuntimeException("Page " + pageTask.pageIndex + " processing failed.", cause);
+    }
+    return handler.handle(pageTask.pageIndex, pageTask.page, result);
+  }
+  // </private>
+  // </interface>
+  // </dynamic>
+  // </class>
+}
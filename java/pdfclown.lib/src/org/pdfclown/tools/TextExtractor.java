@@ -39,6 +39,7 @@ import org.pdfclown.documents.contents.Contents;
 import org.pdfclown.documents.contents.IContentContext;
 import org.pdfclown.documents.contents.ITextString;
 import org.pdfclown.documents.contents.TextChar;
+import org.pdfclown.documents.contents.TextRun;
 import org.pdfclown.documents.contents.TextStyle;
 import org.pdfclown.documents.contents.objects.ContainerObject;
 import org.pdfclown.documents.contents.objects.ContentObject;
@@ -51,7 +52,7 @@ import org.pdfclown.util.math.Interval;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.0.8
-  @version 0.2.0, 05/27/15
+  @version 0.2.0, 10/17/26
 */
 public final class TextExtractor
 {
@@ -101,7 +102,7 @@ public final class TextExtractor
     // <class>
     // <dynamic>
     // <fields>
-    private final List<TextChar> textChars = new ArrayList<TextChar>();
+    private final TextRun textChars = new TextRun();
     // </fields>
 
     // <interface>
@@ -109,35 +110,20 @@ public final class TextExtractor
     @Override
     public Rectangle2D getBox(
       )
-    {
-      Rectangle2D box = null;
-      for(TextChar textChar : textChars)
-      {
-        if(box == null)
-        {box = (Rectangle2D)textChar.getBox().clone();}
-        else
-        {box.add(textChar.getBox());}
-      }
-      return box;
-    }
+    {return textChars.getBox();}
 
     @Override
     public double getAlpha() {
-        return textChars.isEmpty() ? 0 : textChars.get(0).getAlpha();
+        return textChars.isEmpty() ? 0 : textChars.getAlpha(0);
     }
 
     @Override
     public String getText(
       )
-    {
-      StringBuilder textBuilder = new StringBuilder();
-      for(TextChar textChar : textChars)
-      {textBuilder.append(textChar);}
-      return textBuilder.toString();
-    }
+    {return textChars.getText();}
 
     @Override
-    public List<TextChar> getTextChars(
+    public TextRun getTextChars(
       )
     {return textChars;}
     
@@ -685,7 +671,11 @@ public final class TextExtractor
     // Aggregating and integrating the source text strings into the target ones...
     TextString textString = null;
     TextStyle textStyle = null;
-    TextChar previousTextChar = null;
+    /*
+      NOTE: The previous text character (if any) is the last one of the current text string, so
+      it's tracked by position instead of materializing it.
+    */
+    boolean previousTextChar = false;
     boolean dehyphenating = false;
     for(ContentScanner.TextStringWrapper rawTextString : rawTextStrings)
     {
@@ -697,78 +687,80 @@ public final class TextExtractor
         && !textString.textChars.isEmpty()
         && !TextStringPositionComparator.isOnTheSameLine(textString.getBox(), rawTextString.getBox()))
       {
+        TextRun textChars = textString.textChars;
+        int previousTextCharIndex = textChars.size() - 1;
         if(dehyphenated
-          && previousTextChar.getValue() == '-') // Hyphened word.
+          && textChars.getValue(previousTextCharIndex) == '-') // Hyphened word.
         {
-          textString.textChars.remove(previousTextChar);
+          textChars.remove(previousTextCharIndex);
           dehyphenating = true;
         }
         else // Full word.
         {
           // Add synthesized space character!
-          textString.textChars.add(
-            new TextChar(
-              ' ',
-              new Rectangle2D.Double(
-                previousTextChar.getBox().getMaxX(),
-                previousTextChar.getBox().getY(),
-                0,
-                previousTextChar.getBox().getHeight()
-                ),
-              textStyle,
-              true
-              )
+          textChars.add(
+            ' ',
+            textChars.getMaxX(previousTextCharIndex),
+            textChars.getY(previousTextCharIndex),
+            0,
+            textChars.getHeight(previousTextCharIndex),
+            0,
+            textStyle,
+            true
             );
           textString = null;
           dehyphenating = false;
         }
-        previousTextChar = null;
+        previousTextChar = false;
       }
       if(textString == null)
       {textStrings.add(textString = new TextString());}
 
       textStyle = rawTextString.getStyle();
       double spaceWidth = textStyle.getWidth(' ') * .5;
-      for(TextChar textChar : rawTextString.getTextChars())
+      TextRun rawTextChars = rawTextString.getTextChars();
+      for(int rawTextCharIndex = 0, rawTextCharCount = rawTextChars.size(); rawTextCharIndex < rawTextCharCount; rawTextCharIndex++)
       {
-        if(previousTextChar != null)
+        if(previousTextChar)
         {
+          TextRun textChars = textString.textChars;
+          int previousTextCharIndex = textChars.size() - 1;
+          char textCharValue = rawTextChars.getValue(rawTextCharIndex);
+          char previousTextCharValue = textChars.getValue(previousTextCharIndex);
           /*
             NOTE: PDF files may have text contents omitting space characters,
             so they must be inferred and synthesized, marking them as virtual
             in order to allow the user to distinguish between original contents
             and augmented ones.
           */
-          if(!textChar.contains(' ') 
-            && !previousTextChar.contains(' '))
+          if(textCharValue != ' '
+            && previousTextCharValue != ' ')
           {
-            double charSpace = textChar.getBox().getX() - previousTextChar.getBox().getMaxX();
+            double charSpace = rawTextChars.getX(rawTextCharIndex) - textChars.getMaxX(previousTextCharIndex);
             if(charSpace > spaceWidth)
             {
               // Add synthesized space character!
-              textString.textChars.add(
-                previousTextChar = new TextChar(
-                  ' ',
-                  new Rectangle2D.Double(
-                    previousTextChar.getBox().getMaxX(),
-                    textChar.getBox().getY(),
-                    charSpace,
-                    textChar.getBox().getHeight()
-                    ),
-                  textStyle,
-                  true
-                  )
+              textChars.add(
+                ' ',
+                textChars.getMaxX(previousTextCharIndex),
+                rawTextChars.getY(rawTextCharIndex),
+                charSpace,
+                rawTextChars.getHeight(rawTextCharIndex),
+                0,
+                textStyle,
+                true
                 );
             }
           }
           else if(dehyphenating
-            && previousTextChar.contains(' '))
+            && previousTextCharValue == ' ')
           {
             textStrings.add(textString = new TextString());
             dehyphenating = false;
           }
         }
-        textString.textChars.add(previousTextChar = textChar);
+        textString.textChars.add(rawTextChars, rawTextCharIndex);
+        previousTextChar = true;
       }
     }
   }
@@ -143,6 +143,22 @@ public final class ConvertUtils
     return result;
   }
 
+  public static byte[] numberToByteArray(
+    long data,
+    int length,
+    ByteOrder byteOrder
+    )
+  {
+    byte[] result = new byte[length];
+    for(
+      int index = 0;
+      index < length;
+      index++
+      )
+    {result[index] = (byte)(data >> 8 * (byteOrder == ByteOrder.LITTLE_ENDIAN ? index : length-index-1));}
+    return result;
+  }
+
   public static float[] toFloatArray(
     double[] array
     )
@@ -39,7 +39,7 @@ import org.pdfclown.tokens.Symbol;
 
   @author Stefano Chizzolini (http://www.stefanochizzolini.it)
   @since 0.1.1
-  @version 0.2.0, 05/22/15
+  @version 0.2.0, 10/17/26
 */
 public class PostScriptParser
   implements Closeable
@@ -65,6 +65,31 @@ public class PostScriptParser
   // </classes>
 
   // <static>
+  // <fields>
+  /**
+    Maximum number of significant digits of an integer which surely fits its primitive type.
+  */
+  private static final int MaxIntegerDigitCount = 18;
+  /**
+    Maximum number of significant digits of a real which can be exactly converted without
+    rounding errors.
+  */
+  private static final int MaxFastDigitCount = 15;
+  /**
+    Exactly-representable powers of ten.
+  */
+  private static final double[] Pow10 = new double[MaxFastDigitCount + 1];
+  // </fields>
+
+  // <constructors>
+  static
+  {
+    Pow10[0] = 1;
+    for(int index = 1; index < Pow10.length; index++)
+    {Pow10[index] = Pow10[index - 1] * 10;}
+  }
+  // </constructors>
+
   // <interface>
   // <protected>
   protected static int getHex(
@@ -121,8 +146,23 @@ public class PostScriptParser
   // <fields>
   private IInputStream stream;
 
-  private Object token;
   private TokenTypeEnum tokenType;
+  /**
+    Raw bytes of the current token (reused across tokens).
+  */
+  private byte[] tokenBytes = new byte[64];
+  /**
+    Number of bytes of the current token.
+  */
+  private int tokenLength;
+  private boolean booleanToken;
+  private long integerToken;
+  private double realToken;
+  /**
+    Object representation of the current token (lazily created).
+  */
+  private Object token;
+  private boolean tokenResolved;
   // </fields>
 
   // <constructors>
@@ -151,12 +191,80 @@ public class PostScriptParser
     )
   {return stream;}
 
+  /**
+    Gets the currently-parsed integer token.
+    <p>Contrary to {@link #getToken()}, this method causes no allocation.</p>
+
+    @throws PostScriptParseException If the current token is not numeric.
+    @throws NumberFormatException If the current token exceeds the integer range.
+  */
+  public int getIntToken(
+    )
+  {
+    long value = getLongToken();
+    if(value != (int)value)
+      throw new NumberFormatException("Integer token out of range: " + value);
+
+    return (int)value;
+  }
+
+  /**
+    Gets the currently-parsed integer token as a long value (e.g., byte offsets within files
+    larger than 2 GB).
+    <p>Contrary to {@link #getToken()}, this method causes no allocation.</p>
+
+    @throws PostScriptParseException If the current token is not numeric.
+  */
+  public long getLongToken(
+    )
+  {
+    switch(tokenType)
+    {
+      case Integer:
+        return integerToken;
+      case Real:
+        return (long)realToken;
+      default:
+        throw new PostScriptParseException("Numeric token expected.", this);
+    }
+  }
+
+  /**
+    Gets the currently-parsed real token.
+    <p>Contrary to {@link #getToken()}, this method causes no allocation.</p>
+
+    @throws PostScriptParseException If the current token is not numeric.
+  */
+  public double getRealToken(
+    )
+  {
+    switch(tokenType)
+    {
+      case Integer:
+        return integerToken;
+      case Real:
+        return realToken;
+      default:
+        throw new PostScriptParseException("Numeric token expected.", this);
+    }
+  }
+
   /**
     Gets the currently-parsed token.
+    <p>Its object representation is created on demand: for performance-sensitive scanning, use
+    the primitive accessors ({@link #getIntToken()}, {@link #getRealToken()}, {@link
+    #getTokenBytes()}) instead.</p>
   */
   public Object getToken(
     )
-  {return token;}
+  {
+    if(!tokenResolved)
+    {
+      token = createToken();
+      tokenResolved = true;
+    }
+    return token;
+  }
 
   /**
     Gets a token after moving to the given offset.
@@ -169,6 +277,35 @@ public class PostScriptParser
     )
   {moveNext(offset); return getToken();}
 
+  /**
+    Gets the raw bytes of the currently-parsed token (name, keyword, number, string or comment).
+    <p>The returned array is reused across tokens: its contents are valid from {@link
+    #getTokenOffset()} for {@link #getTokenLength()} bytes until the next move. Names and strings
+    are represented by their parsed bytes (that is, without delimiters; escape sequences of literal
+    strings are resolved).</p>
+  */
+  public byte[] getTokenBytes(
+    )
+  {return tokenBytes;}
+
+  /**
+    Gets the number of raw bytes of the currently-parsed token.
+
+    @see #getTokenBytes()
+  */
+  public int getTokenLength(
+    )
+  {return tokenLength;}
+
+  /**
+    Gets the position of the first raw byte of the currently-parsed token.
+
+    @see #getTokenBytes()
+  */
+  public int getTokenOffset(
+    )
+  {return 0;}
+
   /**
     Gets the currently-parsed token type.
   */
@@ -214,8 +351,9 @@ public class PostScriptParser
   public boolean moveNext(
     )
   {
-    StringBuilder buffer = null;
     token = null;
+    tokenResolved = false;
+    tokenLength = 0;
     int c = 0;
 
     // Skip leading white-space characters.
@@ -240,7 +378,6 @@ public class PostScriptParser
           the bytes making up the name are never treated as text, so here they are just
           passed through without unescaping.
         */
-        buffer = new StringBuilder();
         try
         {
           while(true)
@@ -249,7 +386,7 @@ public class PostScriptParser
             if(isDelimiter(c) || isWhitespace(c))
               break;
 
-            buffer.append((char)c);
+            appendToken(c);
           }
           stream.skip(-1); // Restores the first byte after the current token.
         }
@@ -270,28 +407,69 @@ public class PostScriptParser
       case '-':
       case '+': // Number.
       {
-        if(c == '.')
-        {tokenType = TokenTypeEnum.Real;}
-        else // Digit or signum.
-        {tokenType = TokenTypeEnum.Integer;} // By default (it may be real).
+        tokenType = TokenTypeEnum.Integer; // By default (it may be real).
 
-        // Building the number...
-        buffer = new StringBuilder();
+        /*
+          NOTE: Numbers are evaluated on the fly from their digits, so that no intermediate string
+          is needed; unusual representations (too many digits, malformed sequences) fall back to
+          the standard string-based conversion.
+        */
+        boolean negative = (c == '-');
+        boolean digitFound = false;
+        boolean malformed = false;
+        long mantissa = 0;
+        int digitCount = 0; // Significant digits.
+        int decimalCount = -1; // Fractional digits (none until the decimal point is found).
         try
         {
           while(true)
           {
-            buffer.append((char)c);
-            c = stream.readUnsignedByte();
+            appendToken(c);
             if(c == '.')
-            {tokenType = TokenTypeEnum.Real;}
-            else if(c < '0' || c > '9')
+            {
+              if(decimalCount >= 0)
+              {malformed = true;}
+              decimalCount = 0;
+              tokenType = TokenTypeEnum.Real;
+            }
+            else if(c >= '0' && c <= '9')
+            {
+              digitFound = true;
+              if(mantissa > 0 || c > '0')
+              {
+                if(++digitCount > MaxFastDigitCount)
+                {malformed = true;}
+                mantissa = mantissa * 10 + (c - '0');
+              }
+              if(decimalCount >= 0)
+              {decimalCount++;}
+            }
+            c = stream.readUnsignedByte();
+            if(c != '.' && (c < '0' || c > '9'))
               break;
           }
           stream.skip(-1); // Restores the first byte after the current token.
         }
         catch(EOFException e)
         {/* NOOP */}
+
+        if(tokenType == TokenTypeEnum.Integer)
+        {
+          if(!digitFound || digitCount > MaxIntegerDigitCount)
+          {integerToken = Long.parseLong(getTokenString());}
+          else
+          {integerToken = (negative ? -mantissa : mantissa);}
+        }
+        else
+        {
+          if(!digitFound || malformed || decimalCount > MaxFastDigitCount)
+          {realToken = Double.parseDouble(getTokenString());}
+          else
+          {
+            double value = mantissa / Pow10[decimalCount];
+            realToken = (negative ? -value : value);
+          }
+        }
       } break;
       case Symbol.OpenSquareBracket: // Array (begin).
         tokenType = TokenTypeEnum.ArrayBegin;
@@ -315,13 +493,12 @@ public class PostScriptParser
         // Hexadecimal string (single angle bracket).
         tokenType = TokenTypeEnum.Hex;
 
-        buffer = new StringBuilder();
         try
         {
           while(c != Symbol.CloseAngleBracket) // NOT string end.
           {
             if(!isWhitespace(c))
-            {buffer.append((char)c);}
+            {appendToken(c);}
 
             c = stream.readUnsignedByte();
           }
@@ -344,7 +521,6 @@ public class PostScriptParser
       {
         tokenType = TokenTypeEnum.Literal;
 
-        buffer = new StringBuilder();
         int level = 0;
         try
         {
@@ -423,7 +599,7 @@ public class PostScriptParser
             if(level == -1)
               break;
 
-            buffer.append((char)c);
+            appendToken(c);
           }
         }
         catch(EOFException e)
@@ -433,7 +609,6 @@ public class PostScriptParser
       {
         tokenType = TokenTypeEnum.Comment;
 
-        buffer = new StringBuilder();
         try
         {
           while(true)
@@ -442,7 +617,7 @@ public class PostScriptParser
             if(isEOL(c))
               break;
 
-            buffer.append((char)c);
+            appendToken(c);
           }
         }
         catch(EOFException e)
@@ -452,57 +627,64 @@ public class PostScriptParser
       {
         tokenType = TokenTypeEnum.Keyword;
 
-        buffer = new StringBuilder();
         try
         {
           do
           {
-            buffer.append((char)c);
+            appendToken(c);
             c = stream.readUnsignedByte();
           } while(!isDelimiter(c) && !isWhitespace(c));
           stream.skip(-1); // Restores the first byte after the current token.
         }
         catch(EOFException e)
         {/* NOOP */}
-      } break;
-    }
 
-    if(buffer != null)
-    {
-      switch(tokenType)
-      {
-        case Keyword:
+        if(tokenEquals(Keyword.False))
         {
-          token = buffer.toString();
-          if(token.equals(Keyword.False)
-            || token.equals(Keyword.True)) // Boolean.
-          {
-            token = Boolean.parseBoolean((String)token);
-            tokenType = TokenTypeEnum.Boolean;
-          }
-          else if(token.equals(Keyword.Null)) // Null.
-          {
-            token = null;
-            tokenType = TokenTypeEnum.Null;
-          }
-        } break;
-        case Name:
-        case Literal:
-        case Hex:
-        case Comment:
-          token = buffer.toString();
-          break;
-        case Integer:
-          token = Integer.parseInt(buffer.toString());
-          break;
-        case Real:
-          token = Double.parseDouble(buffer.toString());
-          break;
-        default:
+          tokenType = TokenTypeEnum.Boolean;
+          booleanToken = false;
+        }
+        else if(tokenEquals(Keyword.True))
         {
-          /* NOOP */
+          tokenType = TokenTypeEnum.Boolean;
+          booleanToken = true;
         }
-      }
+        else if(tokenEquals(Keyword.Null))
+        {tokenType = TokenTypeEnum.Null;}
+      } break;
+    }
+    return true;
+  }
+
+  /**
+    Gets whether the raw bytes of the currently-parsed token match the specified value.
+    <p>This method causes no allocation.</p>
+
+    @param value Token value (single-byte characters).
+  */
+  public boolean tokenEquals(
+    String value
+    )
+  {return tokenLength == value.length() && tokenStartsWith(value);}
+
+  /**
+    Gets whether the raw bytes of the currently-parsed token begin with the specified value.
+    <p>This method causes no allocation.</p>
+
+    @param value Token prefix (single-byte characters).
+  */
+  public boolean tokenStartsWith(
+    String value
+    )
+  {
+    int length = value.length();
+    if(tokenLength < length)
+      return false;
+
+    for(int index = 0; index < length; index++)
+    {
+      if((tokenBytes[index] & 0xFF) != value.charAt(index))
+        return false;
     }
     return true;
   }
@@ -609,16 +791,87 @@ public class PostScriptParser
     {super.finalize();}
   }
 
+  /**
+    Replaces the currently-parsed integer token.
+  */
+  protected void setIntegerToken(
+    long value
+    )
+  {
+    tokenType = TokenTypeEnum.Integer;
+    integerToken = value;
+    token = null;
+    tokenResolved = false;
+  }
+
+  /**
+    Replaces the object representation of the currently-parsed token.
+  */
   protected void setToken(
     Object value
     )
-  {token = value;}
+  {
+    token = value;
+    tokenResolved = true;
+  }
 
   protected void setTokenType(
     TokenTypeEnum value
     )
   {tokenType = value;}
   // </protected>
+
+  // <private>
+  private void appendToken(
+    int c
+    )
+  {
+    if(tokenLength == tokenBytes.length)
+    {
+      byte[] newTokenBytes = new byte[tokenLength << 1];
+      System.arraycopy(tokenBytes, 0, newTokenBytes, 0, tokenLength);
+      tokenBytes = newTokenBytes;
+    }
+    tokenBytes[tokenLength++] = (byte)c;
+  }
+
+  private Object createToken(
+    )
+  {
+    if(tokenType == null) // No token parsed yet.
+      return null;
+
+    switch(tokenType)
+    {
+      case Keyword:
+      case Name:
+      case Literal:
+      case Hex:
+      case Comment:
+        return getTokenString();
+      case Integer:
+        return integerToken == (int)integerToken ? (Object)(int)integerToken : (Object)integerToken;
+      case Real:
+        return realToken;
+      case Boolean:
+        return booleanToken;
+      default:
+        return null;
+    }
+  }
+
+  /**
+    Gets the string representation of the raw bytes of the currently-parsed token.
+  */
+  private String getTokenString(
+    )
+  {
+    char[] chars = new char[tokenLength];
+    for(int index = 0; index < tokenLength; index++)
+    {chars[index] = (char)(tokenBytes[index] & 0xFF);}
+    return new String(chars);
+  }
+  // </private>
   // </dynamic>
   // </class>
 }